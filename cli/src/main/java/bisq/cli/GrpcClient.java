@@ -28,7 +28,10 @@ import bisq.proto.grpc.CreateOfferRequest;
 import bisq.proto.grpc.CreatePaymentAccountRequest;
 import bisq.proto.grpc.GetAddressBalanceRequest;
 import bisq.proto.grpc.GetBalancesRequest;
+import bisq.proto.grpc.GetBestPriceReply;
+import bisq.proto.grpc.GetBestPriceRequest;
 import bisq.proto.grpc.GetFundingAddressesRequest;
+import bisq.proto.grpc.GetMarketDepthRequest;
 import bisq.proto.grpc.GetMethodHelpRequest;
 import bisq.proto.grpc.GetMyOfferRequest;
 import bisq.proto.grpc.GetMyOffersRequest;
@@ -37,6 +40,7 @@ import bisq.proto.grpc.GetOffersRequest;
 import bisq.proto.grpc.GetPaymentAccountFormRequest;
 import bisq.proto.grpc.GetPaymentAccountsRequest;
 import bisq.proto.grpc.GetPaymentMethodsRequest;
+import bisq.proto.grpc.GetTopOffersRequest;
 import bisq.proto.grpc.GetTradeRequest;
 import bisq.proto.grpc.GetTransactionRequest;
 import bisq.proto.grpc.GetTxFeeRateRequest;
@@ -44,6 +48,7 @@ import bisq.proto.grpc.GetUnusedBsqAddressRequest;
 import bisq.proto.grpc.GetVersionRequest;
 import bisq.proto.grpc.KeepFundsRequest;
 import bisq.proto.grpc.LockWalletRequest;
+import bisq.proto.grpc.MarketDepthInfo;
 import bisq.proto.grpc.MarketPriceRequest;
 import bisq.proto.grpc.OfferInfo;
 import bisq.proto.grpc.RegisterDisputeAgentRequest;
@@ -293,6 +298,30 @@ public final class GrpcClient {
        return offers.isEmpty() ? offers : sortOffersByDate(offers);
     }
 
+    public GetBestPriceReply getBestPrice(String currencyCode) {
+        var request = GetBestPriceRequest.newBuilder()
+                .setCurrencyCode(currencyCode)
+                .build();
+        return grpcStubs.offersService.getBestPrice(request);
+    }
+
+    public List<OfferInfo> getTopOffers(String direction, String currencyCode, int limit) {
+        var request = GetTopOffersRequest.newBuilder()
+                .setDirection(direction)
+                .setCurrencyCode(currencyCode)
+                .setLimit(limit)
+                .build();
+        return grpcStubs.offersService.getTopOffers(request).getOffersList();
+    }
+
+    public MarketDepthInfo getMarketDepth(String currencyCode, int maxLevels) {
+        var request = GetMarketDepthRequest.newBuilder()
+                .setCurrencyCode(currencyCode)
+                .setMaxLevels(maxLevels)
+                .build();
+        return grpcStubs.offersService.getMarketDepth(request).getMarketDepth();
+    }
+
     public OfferInfo getMostRecentOffer(String direction, String currencyCode) {
         List<OfferInfo> offers = getOffersSortedByDate(direction, currencyCode);
         return offers.isEmpty() ? null : offers.get(offers.size() - 1);
@@ -103,12 +103,14 @@ public class Config {
     public static final String USE_ALL_PROVIDED_NODES = "useAllProvidedNodes";
     public static final String USER_AGENT = "userAgent";
     public static final String NUM_CONNECTIONS_FOR_BTC = "numConnectionsForBtc";
+    public static final String WALLET_SAVE_DELAY_SEC = "walletSaveDelaySec";
     public static final String RPC_USER = "rpcUser";
     public static final String RPC_PASSWORD = "rpcPassword";
     public static final String RPC_HOST = "rpcHost";
     public static final String RPC_PORT = "rpcPort";
     public static final String RPC_BLOCK_NOTIFICATION_PORT = "rpcBlockNotificationPort";
     public static final String RPC_BLOCK_NOTIFICATION_HOST = "rpcBlockNotificationHost";
+    public static final String RPC_SERIALIZED_BLOCKS = "rpcSerializedBlocks";
     public static final String DUMP_BLOCKCHAIN_DATA = "dumpBlockchainData";
     public static final String FULL_DAO_NODE = "fullDaoNode";
     public static final String GENESIS_TX_ID = "genesisTxId";
@@ -129,6 +131,7 @@ public class Config {
     public static final int UNSPECIFIED_PORT = -1;
     public static final String DEFAULT_REGTEST_HOST = "localhost";
     public static final int DEFAULT_NUM_CONNECTIONS_FOR_BTC = 9; // down from BitcoinJ default of 12
+    public static final int DEFAULT_WALLET_SAVE_DELAY_SEC = 5;
     public static final boolean DEFAULT_FULL_DAO_NODE = false;
     static final String DEFAULT_CONFIG_FILE_NAME = "bisq.properties";
 
@@ -194,12 +197,14 @@ public class Config {
     public final boolean useAllProvidedNodes;
     public final String userAgent;
     public final int numConnectionsForBtc;
+    public final int walletSaveDelaySec;
     public final String rpcUser;
     public final String rpcPassword;
     public final String rpcHost;
     public final int rpcPort;
     public final int rpcBlockNotificationPort;
     public final String rpcBlockNotificationHost;
+    public final boolean rpcSerializedBlocks;
     public final boolean dumpBlockchainData;
     public final boolean fullDaoNode;
     public final boolean fullDaoNodeOptionSetExplicitly;
@@ -550,6 +555,13 @@ public class Config {
                         .ofType(int.class)
                         .defaultsTo(DEFAULT_NUM_CONNECTIONS_FOR_BTC);
 
+        ArgumentAcceptingOptionSpec<Integer> walletSaveDelaySecOpt =
+                parser.accepts(WALLET_SAVE_DELAY_SEC, "Max. delay in seconds before pending wallet changes " +
+                        "are saved to disk. Changes within that delay are coalesced into a single save.")
+                        .withRequiredArg()
+                        .ofType(int.class)
+                        .defaultsTo(DEFAULT_WALLET_SAVE_DELAY_SEC);
+
         ArgumentAcceptingOptionSpec<String> rpcUserOpt =
                 parser.accepts(RPC_USER, "Bitcoind rpc username")
                         .withRequiredArg()
@@ -583,6 +595,13 @@ public class Config {
                         .withRequiredArg()
                         .defaultsTo("");
 
+        ArgumentAcceptingOptionSpec<Boolean> rpcSerializedBlocksOpt =
+                parser.accepts(RPC_SERIALIZED_BLOCKS, "If set to true a full DAO node requests the serialized " +
+                        "blocks from Bitcoin Core and decodes them itself instead of requesting the verbose json format.")
+                        .withRequiredArg()
+                        .ofType(boolean.class)
+                        .defaultsTo(false);
+
         ArgumentAcceptingOptionSpec<Boolean> dumpBlockchainDataOpt =
                 parser.accepts(DUMP_BLOCKCHAIN_DATA, "If set to true the blockchain data " +
                         "from RPC requests to Bitcoin Core are stored as json file in the data dir.")
@@ -758,12 +777,14 @@ public class Config {
             this.useAllProvidedNodes = options.valueOf(useAllProvidedNodesOpt);
             this.userAgent = options.valueOf(userAgentOpt);
             this.numConnectionsForBtc = options.valueOf(numConnectionsForBtcOpt);
+            this.walletSaveDelaySec = options.valueOf(walletSaveDelaySecOpt);
             this.rpcUser = options.valueOf(rpcUserOpt);
             this.rpcPassword = options.valueOf(rpcPasswordOpt);
             this.rpcHost = options.valueOf(rpcHostOpt);
             this.rpcPort = options.valueOf(rpcPortOpt);
             this.rpcBlockNotificationPort = options.valueOf(rpcBlockNotificationPortOpt);
             this.rpcBlockNotificationHost = options.valueOf(rpcBlockNotificationHostOpt);
+            this.rpcSerializedBlocks = options.valueOf(rpcSerializedBlocksOpt);
             this.dumpBlockchainData = options.valueOf(dumpBlockchainDataOpt);
             this.fullDaoNode = options.valueOf(fullDaoNodeOpt);
             this.fullDaoNodeOptionSetExplicitly = options.has(fullDaoNodeOpt);
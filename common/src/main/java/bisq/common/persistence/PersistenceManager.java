@@ -26,6 +26,7 @@ import bisq.common.file.FileUtil;
 import bisq.common.handlers.ResultHandler;
 import bisq.common.proto.persistable.PersistableEnvelope;
 import bisq.common.proto.persistable.PersistenceProtoResolver;
+import bisq.common.proto.persistable.StreamablePersistableEnvelope;
 import bisq.common.util.Utilities;
 
 import com.google.inject.Inject;
@@ -187,6 +188,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     @Nullable
     private Timer timer;
     private ExecutorService writeToDiskExecutor;
+    private boolean writeToDiskExecutorShared;
     public final AtomicBoolean initCalled = new AtomicBoolean(false);
     public final AtomicBoolean readCalled = new AtomicBoolean(false);
 
@@ -250,11 +252,44 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             timer.stop();
         }
 
-        if (writeToDiskExecutor != null) {
+        if (writeToDiskExecutor != null && !writeToDiskExecutorShared) {
             writeToDiskExecutor.shutdown();
         }
     }
 
+    /**
+     * Stops the persistence and deletes the file once pending writes are completed. Used by data stores which are
+     * split into a file per item if an item gets removed.
+     */
+    public void shutdownAndDeleteFile() {
+        File file = storageFile;
+        persistenceRequested = false;
+        getWriteToDiskExecutor().execute(() -> {
+            if (file.exists() && !file.delete()) {
+                log.error("Deleting {} failed", file);
+            }
+        });
+        shutdown();
+    }
+
+    /**
+     * Used by data stores which create a new file instead of reading it, e.g. for a new item of a store with a file
+     * per item. We only write at shutdown if the data was read before, to not overwrite persisted data with empty
+     * data. A new file has nothing to read, so we mark it as read.
+     */
+    public void markAsNewFile() {
+        readCalled.set(true);
+    }
+
+    /**
+     * Data stores which are split into a file per item can share one write thread instead of using a thread per file.
+     * The shared executor does not get shut down by our shutdown.
+     */
+    public void setSharedWriteToDiskExecutor(ExecutorService writeToDiskExecutor) {
+        this.writeToDiskExecutor = writeToDiskExecutor;
+        writeToDiskExecutorShared = true;
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Reading file
@@ -366,6 +401,14 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     public void persistNow(@Nullable Runnable completeHandler) {
         long ts = System.currentTimeMillis();
         try {
+            if (persistable instanceof StreamablePersistableEnvelope) {
+                // The writer serializes the data on the write thread. It only accesses data which does not get
+                // mutated anymore.
+                StreamablePersistableEnvelope.Writer writer = ((StreamablePersistableEnvelope) persistable).getWriter();
+                getWriteToDiskExecutor().execute(() -> writeToDisk(writer, completeHandler));
+                return;
+            }
+
             // The serialisation is done on the user thread to avoid threading issue with potential mutations of the
             // persistable object. Keeping it on the user thread we are in a synchronize model.
             protobuf.PersistableEnvelope serialized = (protobuf.PersistableEnvelope) persistable.toPersistableMessage();
@@ -387,7 +430,12 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     }
 
     public void writeToDisk(protobuf.PersistableEnvelope serialized, @Nullable Runnable completeHandler) {
+        writeToDisk(serialized::writeDelimitedTo, completeHandler);
+    }
+
+    private void writeToDisk(StreamablePersistableEnvelope.Writer writer, @Nullable Runnable completeHandler) {
         long ts = System.currentTimeMillis();
+        long size = 0;
         File tempFile = null;
         FileOutputStream fileOutputStream = null;
 
@@ -406,7 +454,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
             fileOutputStream = new FileOutputStream(tempFile);
 
-            serialized.writeDelimitedTo(fileOutputStream);
+            writer.writeDelimitedTo(fileOutputStream);
 
             // Attempt to force the bits to hit the disk. In reality the OS or hard disk itself may still decide
             // to not write through to physical media for at least a few seconds, but this is the best we can do.
@@ -417,6 +465,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             // when rename temp file
             fileOutputStream.close();
 
+            size = tempFile.length();
             FileUtil.renameFile(tempFile, storageFile);
             usedTempFilePath = tempFile.toPath();
         } catch (Throwable t) {
@@ -442,7 +491,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             }
             long duration = System.currentTimeMillis() - ts;
             if (duration > 100) {
-                log.info("Writing the serialized {} completed in {} msec", fileName, duration);
+                log.info("Writing the serialized {} ({} bytes) completed in {} msec", fileName, size, duration);
             }
             persistenceRequested = false;
             if (completeHandler != null) {
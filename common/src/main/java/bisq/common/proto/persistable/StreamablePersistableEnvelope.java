@@ -0,0 +1,39 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.proto.persistable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface for very large persisted data which gets serialized while it is written to disk on the write thread,
+ * instead of creating the whole protobuf message on the user thread.
+ */
+public interface StreamablePersistableEnvelope extends PersistableEnvelope {
+
+    /**
+     * Called on the user thread. The writer gets called on the write thread, so it must only access data which does
+     * not get mutated anymore.
+     */
+    Writer getWriter();
+
+    interface Writer {
+        // Writes the size delimited protobuf.PersistableEnvelope like Message.writeDelimitedTo
+        void writeDelimitedTo(OutputStream outputStream) throws IOException;
+    }
+}
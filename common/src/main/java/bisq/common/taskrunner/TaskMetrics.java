@@ -0,0 +1,126 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.taskrunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * Run counts, failures and latencies of a task class, collected by the TaskRunner over all protocol instances.
+ * The duration of a task is the time from its instantiation until it completed or failed, so it includes the
+ * waiting for asynchronous work like tx broadcasts or message acknowledgements.
+ */
+public class TaskMetrics {
+    // Upper bounds (inclusive) of the latency histogram buckets. A last bucket counts the slower runs.
+    private static final long[] LATENCY_BUCKET_BOUNDS_MS = {10, 100, 1000, 10_000, 60_000};
+
+    private static final Map<Class<?>, TaskMetrics> METRICS_BY_TASK_CLASS = new ConcurrentHashMap<>();
+
+    static TaskMetrics forTask(Class<?> taskClass) {
+        return METRICS_BY_TASK_CLASS.computeIfAbsent(taskClass, c -> new TaskMetrics(c.getSimpleName()));
+    }
+
+    public static List<Long> getLatencyBucketBoundsMs() {
+        return Arrays.stream(LATENCY_BUCKET_BOUNDS_MS).boxed().collect(Collectors.toList());
+    }
+
+    // Sorted by total duration, so the tasks where most of the time is spent come first. Tasks might get recorded
+    // while we sort, so we sort by the total durations we read before sorting.
+    public static List<TaskMetrics> getAllTaskMetrics() {
+        Map<TaskMetrics, Long> totalDurationsMs = METRICS_BY_TASK_CLASS.values().stream()
+                .collect(Collectors.toMap(Function.identity(), TaskMetrics::getTotalDurationMs));
+        return totalDurationsMs.keySet().stream()
+                .sorted(Comparator.<TaskMetrics>comparingLong(totalDurationsMs::get).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    private final String taskName;
+    private final AtomicLong numRuns = new AtomicLong();
+    private final AtomicLong numFailures = new AtomicLong();
+    private final AtomicLong totalDurationMs = new AtomicLong();
+    private final AtomicLong maxDurationMs = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS_MS.length + 1);
+
+    private TaskMetrics(String taskName) {
+        this.taskName = taskName;
+    }
+
+    void record(long durationMs, boolean failed) {
+        numRuns.incrementAndGet();
+        if (failed)
+            numFailures.incrementAndGet();
+        totalDurationMs.addAndGet(durationMs);
+        maxDurationMs.accumulateAndGet(durationMs, Math::max);
+
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS_MS.length && durationMs > LATENCY_BUCKET_BOUNDS_MS[bucket])
+            bucket++;
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    public long getNumRuns() {
+        return numRuns.get();
+    }
+
+    public long getNumFailures() {
+        return numFailures.get();
+    }
+
+    public long getTotalDurationMs() {
+        return totalDurationMs.get();
+    }
+
+    public long getMaxDurationMs() {
+        return maxDurationMs.get();
+    }
+
+    public long getAverageDurationMs() {
+        long runs = numRuns.get();
+        return runs == 0 ? 0 : totalDurationMs.get() / runs;
+    }
+
+    // Number of runs per bucket of LATENCY_BUCKET_BOUNDS_MS
+    public List<Long> getLatencyHistogram() {
+        List<Long> result = new ArrayList<>(latencyHistogram.length());
+        for (int i = 0; i < latencyHistogram.length(); i++)
+            result.add(latencyHistogram.get(i));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskMetrics{" +
+                "taskName='" + taskName + '\'' +
+                ", numRuns=" + getNumRuns() +
+                ", numFailures=" + getNumFailures() +
+                ", averageDurationMs=" + getAverageDurationMs() +
+                ", maxDurationMs=" + getMaxDurationMs() +
+                ", latencyHistogram=" + getLatencyHistogram() +
+                '}';
+    }
+}
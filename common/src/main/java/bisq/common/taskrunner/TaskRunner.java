@@ -20,14 +20,21 @@ package bisq.common.taskrunner;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
 
+import java.lang.reflect.Constructor;
+
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TaskRunner<T extends Model> {
+    // The constructors are looked up once per task class and reused by all protocol instances
+    private static final Map<Class<?>, Constructor<?>> TASK_CONSTRUCTORS = new ConcurrentHashMap<>();
+
     private final Queue<Class<? extends Task<T>>> tasks = new LinkedBlockingQueue<>();
     private final T sharedModel;
     private final Class<T> sharedModelClass;
@@ -37,6 +44,7 @@ public class TaskRunner<T extends Model> {
     private boolean isCanceled;
 
     private Class<? extends Task<T>> currentTask;
+    private long currentTaskStartTs;
 
 
     public TaskRunner(T sharedModel, ResultHandler resultHandler, ErrorMessageHandler errorMessageHandler) {
@@ -66,7 +74,8 @@ public class TaskRunner<T extends Model> {
                 try {
                     currentTask = tasks.poll();
                     log.info("Run task: " + currentTask.getSimpleName());
-                    currentTask.getDeclaredConstructor(TaskRunner.class, sharedModelClass).newInstance(this, sharedModel).run();
+                    currentTaskStartTs = System.currentTimeMillis();
+                    newTask(currentTask).run();
                 } catch (Throwable throwable) {
                     throwable.printStackTrace();
                     handleErrorMessage("Error at taskRunner: " + throwable.getMessage());
@@ -77,16 +86,34 @@ public class TaskRunner<T extends Model> {
         }
     }
 
+    private Task<T> newTask(Class<? extends Task<T>> taskClass) throws ReflectiveOperationException {
+        Constructor<?> constructor = TASK_CONSTRUCTORS.get(taskClass);
+        if (constructor == null) {
+            constructor = taskClass.getDeclaredConstructor(TaskRunner.class, sharedModelClass);
+            TASK_CONSTRUCTORS.put(taskClass, constructor);
+        }
+        //noinspection unchecked
+        return (Task<T>) constructor.newInstance(this, sharedModel);
+    }
+
+    private void recordCurrentTask(boolean failed) {
+        long duration = System.currentTimeMillis() - currentTaskStartTs;
+        TaskMetrics.forTask(currentTask).record(duration, failed);
+        log.info("Task {} {} after {} ms", currentTask.getSimpleName(), failed ? "failed" : "completed", duration);
+    }
+
     public void cancel() {
         isCanceled = true;
     }
 
     void handleComplete() {
+        recordCurrentTask(false);
         next();
     }
 
     void handleErrorMessage(String errorMessage) {
         log.error("Task failed: " + currentTask.getSimpleName() + " / errorMessage: " + errorMessage);
+        recordCurrentTask(true);
         failed = true;
         errorMessageHandler.handleErrorMessage(errorMessage);
     }
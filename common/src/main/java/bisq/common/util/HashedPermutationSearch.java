@@ -0,0 +1,201 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.util;
+
+import bisq.common.crypto.Hash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the same variation as {@link PermutationUtil#findMatchingPermutation} for a predicate comparing the
+ * SHA256-RIPEMD160 hash of the concatenated serialized items with a target hash.
+ * <p>
+ * The items are serialized once. The SHA-256 state after each prefix of the list is computed once and shared by
+ * all variations which only remove items after that prefix, deeper levels continue from the state of their parent.
+ * The variations of a level are grouped by their first removed index and the groups are evaluated in parallel in the
+ * fork-join pool. As only the first match in iteration order counts, groups stop as soon as a group before them has
+ * found a match and groups which start beyond maxIterations are not evaluated at all.
+ */
+class HashedPermutationSearch<T> {
+    private final byte[] targetHash;
+    private final List<T> list;
+    private final int maxIterations;
+    private final byte[][] items;
+    // prefixStates[i] contains the SHA-256 state after the first i items
+    private final MessageDigest[] prefixStates;
+
+    HashedPermutationSearch(byte[] targetHash, List<T> list, Function<T, byte[]> serializer, int maxIterations) {
+        this.targetHash = targetHash;
+        this.list = list;
+        this.maxIterations = maxIterations;
+        items = list.stream().map(serializer).toArray(byte[][]::new);
+        prefixStates = new MessageDigest[items.length + 1];
+        try {
+            prefixStates[0] = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int i = 0; i < items.length; i++) {
+            prefixStates[i + 1] = copy(prefixStates[i]);
+            prefixStates[i + 1].update(items[i]);
+        }
+    }
+
+    List<T> find() {
+        int numItems = items.length;
+        if (matches(copy(prefixStates[numItems]))) {
+            return list;
+        }
+
+        long levelStartIteration = 0;
+        for (int numRemoved = 1; numRemoved < numItems && levelStartIteration < maxIterations; numRemoved++) {
+            int[] removedIndices = findInLevel(numRemoved, levelStartIteration);
+            if (removedIndices != null) {
+                return PermutationUtil.getPartialList(list, removedIndices);
+            }
+            levelStartIteration += binomial(numItems, numRemoved, maxIterations);
+        }
+        return new ArrayList<>();
+    }
+
+    private int[] findInLevel(int numRemoved, long levelStartIteration) {
+        int numItems = items.length;
+        int numGroups = numItems - numRemoved + 1;
+        long[] groupStartIterations = new long[numGroups];
+        long iteration = levelStartIteration;
+        for (int group = 0; group < numGroups; group++) {
+            groupStartIterations[group] = iteration;
+            iteration += binomial(numItems - 1 - group, numRemoved - 1, maxIterations);
+        }
+
+        AtomicInteger firstMatchingGroup = new AtomicInteger(Integer.MAX_VALUE);
+        AtomicReferenceArray<int[]> matches = new AtomicReferenceArray<>(numGroups);
+        IntStream.range(0, numGroups)
+                .filter(group -> groupStartIterations[group] < maxIterations)
+                .parallel()
+                .forEach(group -> {
+                    GroupSearch groupSearch = new GroupSearch(group, numRemoved, groupStartIterations[group],
+                            firstMatchingGroup);
+                    int[] removedIndices = groupSearch.find();
+                    if (removedIndices != null) {
+                        matches.set(group, removedIndices);
+                        firstMatchingGroup.accumulateAndGet(group, Math::min);
+                    }
+                });
+
+        int group = firstMatchingGroup.get();
+        return group == Integer.MAX_VALUE ? null : matches.get(group);
+    }
+
+    private boolean matches(MessageDigest state) {
+        return Arrays.equals(targetHash, Hash.getRipemd160hash(state.digest()));
+    }
+
+    private static MessageDigest copy(MessageDigest state) {
+        try {
+            return (MessageDigest) state.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Number of combinations of k out of n. Values above cap are returned as cap.
+    static long binomial(int n, int k, long cap) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        k = Math.min(k, n - k);
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            // Intermediate results are binomials as well, so they only grow
+            result = result * (n - k + i) / i;
+            if (result >= cap) {
+                return cap;
+            }
+        }
+        return result;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // GroupSearch
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Tests the variations of a level which have the given first removed index, in lexicographic order
+    private class GroupSearch {
+        private final int group;
+        private final int[] removedIndices;
+        private final AtomicInteger firstMatchingGroup;
+        private long iteration;
+        private boolean stopped;
+
+        GroupSearch(int group, int numRemoved, long startIteration, AtomicInteger firstMatchingGroup) {
+            this.group = group;
+            this.firstMatchingGroup = firstMatchingGroup;
+            removedIndices = new int[numRemoved];
+            removedIndices[0] = group;
+            iteration = startIteration;
+        }
+
+        int[] find() {
+            return search(1, prefixStates[group], group + 1) ? removedIndices : null;
+        }
+
+        // The state contains the items before nextItem which are not removed. It must not be changed.
+        private boolean search(int depth, MessageDigest state, int nextItem) {
+            if (depth == removedIndices.length) {
+                if (iteration >= maxIterations || firstMatchingGroup.get() < group) {
+                    stopped = true;
+                    return false;
+                }
+                iteration++;
+                MessageDigest variation = copy(state);
+                for (int i = nextItem; i < items.length; i++) {
+                    variation.update(items[i]);
+                }
+                return matches(variation);
+            }
+
+            MessageDigest running = copy(state);
+            int lastIndex = items.length - (removedIndices.length - depth);
+            for (int index = nextItem; index <= lastIndex; index++) {
+                if (index > nextItem) {
+                    // The item at the previous index is not removed in the following variations
+                    running.update(items[index - 1]);
+                }
+                removedIndices[depth] = index;
+                if (search(depth + 1, running, index + 1)) {
+                    return true;
+                }
+                if (stopped) {
+                    return false;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -21,10 +21,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
-import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -56,68 +55,95 @@ public class PermutationUtil {
         return altered;
     }
 
+    /**
+     * Returns the first variation of the list which matches the predicate. We test the full list first, then all
+     * variations with 1 item removed, then with 2 items removed and so on. Within a level the sets of removed indices
+     * are tested in lexicographic order. At least one item remains in the list.
+     *
+     * @param targetValue           Value passed to the predicate
+     * @param list                  Original list
+     * @param predicate             Predicate to test the variations
+     * @param maxIterations         Max. number of tested variations (without the original list)
+     * @param <T>                   Type of List items
+     * @param <R>                   Type of the target value
+     * @return The first matching variation or an empty list if none was found within maxIterations
+     */
     public static <T, R> List<T> findMatchingPermutation(R targetValue,
                                                          List<T> list,
                                                          BiFunction<R, List<T>, Boolean> predicate,
                                                          int maxIterations) {
         if (predicate.apply(targetValue, list)) {
             return list;
-        } else {
-            return findMatchingPermutation(targetValue,
-                    list,
-                    new ArrayList<>(),
-                    predicate,
-                    new AtomicInteger(maxIterations));
         }
+
+        int remainingIterations = maxIterations;
+        for (int numRemoved = 1; numRemoved < list.size() && remainingIterations > 0; numRemoved++) {
+            int[] removedIndices = getFirstCombination(numRemoved);
+            do {
+                remainingIterations--;
+                List<T> variation = getPartialList(list, removedIndices);
+                if (predicate.apply(targetValue, variation)) {
+                    return variation;
+                }
+            } while (remainingIterations > 0 && toNextCombination(removedIndices, list.size()));
+        }
+        return new ArrayList<>();
     }
 
-    private static <T, R> List<T> findMatchingPermutation(R targetValue,
-                                                          List<T> list,
-                                                          List<List<T>> lists,
-                                                          BiFunction<R, List<T>, Boolean> predicate,
-                                                          AtomicInteger maxIterations) {
-        for (int level = 0; level < list.size(); level++) {
-            // Test one level at a time
-            var result = checkLevel(targetValue, list, predicate, level, 0, maxIterations);
-            if (!result.isEmpty()) {
-                return result;
+    /**
+     * Same result as {@link #findMatchingPermutation} with a predicate comparing the SHA256-RIPEMD160 hash of the
+     * concatenated serialized items with the target hash, but the items are serialized only once, hash states of
+     * common prefixes are reused and the variations are evaluated in parallel.
+     *
+     * @param targetHash            SHA256-RIPEMD160 hash of the concatenated serialized items we search for
+     * @param list                  Original list
+     * @param serializer            Serializes a list item
+     * @param maxIterations         Max. number of tested variations (without the original list)
+     * @param <T>                   Type of List items
+     * @return The first matching variation or an empty list if none was found within maxIterations
+     */
+    public static <T> List<T> findMatchingPermutationByHash(byte[] targetHash,
+                                                            List<T> list,
+                                                            Function<T, byte[]> serializer,
+                                                            int maxIterations) {
+        return new HashedPermutationSearch<>(targetHash, list, serializer, maxIterations).find();
+    }
+
+    // Removed indices must be sorted
+    static <T> List<T> getPartialList(List<T> list, int[] removedIndices) {
+        List<T> partialList = new ArrayList<>(list.size() - removedIndices.length);
+        int next = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (next < removedIndices.length && removedIndices[next] == i) {
+                next++;
+            } else {
+                partialList.add(list.get(i));
             }
         }
-
-        return new ArrayList<>();
+        return partialList;
     }
 
-    @NonNull
-    private static <T, R> List<T> checkLevel(R targetValue,
-                                             List<T> previousLevel,
-                                             BiFunction<R, List<T>, Boolean> predicate,
-                                             int level,
-                                             int permutationIndex,
-                                             AtomicInteger maxIterations) {
-        if (previousLevel.size() == 1) {
-            return new ArrayList<>();
+    private static int[] getFirstCombination(int size) {
+        int[] combination = new int[size];
+        for (int i = 0; i < size; i++) {
+            combination[i] = i;
         }
-        for (int i = permutationIndex; i < previousLevel.size(); i++) {
-            if (maxIterations.get() <= 0) {
-                return new ArrayList<>();
-            }
-            List<T> newList = new ArrayList<>(previousLevel);
-            newList.remove(i);
-            if (level == 0) {
-                maxIterations.decrementAndGet();
-                // Check all permutations on this level
-                if (predicate.apply(targetValue, newList)) {
-                    return newList;
-                }
-            } else {
-                // Test next level
-                var result = checkLevel(targetValue, newList, predicate, level - 1, i, maxIterations);
-                if (!result.isEmpty()) {
-                    return result;
+        return combination;
+    }
+
+    // Moves to the next combination of indices in lexicographic order. Returns false if there is none.
+    private static boolean toNextCombination(int[] combination, int numItems) {
+        int size = combination.length;
+        for (int i = size - 1; i >= 0; i--) {
+            if (combination[i] < numItems - size + i) {
+                combination[i]++;
+                for (int j = i + 1; j < size; j++) {
+                    combination[j] = combination[j - 1] + 1;
                 }
+                return true;
             }
         }
-        return new ArrayList<>();
+        return false;
     }
 
     //TODO optimize algorithm so that it starts from all objects and goes down instead starting with from the bottom.
@@ -229,6 +229,18 @@ public class ConfigTests {
         assertTrue(config.walletDir.exists());
     }
 
+    @Test
+    public void whenWalletSaveDelaySecOptionIsNotSet_thenDefaultValueIsUsed() {
+        Config config = new Config();
+        assertThat(config.walletSaveDelaySec, equalTo(DEFAULT_WALLET_SAVE_DELAY_SEC));
+    }
+
+    @Test
+    public void whenWalletSaveDelaySecOptionIsSet_thenWalletSaveDelaySecPropertyReflectsItsValue() {
+        Config config = configWithOpts(opt(WALLET_SAVE_DELAY_SEC, 30));
+        assertThat(config.walletSaveDelaySec, equalTo(30));
+    }
+
     @Test
     public void whenAppDataDirCannotBeCreated_thenUncheckedIoExceptionIsThrown() throws IOException {
         // set a userDataDir that is actually a file so appDataDir cannot be created
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.taskrunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TaskRunnerTest {
+
+    @Test
+    public void testTasksAreRunInOrderAndRecorded() {
+        TestModel model = new TestModel();
+        long numRunsBefore = TaskMetrics.forTask(FirstTask.class).getNumRuns();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        for (int i = 0; i < 2; i++) {
+            TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> completed.set(true), errorMessage -> {
+            });
+            taskRunner.addTasks(FirstTask.class, SecondTask.class);
+            taskRunner.run();
+        }
+
+        assertTrue(completed.get());
+        assertEquals(List.of("first", "second", "first", "second"), model.runTasks);
+        TaskMetrics metrics = TaskMetrics.forTask(FirstTask.class);
+        assertEquals(numRunsBefore + 2, metrics.getNumRuns());
+        assertEquals(0, metrics.getNumFailures());
+        assertEquals(metrics.getNumRuns(), metrics.getLatencyHistogram().stream().mapToLong(Long::longValue).sum());
+        assertTrue(TaskMetrics.getAllTaskMetrics().contains(metrics));
+    }
+
+    @Test
+    public void testFailedTaskIsRecordedAndStopsRunner() {
+        TestModel model = new TestModel();
+        long numFailuresBefore = TaskMetrics.forTask(FailingTask.class).getNumFailures();
+        AtomicReference<String> error = new AtomicReference<>();
+
+        TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> {
+        }, error::set);
+        taskRunner.addTasks(FailingTask.class, FirstTask.class);
+        taskRunner.run();
+
+        assertTrue(error.get().contains("failing"));
+        assertTrue(model.runTasks.isEmpty());
+        assertEquals(numFailuresBefore + 1, TaskMetrics.forTask(FailingTask.class).getNumFailures());
+    }
+
+    @Test
+    public void testAllTaskMetricsAreSortedByTotalDurationWhileRecording() throws InterruptedException {
+        TaskMetrics first = TaskMetrics.forTask(FirstTask.class);
+        TaskMetrics second = TaskMetrics.forTask(SecondTask.class);
+        TaskMetrics failing = TaskMetrics.forTask(FailingTask.class);
+        failing.record(first.getTotalDurationMs() + 1000, true);
+        List<TaskMetrics> allTaskMetrics = TaskMetrics.getAllTaskMetrics();
+        assertTrue(allTaskMetrics.indexOf(failing) < allTaskMetrics.indexOf(first));
+
+        AtomicBoolean recording = new AtomicBoolean(true);
+        Thread recorder = new Thread(() -> {
+            while (recording.get()) {
+                first.record(1, false);
+                second.record(1, false);
+            }
+        });
+        recorder.start();
+        try {
+            for (int i = 0; i < 1000; i++)
+                assertEquals(allTaskMetrics.size(), TaskMetrics.getAllTaskMetrics().size());
+        } finally {
+            recording.set(false);
+            recorder.join();
+        }
+    }
+
+    private static class TestModel implements Model {
+        private final List<String> runTasks = new ArrayList<>();
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    public static class FirstTask extends Task<TestModel> {
+        public FirstTask(TaskRunner taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.runTasks.add("first");
+            complete();
+        }
+    }
+
+    public static class SecondTask extends Task<TestModel> {
+        public SecondTask(TaskRunner taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.runTasks.add("second");
+            complete();
+        }
+    }
+
+    public static class FailingTask extends Task<TestModel> {
+        public FailingTask(TaskRunner taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            failed("failing");
+        }
+    }
+}
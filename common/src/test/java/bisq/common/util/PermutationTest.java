@@ -17,15 +17,19 @@
 
 package bisq.common.util;
 
+import bisq.common.crypto.Hash;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.function.BiFunction;
 
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class PermutationTest {
@@ -474,5 +478,49 @@ public class PermutationTest {
 
     }
 
+    @Test
+    public void testFindMatchingPermutationByHashHasSameResult() {
+        BiFunction<byte[], List<byte[]>, Boolean> predicate =
+                (targetHash, variationList) -> Arrays.equals(targetHash, getHash(variationList));
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            List<byte[]> list = new ArrayList<>();
+            List<byte[]> expected = new ArrayList<>();
+            int numItems = random.nextInt(10);
+            for (int j = 0; j < numItems; j++) {
+                byte[] item = new byte[1 + random.nextInt(4)];
+                random.nextBytes(item);
+                list.add(item);
+                if (random.nextInt(3) > 0)
+                    expected.add(item);
+            }
+            byte[] targetHash = getHash(expected);
+            int limit = random.nextInt(300);
+
+            List<byte[]> result = PermutationUtil.findMatchingPermutation(targetHash, list, predicate, limit);
+            List<byte[]> resultByHash = PermutationUtil.findMatchingPermutationByHash(targetHash, list, item -> item, limit);
+            assertEquals(result, resultByHash);
+        }
+    }
 
+    @Test
+    public void testFindMatchingPermutationByHashBreaksAtLimit() {
+        var list = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l", "m", "n", "o");
+        var expected = Arrays.asList("b", "g", "m");
+        byte[] targetHash = Hash.getSha256Ripemd160hash(String.join("", expected).getBytes());
+
+        var result = PermutationUtil.findMatchingPermutationByHash(targetHash, list, String::getBytes, 100000);
+        assertEquals(expected, result);
+        result = PermutationUtil.findMatchingPermutationByHash(targetHash, list, String::getBytes, 1000);
+        assertTrue(result.isEmpty());
+    }
+
+    private static byte[] getHash(List<byte[]> list) {
+        return Hash.getSha256Ripemd160hash(list.stream()
+                .reduce(new byte[0], (a, b) -> {
+                    byte[] concatenated = Arrays.copyOf(a, a.length + b.length);
+                    System.arraycopy(b, 0, concatenated, a.length, b.length);
+                    return concatenated;
+                }));
+    }
 }
@@ -19,16 +19,23 @@ package bisq.core.api;
 
 import bisq.core.api.model.AddressBalanceInfo;
 import bisq.core.api.model.BalancesInfo;
+import bisq.core.api.model.MarketDepthInfo;
+import bisq.core.api.model.TaskMetricsInfo;
 import bisq.core.api.model.TxFeeRateInfo;
+import bisq.core.api.model.WalletSaveMetricsInfo;
 import bisq.core.btc.wallet.TxBroadcaster;
 import bisq.core.monetary.Price;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OfferPayload;
 import bisq.core.offer.OpenOffer;
 import bisq.core.payment.PaymentAccount;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.trade.Trade;
+import bisq.core.trade.statistics.Candle;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsCandleService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 
 import bisq.common.app.Version;
@@ -45,12 +52,15 @@ import com.google.common.util.concurrent.FutureCallback;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import static java.lang.String.format;
+
 /**
  * Provides high level interface to functionality of core Bisq features.
  * E.g. useful for different APIs to access data of different domains of Bisq.
@@ -69,6 +79,7 @@ public class CoreApi {
     private final CoreTradesService coreTradesService;
     private final CoreWalletsService walletsService;
     private final TradeStatisticsManager tradeStatisticsManager;
+    private final TradeStatisticsCandleService tradeStatisticsCandleService;
 
     @Inject
     public CoreApi(Config config,
@@ -79,7 +90,8 @@ public class CoreApi {
                    CorePriceService corePriceService,
                    CoreTradesService coreTradesService,
                    CoreWalletsService walletsService,
-                   TradeStatisticsManager tradeStatisticsManager) {
+                   TradeStatisticsManager tradeStatisticsManager,
+                   TradeStatisticsCandleService tradeStatisticsCandleService) {
         this.config = config;
         this.coreDisputeAgentsService = coreDisputeAgentsService;
         this.coreHelpService = coreHelpService;
@@ -89,6 +101,7 @@ public class CoreApi {
         this.corePriceService = corePriceService;
         this.walletsService = walletsService;
         this.tradeStatisticsManager = tradeStatisticsManager;
+        this.tradeStatisticsCandleService = tradeStatisticsCandleService;
     }
 
     @SuppressWarnings("SameReturnValue")
@@ -137,6 +150,28 @@ public class CoreApi {
         return coreOffersService.getMyOpenOffer(id);
     }
 
+    public Optional<Offer> getBestOffer(String direction, String currencyCode) {
+        return coreOffersService.getBestOffer(direction, currencyCode);
+    }
+
+    public List<Offer> getTopOffers(String direction, String currencyCode, int limit) {
+        return coreOffersService.getTopOffers(direction, currencyCode, limit);
+    }
+
+    public MarketDepthInfo getMarketDepth(String currencyCode, int maxLevels) {
+        return coreOffersService.getMarketDepth(currencyCode, maxLevels);
+    }
+
+    public OfferBookService.OfferBookChangedListener addOfferBookChangedListener(String direction,
+                                                                                String currencyCode,
+                                                                                OfferBookService.OfferBookChangedListener listener) {
+        return coreOffersService.addOfferBookChangedListener(direction, currencyCode, listener);
+    }
+
+    public void removeOfferBookChangedListener(OfferBookService.OfferBookChangedListener listener) {
+        coreOffersService.removeOfferBookChangedListener(listener);
+    }
+
     public void createAnPlaceOffer(String currencyCode,
                                    String directionAsString,
                                    String priceAsString,
@@ -252,10 +287,26 @@ public class CoreApi {
         return coreTradesService.getTrade(tradeId);
     }
 
+    public List<Trade> getClosedTrades(int offset, int limit) {
+        return coreTradesService.getClosedTrades(offset, limit);
+    }
+
+    public List<TaskMetricsInfo> getTaskMetrics() {
+        return coreTradesService.getTaskMetrics();
+    }
+
     public String getTradeRole(String tradeId) {
         return coreTradesService.getTradeRole(tradeId);
     }
 
+    public void addTradeStateListener(Consumer<Trade> listener) {
+        coreTradesService.addTradeStateListener(listener);
+    }
+
+    public void removeTradeStateListener(Consumer<Trade> listener) {
+        coreTradesService.removeTradeStateListener(listener);
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Wallets
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -316,6 +367,10 @@ public class CoreApi {
         return walletsService.getTransaction(txId);
     }
 
+    public List<WalletSaveMetricsInfo> getWalletSaveMetrics() {
+        return walletsService.getWalletSaveMetrics();
+    }
+
     public void setWalletPassword(String password, String newPassword) {
         walletsService.setWalletPassword(password, newPassword);
     }
@@ -333,7 +388,23 @@ public class CoreApi {
     }
 
     public List<TradeStatistics3> getTradeStatistics() {
-        return new ArrayList<>(tradeStatisticsManager.getObservableTradeStatisticsSet());
+        return new ArrayList<>(tradeStatisticsManager.getTradeStatisticsTable().getAllTradeStatistics());
+    }
+
+    public List<Candle> getMarketHistory(String currencyCode, String tickUnit, long fromTime, long toTime) {
+        TickUnit unit;
+        try {
+            unit = TickUnit.valueOf(tickUnit.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(format("unknown tick unit '%s'", tickUnit));
+        }
+        if (fromTime < 0 || toTime < 0)
+            throw new IllegalArgumentException("time range must not be negative");
+
+        return tradeStatisticsCandleService.getCandles(currencyCode.toUpperCase(),
+                unit,
+                fromTime,
+                toTime == 0 ? Long.MAX_VALUE : toTime);
     }
 
     public int getNumConfirmationsForMostRecentTransaction(String addressString) {
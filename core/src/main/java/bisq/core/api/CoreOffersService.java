@@ -17,10 +17,13 @@
 
 package bisq.core.api;
 
+import bisq.core.api.model.MarketDepthInfo;
+import bisq.core.api.model.PriceLevelInfo;
 import bisq.core.monetary.Altcoin;
 import bisq.core.monetary.Price;
 import bisq.core.offer.CreateOfferService;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookIndex;
 import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OfferFilter;
 import bisq.core.offer.OfferUtil;
@@ -42,6 +45,7 @@ import java.math.BigDecimal;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -54,6 +58,7 @@ import static bisq.common.util.MathUtils.scaleUpByPowerOf10;
 import static bisq.core.locale.CurrencyUtil.isCryptoCurrency;
 import static bisq.core.offer.OfferPayload.Direction;
 import static bisq.core.offer.OfferPayload.Direction.BUY;
+import static bisq.core.offer.OfferPayload.Direction.SELL;
 import static java.lang.String.format;
 import static java.util.Comparator.comparing;
 
@@ -61,6 +66,9 @@ import static java.util.Comparator.comparing;
 @Slf4j
 class CoreOffersService {
 
+    // Keeps top of book and depth responses small, independent of the size of the offer book.
+    private static final int MAX_TOP_OF_BOOK_LIMIT = 100;
+
     private final Supplier<Comparator<Offer>> priceComparator = () -> comparing(Offer::getPrice);
     private final Supplier<Comparator<Offer>> reversePriceComparator = () -> comparing(Offer::getPrice).reversed();
 
@@ -71,6 +79,7 @@ class CoreOffersService {
     private final CoreWalletsService coreWalletsService;
     private final CreateOfferService createOfferService;
     private final OfferBookService offerBookService;
+    private final OfferBookIndex offerBookIndex;
     private final OfferFilter offerFilter;
     private final OpenOfferManager openOfferManager;
     private final OfferUtil offerUtil;
@@ -83,6 +92,7 @@ class CoreOffersService {
                              CoreWalletsService coreWalletsService,
                              CreateOfferService createOfferService,
                              OfferBookService offerBookService,
+                             OfferBookIndex offerBookIndex,
                              OfferFilter offerFilter,
                              OpenOfferManager openOfferManager,
                              OfferUtil offerUtil,
@@ -91,6 +101,7 @@ class CoreOffersService {
         this.coreWalletsService = coreWalletsService;
         this.createOfferService = createOfferService;
         this.offerBookService = offerBookService;
+        this.offerBookIndex = offerBookIndex;
         this.offerFilter = offerFilter;
         this.openOfferManager = openOfferManager;
         this.offerUtil = offerUtil;
@@ -130,6 +141,57 @@ class CoreOffersService {
                 .collect(Collectors.toList());
     }
 
+    Optional<Offer> getBestOffer(String direction, String currencyCode) {
+        return Optional.ofNullable(offerBookIndex.getBestOffer(Direction.valueOf(direction.toUpperCase()),
+                currencyCode,
+                this::canTakeOffer));
+    }
+
+    List<Offer> getTopOffers(String direction, String currencyCode, int limit) {
+        return offerBookIndex.getBestOffers(Direction.valueOf(direction.toUpperCase()),
+                currencyCode,
+                validTopOfBookLimit(limit),
+                this::canTakeOffer);
+    }
+
+    MarketDepthInfo getMarketDepth(String currencyCode, int maxLevels) {
+        int validMaxLevels = validTopOfBookLimit(maxLevels);
+        List<PriceLevelInfo> bids = offerBookIndex.getPriceLevels(BUY, currencyCode, validMaxLevels, this::canTakeOffer)
+                .stream().map(PriceLevelInfo::toPriceLevelInfo)
+                .collect(Collectors.toList());
+        List<PriceLevelInfo> asks = offerBookIndex.getPriceLevels(SELL, currencyCode, validMaxLevels, this::canTakeOffer)
+                .stream().map(PriceLevelInfo::toPriceLevelInfo)
+                .collect(Collectors.toList());
+        return new MarketDepthInfo(currencyCode.toUpperCase(), bids, asks);
+    }
+
+    // Registers a listener for offer book changes matching the direction and currency code.
+    // Empty direction or currency code parameters match all offers. Added offers are only
+    // passed on if we could take them, as done in getOffers.
+    OfferBookService.OfferBookChangedListener addOfferBookChangedListener(String direction,
+                                                                         String currencyCode,
+                                                                         OfferBookService.OfferBookChangedListener listener) {
+        var filteringListener = new OfferBookService.OfferBookChangedListener() {
+            @Override
+            public void onAdded(Offer offer) {
+                if (offerMatchesOptionalDirectionAndCurrency(offer, direction, currencyCode) && canTakeOffer(offer))
+                    listener.onAdded(offer);
+            }
+
+            @Override
+            public void onRemoved(Offer offer) {
+                if (offerMatchesOptionalDirectionAndCurrency(offer, direction, currencyCode))
+                    listener.onRemoved(offer);
+            }
+        };
+        offerBookService.addOfferBookChangedListener(filteringListener);
+        return filteringListener;
+    }
+
+    void removeOfferBookChangedListener(OfferBookService.OfferBookChangedListener listener) {
+        offerBookService.removeOfferBookChangedListener(listener);
+    }
+
     OpenOffer getMyOpenOffer(String id) {
         return openOfferManager.getOpenOfferById(id)
                 .filter(open -> open.getOffer().isMyOffer(keyRing))
@@ -244,6 +306,27 @@ class CoreOffersService {
         return offerOfWantedDirection && offerInWantedCurrency;
     }
 
+    private boolean offerMatchesOptionalDirectionAndCurrency(Offer offer,
+                                                             String direction,
+                                                             String currencyCode) {
+        var offerOfWantedDirection = direction.isEmpty()
+                || offer.getDirection().name().equalsIgnoreCase(direction);
+        var offerInWantedCurrency = currencyCode.isEmpty()
+                || offer.getOfferPayload().getCounterCurrencyCode().equalsIgnoreCase(currencyCode);
+        return offerOfWantedDirection && offerInWantedCurrency;
+    }
+
+    private boolean canTakeOffer(Offer offer) {
+        return offerFilter.canTakeOffer(offer, isApiUser).isValid();
+    }
+
+    private int validTopOfBookLimit(int limit) {
+        if (limit <= 0 || limit > MAX_TOP_OF_BOOK_LIMIT)
+            throw new IllegalArgumentException(
+                    format("limit must be between 1 and %d, but was %d", MAX_TOP_OF_BOOK_LIMIT, limit));
+        return limit;
+    }
+
     private Comparator<Offer> priceComparator(String direction) {
         // A buyer probably wants to see sell orders in price ascending order.
         // A seller probably wants to see buy orders in price descending order.
@@ -17,6 +17,7 @@
 
 package bisq.core.api;
 
+import bisq.core.api.model.TaskMetricsInfo;
 import bisq.core.btc.model.AddressEntry;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.offer.Offer;
@@ -32,13 +33,25 @@ import bisq.core.trade.protocol.SellerProtocol;
 import bisq.core.user.User;
 import bisq.core.util.validation.BtcAddressValidator;
 
+import bisq.common.UserThread;
+import bisq.common.taskrunner.TaskMetrics;
+
 import org.bitcoinj.core.Coin;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import javafx.beans.value.ChangeListener;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,6 +62,8 @@ import static java.lang.String.format;
 @Slf4j
 class CoreTradesService {
 
+    private static final int MAX_CLOSED_TRADES_PAGE_SIZE = 100;
+
     // Dependencies on core api services in this package must be kept to an absolute
     // minimum, but some trading functions require an unlocked wallet's key, so an
     // exception is made in this case.
@@ -63,6 +78,11 @@ class CoreTradesService {
     private final User user;
     private final boolean isApiUser;
 
+    private final List<Consumer<Trade>> tradeStateListeners = new CopyOnWriteArrayList<>();
+    // Only accessed from the user thread.
+    private final Map<String, ChangeListener<Trade.State>> tradeStateChangeListenerByTradeId = new HashMap<>();
+    private boolean tradeStateObserverInitialized;
+
     @Inject
     public CoreTradesService(CoreContext coreContext,
                              CoreWalletsService coreWalletsService,
@@ -212,6 +232,37 @@ class CoreTradesService {
         return tradeUtil.getRole(getTrade(tradeId));
     }
 
+    List<Trade> getClosedTrades(int offset, int limit) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+        if (offset < 0)
+            throw new IllegalArgumentException(format("offset must not be negative, but was %d", offset));
+        if (limit <= 0 || limit > MAX_CLOSED_TRADES_PAGE_SIZE)
+            throw new IllegalArgumentException(format("limit must be between 1 and %d, but was %d",
+                    MAX_CLOSED_TRADES_PAGE_SIZE, limit));
+        return closedTradableManager.getClosedTrades(offset, limit);
+    }
+
+    // Metrics of all protocol tasks run since startup, they do not contain any trade or wallet data.
+    List<TaskMetricsInfo> getTaskMetrics() {
+        return TaskMetrics.getAllTaskMetrics().stream()
+                .map(TaskMetricsInfo::toTaskMetricsInfo)
+                .collect(Collectors.toList());
+    }
+
+    // The listener gets called on the user thread whenever the state of an open trade changes,
+    // and when a new trade gets added.
+    void addTradeStateListener(Consumer<Trade> listener) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+        tradeStateListeners.add(listener);
+        UserThread.execute(this::maybeInitTradeStateObserver);
+    }
+
+    void removeTradeStateListener(Consumer<Trade> listener) {
+        tradeStateListeners.remove(listener);
+    }
+
     Trade getTrade(String tradeId) {
         coreWalletsService.verifyWalletsAreAvailable();
         coreWalletsService.verifyEncryptedWalletIsUnlocked();
@@ -221,6 +272,37 @@ class CoreTradesService {
                 ));
     }
 
+    private void maybeInitTradeStateObserver() {
+        if (tradeStateObserverInitialized)
+            return;
+
+        tradeStateObserverInitialized = true;
+        tradeManager.getObservableList().addListener((ListChangeListener<Trade>) change -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(trade -> {
+                    observeTradeState(trade);
+                    tradeStateListeners.forEach(tradeStateListener -> tradeStateListener.accept(trade));
+                });
+                change.getRemoved().forEach(trade -> {
+                    ChangeListener<Trade.State> listener = tradeStateChangeListenerByTradeId.remove(trade.getId());
+                    if (listener != null)
+                        trade.stateProperty().removeListener(listener);
+                });
+            }
+        });
+        tradeManager.getObservableList().forEach(this::observeTradeState);
+    }
+
+    private void observeTradeState(Trade trade) {
+        if (tradeStateChangeListenerByTradeId.containsKey(trade.getId()))
+            return;
+
+        ChangeListener<Trade.State> listener = (observable, oldValue, newValue) ->
+                tradeStateListeners.forEach(tradeStateListener -> tradeStateListener.accept(trade));
+        tradeStateChangeListenerByTradeId.put(trade.getId(), listener);
+        trade.stateProperty().addListener(listener);
+    }
+
     private Optional<Trade> getOpenTrade(String tradeId) {
         return tradeManager.getTradeById(tradeId);
     }
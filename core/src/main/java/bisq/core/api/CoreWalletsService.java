@@ -22,6 +22,7 @@ import bisq.core.api.model.BalancesInfo;
 import bisq.core.api.model.BsqBalanceInfo;
 import bisq.core.api.model.BtcBalanceInfo;
 import bisq.core.api.model.TxFeeRateInfo;
+import bisq.core.api.model.WalletSaveMetricsInfo;
 import bisq.core.btc.Balances;
 import bisq.core.btc.exceptions.AddressEntryException;
 import bisq.core.btc.exceptions.BsqChangeBelowDustException;
@@ -30,6 +31,8 @@ import bisq.core.btc.exceptions.TransactionVerificationException;
 import bisq.core.btc.exceptions.WalletException;
 import bisq.core.btc.model.AddressEntry;
 import bisq.core.btc.model.BsqTransferModel;
+import bisq.core.btc.setup.WalletConfig;
+import bisq.core.btc.setup.WalletsSetup;
 import bisq.core.btc.wallet.BsqTransferService;
 import bisq.core.btc.wallet.BsqWalletService;
 import bisq.core.btc.wallet.BtcWalletService;
@@ -91,6 +94,7 @@ class CoreWalletsService {
 
     private final Balances balances;
     private final WalletsManager walletsManager;
+    private final WalletsSetup walletsSetup;
     private final BsqWalletService bsqWalletService;
     private final BsqTransferService bsqTransferService;
     private final BsqFormatter bsqFormatter;
@@ -110,6 +114,7 @@ class CoreWalletsService {
     @Inject
     public CoreWalletsService(Balances balances,
                               WalletsManager walletsManager,
+                              WalletsSetup walletsSetup,
                               BsqWalletService bsqWalletService,
                               BsqTransferService bsqTransferService,
                               BsqFormatter bsqFormatter,
@@ -119,6 +124,7 @@ class CoreWalletsService {
                               Preferences preferences) {
         this.balances = balances;
         this.walletsManager = walletsManager;
+        this.walletsSetup = walletsSetup;
         this.bsqWalletService = bsqWalletService;
         this.bsqTransferService = bsqTransferService;
         this.bsqFormatter = bsqFormatter;
@@ -359,6 +365,14 @@ class CoreWalletsService {
         }
     }
 
+    // Metrics of the background wallet saves since startup, they do not contain any wallet data.
+    List<WalletSaveMetricsInfo> getWalletSaveMetrics() {
+        verifyWalletsAreAvailable();
+        WalletConfig walletConfig = walletsSetup.getWalletConfig();
+        return List.of(WalletSaveMetricsInfo.toWalletSaveMetricsInfo(walletConfig.getBtcWalletSaveMetrics()),
+                WalletSaveMetricsInfo.toWalletSaveMetricsInfo(walletConfig.getBsqWalletSaveMetrics()));
+    }
+
     int getNumConfirmationsForMostRecentTransaction(String addressString) {
         Address address = getAddressEntry(addressString).getAddress();
         TransactionConfidence confidence = btcWalletService.getConfidenceForAddress(address);
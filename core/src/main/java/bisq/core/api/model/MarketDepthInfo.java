@@ -0,0 +1,72 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.api.model;
+
+import bisq.common.Payload;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@EqualsAndHashCode
+@Getter
+public class MarketDepthInfo implements Payload {
+
+    private final String currencyCode;
+    // Bids are the BUY offers in descending price order, asks the SELL offers in ascending price order.
+    private final List<PriceLevelInfo> bids;
+    private final List<PriceLevelInfo> asks;
+
+    public MarketDepthInfo(String currencyCode,
+                           List<PriceLevelInfo> bids,
+                           List<PriceLevelInfo> asks) {
+        this.currencyCode = currencyCode;
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public bisq.proto.grpc.MarketDepthInfo toProtoMessage() {
+        return bisq.proto.grpc.MarketDepthInfo.newBuilder()
+                .setCurrencyCode(currencyCode)
+                .addAllBids(bids.stream().map(PriceLevelInfo::toProtoMessage).collect(Collectors.toList()))
+                .addAllAsks(asks.stream().map(PriceLevelInfo::toProtoMessage).collect(Collectors.toList()))
+                .build();
+    }
+
+    public static MarketDepthInfo fromProto(bisq.proto.grpc.MarketDepthInfo proto) {
+        return new MarketDepthInfo(proto.getCurrencyCode(),
+                proto.getBidsList().stream().map(PriceLevelInfo::fromProto).collect(Collectors.toList()),
+                proto.getAsksList().stream().map(PriceLevelInfo::fromProto).collect(Collectors.toList()));
+    }
+
+    @Override
+    public String toString() {
+        return "MarketDepthInfo{" +
+                "currencyCode='" + currencyCode + '\'' +
+                ", bids=" + bids +
+                ", asks=" + asks +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.api.model;
+
+import bisq.core.offer.OfferBookIndex;
+
+import bisq.common.Payload;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@EqualsAndHashCode
+@Getter
+public class PriceLevelInfo implements Payload {
+
+    private final long price;
+    // Amounts are in BTC satoshis, the volume is in the smallest unit of the market's currency.
+    private final long amount;
+    private final long volume;
+    private final int numOffers;
+    private final long cumulativeAmount; // amount of this and all better priced levels
+
+    public PriceLevelInfo(long price,
+                          long amount,
+                          long volume,
+                          int numOffers,
+                          long cumulativeAmount) {
+        this.price = price;
+        this.amount = amount;
+        this.volume = volume;
+        this.numOffers = numOffers;
+        this.cumulativeAmount = cumulativeAmount;
+    }
+
+    public static PriceLevelInfo toPriceLevelInfo(OfferBookIndex.PriceLevel priceLevel) {
+        return new PriceLevelInfo(priceLevel.getPrice(),
+                priceLevel.getAmount(),
+                priceLevel.getVolume(),
+                priceLevel.getNumOffers(),
+                priceLevel.getCumulativeAmount());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public bisq.proto.grpc.PriceLevelInfo toProtoMessage() {
+        return bisq.proto.grpc.PriceLevelInfo.newBuilder()
+                .setPrice(price)
+                .setAmount(amount)
+                .setVolume(volume)
+                .setNumOffers(numOffers)
+                .setCumulativeAmount(cumulativeAmount)
+                .build();
+    }
+
+    public static PriceLevelInfo fromProto(bisq.proto.grpc.PriceLevelInfo proto) {
+        return new PriceLevelInfo(proto.getPrice(),
+                proto.getAmount(),
+                proto.getVolume(),
+                proto.getNumOffers(),
+                proto.getCumulativeAmount());
+    }
+
+    @Override
+    public String toString() {
+        return "PriceLevelInfo{" +
+                "price=" + price +
+                ", amount=" + amount +
+                ", volume=" + volume +
+                ", numOffers=" + numOffers +
+                ", cumulativeAmount=" + cumulativeAmount +
+                '}';
+    }
+}
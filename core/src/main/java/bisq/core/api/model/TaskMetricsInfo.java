@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.api.model;
+
+import bisq.common.Payload;
+import bisq.common.taskrunner.TaskMetrics;
+
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@EqualsAndHashCode
+@Getter
+public class TaskMetricsInfo implements Payload {
+
+    private final String taskName;
+    private final long numRuns;
+    private final long numFailures;
+    private final long averageDurationMs;
+    private final long maxDurationMs;
+    private final List<Long> latencyBucketBoundsMs;
+    private final List<Long> latencyHistogram; // number of runs per bucket, the last bucket counts the slower runs
+
+    public TaskMetricsInfo(String taskName,
+                           long numRuns,
+                           long numFailures,
+                           long averageDurationMs,
+                           long maxDurationMs,
+                           List<Long> latencyBucketBoundsMs,
+                           List<Long> latencyHistogram) {
+        this.taskName = taskName;
+        this.numRuns = numRuns;
+        this.numFailures = numFailures;
+        this.averageDurationMs = averageDurationMs;
+        this.maxDurationMs = maxDurationMs;
+        this.latencyBucketBoundsMs = latencyBucketBoundsMs;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    public static TaskMetricsInfo toTaskMetricsInfo(TaskMetrics taskMetrics) {
+        return new TaskMetricsInfo(taskMetrics.getTaskName(),
+                taskMetrics.getNumRuns(),
+                taskMetrics.getNumFailures(),
+                taskMetrics.getAverageDurationMs(),
+                taskMetrics.getMaxDurationMs(),
+                TaskMetrics.getLatencyBucketBoundsMs(),
+                taskMetrics.getLatencyHistogram());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public bisq.proto.grpc.TaskMetricsInfo toProtoMessage() {
+        return bisq.proto.grpc.TaskMetricsInfo.newBuilder()
+                .setTaskName(taskName)
+                .setNumRuns(numRuns)
+                .setNumFailures(numFailures)
+                .setAverageDurationMs(averageDurationMs)
+                .setMaxDurationMs(maxDurationMs)
+                .addAllLatencyBucketBoundsMs(latencyBucketBoundsMs)
+                .addAllLatencyHistogram(latencyHistogram)
+                .build();
+    }
+
+    public static TaskMetricsInfo fromProto(bisq.proto.grpc.TaskMetricsInfo proto) {
+        return new TaskMetricsInfo(proto.getTaskName(),
+                proto.getNumRuns(),
+                proto.getNumFailures(),
+                proto.getAverageDurationMs(),
+                proto.getMaxDurationMs(),
+                proto.getLatencyBucketBoundsMsList(),
+                proto.getLatencyHistogramList());
+    }
+
+    @Override
+    public String toString() {
+        return "TaskMetricsInfo{" +
+                "taskName='" + taskName + '\'' +
+                ", numRuns=" + numRuns +
+                ", numFailures=" + numFailures +
+                ", averageDurationMs=" + averageDurationMs +
+                ", maxDurationMs=" + maxDurationMs +
+                ", latencyBucketBoundsMs=" + latencyBucketBoundsMs +
+                ", latencyHistogram=" + latencyHistogram +
+                '}';
+    }
+}
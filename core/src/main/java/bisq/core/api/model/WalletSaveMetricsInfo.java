@@ -0,0 +1,89 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.api.model;
+
+import bisq.core.btc.setup.WalletSaveMetrics;
+
+import bisq.common.Payload;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@EqualsAndHashCode
+@Getter
+public class WalletSaveMetricsInfo implements Payload {
+
+    private final String walletName;
+    private final long numSaves;
+    private final long lastSaveDurationMs;
+    private final long averageSaveDurationMs;
+    private final long maxSaveDurationMs;
+
+    public WalletSaveMetricsInfo(String walletName,
+                                 long numSaves,
+                                 long lastSaveDurationMs,
+                                 long averageSaveDurationMs,
+                                 long maxSaveDurationMs) {
+        this.walletName = walletName;
+        this.numSaves = numSaves;
+        this.lastSaveDurationMs = lastSaveDurationMs;
+        this.averageSaveDurationMs = averageSaveDurationMs;
+        this.maxSaveDurationMs = maxSaveDurationMs;
+    }
+
+    public static WalletSaveMetricsInfo toWalletSaveMetricsInfo(WalletSaveMetrics walletSaveMetrics) {
+        return new WalletSaveMetricsInfo(walletSaveMetrics.getWalletName(),
+                walletSaveMetrics.getNumSaves(),
+                walletSaveMetrics.getLastSaveDurationMs(),
+                walletSaveMetrics.getAverageSaveDurationMs(),
+                walletSaveMetrics.getMaxSaveDurationMs());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public bisq.proto.grpc.WalletSaveMetricsInfo toProtoMessage() {
+        return bisq.proto.grpc.WalletSaveMetricsInfo.newBuilder()
+                .setWalletName(walletName)
+                .setNumSaves(numSaves)
+                .setLastSaveDurationMs(lastSaveDurationMs)
+                .setAverageSaveDurationMs(averageSaveDurationMs)
+                .setMaxSaveDurationMs(maxSaveDurationMs)
+                .build();
+    }
+
+    public static WalletSaveMetricsInfo fromProto(bisq.proto.grpc.WalletSaveMetricsInfo proto) {
+        return new WalletSaveMetricsInfo(proto.getWalletName(),
+                proto.getNumSaves(),
+                proto.getLastSaveDurationMs(),
+                proto.getAverageSaveDurationMs(),
+                proto.getMaxSaveDurationMs());
+    }
+
+    @Override
+    public String toString() {
+        return "WalletSaveMetricsInfo{" +
+                "walletName='" + walletName + '\'' +
+                ", numSaves=" + numSaves +
+                ", lastSaveDurationMs=" + lastSaveDurationMs +
+                ", averageSaveDurationMs=" + averageSaveDurationMs +
+                ", maxSaveDurationMs=" + maxSaveDurationMs +
+                '}';
+    }
+}
@@ -25,6 +25,8 @@ import bisq.common.proto.persistable.PersistedDataHost;
 import com.google.protobuf.Message;
 
 import org.bitcoinj.core.Address;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.NetworkParameters;
 import org.bitcoinj.core.SegwitAddress;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.crypto.DeterministicKey;
@@ -38,8 +40,12 @@ import com.google.common.collect.ImmutableList;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
@@ -48,12 +54,18 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * The AddressEntries was previously stored as list, now as hashSet. We still keep the old name to reflect the
  * associated protobuf message.
+ *
+ * The entries are indexed by context, offer ID and address, so lookups do not scan all entries. The entrySet must
+ * only be changed with addEntry and removeEntry to keep the indexes in sync.
  */
 @Slf4j
 public final class AddressEntryList implements PersistableEnvelope, PersistedDataHost {
     transient private PersistenceManager<AddressEntryList> persistenceManager;
     transient private Wallet wallet;
     private final Set<AddressEntry> entrySet = new CopyOnWriteArraySet<>();
+    transient private final Map<AddressEntry.Context, Set<AddressEntry>> entriesByContext = new ConcurrentHashMap<>();
+    transient private final Map<String, Set<AddressEntry>> entriesByOfferId = new ConcurrentHashMap<>();
+    transient private final Map<String, Set<AddressEntry>> entriesByAddress = new ConcurrentHashMap<>();
 
     @Inject
     public AddressEntryList(PersistenceManager<AddressEntryList> persistenceManager) {
@@ -65,8 +77,8 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(persisted -> {
-                    entrySet.clear();
-                    entrySet.addAll(persisted.entrySet);
+                    clearEntries();
+                    persisted.entrySet.forEach(this::addEntry);
                     completeHandler.run();
                 },
                 completeHandler);
@@ -78,7 +90,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private AddressEntryList(Set<AddressEntry> entrySet) {
-        this.entrySet.addAll(entrySet);
+        entrySet.forEach(this::addEntry);
     }
 
     public static AddressEntryList fromProto(protobuf.AddressEntryList proto) {
@@ -135,11 +147,11 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                 }
             });
 
-            toBeRemoved.forEach(entrySet::remove);
+            toBeRemoved.forEach(this::removeEntry);
         } else {
             // As long the old arbitration domain is not removed from the code base we still support it here.
             DeterministicKey key = (DeterministicKey) wallet.findKeyFromAddress(wallet.freshReceiveAddress(Script.ScriptType.P2PKH));
-            entrySet.add(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
+            addEntry(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
         }
 
         // In case we restore from seed words and have balance we need to add the relevant addresses to our list.
@@ -153,7 +165,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                         if (key != null) {
                             // Address will be derived from key in getAddress method
                             log.info("Create AddressEntry for IssuedReceiveAddress. address={}", address.toString());
-                            entrySet.add(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
+                            addEntry(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
                         } else {
                             log.warn("DeterministicKey for address {} is null", address);
                         }
@@ -179,13 +191,31 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         return ImmutableList.copyOf(entrySet);
     }
 
+    public List<AddressEntry> getAddressEntries(AddressEntry.Context context) {
+        return ImmutableList.copyOf(entriesByContext.getOrDefault(context, Set.of()));
+    }
+
+    public List<AddressEntry> getAddressEntries(String offerId, AddressEntry.Context context) {
+        return entriesByOfferId.getOrDefault(offerId, Set.of()).stream()
+                .filter(e -> context == e.getContext())
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    public Optional<AddressEntry> findAddressEntry(String offerId, AddressEntry.Context context) {
+        return entriesByOfferId.getOrDefault(offerId, Set.of()).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
+    public Optional<AddressEntry> findAddressEntryByAddress(String address, AddressEntry.Context context) {
+        return entriesByAddress.getOrDefault(address, Set.of()).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
     public void addAddressEntry(AddressEntry addressEntry) {
-        boolean entryWithSameOfferIdAndContextAlreadyExist = entrySet.stream().anyMatch(e -> {
-            if (addressEntry.getOfferId() != null) {
-                return addressEntry.getOfferId().equals(e.getOfferId()) && addressEntry.getContext() == e.getContext();
-            }
-            return false;
-        });
+        boolean entryWithSameOfferIdAndContextAlreadyExist = addressEntry.getOfferId() != null &&
+                findAddressEntry(addressEntry.getOfferId(), addressEntry.getContext()).isPresent();
         if (entryWithSameOfferIdAndContextAlreadyExist) {
             log.error("We have an address entry with the same offer ID and context. We do not add the new one. " +
                     "addressEntry={}, entrySet={}", addressEntry, entrySet);
@@ -193,7 +223,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("addAddressEntry: add new AddressEntry {}", addressEntry);
-        boolean setChangedByAdd = entrySet.add(addressEntry);
+        boolean setChangedByAdd = addEntry(addressEntry);
         if (setChangedByAdd)
             requestPersistence();
     }
@@ -209,8 +239,8 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("swapToAvailable addressEntry to swap={}", addressEntry);
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
-        boolean setChangedByAdd = entrySet.add(new AddressEntry(addressEntry.getKeyPair(),
+        boolean setChangedByRemove = removeEntry(addressEntry);
+        boolean setChangedByAdd = addEntry(new AddressEntry(addressEntry.getKeyPair(),
                 AddressEntry.Context.AVAILABLE,
                 addressEntry.isSegwit()));
         if (setChangedByRemove || setChangedByAdd) {
@@ -221,10 +251,10 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     public AddressEntry swapAvailableToAddressEntryWithOfferId(AddressEntry addressEntry,
                                                                AddressEntry.Context context,
                                                                String offerId) {
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = removeEntry(addressEntry);
         AddressEntry newAddressEntry = new AddressEntry(addressEntry.getKeyPair(), context, offerId, addressEntry.isSegwit());
         log.info("swapAvailableToAddressEntryWithOfferId newAddressEntry={}", newAddressEntry);
-        boolean setChangedByAdd = entrySet.add(newAddressEntry);
+        boolean setChangedByAdd = addEntry(newAddressEntry);
         if (setChangedByRemove || setChangedByAdd)
             requestPersistence();
 
@@ -238,13 +268,13 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("setCoinLockedInMultiSigAddressEntry addressEntry={}, value={}", addressEntry, value);
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = removeEntry(addressEntry);
         AddressEntry entry = new AddressEntry(addressEntry.getKeyPair(),
                 addressEntry.getContext(),
                 addressEntry.getOfferId(),
                 value,
                 addressEntry.isSegwit());
-        boolean setChangedByAdd = entrySet.add(entry);
+        boolean setChangedByAdd = addEntry(entry);
         if (setChangedByRemove || setChangedByAdd) {
             requestPersistence();
         }
@@ -273,7 +303,65 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     }
 
     private boolean isAddressNotInEntries(Address address) {
-        return entrySet.stream().noneMatch(e -> address.equals(e.getAddress()));
+        return !entriesByAddress.containsKey(address.toString());
+    }
+
+    private boolean addEntry(AddressEntry addressEntry) {
+        if (!entrySet.add(addressEntry)) {
+            return false;
+        }
+
+        addToIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        if (addressEntry.getOfferId() != null) {
+            addToIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        addToIndex(entriesByAddress, getAddressString(addressEntry), addressEntry);
+        return true;
+    }
+
+    private boolean removeEntry(AddressEntry addressEntry) {
+        if (!entrySet.remove(addressEntry)) {
+            return false;
+        }
+
+        removeFromIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        if (addressEntry.getOfferId() != null) {
+            removeFromIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        removeFromIndex(entriesByAddress, getAddressString(addressEntry), addressEntry);
+        return true;
+    }
+
+    private void clearEntries() {
+        entrySet.clear();
+        entriesByContext.clear();
+        entriesByOfferId.clear();
+        entriesByAddress.clear();
+    }
+
+    private static <K> void addToIndex(Map<K, Set<AddressEntry>> index, K key, AddressEntry addressEntry) {
+        index.compute(key, (k, entries) -> {
+            Set<AddressEntry> result = entries != null ? entries : new CopyOnWriteArraySet<>();
+            result.add(addressEntry);
+            return result;
+        });
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<AddressEntry>> index, K key, AddressEntry addressEntry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(addressEntry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    // Entries read from disk get their key only once the wallet is ready, so we derive the address from the
+    // pubKeyHash. It is the same address as AddressEntry.getAddress() derives from the key.
+    private static String getAddressString(AddressEntry addressEntry) {
+        NetworkParameters params = Config.baseCurrencyNetworkParameters();
+        Address address = addressEntry.isSegwit() ?
+                SegwitAddress.fromHash(params, addressEntry.getPubKeyHash()) :
+                LegacyAddress.fromPubKeyHash(params, addressEntry.getPubKeyHash());
+        return address.toString();
     }
 
     @Override
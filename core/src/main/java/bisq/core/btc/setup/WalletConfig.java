@@ -82,6 +82,7 @@ import lombok.Setter;
 import javax.annotation.Nullable;
 
 import static bisq.common.util.Preconditions.checkDir;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
@@ -139,6 +140,11 @@ public class WalletConfig extends AbstractIdleService {
     protected LocalBitcoinNode localBitcoinNode;
     protected Socks5Proxy socks5Proxy;
     protected int numConnectionsForBtc;
+    protected int walletSaveDelaySec = Config.DEFAULT_WALLET_SAVE_DELAY_SEC;
+    @Getter
+    private final WalletSaveMetrics btcWalletSaveMetrics = new WalletSaveMetrics("BtcWallet");
+    @Getter
+    private final WalletSaveMetrics bsqWalletSaveMetrics = new WalletSaveMetrics("BsqWallet");
     @Getter
     @Setter
     private int minBroadcastConnections;
@@ -186,6 +192,13 @@ public class WalletConfig extends AbstractIdleService {
         return this;
     }
 
+    public WalletConfig setWalletSaveDelaySec(int walletSaveDelaySec) {
+        checkState(state() == State.NEW, "Cannot call after startup");
+        checkArgument(walletSaveDelaySec > 0, "walletSaveDelaySec must be positive");
+        this.walletSaveDelaySec = walletSaveDelaySec;
+        return this;
+    }
+
 
     /** Will only connect to the given addresses. Cannot be called after startup. */
     public WalletConfig setPeerNodes(PeerAddress... addresses) {
@@ -385,13 +398,14 @@ public class WalletConfig extends AbstractIdleService {
             wallet = loadWallet(false, walletFile, isBsqWallet);
         }
 
-        this.setupAutoSave(wallet, walletFile);
+        this.setupAutoSave(wallet, walletFile, isBsqWallet ? bsqWalletSaveMetrics : btcWalletSaveMetrics);
 
         return wallet;
     }
 
-    protected void setupAutoSave(Wallet wallet, File walletFile) {
-        wallet.autosaveToFile(walletFile, 5, TimeUnit.SECONDS, null);
+    protected void setupAutoSave(Wallet wallet, File walletFile, WalletSaveMetrics walletSaveMetrics) {
+        // Saves are coalesced: Changes within walletSaveDelaySec lead to a single write on the auto-save thread
+        wallet.autosaveToFile(walletFile, walletSaveDelaySec, TimeUnit.SECONDS, walletSaveMetrics);
     }
 
     private Wallet loadWallet(boolean shouldReplayWallet, File walletFile, boolean isBsqWallet) throws Exception {
@@ -482,14 +496,17 @@ public class WalletConfig extends AbstractIdleService {
         try {
             Context.propagate(context);
 
+            // We stop the auto-save thread first so a pending save cannot race with our final save
+            vBtcWallet.shutdownAutosaveAndWait();
             vBtcWallet.saveToFile(vBtcWalletFile);
             vBtcWallet = null;
-            log.info("BtcWallet saved to file");
+            log.info("BtcWallet saved to file. {}", btcWalletSaveMetrics);
 
             if (vBsqWallet != null && vBsqWalletFile != null) {
+                vBsqWallet.shutdownAutosaveAndWait();
                 vBsqWallet.saveToFile(vBsqWalletFile);
                 vBsqWallet = null;
-                log.info("BsqWallet saved to file");
+                log.info("BsqWallet saved to file. {}", bsqWalletSaveMetrics);
             }
 
             vStore.close();
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.btc.setup;
+
+import org.bitcoinj.wallet.WalletFiles;
+
+import java.io.File;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long the background auto-saves of a wallet file take. BitcoinJ's WalletFiles already coalesces
+ * the save requests and writes the wallet on its own thread to a temp file which gets synced and renamed, so we
+ * only hook into its listener to make the costs of serializing large wallets visible.
+ */
+@Slf4j
+public class WalletSaveMetrics implements WalletFiles.Listener {
+    private static final long SLOW_SAVE_THRESHOLD_MS = 1000;
+
+    @Getter
+    private final String walletName;
+    private final AtomicLong numSaves = new AtomicLong();
+    private final AtomicLong totalSaveDurationMs = new AtomicLong();
+    private final AtomicLong maxSaveDurationMs = new AtomicLong();
+    @Getter
+    private volatile long lastSaveDurationMs;
+    private volatile long saveStartTs;
+
+    public WalletSaveMetrics(String walletName) {
+        this.walletName = walletName;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // WalletFiles.Listener (called on the auto-save thread)
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void onBeforeAutoSave(File tempFile) {
+        saveStartTs = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onAfterAutoSave(File newlySavedFile) {
+        long duration = System.currentTimeMillis() - saveStartTs;
+        lastSaveDurationMs = duration;
+        numSaves.incrementAndGet();
+        totalSaveDurationMs.addAndGet(duration);
+        maxSaveDurationMs.accumulateAndGet(duration, Math::max);
+
+        if (duration > SLOW_SAVE_THRESHOLD_MS) {
+            log.warn("Saving {} to {} took {} ms ({} bytes)",
+                    walletName, newlySavedFile.getName(), duration, newlySavedFile.length());
+        } else {
+            log.debug("Saving {} took {} ms", walletName, duration);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Getters
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public long getNumSaves() {
+        return numSaves.get();
+    }
+
+    public long getMaxSaveDurationMs() {
+        return maxSaveDurationMs.get();
+    }
+
+    public long getAverageSaveDurationMs() {
+        long saves = numSaves.get();
+        return saves == 0 ? 0 : totalSaveDurationMs.get() / saves;
+    }
+
+    @Override
+    public String toString() {
+        return "WalletSaveMetrics{" +
+                "walletName='" + walletName + '\'' +
+                ", numSaves=" + getNumSaves() +
+                ", lastSaveDurationMs=" + lastSaveDurationMs +
+                ", averageSaveDurationMs=" + getAverageSaveDurationMs() +
+                ", maxSaveDurationMs=" + getMaxSaveDurationMs() +
+                '}';
+    }
+}
@@ -127,6 +127,7 @@ public class WalletsSetup {
     private final BtcNodes btcNodes;
     private final String btcWalletFileName;
     private final int numConnectionsForBtc;
+    private final int walletSaveDelaySec;
     private final String userAgent;
     private final NetworkParameters params;
     private final File walletDir;
@@ -157,6 +158,7 @@ public class WalletsSetup {
                         @Named(Config.WALLET_DIR) File walletDir,
                         @Named(Config.USE_ALL_PROVIDED_NODES) boolean useAllProvidedNodes,
                         @Named(Config.NUM_CONNECTIONS_FOR_BTC) int numConnectionsForBtc,
+                        @Named(Config.WALLET_SAVE_DELAY_SEC) int walletSaveDelaySec,
                         @Named(Config.SOCKS5_DISCOVER_MODE) String socks5DiscoverModeString) {
         this.regTestHost = regTestHost;
         this.addressEntryList = addressEntryList;
@@ -166,6 +168,7 @@ public class WalletsSetup {
         this.localBitcoinNode = localBitcoinNode;
         this.btcNodes = btcNodes;
         this.numConnectionsForBtc = numConnectionsForBtc;
+        this.walletSaveDelaySec = walletSaveDelaySec;
         this.useAllProvidedNodes = useAllProvidedNodes;
         this.userAgent = userAgent;
         this.socks5DiscoverMode = evaluateMode(socks5DiscoverModeString);
@@ -266,6 +269,7 @@ public class WalletsSetup {
         walletConfig.setLocalBitcoinNode(localBitcoinNode);
         walletConfig.setUserAgent(userAgent, Version.VERSION);
         walletConfig.setNumConnectionsForBtc(numConnectionsForBtc);
+        walletConfig.setWalletSaveDelaySec(walletSaveDelaySec);
 
         String checkpointsPath = null;
         if (params.equals(MainNetParams.get())) {
@@ -536,8 +540,7 @@ public class WalletsSetup {
     }
 
     public Set<Address> getAddressesByContext(@SuppressWarnings("SameParameterValue") AddressEntry.Context context) {
-        return addressEntryList.getAddressEntriesAsListImmutable().stream()
-                .filter(addressEntry -> addressEntry.getContext() == context)
+        return addressEntryList.getAddressEntries(context).stream()
                 .map(AddressEntry::getAddress)
                 .collect(Collectors.toSet());
     }
@@ -58,6 +58,7 @@ import org.bitcoinj.wallet.SendRequest;
 import javax.inject.Inject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +94,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     private final DaoStateService daoStateService;
     private final UnconfirmedBsqChangeOutputListService unconfirmedBsqChangeOutputListService;
     private final List<Transaction> walletTransactions = new ArrayList<>();
+    private final Map<String, Transaction> walletTransactionById = new HashMap<>();
     private final CopyOnWriteArraySet<BsqBalanceListener> bsqBalanceListeners = new CopyOnWriteArraySet<>();
     private final List<WalletTransactionsChangeListener> walletTransactionsChangeListeners = new ArrayList<>();
     private boolean updateBsqWalletTransactionsPending;
@@ -223,8 +225,9 @@ public class BsqWalletService extends WalletService implements DaoStateListener
 
     private void updateBsqBalance() {
         long ts = System.currentTimeMillis();
+        // Unconfirmed txs are kept in the pending pool of the wallet, so we don't need to iterate all wallet txs
         unverifiedBalance = Coin.valueOf(
-                getTransactions(false).stream()
+                wallet.getPendingTransactions().stream()
                         .filter(tx -> tx.getConfidence().getConfidenceType() == PENDING)
                         .mapToLong(tx -> {
                             // Sum up outputs into BSQ wallet and subtract the inputs using lockup or unlocking
@@ -261,32 +264,28 @@ public class BsqWalletService extends WalletService implements DaoStateListener
                         .sum()
         );
 
-        Set<String> confirmedTxIdSet = getTransactions(false).stream()
-                .filter(tx -> tx.getConfidence().getConfidenceType() == BUILDING)
-                .map(Transaction::getTxId)
-                .map(Sha256Hash::toString)
-                .collect(Collectors.toSet());
-
         lockedForVotingBalance = Coin.valueOf(daoStateService.getUnspentBlindVoteStakeTxOutputs().stream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
+                .filter(txOutput -> isConfirmedWalletTransaction(txOutput.getTxId()))
                 .mapToLong(TxOutput::getValue)
                 .sum());
 
         lockupBondsBalance = Coin.valueOf(daoStateService.getLockupTxOutputs().stream()
                 .filter(txOutput -> daoStateService.isUnspent(txOutput.getKey()))
                 .filter(txOutput -> !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()))
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
+                .filter(txOutput -> isConfirmedWalletTransaction(txOutput.getTxId()))
                 .mapToLong(TxOutput::getValue)
                 .sum());
 
         unlockingBondsBalance = Coin.valueOf(daoStateService.getUnspentUnlockingTxOutputsStream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
+                .filter(txOutput -> isConfirmedWalletTransaction(txOutput.getTxId()))
                 .filter(txOutput -> !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()))
                 .mapToLong(TxOutput::getValue)
                 .sum());
 
+        // The coin selectors copy the candidates, so we can use them for both selections
+        List<TransactionOutput> spendCandidates = wallet.calculateAllSpendCandidates();
         availableConfirmedBalance = bsqCoinSelector.select(NetworkParameters.MAX_MONEY,
-                wallet.calculateAllSpendCandidates()).valueGathered;
+                spendCandidates).valueGathered;
 
         if (availableConfirmedBalance.isNegative())
             availableConfirmedBalance = Coin.ZERO;
@@ -294,7 +293,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         unconfirmedChangeBalance = unconfirmedBsqChangeOutputListService.getBalance();
 
         availableNonBsqBalance = nonBsqCoinSelector.select(NetworkParameters.MAX_MONEY,
-                wallet.calculateAllSpendCandidates()).valueGathered;
+                spendCandidates).valueGathered;
 
         bsqBalanceListeners.forEach(e -> e.onUpdateBalances(availableConfirmedBalance, availableNonBsqBalance, unverifiedBalance,
                 unconfirmedChangeBalance, lockedForVotingBalance, lockupBondsBalance, unlockingBondsBalance));
@@ -351,7 +350,11 @@ public class BsqWalletService extends WalletService implements DaoStateListener
                 updateBsqWalletTransactionsPending = true;
                 UserThread.runAfter(() -> {
                     walletTransactions.clear();
-                    walletTransactions.addAll(getTransactions(false));
+                    walletTransactionById.clear();
+                    getTransactions(false).forEach(tx -> {
+                        walletTransactions.add(tx);
+                        walletTransactionById.put(tx.getTxId().toString(), tx);
+                    });
                     walletTransactionsChangeListeners.forEach(WalletTransactionsChangeListener::onWalletTransactionsChange);
                     updateBsqBalance();
                     updateBsqWalletTransactionsPending = false;
@@ -474,7 +477,12 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     }
 
     public Optional<Transaction> isWalletTransaction(String txId) {
-        return walletTransactions.stream().filter(e -> e.getTxId().toString().equals(txId)).findAny();
+        return Optional.ofNullable(walletTransactionById.get(txId));
+    }
+
+    private boolean isConfirmedWalletTransaction(String txId) {
+        Transaction tx = walletTransactionById.get(txId);
+        return tx != null && tx.getConfidence().getConfidenceType() == BUILDING;
     }
 
 
@@ -621,23 +621,16 @@ public class BtcWalletService extends WalletService {
 
     public Optional<AddressEntry> getAddressEntry(String offerId,
                                                   @SuppressWarnings("SameParameterValue") AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        return addressEntryList.findAddressEntry(offerId, context);
     }
 
     public AddressEntry getOrCreateAddressEntry(String offerId, AddressEntry.Context context) {
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        Optional<AddressEntry> addressEntry = addressEntryList.findAddressEntry(offerId, context);
         if (addressEntry.isPresent()) {
             return addressEntry.get();
         } else {
             // We try to use available and not yet used entries
-            Optional<AddressEntry> emptyAvailableAddressEntry = getAddressEntryListAsImmutableList().stream()
-                    .filter(e -> AddressEntry.Context.AVAILABLE == e.getContext())
+            Optional<AddressEntry> emptyAvailableAddressEntry = getAvailableAddressEntries().stream()
                     .filter(e -> isAddressUnused(e.getAddress()))
                     .filter(e -> Script.ScriptType.P2WPKH.equals(e.getAddress().getOutputScriptType()))
                     .findAny();
@@ -655,9 +648,7 @@ public class BtcWalletService extends WalletService {
 
     public AddressEntry getArbitratorAddressEntry() {
         AddressEntry.Context context = AddressEntry.Context.ARBITRATOR;
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> context == e.getContext())
-                .findAny();
+        Optional<AddressEntry> addressEntry = getAddressEntries(context).stream().findAny();
         return getOrCreateAddressEntry(context, addressEntry, false);
     }
 
@@ -667,8 +658,7 @@ public class BtcWalletService extends WalletService {
 
     public AddressEntry getFreshAddressEntry(boolean segwit) {
         AddressEntry.Context context = AddressEntry.Context.AVAILABLE;
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> context == e.getContext())
+        Optional<AddressEntry> addressEntry = getAddressEntries(context).stream()
                 .filter(e -> isAddressUnused(e.getAddress()))
                 .filter(e -> {
                     boolean isSegwitOutputScriptType = Script.ScriptType.P2WPKH.equals(e.getAddress().getOutputScriptType());
@@ -704,36 +694,27 @@ public class BtcWalletService extends WalletService {
     }
 
     private Optional<AddressEntry> findAddressEntry(String address, AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(e -> address.equals(e.getAddressString()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        return addressEntryList.findAddressEntryByAddress(address, context);
     }
 
     public List<AddressEntry> getAvailableAddressEntries() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.AVAILABLE == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return getAddressEntries(AddressEntry.Context.AVAILABLE);
     }
 
     public List<AddressEntry> getAddressEntriesForOpenOffer() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.OFFER_FUNDING == addressEntry.getContext() ||
-                        AddressEntry.Context.RESERVED_FOR_TRADE == addressEntry.getContext())
+        return Stream.concat(getAddressEntries(AddressEntry.Context.OFFER_FUNDING).stream(),
+                getAddressEntries(AddressEntry.Context.RESERVED_FOR_TRADE).stream())
                 .collect(Collectors.toList());
     }
 
     public List<AddressEntry> getAddressEntriesForTrade() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.MULTI_SIG == addressEntry.getContext() ||
-                        AddressEntry.Context.TRADE_PAYOUT == addressEntry.getContext())
+        return Stream.concat(getAddressEntries(AddressEntry.Context.MULTI_SIG).stream(),
+                getAddressEntries(AddressEntry.Context.TRADE_PAYOUT).stream())
                 .collect(Collectors.toList());
     }
 
     public List<AddressEntry> getAddressEntries(AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> context == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return addressEntryList.getAddressEntries(context);
     }
 
     public List<AddressEntry> getFundedAvailableAddressEntries() {
@@ -755,9 +736,7 @@ public class BtcWalletService extends WalletService {
             return;
         }
 
-        getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
+        addressEntryList.getAddressEntries(offerId, context)
                 .forEach(e -> {
                     log.info("swap addressEntry with address {} and offerId {} from context {} to available",
                             e.getAddressString(), e.getOfferId(), context);
@@ -771,9 +750,7 @@ public class BtcWalletService extends WalletService {
     }
 
     public void setCoinLockedInMultiSigAddressEntry(String offerId, long value) {
-        getAddressEntryListAsImmutableList().stream()
-                .filter(e -> AddressEntry.Context.MULTI_SIG == e.getContext())
-                .filter(e -> offerId.equals(e.getOfferId()))
+        addressEntryList.getAddressEntries(offerId, AddressEntry.Context.MULTI_SIG)
                 .forEach(addressEntry -> setCoinLockedInMultiSigAddressEntry(addressEntry, value));
     }
 
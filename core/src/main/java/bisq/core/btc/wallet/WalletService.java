@@ -72,8 +72,10 @@ import org.bitcoinj.wallet.listeners.WalletReorganizeEventListener;
 
 import javax.inject.Inject;
 
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.SetMultimap;
 import com.google.common.util.concurrent.FutureCallback;
@@ -121,6 +123,7 @@ public abstract class WalletService {
     private final WalletChangeEventListener cacheInvalidationListener;
     private final AtomicReference<Multiset<Address>> txOutputAddressCache = new AtomicReference<>();
     private final AtomicReference<SetMultimap<Address, Transaction>> addressToMatchingTxSetCache = new AtomicReference<>();
+    private final AtomicReference<ListMultimap<Address, TransactionOutput>> addressToSpendCandidatesCache = new AtomicReference<>();
     @Getter
     protected Wallet wallet;
     @Getter
@@ -146,6 +149,7 @@ public abstract class WalletService {
         cacheInvalidationListener = wallet -> {
             txOutputAddressCache.set(null);
             addressToMatchingTxSetCache.set(null);
+            addressToSpendCandidatesCache.set(null);
         };
     }
 
@@ -419,12 +423,17 @@ public abstract class WalletService {
 
     @Nullable
     public TransactionConfidence getConfidenceForTxId(String txId) {
-        if (wallet != null) {
-            Set<Transaction> transactions = wallet.getTransactions(false);
-            for (Transaction tx : transactions) {
-                if (tx.getTxId().toString().equals(txId))
-                    return tx.getConfidence();
+        if (wallet != null && txId != null) {
+            Sha256Hash txHash;
+            try {
+                txHash = Sha256Hash.wrap(txId);
+            } catch (IllegalArgumentException e) {
+                return null;
             }
+            // The wallet looks up txs by hash. As with getTransactions(false) we ignore dead txs.
+            Transaction tx = wallet.getTransaction(txHash);
+            if (tx != null && tx.getConfidence().getConfidenceType() != TransactionConfidence.ConfidenceType.DEAD)
+                return tx.getConfidence();
         }
         return null;
     }
@@ -491,7 +500,23 @@ public abstract class WalletService {
     }
 
     public Coin getBalanceForAddress(Address address) {
-        return wallet != null ? getBalance(wallet.calculateAllSpendCandidates(), address) : Coin.ZERO;
+        return wallet != null && address != null ?
+                getBalance(getAddressToSpendCandidatesMultimap().get(address), address) :
+                Coin.ZERO;
+    }
+
+    // The spend candidates are indexed by address once after each wallet change, so listing the balances of all
+    // address entries does not scan all UTXOs per address. Dust is filtered at lookup as the threshold is a preference.
+    private ListMultimap<Address, TransactionOutput> getAddressToSpendCandidatesMultimap() {
+        return addressToSpendCandidatesCache.updateAndGet(map -> map != null ? map : computeAddressToSpendCandidatesMultimap());
+    }
+
+    private ListMultimap<Address, TransactionOutput> computeAddressToSpendCandidatesMultimap() {
+        return wallet.calculateAllSpendCandidates().stream()
+                .filter(WalletService::isOutputScriptConvertibleToAddress)
+                .filter(output -> getAddressFromOutput(output) != null)
+                .collect(ImmutableListMultimap.toImmutableListMultimap(WalletService::getAddressFromOutput,
+                        Function.identity()));
     }
 
     protected Coin getBalance(List<TransactionOutput> transactionOutputs, Address address) {
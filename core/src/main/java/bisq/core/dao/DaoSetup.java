@@ -17,6 +17,7 @@
 
 package bisq.core.dao;
 
+import bisq.core.dao.analytics.DaoAnalyticsService;
 import bisq.core.dao.governance.asset.AssetService;
 import bisq.core.dao.governance.ballot.BallotListService;
 import bisq.core.dao.governance.blindvote.BlindVoteListService;
@@ -74,6 +75,7 @@ public class DaoSetup {
                     ProofOfBurnService proofOfBurnService,
                     DaoFacade daoFacade,
                     ExportJsonFilesService exportJsonFilesService,
+                    DaoAnalyticsService daoAnalyticsService,
                     DaoKillSwitch daoKillSwitch,
                     DaoStateMonitoringService daoStateMonitoringService,
                     ProposalStateMonitoringService proposalStateMonitoringService,
@@ -106,6 +108,7 @@ public class DaoSetup {
         daoSetupServices.add(proofOfBurnService);
         daoSetupServices.add(daoFacade);
         daoSetupServices.add(exportJsonFilesService);
+        daoSetupServices.add(daoAnalyticsService);
         daoSetupServices.add(daoKillSwitch);
         daoSetupServices.add(daoStateMonitoringService);
         daoSetupServices.add(proposalStateMonitoringService);
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.analytics;
+
+import bisq.core.trade.statistics.TradeStatistics3;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Sums of the BSQ and USD trades of a time interval. The average prices of the interval can be derived from the sums,
+ * so aggregates of days can be merged to aggregates of larger intervals without loss.
+ * Volumes are in the smallest unit of the currency (satoshi for BSQ and BTC, 1/10000 for USD).
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class BsqTradeAggregate {
+    private long bsqVolume;
+    private long btcVolumeOfBsqTrades;
+    private long usdVolume;
+    private long btcVolumeOfUsdTrades;
+
+    BsqTradeAggregate() {
+    }
+
+    static boolean isRelevant(TradeStatistics3 tradeStatistics) {
+        return tradeStatistics.getCurrency().equals("BSQ") || tradeStatistics.getCurrency().equals("USD");
+    }
+
+    void add(TradeStatistics3 tradeStatistics) {
+        add(tradeStatistics, 1);
+    }
+
+    void remove(TradeStatistics3 tradeStatistics) {
+        add(tradeStatistics, -1);
+    }
+
+    void add(BsqTradeAggregate other) {
+        bsqVolume += other.bsqVolume;
+        btcVolumeOfBsqTrades += other.btcVolumeOfBsqTrades;
+        usdVolume += other.usdVolume;
+        btcVolumeOfUsdTrades += other.btcVolumeOfUsdTrades;
+    }
+
+    private void add(TradeStatistics3 tradeStatistics, int sign) {
+        if (tradeStatistics.getCurrency().equals("BSQ")) {
+            bsqVolume += sign * tradeStatistics.getTradeVolume().getValue();
+            btcVolumeOfBsqTrades += sign * tradeStatistics.getAmount();
+        } else if (tradeStatistics.getCurrency().equals("USD")) {
+            usdVolume += sign * tradeStatistics.getTradeVolume().getValue();
+            btcVolumeOfUsdTrades += sign * tradeStatistics.getAmount();
+        }
+    }
+}
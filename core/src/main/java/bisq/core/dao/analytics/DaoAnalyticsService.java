@@ -0,0 +1,314 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.analytics;
+
+import bisq.core.dao.DaoSetupService;
+import bisq.core.dao.state.DaoStateListener;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxType;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.IssuanceType;
+import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsManager;
+
+import bisq.common.app.DevEnv;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.proto.persistable.PersistedDataHost;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import javafx.collections.SetChangeListener;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains day level aggregates of the DAO economy data which are used by the charts. The charts roll them up to
+ * their interval instead of grouping all issuances and txs at each change of the interval or the date filter.
+ *
+ * The aggregates of the DAO state are updated at each parsed block and persisted together with the block they
+ * reflect. If that block is not part of our chain anymore (reorg, applied snapshot) we rebuild them.
+ * The aggregates of the BSQ trades are not persisted as we cannot tell which trade statistics objects have been
+ * counted already. They are built from the trade statistics at startup and updated at each new trade statistics
+ * object.
+ */
+@Slf4j
+@Singleton
+public class DaoAnalyticsService implements DaoSetupService, DaoStateListener, PersistedDataHost {
+    private final DaoStateService daoStateService;
+    private final TradeStatisticsManager tradeStatisticsManager;
+    private final PersistenceManager<DaoAnalyticsStore> persistenceManager;
+    private final ZoneId zoneId;
+    private final DaoAnalyticsStore daoAnalyticsStore = new DaoAnalyticsStore();
+    private final TreeMap<Long, BsqTradeAggregate> bsqTradeAggregateByDay = new TreeMap<>();
+    private final SetChangeListener<TradeStatistics3> tradeStatisticsListener;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public DaoAnalyticsService(DaoStateService daoStateService,
+                               TradeStatisticsManager tradeStatisticsManager,
+                               PersistenceManager<DaoAnalyticsStore> persistenceManager) {
+        // The charts use the system default time zone for their intervals as well
+        this(daoStateService, tradeStatisticsManager, persistenceManager, ZoneId.systemDefault());
+    }
+
+    DaoAnalyticsService(DaoStateService daoStateService,
+                        TradeStatisticsManager tradeStatisticsManager,
+                        PersistenceManager<DaoAnalyticsStore> persistenceManager,
+                        ZoneId zoneId) {
+        this.daoStateService = daoStateService;
+        this.tradeStatisticsManager = tradeStatisticsManager;
+        this.persistenceManager = persistenceManager;
+        this.zoneId = zoneId;
+
+        this.persistenceManager.initialize(daoAnalyticsStore, PersistenceManager.Source.PRIVATE_LOW_PRIO);
+
+        tradeStatisticsListener = change -> {
+            if (change.wasAdded())
+                onTradeStatisticsAdded(change.getElementAdded());
+            if (change.wasRemoved())
+                onTradeStatisticsRemoved(change.getElementRemoved());
+        };
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PersistedDataHost
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void readPersisted(Runnable completeHandler) {
+        if (DevEnv.isDaoActivated()) {
+            persistenceManager.readPersisted(persisted -> {
+                        daoAnalyticsStore.setAll(persisted);
+                        completeHandler.run();
+                    },
+                    completeHandler);
+        } else {
+            completeHandler.run();
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // DaoSetupService
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void addListeners() {
+        daoStateService.addDaoStateListener(this);
+        tradeStatisticsManager.getObservableTradeStatisticsSet().addListener(tradeStatisticsListener);
+    }
+
+    @Override
+    public void start() {
+        bsqTradeAggregateByDay.clear();
+        tradeStatisticsManager.getObservableTradeStatisticsSet().forEach(this::onTradeStatisticsAdded);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // DaoStateListener
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // At startup the blocks are parsed in a batch without calls of onParseBlockCompleteAfterBatchProcessing, so we
+    // catch up with the DAO state once the batch is done. That covers a fresh install and the blocks which were
+    // parsed after our store was persisted.
+    @Override
+    public void onParseBlockChainComplete() {
+        daoStateService.getLastBlock().ifPresent(this::applyBlocks);
+    }
+
+    @Override
+    public void onParseBlockCompleteAfterBatchProcessing(Block block) {
+        applyBlocks(block);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param valueFunction     Value of a day to sum up
+     * @param toInterval        Maps the start of the day in epoch seconds to the start of its interval
+     * @param intervalFilter    Filter applied to the start of the intervals
+     * @return Map with the sum of the values by the start of the interval. Intervals with a zero sum are not included.
+     */
+    public Map<Long, Long> getDaoDataByInterval(ToLongFunction<DaoDailyAggregate> valueFunction,
+                                                LongUnaryOperator toInterval,
+                                                Predicate<Long> intervalFilter) {
+        Map<Long, Long> map = new HashMap<>();
+        daoAnalyticsStore.getAggregateByDay().values().forEach(aggregate -> {
+            long value = valueFunction.applyAsLong(aggregate);
+            if (value != 0)
+                map.merge(toInterval.applyAsLong(aggregate.getDay()), value, Long::sum);
+        });
+        map.keySet().removeIf(interval -> !intervalFilter.test(interval));
+        return map;
+    }
+
+    public Map<Long, BsqTradeAggregate> getBsqTradeDataByInterval(LongUnaryOperator toInterval,
+                                                                 Predicate<Long> intervalFilter) {
+        Map<Long, BsqTradeAggregate> map = new HashMap<>();
+        bsqTradeAggregateByDay.forEach((day, aggregate) ->
+                map.computeIfAbsent(toInterval.applyAsLong(day), interval -> new BsqTradeAggregate()).add(aggregate));
+        map.keySet().removeIf(interval -> !intervalFilter.test(interval));
+        return map;
+    }
+
+    /**
+     * @param dayFilter    Filter applied to the start of the day in epoch seconds
+     * @return Sum of the BSQ trade data of all days matching the filter
+     */
+    public BsqTradeAggregate getBsqTradeData(Predicate<Long> dayFilter) {
+        BsqTradeAggregate sum = new BsqTradeAggregate();
+        bsqTradeAggregateByDay.forEach((day, aggregate) -> {
+            if (dayFilter.test(day))
+                sum.add(aggregate);
+        });
+        return sum;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // DAO aggregates
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void applyBlocks(Block lastBlock) {
+        if (isStoreConsistentWithChain(lastBlock)) {
+            if (daoAnalyticsStore.getChainHeight() == lastBlock.getHeight())
+                return;
+
+            int fromHeight = daoAnalyticsStore.getChainHeight() + 1;
+            for (int height = fromHeight; height <= lastBlock.getHeight(); height++) {
+                daoStateService.getBlockAtHeight(height).ifPresent(block ->
+                        block.getTxs().forEach(this::addTx));
+            }
+            addIssuanceSets(fromHeight, lastBlock.getHeight());
+        } else {
+            long ts = System.currentTimeMillis();
+            daoAnalyticsStore.clear();
+            daoAnalyticsStore.setZoneId(zoneId.getId());
+            // The burnt fee tx index is faster than iterating all blocks
+            daoStateService.getBurntFeeTxs().stream()
+                    .filter(tx -> tx.getBlockHeight() <= lastBlock.getHeight())
+                    .forEach(this::addTx);
+            addIssuanceSets(0, lastBlock.getHeight());
+            log.info("Rebuilding the DAO analytics aggregates took {} ms", System.currentTimeMillis() - ts);
+        }
+
+        daoAnalyticsStore.setChainHeight(lastBlock.getHeight());
+        daoAnalyticsStore.setBlockHash(lastBlock.getHash());
+        persistenceManager.requestPersistence();
+    }
+
+    private boolean isStoreConsistentWithChain(Block lastBlock) {
+        String blockHash = daoAnalyticsStore.getBlockHash();
+        return blockHash != null &&
+                zoneId.getId().equals(daoAnalyticsStore.getZoneId()) &&
+                daoAnalyticsStore.getChainHeight() <= lastBlock.getHeight() &&
+                daoStateService.getBlockAtHeight(daoAnalyticsStore.getChainHeight())
+                        .filter(block -> block.getHash().equals(blockHash))
+                        .isPresent();
+    }
+
+    private void addTx(Tx tx) {
+        long burntFee = tx.getBurntFee();
+        if (burntFee == 0)
+            return;
+
+        DaoDailyAggregate aggregate = getDaoDailyAggregate(tx.getTime());
+        aggregate.addBurntFee(burntFee);
+        if (tx.getTxType() == TxType.PAY_TRADE_FEE) {
+            aggregate.addBsqTradeFee(burntFee);
+        } else if (tx.getTxType() == TxType.PROOF_OF_BURN) {
+            aggregate.addProofOfBurn(burntFee);
+        }
+    }
+
+    private void addIssuanceSets(int fromHeight, int toHeight) {
+        daoStateService.getIssuanceSetForType(IssuanceType.COMPENSATION).stream()
+                .filter(issuance -> issuance.getChainHeight() >= fromHeight && issuance.getChainHeight() <= toHeight)
+                .forEach(issuance -> getIssuanceDailyAggregate(issuance).addCompensation(issuance.getAmount()));
+        daoStateService.getIssuanceSetForType(IssuanceType.REIMBURSEMENT).stream()
+                .filter(issuance -> issuance.getChainHeight() >= fromHeight && issuance.getChainHeight() <= toHeight)
+                .forEach(issuance -> getIssuanceDailyAggregate(issuance).addReimbursement(issuance.getAmount()));
+    }
+
+    // Issuance is assigned to the time of the first block of the cycle it was issued in.
+    private DaoDailyAggregate getIssuanceDailyAggregate(Issuance issuance) {
+        int height = daoStateService.getStartHeightOfCurrentCycle(issuance.getChainHeight()).orElse(0);
+        return getDaoDailyAggregate(daoStateService.getBlockTime(height));
+    }
+
+    private DaoDailyAggregate getDaoDailyAggregate(long time) {
+        return daoAnalyticsStore.getAggregateByDay().computeIfAbsent(toDay(time, zoneId), DaoDailyAggregate::new);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // BSQ trade aggregates
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void onTradeStatisticsAdded(TradeStatistics3 tradeStatistics) {
+        if (BsqTradeAggregate.isRelevant(tradeStatistics))
+            getBsqTradeAggregate(tradeStatistics).add(tradeStatistics);
+    }
+
+    private void onTradeStatisticsRemoved(TradeStatistics3 tradeStatistics) {
+        if (BsqTradeAggregate.isRelevant(tradeStatistics))
+            getBsqTradeAggregate(tradeStatistics).remove(tradeStatistics);
+    }
+
+    private BsqTradeAggregate getBsqTradeAggregate(TradeStatistics3 tradeStatistics) {
+        return bsqTradeAggregateByDay.computeIfAbsent(toDay(tradeStatistics.getDateAsLong(), zoneId),
+                day -> new BsqTradeAggregate());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Utils
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Start of the day in epoch seconds
+    static long toDay(long timeInMillis, ZoneId zoneId) {
+        return Instant.ofEpochMilli(timeInMillis)
+                .atZone(zoneId)
+                .toLocalDate()
+                .atStartOfDay(zoneId)
+                .toInstant()
+                .getEpochSecond();
+    }
+}
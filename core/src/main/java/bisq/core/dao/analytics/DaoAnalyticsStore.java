@@ -0,0 +1,111 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.analytics;
+
+import bisq.common.proto.persistable.PersistableEnvelope;
+
+import com.google.protobuf.Message;
+
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the daily aggregates of the DAO economy data together with the block and the time zone they have been
+ * created for. If the block is not part of our chain anymore or the time zone has changed, the aggregates get rebuilt.
+ */
+public class DaoAnalyticsStore implements PersistableEnvelope {
+    @Getter
+    @Setter
+    private String zoneId = "";
+    @Getter
+    @Setter
+    private int chainHeight;
+    @Nullable
+    @Getter
+    @Setter
+    private String blockHash;
+    @Getter
+    private final TreeMap<Long, DaoDailyAggregate> aggregateByDay = new TreeMap<>();
+
+    DaoAnalyticsStore() {
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private DaoAnalyticsStore(String zoneId,
+                              int chainHeight,
+                              @Nullable String blockHash,
+                              Collection<DaoDailyAggregate> aggregates) {
+        this.zoneId = zoneId;
+        this.chainHeight = chainHeight;
+        this.blockHash = blockHash;
+        aggregates.forEach(aggregate -> aggregateByDay.put(aggregate.getDay(), aggregate));
+    }
+
+    @Override
+    public Message toProtoMessage() {
+        protobuf.DaoAnalyticsStore.Builder builder = protobuf.DaoAnalyticsStore.newBuilder()
+                .setZoneId(zoneId)
+                .setChainHeight(chainHeight)
+                .addAllDaoDailyAggregate(aggregateByDay.values().stream()
+                        .map(DaoDailyAggregate::toProtoMessage)
+                        .collect(Collectors.toList()));
+        if (blockHash != null)
+            builder.setBlockHash(blockHash);
+        return protobuf.PersistableEnvelope.newBuilder()
+                .setDaoAnalyticsStore(builder)
+                .build();
+    }
+
+    public static DaoAnalyticsStore fromProto(protobuf.DaoAnalyticsStore proto) {
+        return new DaoAnalyticsStore(proto.getZoneId(),
+                proto.getChainHeight(),
+                proto.getBlockHash().isEmpty() ? null : proto.getBlockHash(),
+                proto.getDaoDailyAggregateList().stream()
+                        .map(DaoDailyAggregate::fromProto)
+                        .collect(Collectors.toList()));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Package scope
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void setAll(DaoAnalyticsStore persisted) {
+        zoneId = persisted.getZoneId();
+        chainHeight = persisted.getChainHeight();
+        blockHash = persisted.getBlockHash();
+        aggregateByDay.clear();
+        aggregateByDay.putAll(persisted.getAggregateByDay());
+    }
+
+    void clear() {
+        chainHeight = 0;
+        blockHash = null;
+        aggregateByDay.clear();
+    }
+}
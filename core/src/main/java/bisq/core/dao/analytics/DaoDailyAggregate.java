@@ -0,0 +1,110 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.analytics;
+
+import bisq.common.proto.persistable.PersistablePayload;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Sums of the DAO economy data of one day. Day is the epoch seconds of the start of the day in the local time zone,
+ * which is the same key the charts use for the day interval.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class DaoDailyAggregate implements PersistablePayload {
+    private final long day;
+    private long compensation;
+    private long reimbursement;
+    private long bsqTradeFee;
+    private long proofOfBurn;
+    // Burnt fees of all tx types. Invalidated BSQ is not included.
+    private long burntFee;
+
+    DaoDailyAggregate(long day) {
+        this.day = day;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private DaoDailyAggregate(long day,
+                              long compensation,
+                              long reimbursement,
+                              long bsqTradeFee,
+                              long proofOfBurn,
+                              long burntFee) {
+        this.day = day;
+        this.compensation = compensation;
+        this.reimbursement = reimbursement;
+        this.bsqTradeFee = bsqTradeFee;
+        this.proofOfBurn = proofOfBurn;
+        this.burntFee = burntFee;
+    }
+
+    @Override
+    public protobuf.DaoDailyAggregate toProtoMessage() {
+        return protobuf.DaoDailyAggregate.newBuilder()
+                .setDay(day)
+                .setCompensation(compensation)
+                .setReimbursement(reimbursement)
+                .setBsqTradeFee(bsqTradeFee)
+                .setProofOfBurn(proofOfBurn)
+                .setBurntFee(burntFee)
+                .build();
+    }
+
+    public static DaoDailyAggregate fromProto(protobuf.DaoDailyAggregate proto) {
+        return new DaoDailyAggregate(proto.getDay(),
+                proto.getCompensation(),
+                proto.getReimbursement(),
+                proto.getBsqTradeFee(),
+                proto.getProofOfBurn(),
+                proto.getBurntFee());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Package scope
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void addCompensation(long amount) {
+        compensation += amount;
+    }
+
+    void addReimbursement(long amount) {
+        reimbursement += amount;
+    }
+
+    void addBsqTradeFee(long amount) {
+        bsqTradeFee += amount;
+    }
+
+    void addProofOfBurn(long amount) {
+        proofOfBurn += amount;
+    }
+
+    void addBurntFee(long amount) {
+        burntFee += amount;
+    }
+}
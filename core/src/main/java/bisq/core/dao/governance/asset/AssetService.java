@@ -52,22 +52,17 @@ import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import org.jetbrains.annotations.NotNull;
 
-import javax.annotation.Nullable;
-
 import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
@@ -148,18 +143,8 @@ public class AssetService implements DaoSetupService, DaoStateListener {
         return lazyLoadedStatefulAssets;
     }
 
-    // Call takes bout 22 ms. Should be only called on demand (e.g. view is showing the data)
+    // Should be only called on demand (e.g. view is showing the data)
     public void updateAssetStates() {
-        // For performance optimisation we map the trade stats to a temporary lookup map and convert it to a custom
-        // TradeAmountDateTuple object holding only the data we need.
-        Map<String, List<TradeAmountDateTuple>> lookupMap = new HashMap<>();
-        tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                .filter(e -> CurrencyUtil.isCryptoCurrency(e.getCurrency()))
-                .forEach(e -> {
-                    lookupMap.putIfAbsent(e.getCurrency(), new ArrayList<>());
-                    lookupMap.get(e.getCurrency()).add(new TradeAmountDateTuple(e.getAmount(), e.getDateAsLong()));
-                });
-
         getStatefulAssets().stream()
                 .filter(e -> AssetState.REMOVED_BY_VOTING != e.getAssetState()) // if once set to REMOVED_BY_VOTING we ignore it for further processing
                 .forEach(statefulAsset -> {
@@ -172,7 +157,7 @@ public class AssetService implements DaoSetupService, DaoStateListener {
                         long lookBackPeriodInDays = getLookBackPeriodInDays(statefulAsset);
                         statefulAsset.setLookBackPeriodInDays(lookBackPeriodInDays);
                         long lookupDate = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(lookBackPeriodInDays);
-                        long tradeVolume = getTradeVolume(lookupDate, lookupMap.get(tickerSymbol));
+                        long tradeVolume = getTradeVolume(lookupDate, tickerSymbol);
                         statefulAsset.setTradeVolume(tradeVolume);
                         if (isInTrialPeriod(statefulAsset)) {
                             assetState = AssetState.IN_TRIAL_PERIOD;
@@ -184,8 +169,6 @@ public class AssetService implements DaoSetupService, DaoStateListener {
                     }
                     statefulAsset.setAssetState(assetState);
                 });
-
-        lookupMap.clear();
     }
 
     public boolean isActive(String tickerSymbol) {
@@ -239,16 +222,11 @@ public class AssetService implements DaoSetupService, DaoStateListener {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     // Get the trade volume from lookupDate until current date
-    private long getTradeVolume(long lookupDate, @Nullable List<TradeAmountDateTuple> tradeAmountDateTupleList) {
-        if (tradeAmountDateTupleList == null) {
-            // Was never traded
-            return 0;
-        }
-
-        return tradeAmountDateTupleList.stream()
-                .filter(e -> e.getTradeDate() > lookupDate)
-                .mapToLong(TradeAmountDateTuple::getTradeAmount)
-                .sum();
+    private long getTradeVolume(long lookupDate, String tickerSymbol) {
+        // We use the column scan of the trade statistics table as this is called for all assets
+        return tradeStatisticsManager.getTradeStatisticsTable().getAccumulatedAmount(tickerSymbol,
+                lookupDate + 1,
+                Long.MAX_VALUE);
     }
 
     private boolean isInTrialPeriod(StatefulAsset statefulAsset) {
@@ -321,15 +299,4 @@ public class AssetService implements DaoSetupService, DaoStateListener {
                 .filter(EvaluatedProposal::isAccepted)
                 .map(e -> ((RemoveAssetProposal) e.getProposal()));
     }
-
-    @Value
-    private static final class TradeAmountDateTuple {
-        private final long tradeAmount;
-        private final long tradeDate;
-
-        TradeAmountDateTuple(long tradeAmount, long tradeDate) {
-            this.tradeAmount = tradeAmount;
-            this.tradeDate = tradeDate;
-        }
-    }
 }
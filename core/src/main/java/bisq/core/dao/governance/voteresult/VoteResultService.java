@@ -77,7 +77,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -488,10 +487,9 @@ public class VoteResultService implements DaoStateListener, DaoSetupService {
         List<BlindVote> list = BlindVoteConsensus.getSortedBlindVoteListOfCycle(blindVoteListService);
         long ts = System.currentTimeMillis();
 
-        BiFunction<byte[], List<BlindVote>, Boolean> predicate = (hash, variation) ->
-                isListMatchingMajority(hash, variation, false);
-
-        List<BlindVote> result = PermutationUtil.findMatchingPermutation(majorityVoteListHash, list, predicate, 1000000);
+        // Same hash as VoteRevealConsensus.getHashOfBlindVoteList
+        List<BlindVote> result = PermutationUtil.findMatchingPermutationByHash(majorityVoteListHash, list,
+                blindVote -> blindVote.toProtoMessage().toByteArray(), 1000000);
         log.info("findPermutatedListMatchingMajority for {} items took {} ms.",
                 list.size(), (System.currentTimeMillis() - ts));
         if (result.isEmpty()) {
@@ -265,6 +265,16 @@ public class DaoStateMonitoringService implements DaoSetupService, DaoStateListe
         daoStateHashChain.forEach(e -> daoStateBlockChain.add(new DaoStateBlock(e)));
     }
 
+    // At a reorg we remove the hashes of the blocks we have rolled back
+    public void rollBackToHeight(int height) {
+        while (!daoStateHashChain.isEmpty() && daoStateHashChain.getLast().getHeight() > height) {
+            daoStateHashChain.removeLast();
+        }
+        while (!daoStateBlockChain.isEmpty() && daoStateBlockChain.getLast().getHeight() > height) {
+            daoStateBlockChain.removeLast();
+        }
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Listeners
@@ -65,6 +65,7 @@ public abstract class BsqNode implements DaoSetupService {
     @Nullable
     protected Consumer<String> warnMessageHandler;
     private final List<RawBlock> pendingBlocks = new ArrayList<>();
+    private int numBlocksToRollBack = 1;
 
     // The chain height of the latest Block we either get reported by Bitcoin Core or from the seed node
     // This property should not be used in consensus code but only for retrieving blocks as it is not in sync with the
@@ -212,9 +213,17 @@ public abstract class BsqNode implements DaoSetupService {
         maybeExportToJson();
     }
 
+    // At a reorg we first roll back the last block. If the blocks of the new chain do not connect after that, we
+    // are still on the stale chain and at the next reorg we roll back twice as many blocks. If we cannot roll back
+    // that far we apply the last snapshot.
     @SuppressWarnings("WeakerAccess")
     protected void startReOrgFromLastSnapshot() {
-        daoStateSnapshotService.applySnapshot(true);
+        if (daoStateSnapshotService.rollBackBlocks(numBlocksToRollBack)) {
+            numBlocksToRollBack *= 2;
+        } else {
+            numBlocksToRollBack = 1;
+            daoStateSnapshotService.applySnapshot(true);
+        }
     }
 
 
@@ -229,6 +238,7 @@ public abstract class BsqNode implements DaoSetupService {
 
         try {
             Block block = blockParser.parseBlock(rawBlock);
+            numBlocksToRollBack = 1;
 
             pendingBlocks.remove(rawBlock);
 
@@ -19,13 +19,16 @@ package bisq.core.dao.node.explorer;
 
 import bisq.core.dao.DaoSetupService;
 import bisq.core.dao.state.DaoStateService;
-import bisq.core.dao.state.model.DaoState;
 import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.dao.state.model.blockchain.PubKeyScript;
 import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxInput;
 import bisq.core.dao.state.model.blockchain.TxOutput;
 import bisq.core.dao.state.model.blockchain.TxType;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.IssuanceType;
 
+import bisq.common.UserThread;
 import bisq.common.config.Config;
 import bisq.common.file.FileUtil;
 import bisq.common.file.JsonFileManager;
@@ -33,6 +36,8 @@ import bisq.common.util.Utilities;
 
 import org.bitcoinj.core.Utils;
 
+import com.google.gson.Gson;
+
 import com.google.inject.Inject;
 
 import javax.inject.Named;
@@ -43,30 +48,56 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import java.io.File;
 import java.io.IOException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
+/**
+ * Exports the DAO data as json files for the BSQ explorer.
+ * <p>
+ * After the first export we only write the files of the txs which have changed since the last export: the txs of
+ * the new blocks, the txs with outputs spent by them and the txs which got accepted as issuance. New blocks get
+ * appended to the blocks file. The manifest stores the last exported block, so after a restart we continue from
+ * there if that block is still in our chain. Otherwise (e.g. after a reorg) we export all data again.
+ */
 @Slf4j
 public class ExportJsonFilesService implements DaoSetupService {
+    private static final String MANIFEST_FILE_NAME = "manifest";
+
     private final DaoStateService daoStateService;
     private final File storageDir;
     private final boolean dumpBlockchainData;
 
     private final ListeningExecutorService executor = Utilities.getListeningExecutorService("JsonExporter",
             1, 1, 1200);
-    private JsonFileManager txFileManager, txOutputFileManager, bsqStateFileManager;
+    private JsonFileManager txFileManager, txOutputFileManager, manifestFileManager;
+    // Only accessed from the executor thread
+    private JsonBlocksFile jsonBlocksFile;
+
+    // State of the last export. Only accessed from the user thread.
+    private int lastExportedBlockHeight = -1;
+    @Nullable
+    private String lastExportedBlockHash;
+    private Set<String> exportedIssuanceTxIds = new HashSet<>();
 
     @Inject
     public ExportJsonFilesService(DaoStateService daoStateService,
@@ -93,35 +124,45 @@ public class ExportJsonFilesService implements DaoSetupService {
             File txDir = new File(Paths.get(storageDir.getAbsolutePath(), "json", "tx").toString());
             File txOutputDir = new File(Paths.get(storageDir.getAbsolutePath(), "json", "txo").toString());
             File bsqStateDir = new File(Paths.get(storageDir.getAbsolutePath(), "json", "all").toString());
-            try {
-                if (txDir.exists())
-                    FileUtil.deleteDirectory(txDir);
-                if (txOutputDir.exists())
-                    FileUtil.deleteDirectory(txOutputDir);
-                if (bsqStateDir.exists())
-                    FileUtil.deleteDirectory(bsqStateDir);
-                if (jsonDir.exists())
-                    FileUtil.deleteDirectory(jsonDir);
-            } catch (IOException e) {
-                log.error(e.toString());
-                e.printStackTrace();
-            }
+            jsonBlocksFile = new JsonBlocksFile(new File(bsqStateDir, "blocks.json"));
+
+            Optional<JsonExportManifest> manifest = readManifest(new File(jsonDir, MANIFEST_FILE_NAME + ".json"));
+            if (manifest.isPresent() && jsonBlocksFile.resume(manifest.get().getBlocksArrayEnd())) {
+                lastExportedBlockHeight = manifest.get().getLastExportedBlockHeight();
+                lastExportedBlockHash = manifest.get().getLastExportedBlockHash();
+                exportedIssuanceTxIds = new HashSet<>(manifest.get().getIssuanceTxIds());
+                log.info("We continue the json export from block height {}", lastExportedBlockHeight + 1);
+            } else {
+                try {
+                    if (txDir.exists())
+                        FileUtil.deleteDirectory(txDir);
+                    if (txOutputDir.exists())
+                        FileUtil.deleteDirectory(txOutputDir);
+                    if (bsqStateDir.exists())
+                        FileUtil.deleteDirectory(bsqStateDir);
+                    if (jsonDir.exists())
+                        FileUtil.deleteDirectory(jsonDir);
+                } catch (IOException e) {
+                    log.error(e.toString());
+                    e.printStackTrace();
+                }
 
-            if (!jsonDir.mkdir())
-                log.warn("make jsonDir failed.\njsonDir=" + jsonDir.getAbsolutePath());
+                if (!jsonDir.mkdir())
+                    log.warn("make jsonDir failed.\njsonDir=" + jsonDir.getAbsolutePath());
 
-            if (!txDir.mkdir())
-                log.warn("make txDir failed.\ntxDir=" + txDir.getAbsolutePath());
+                if (!txDir.mkdir())
+                    log.warn("make txDir failed.\ntxDir=" + txDir.getAbsolutePath());
 
-            if (!txOutputDir.mkdir())
-                log.warn("make txOutputDir failed.\ntxOutputDir=" + txOutputDir.getAbsolutePath());
+                if (!txOutputDir.mkdir())
+                    log.warn("make txOutputDir failed.\ntxOutputDir=" + txOutputDir.getAbsolutePath());
 
-            if (!bsqStateDir.mkdir())
-                log.warn("make bsqStateDir failed.\nbsqStateDir=" + bsqStateDir.getAbsolutePath());
+                if (!bsqStateDir.mkdir())
+                    log.warn("make bsqStateDir failed.\nbsqStateDir=" + bsqStateDir.getAbsolutePath());
+            }
 
             txFileManager = new JsonFileManager(txDir);
             txOutputFileManager = new JsonFileManager(txOutputDir);
-            bsqStateFileManager = new JsonFileManager(bsqStateDir);
+            manifestFileManager = new JsonFileManager(jsonDir);
         }
     }
 
@@ -129,46 +170,136 @@ public class ExportJsonFilesService implements DaoSetupService {
         if (dumpBlockchainData && txFileManager != null) {
             txFileManager.shutDown();
             txOutputFileManager.shutDown();
-            bsqStateFileManager.shutDown();
+            manifestFileManager.shutDown();
         }
     }
 
     public void maybeExportToJson() {
-        if (dumpBlockchainData &&
-                daoStateService.isParseBlockChainComplete()) {
-            // We store the data we need once we write the data to disk (in the thread) locally.
-            // Access to daoStateService is single threaded, we must not access daoStateService from the thread.
-            List<JsonTxOutput> allJsonTxOutputs = new ArrayList<>();
-
-            List<JsonTx> jsonTxs = daoStateService.getUnorderedTxStream()
-                    .map(tx -> {
-                        JsonTx jsonTx = getJsonTx(tx);
-                        allJsonTxOutputs.addAll(jsonTx.getOutputs());
-                        return jsonTx;
-                    }).collect(Collectors.toList());
-
-            DaoState daoState = daoStateService.getClone();
-            List<JsonBlock> jsonBlockList = daoState.getBlocks().stream()
-                    .map(this::getJsonBlock)
-                    .collect(Collectors.toList());
-            JsonBlocks jsonBlocks = new JsonBlocks(daoState.getChainHeight(), jsonBlockList);
-
-            ListenableFuture<Void> future = executor.submit(() -> {
-                bsqStateFileManager.writeToDisc(Utilities.objectToJson(jsonBlocks), "blocks");
-                allJsonTxOutputs.forEach(jsonTxOutput -> txOutputFileManager.writeToDisc(Utilities.objectToJson(jsonTxOutput), jsonTxOutput.getId()));
-                jsonTxs.forEach(jsonTx -> txFileManager.writeToDisc(Utilities.objectToJson(jsonTx), jsonTx.getId()));
-                return null;
-            });
-
-            Futures.addCallback(future, new FutureCallback<>() {
-                public void onSuccess(Void ignore) {
-                }
+        if (!dumpBlockchainData || !daoStateService.isParseBlockChainComplete())
+            return;
+
+        Optional<Block> lastBlock = daoStateService.getLastBlock();
+        if (!lastBlock.isPresent())
+            return;
+
+        boolean isLastExportedBlockInChain = lastExportedBlockHash != null &&
+                daoStateService.getBlockAtHeight(lastExportedBlockHeight)
+                        .map(block -> block.getHash().equals(lastExportedBlockHash))
+                        .orElse(false);
+        Set<String> issuanceTxIds = getIssuanceTxIds();
+        int chainHeight = daoStateService.getChainHeight();
+        long ts = System.currentTimeMillis();
+
+        // We store the data we need once we write the data to disk (in the thread) locally.
+        // Access to daoStateService is single threaded, we must not access daoStateService from the thread.
+        boolean isFullExport = !isLastExportedBlockInChain;
+        List<Block> newBlocks;
+        List<Tx> changedTxs;
+        if (isFullExport) {
+            newBlocks = daoStateService.getBlocks();
+            changedTxs = daoStateService.getUnorderedTxStream().collect(Collectors.toList());
+        } else {
+            newBlocks = daoStateService.getBlocksFromBlockHeight(lastExportedBlockHeight + 1, Integer.MAX_VALUE);
+            Set<String> newIssuanceTxIds = new HashSet<>(issuanceTxIds);
+            newIssuanceTxIds.removeAll(exportedIssuanceTxIds);
+            if (newBlocks.isEmpty() && newIssuanceTxIds.isEmpty())
+                return;
+
+            changedTxs = getChangedTxs(newBlocks, newIssuanceTxIds);
+        }
 
-                public void onFailure(@NotNull Throwable throwable) {
-                    log.error(throwable.toString());
-                    throwable.printStackTrace();
-                }
-            }, MoreExecutors.directExecutor());
+        List<JsonTxOutput> allJsonTxOutputs = new ArrayList<>();
+        List<JsonTx> jsonTxs = changedTxs.stream()
+                .map(tx -> {
+                    JsonTx jsonTx = getJsonTx(tx);
+                    allJsonTxOutputs.addAll(jsonTx.getOutputs());
+                    return jsonTx;
+                }).collect(Collectors.toList());
+        List<JsonBlock> jsonBlocks = newBlocks.stream()
+                .map(this::getJsonBlock)
+                .collect(Collectors.toList());
+
+        lastExportedBlockHeight = lastBlock.get().getHeight();
+        lastExportedBlockHash = lastBlock.get().getHash();
+        exportedIssuanceTxIds = issuanceTxIds;
+        int exportedBlockHeight = lastExportedBlockHeight;
+        String exportedBlockHash = lastExportedBlockHash;
+        log.info("Json export of {} blocks and {} txs (fullExport={}) prepared in {} ms",
+                jsonBlocks.size(), jsonTxs.size(), isFullExport, System.currentTimeMillis() - ts);
+
+        ListenableFuture<Void> future = executor.submit(() -> {
+            if (isFullExport)
+                jsonBlocksFile.reset(chainHeight);
+            jsonBlocksFile.append(jsonBlocks, chainHeight);
+            allJsonTxOutputs.forEach(jsonTxOutput -> txOutputFileManager.writeToDisc(Utilities.objectToJson(jsonTxOutput), jsonTxOutput.getId()));
+            jsonTxs.forEach(jsonTx -> txFileManager.writeToDisc(Utilities.objectToJson(jsonTx), jsonTx.getId()));
+
+            // We write the manifest after all other files, so after a crash we would export those blocks again.
+            JsonExportManifest manifest = new JsonExportManifest(JsonExportManifest.FORMAT_VERSION,
+                    exportedBlockHeight,
+                    exportedBlockHash,
+                    jsonBlocksFile.getBlocksArrayEnd(),
+                    new ArrayList<>(issuanceTxIds));
+            manifestFileManager.writeToDisc(Utilities.objectToJson(manifest), MANIFEST_FILE_NAME);
+            return null;
+        });
+
+        Futures.addCallback(future, new FutureCallback<>() {
+            public void onSuccess(Void ignore) {
+            }
+
+            public void onFailure(@NotNull Throwable throwable) {
+                log.error(throwable.toString());
+                throwable.printStackTrace();
+                // We do not know which files got written, so we export all data at the next block
+                UserThread.execute(() -> lastExportedBlockHash = null);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    // The txs of the new blocks, the txs with outputs spent in the new blocks and the txs with a new issuance.
+    // Spending changes the spentInfo of the spent outputs and an issuance makes the outputs BSQ outputs.
+    private List<Tx> getChangedTxs(List<Block> newBlocks, Set<String> newIssuanceTxIds) {
+        Set<String> changedTxIds = new LinkedHashSet<>();
+        newBlocks.forEach(block -> block.getTxs().forEach(tx -> {
+            changedTxIds.add(tx.getId());
+            tx.getTxInputs().stream()
+                    .map(TxInput::getConnectedTxOutputTxId)
+                    .forEach(changedTxIds::add);
+        }));
+        newIssuanceTxIds.forEach(txId -> {
+            changedTxIds.add(txId);
+            // The inputs of txs spending the outputs of the issuance tx show if the spent output is a BSQ output
+            daoStateService.getTx(txId).ifPresent(tx -> tx.getTxOutputs().forEach(txOutput ->
+                    daoStateService.getSpentInfo(txOutput).ifPresent(spentInfo -> changedTxIds.add(spentInfo.getTxId()))));
+        });
+        return changedTxIds.stream()
+                .map(daoStateService::getTx)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    private Set<String> getIssuanceTxIds() {
+        return Arrays.stream(IssuanceType.values())
+                .flatMap(issuanceType -> daoStateService.getIssuanceSetForType(issuanceType).stream())
+                .map(Issuance::getTxId)
+                .collect(Collectors.toSet());
+    }
+
+    private Optional<JsonExportManifest> readManifest(File manifestFile) {
+        if (!manifestFile.exists())
+            return Optional.empty();
+
+        try {
+            String json = new String(Files.readAllBytes(manifestFile.toPath()), StandardCharsets.UTF_8);
+            JsonExportManifest manifest = new Gson().fromJson(json, JsonExportManifest.class);
+            if (manifest == null || manifest.getFormatVersion() != JsonExportManifest.FORMAT_VERSION ||
+                    manifest.getIssuanceTxIds() == null)
+                return Optional.empty();
+            return Optional.of(manifest);
+        } catch (Throwable t) {
+            log.warn("Could not read json export manifest. We export all data again. {}", t.toString());
+            return Optional.empty();
         }
     }
 
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.dao.node.explorer;
+
+import bisq.common.util.Utilities;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The blocks json file with the same fields as JsonBlocks. The blocks array is written before the chainHeight, so
+ * new blocks get appended by overwriting the end of the file from the end of the blocks array. Previously written
+ * blocks are not rewritten.
+ * <p>
+ * Not thread safe. Must be used from the thread of the exporter.
+ */
+class JsonBlocksFile {
+    private static final byte[] HEADER = "{\n  \"blocks\": [".getBytes(StandardCharsets.UTF_8);
+
+    private final File file;
+    @Getter
+    private long blocksArrayEnd;
+
+    JsonBlocksFile(File file) {
+        this.file = file;
+    }
+
+    // Returns false if the file does not match the position from the manifest
+    boolean resume(long blocksArrayEnd) {
+        if (blocksArrayEnd < HEADER.length || !file.exists() || file.length() < blocksArrayEnd)
+            return false;
+
+        this.blocksArrayEnd = blocksArrayEnd;
+        return true;
+    }
+
+    void reset(int chainHeight) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(0);
+            randomAccessFile.write(HEADER);
+            blocksArrayEnd = randomAccessFile.getFilePointer();
+            writeTail(randomAccessFile, chainHeight);
+        }
+    }
+
+    void append(List<JsonBlock> jsonBlocks, int chainHeight) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(blocksArrayEnd);
+            for (JsonBlock jsonBlock : jsonBlocks) {
+                String separator = randomAccessFile.getFilePointer() == HEADER.length ? "\n" : ",\n";
+                randomAccessFile.write((separator + Utilities.objectToJson(jsonBlock)).getBytes(StandardCharsets.UTF_8));
+            }
+            blocksArrayEnd = randomAccessFile.getFilePointer();
+            writeTail(randomAccessFile, chainHeight);
+        }
+    }
+
+    private static void writeTail(RandomAccessFile randomAccessFile, int chainHeight) throws IOException {
+        randomAccessFile.write(("\n  ],\n  \"chainHeight\": " + chainHeight + "\n}\n").getBytes(StandardCharsets.UTF_8));
+        // Remove what was left from a previous tail
+        randomAccessFile.setLength(randomAccessFile.getFilePointer());
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.dao.node.explorer;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Stores how far the json files have been exported, so a restarted node can continue the export instead of
+ * exporting all data again.
+ */
+@Value
+class JsonExportManifest {
+    static final int FORMAT_VERSION = 1;
+
+    private final int formatVersion;
+    private final int lastExportedBlockHeight;
+    private final String lastExportedBlockHash;
+    // Position in the blocks file where the next block gets appended
+    private final long blocksArrayEnd;
+    // The outputs of an issuance tx become BSQ outputs when the issuance gets accepted
+    private final List<String> issuanceTxIds;
+}
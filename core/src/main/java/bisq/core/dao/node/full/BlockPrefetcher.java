@@ -0,0 +1,204 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.TreeMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Fetches blocks ahead of the parser so the RPC round trips to Bitcoin Core do not add up during the initial sync.
+ * <p>
+ * The parser requests blocks strictly in height order. At each request we fill the look-ahead window with up to
+ * maxLookAhead blocks above the requested one, with at most maxConcurrentRequests requests in flight. Blocks which
+ * arrive early are kept until the parser asks for them, so the order of the results does not depend on the order
+ * the requests complete.
+ * <p>
+ * If the parser requests a height which is not the next one (e.g. after a reorg from a snapshot), or the
+ * prefetcher gets reset, the blocks in the window are discarded as they might belong to a stale chain.
+ * <p>
+ * All public methods are thread safe. The fetcher is called from the threads of the executor.
+ *
+ * @param <T> The type of the fetched blocks.
+ */
+@Slf4j
+class BlockPrefetcher<T> {
+    interface BlockFetcher<T> {
+        T fetchBlock(int blockHeight) throws Exception;
+    }
+
+    private static final int REPORT_INTERVAL = 100;
+
+    private final BlockFetcher<T> blockFetcher;
+    private final ListeningExecutorService executor;
+    private final int maxConcurrentRequests;
+    private final int maxLookAhead;
+
+    // Blocks requested from the fetcher but not requested by the parser yet. Key is the block height.
+    private final TreeMap<Integer, SettableFuture<T>> pendingBlocks = new TreeMap<>();
+    private int nextHeightToConsume = -1;
+    private int nextHeightToFetch = -1;
+    private int maxHeight;
+    private int numRequestsInFlight;
+
+    // Throughput since the last reset
+    private long startTs;
+    private long numFetchedBlocks;
+    private long numConsumedBlocks;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    BlockPrefetcher(BlockFetcher<T> blockFetcher,
+                    ListeningExecutorService executor,
+                    int maxConcurrentRequests,
+                    int maxLookAhead) {
+        this.blockFetcher = blockFetcher;
+        this.executor = executor;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxLookAhead = Math.max(maxLookAhead, maxConcurrentRequests);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param blockHeight   The height of the requested block.
+     * @param maxHeight     The highest block we want to prefetch (usually the chain height of Bitcoin Core).
+     * @return The future of the requested block.
+     */
+    synchronized ListenableFuture<T> requestBlock(int blockHeight, int maxHeight) {
+        if (blockHeight != nextHeightToConsume) {
+            if (!pendingBlocks.isEmpty())
+                log.info("Requested block at height {} but expected height {}. We discard {} prefetched blocks.",
+                        blockHeight, nextHeightToConsume, pendingBlocks.size());
+            clearPendingBlocks();
+            nextHeightToConsume = blockHeight;
+            nextHeightToFetch = blockHeight;
+            startTs = System.currentTimeMillis();
+            numFetchedBlocks = 0;
+            numConsumedBlocks = 0;
+        }
+        this.maxHeight = Math.max(maxHeight, blockHeight);
+
+        fillLookAheadWindow();
+        SettableFuture<T> future = pendingBlocks.remove(blockHeight);
+        if (future == null) {
+            // All request slots are busy with blocks of a discarded window, so we have not requested that block yet.
+            future = SettableFuture.create();
+            submit(blockHeight, future);
+            nextHeightToFetch = blockHeight + 1;
+        }
+        nextHeightToConsume = blockHeight + 1;
+        numConsumedBlocks++;
+        fillLookAheadWindow();
+
+        if (numConsumedBlocks % REPORT_INTERVAL == 0)
+            log.info("Fetched {} blocks at {} blocks/sec. Look-ahead queue depth: {} blocks ({} ready, {} in flight)",
+                    numFetchedBlocks, String.format("%.2f", getBlocksPerSecond()), getLookAheadDepth(),
+                    getNumReadyBlocks(), numRequestsInFlight);
+        return future;
+    }
+
+    synchronized void reset() {
+        clearPendingBlocks();
+        nextHeightToConsume = -1;
+        nextHeightToFetch = -1;
+    }
+
+    // Number of blocks in the look-ahead window, either ready or still in flight.
+    synchronized int getLookAheadDepth() {
+        return pendingBlocks.size();
+    }
+
+    synchronized int getNumReadyBlocks() {
+        return (int) pendingBlocks.values().stream().filter(SettableFuture::isDone).count();
+    }
+
+    synchronized int getNumRequestsInFlight() {
+        return numRequestsInFlight;
+    }
+
+    synchronized double getBlocksPerSecond() {
+        long duration = System.currentTimeMillis() - startTs;
+        return duration > 0 ? numFetchedBlocks * 1000d / duration : 0;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void fillLookAheadWindow() {
+        if (nextHeightToConsume < 0)
+            return;
+
+        while (numRequestsInFlight < maxConcurrentRequests &&
+                nextHeightToFetch <= maxHeight &&
+                nextHeightToFetch - nextHeightToConsume < maxLookAhead) {
+            SettableFuture<T> future = SettableFuture.create();
+            pendingBlocks.put(nextHeightToFetch, future);
+            submit(nextHeightToFetch, future);
+            nextHeightToFetch++;
+        }
+    }
+
+    private void submit(int blockHeight, SettableFuture<T> resultFuture) {
+        numRequestsInFlight++;
+        ListenableFuture<T> future = executor.submit(() -> blockFetcher.fetchBlock(blockHeight));
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T block) {
+                onRequestCompleted(true);
+                resultFuture.set(block);
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                onRequestCompleted(false);
+                resultFuture.setException(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private synchronized void onRequestCompleted(boolean success) {
+        numRequestsInFlight--;
+        if (success)
+            numFetchedBlocks++;
+        fillLookAheadWindow();
+    }
+
+    private void clearPendingBlocks() {
+        // Requests in flight are not interrupted but their results get ignored as the futures are cancelled.
+        pendingBlocks.values().forEach(future -> future.cancel(false));
+        pendingBlocks.clear();
+    }
+}
@@ -113,6 +113,8 @@ public class FullNode extends BsqNode {
 
     @Override
     protected void startReOrgFromLastSnapshot() {
+        // Prefetched blocks might belong to the stale chain
+        rpcService.resetBlockPrefetcher();
         super.startReOrgFromLastSnapshot();
 
         int startBlockHeight = getStartBlockHeight();
@@ -239,6 +241,7 @@ public class FullNode extends BsqNode {
                                        ResultHandler resultHandler,
                                        Consumer<Throwable> errorHandler) {
         rpcService.requestBtcBlock(blockHeight,
+                chainHeight,
                 rawBlock -> {
                     try {
                         doParseBlock(rawBlock).ifPresent(newBlockHandler);
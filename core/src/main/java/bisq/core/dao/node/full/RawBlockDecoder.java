@@ -0,0 +1,440 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import bisq.core.dao.state.model.blockchain.PubKeyScript;
+import bisq.core.dao.state.model.blockchain.ScriptType;
+import bisq.core.dao.state.model.blockchain.TxInput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+
+import org.bitcoinj.core.Block;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.SegwitAddress;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+import org.bitcoinj.core.TransactionOutput;
+import org.bitcoinj.crypto.TransactionSignature;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+import static org.bitcoinj.core.Utils.HEX;
+import static org.bitcoinj.script.ScriptOpCodes.OP_0;
+import static org.bitcoinj.script.ScriptOpCodes.OP_1;
+import static org.bitcoinj.script.ScriptOpCodes.OP_16;
+import static org.bitcoinj.script.ScriptOpCodes.OP_1NEGATE;
+import static org.bitcoinj.script.ScriptOpCodes.OP_CHECKSIG;
+import static org.bitcoinj.script.ScriptOpCodes.OP_DUP;
+import static org.bitcoinj.script.ScriptOpCodes.OP_EQUAL;
+import static org.bitcoinj.script.ScriptOpCodes.OP_EQUALVERIFY;
+import static org.bitcoinj.script.ScriptOpCodes.OP_HASH160;
+import static org.bitcoinj.script.ScriptOpCodes.OP_PUSHDATA1;
+import static org.bitcoinj.script.ScriptOpCodes.OP_PUSHDATA2;
+import static org.bitcoinj.script.ScriptOpCodes.OP_PUSHDATA4;
+import static org.bitcoinj.script.ScriptOpCodes.OP_RESERVED;
+import static org.bitcoinj.script.ScriptOpCodes.OP_RETURN;
+
+/**
+ * Decodes blocks in the serialized format of Bitcoin Core (getblock with verbosity 0) into RawBlocks.
+ * <p>
+ * Only transactions which can be BSQ transactions are converted: the genesis tx and txs spending an unspent BSQ
+ * output or an output of another candidate tx of the same block. Txs without BSQ inputs are ignored by the TxParser,
+ * so the parse result is the same as with all txs of the block.
+ * <p>
+ * The RawTx data must be the same as if we had received the verbose json format from Bitcoin Core, as it ends up in
+ * the DAO state and its hash. We replicate the json fields (asm, type, addresses, reqSigs) for the common output
+ * script types. For other script types an UnsupportedScriptException is thrown and the caller has to request the
+ * block in the verbose json format.
+ */
+@Slf4j
+class RawBlockDecoder {
+    static class UnsupportedScriptException extends Exception {
+        UnsupportedScriptException(String message) {
+            super(message);
+        }
+    }
+
+    // See MAX_SCRIPT_SIZE in Bitcoin Core
+    private static final int MAX_SCRIPT_SIZE = 10000;
+
+    private final NetworkParameters params;
+
+    RawBlockDecoder(NetworkParameters params) {
+        this.params = params;
+    }
+
+    // Does not access any DAO state, so it can be called from any thread.
+    Block decodeBlock(byte[] serializedBlock) {
+        return params.getDefaultSerializer().makeBlock(serializedBlock);
+    }
+
+    /**
+     * Must be called after the previous block has been parsed, as the selection of the txs depends on the BSQ UTXO set.
+     *
+     * @param btcBlock              The decoded block.
+     * @param blockHeight           The height of the block. It is not part of the serialized block.
+     * @param isUnspentBsqTxOutput  Whether a tx output is an unspent BSQ output.
+     * @param genesisTxId           The id of the BSQ genesis tx.
+     * @return The RawBlock with all txs which can be BSQ txs.
+     * @throws UnsupportedScriptException If a script of a BSQ tx candidate cannot be represented like Bitcoin Core does.
+     */
+    RawBlock toRawBlock(Block btcBlock,
+                        int blockHeight,
+                        Predicate<TxOutputKey> isUnspentBsqTxOutput,
+                        String genesisTxId) throws UnsupportedScriptException {
+        String blockHash = btcBlock.getHashAsString();
+        long blockTime = btcBlock.getTimeSeconds() * 1000; // We convert block time from sec to ms
+        Set<String> candidateTxIds = new HashSet<>();
+        List<RawTx> rawTxs = new ArrayList<>();
+        List<Transaction> transactions = btcBlock.getTransactions();
+        if (transactions != null) {
+            for (Transaction tx : transactions) {
+                if (isBsqTxCandidate(tx, isUnspentBsqTxOutput, candidateTxIds, genesisTxId)) {
+                    candidateTxIds.add(tx.getTxId().toString());
+                    rawTxs.add(toRawTx(tx, blockHeight, blockHash, blockTime));
+                }
+            }
+        }
+        return new RawBlock(blockHeight,
+                blockTime,
+                blockHash,
+                btcBlock.getPrevBlockHash().toString(),
+                ImmutableList.copyOf(rawTxs));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Tx filter
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @VisibleForTesting
+    static boolean isBsqTxCandidate(Transaction tx,
+                                    Predicate<TxOutputKey> isUnspentBsqTxOutput,
+                                    Set<String> candidateTxIdsOfBlock,
+                                    String genesisTxId) {
+        if (tx.getTxId().toString().equals(genesisTxId))
+            return true;
+
+        if (tx.isCoinBase())
+            return false;
+
+        for (TransactionInput input : tx.getInputs()) {
+            TransactionOutPoint outpoint = input.getOutpoint();
+            String connectedTxId = outpoint.getHash().toString();
+            // Outputs of candidates of the same block are not in the UTXO set yet as the block is not parsed yet.
+            if (candidateTxIdsOfBlock.contains(connectedTxId) ||
+                    isUnspentBsqTxOutput.test(new TxOutputKey(connectedTxId, (int) outpoint.getIndex())))
+                return true;
+        }
+        return false;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Tx conversion
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private RawTx toRawTx(Transaction tx, int blockHeight, String blockHash, long blockTime)
+            throws UnsupportedScriptException {
+        String txId = tx.getTxId().toString();
+        List<TxInput> txInputs = new ArrayList<>();
+        // The input of a coinbase tx is not connected to an output
+        if (!tx.isCoinBase()) {
+            for (TransactionInput input : tx.getInputs()) {
+                TransactionOutPoint outpoint = input.getOutpoint();
+                txInputs.add(new TxInput(outpoint.getHash().toString(),
+                        (int) outpoint.getIndex(),
+                        getPubKeyAsHex(input.getScriptBytes())));
+            }
+        }
+
+        List<RawTxOutput> txOutputs = new ArrayList<>();
+        for (TransactionOutput output : tx.getOutputs()) {
+            PubKeyScript pubKeyScript = getPubKeyScript(output.getScriptBytes());
+            // We don't support raw MS which are the only case where addresses has more than 1 entry
+            String address = pubKeyScript.getAddresses() != null && pubKeyScript.getAddresses().size() == 1 ?
+                    pubKeyScript.getAddresses().get(0) : null;
+            txOutputs.add(new RawTxOutput(output.getIndex(),
+                    output.getValue().value,
+                    txId,
+                    pubKeyScript,
+                    address,
+                    getOpReturnData(pubKeyScript),
+                    blockHeight));
+        }
+
+        return new RawTx(txId,
+                blockHeight,
+                blockHash,
+                blockTime,
+                ImmutableList.copyOf(txInputs),
+                ImmutableList.copyOf(txOutputs));
+    }
+
+    // Same as in RpcService, based on the asm of the sigScript.
+    @VisibleForTesting
+    @Nullable
+    static String getPubKeyAsHex(byte[] sigScript) throws UnsupportedScriptException {
+        // We don't support segWit inputs yet as well as no pay to pubkey txs...
+        String[] split = getAsm(sigScript, true).split("\\[ALL] ");
+        return split.length == 2 ? split[1] : null;
+    }
+
+    // Same as in RpcService, based on the asm of the pubKeyScript.
+    @Nullable
+    private static byte[] getOpReturnData(PubKeyScript pubKeyScript) {
+        if (pubKeyScript.getScriptType() != ScriptType.NULL_DATA)
+            return null;
+
+        String[] chunks = pubKeyScript.getAsm().split(" ");
+        // We get on testnet a lot of "OP_RETURN 0" data, so we filter those away
+        if (chunks.length == 2 && "OP_RETURN".equals(chunks[0]) && !"0".equals(chunks[1])) {
+            try {
+                return HEX.decode(chunks[1]);
+            } catch (Throwable t) {
+                log.debug("Error at HEX.decode(chunks[1]): {} / chunks[1]={}", t.toString(), chunks[1]);
+            }
+        }
+        return null;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Script formatting as in the json of Bitcoin Core
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @VisibleForTesting
+    PubKeyScript getPubKeyScript(byte[] script) throws UnsupportedScriptException {
+        ScriptType scriptType = getScriptType(script);
+        String asm = getAsm(script, false);
+        String hex = HEX.encode(script);
+        String address;
+        switch (scriptType) {
+            case PUB_KEY_HASH:
+                address = LegacyAddress.fromPubKeyHash(params, Arrays.copyOfRange(script, 3, 23)).toString();
+                break;
+            case SCRIPT_HASH:
+                address = LegacyAddress.fromScriptHash(params, Arrays.copyOfRange(script, 2, 22)).toString();
+                break;
+            case WITNESS_V0_KEYHASH:
+            case WITNESS_V0_SCRIPTHASH:
+                address = SegwitAddress.fromHash(params, Arrays.copyOfRange(script, 2, script.length)).toBech32();
+                break;
+            case NULL_DATA:
+            default:
+                // Bitcoin Core does not report addresses and reqSigs if there is no destination
+                return new PubKeyScript(0, scriptType, null, asm, hex);
+        }
+        return new PubKeyScript(1, scriptType, ImmutableList.of(address), asm, hex);
+    }
+
+    // See Solver in Bitcoin Core. We only support the types we can represent exactly like Bitcoin Core.
+    @VisibleForTesting
+    static ScriptType getScriptType(byte[] s) throws UnsupportedScriptException {
+        if (s.length == 25 && op(s, 0) == OP_DUP && op(s, 1) == OP_HASH160 && op(s, 2) == 20 &&
+                op(s, 23) == OP_EQUALVERIFY && op(s, 24) == OP_CHECKSIG)
+            return ScriptType.PUB_KEY_HASH;
+
+        if (s.length == 23 && op(s, 0) == OP_HASH160 && op(s, 1) == 20 && op(s, 22) == OP_EQUAL)
+            return ScriptType.SCRIPT_HASH;
+
+        boolean isWitnessProgram = s.length >= 4 && s.length <= 42 &&
+                (op(s, 0) == OP_0 || (op(s, 0) >= OP_1 && op(s, 0) <= OP_16)) &&
+                op(s, 1) + 2 == s.length;
+        if (isWitnessProgram) {
+            if (op(s, 0) == OP_0 && s.length == 22)
+                return ScriptType.WITNESS_V0_KEYHASH;
+            if (op(s, 0) == OP_0 && s.length == 34)
+                return ScriptType.WITNESS_V0_SCRIPTHASH;
+            throw new UnsupportedScriptException("Unsupported witness program " + HEX.encode(s));
+        }
+
+        if (s.length >= 1 && op(s, 0) == OP_RETURN && isPushOnly(s, 1))
+            return ScriptType.NULL_DATA;
+
+        throw new UnsupportedScriptException("Unsupported script " + HEX.encode(s));
+    }
+
+    // See ScriptToAsmStr in Bitcoin Core
+    @VisibleForTesting
+    static String getAsm(byte[] script, boolean attemptSighashDecode) throws UnsupportedScriptException {
+        StringBuilder sb = new StringBuilder();
+        boolean isUnspendable = (script.length > 0 && op(script, 0) == OP_RETURN) || script.length > MAX_SCRIPT_SIZE;
+        int pos = 0;
+        while (pos < script.length) {
+            if (sb.length() > 0)
+                sb.append(' ');
+
+            int opcode = op(script, pos);
+            byte[] data = getPushData(script, pos);
+            if (data == null)
+                throw new UnsupportedScriptException("Script with invalid push data " + HEX.encode(script));
+
+            pos = getNextPos(script, pos);
+            if (opcode <= OP_PUSHDATA4) {
+                if (data.length <= 4) {
+                    sb.append(getScriptNum(data));
+                } else if (attemptSighashDecode && !isUnspendable && TransactionSignature.isEncodingCanonical(data)) {
+                    sb.append(HEX.encode(Arrays.copyOf(data, data.length - 1)))
+                            .append(getSigHashName(data[data.length - 1] & 0xff));
+                } else {
+                    sb.append(HEX.encode(data));
+                }
+            } else {
+                sb.append(getOpName(opcode));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPushOnly(byte[] script, int pos) {
+        while (pos < script.length) {
+            if (op(script, pos) > OP_16 || getPushData(script, pos) == null)
+                return false;
+            pos = getNextPos(script, pos);
+        }
+        return true;
+    }
+
+    // Returns the pushed data, an empty array for non push opcodes or null if the push exceeds the script.
+    @Nullable
+    private static byte[] getPushData(byte[] script, int pos) {
+        int opcode = op(script, pos);
+        if (opcode > OP_PUSHDATA4)
+            return new byte[0];
+
+        int headerSize = getPushHeaderSize(opcode);
+        if (pos + headerSize > script.length)
+            return null;
+
+        long size;
+        if (opcode < OP_PUSHDATA1) {
+            size = opcode;
+        } else if (opcode == OP_PUSHDATA1) {
+            size = op(script, pos + 1);
+        } else if (opcode == OP_PUSHDATA2) {
+            size = op(script, pos + 1) | (op(script, pos + 2) << 8);
+        } else {
+            size = op(script, pos + 1) | (op(script, pos + 2) << 8) | (op(script, pos + 3) << 16) |
+                    ((long) op(script, pos + 4) << 24);
+        }
+        long start = pos + headerSize;
+        if (start + size > script.length)
+            return null;
+
+        return Arrays.copyOfRange(script, (int) start, (int) (start + size));
+    }
+
+    private static int getNextPos(byte[] script, int pos) {
+        int opcode = op(script, pos);
+        if (opcode > OP_PUSHDATA4)
+            return pos + 1;
+
+        //noinspection ConstantConditions
+        return pos + getPushHeaderSize(opcode) + getPushData(script, pos).length;
+    }
+
+    private static int getPushHeaderSize(int opcode) {
+        if (opcode < OP_PUSHDATA1)
+            return 1;
+        else if (opcode == OP_PUSHDATA1)
+            return 2;
+        else if (opcode == OP_PUSHDATA2)
+            return 3;
+        else
+            return 5;
+    }
+
+    // See CScriptNum in Bitcoin Core
+    private static long getScriptNum(byte[] data) {
+        if (data.length == 0)
+            return 0;
+
+        long result = 0;
+        for (int i = 0; i < data.length; i++) {
+            result |= (long) (data[i] & 0xff) << (8 * i);
+        }
+        if ((data[data.length - 1] & 0x80) != 0)
+            return -(result & ~(0x80L << (8 * (data.length - 1))));
+        return result;
+    }
+
+    // See mapSigHashTypes in Bitcoin Core. isEncodingCanonical ensures that the hash type is one of those.
+    private static String getSigHashName(int sigHashType) {
+        switch (sigHashType) {
+            case 0x01:
+                return "[ALL]";
+            case 0x81:
+                return "[ALL|ANYONECANPAY]";
+            case 0x02:
+                return "[NONE]";
+            case 0x82:
+                return "[NONE|ANYONECANPAY]";
+            case 0x03:
+                return "[SINGLE]";
+            case 0x83:
+                return "[SINGLE|ANYONECANPAY]";
+            default:
+                return "";
+        }
+    }
+
+    // See GetOpName in Bitcoin Core. We only need the opcodes of the supported script types and of push only scripts.
+    private static String getOpName(int opcode) throws UnsupportedScriptException {
+        if (opcode >= OP_1 && opcode <= OP_16)
+            return String.valueOf(opcode - OP_1 + 1);
+
+        switch (opcode) {
+            case OP_1NEGATE:
+                return "-1";
+            case OP_RESERVED:
+                return "OP_RESERVED";
+            case OP_RETURN:
+                return "OP_RETURN";
+            case OP_DUP:
+                return "OP_DUP";
+            case OP_EQUAL:
+                return "OP_EQUAL";
+            case OP_EQUALVERIFY:
+                return "OP_EQUALVERIFY";
+            case OP_HASH160:
+                return "OP_HASH160";
+            case OP_CHECKSIG:
+                return "OP_CHECKSIG";
+            default:
+                throw new UnsupportedScriptException("Unsupported opcode " + opcode);
+        }
+    }
+
+    private static int op(byte[] script, int pos) {
+        return script[pos] & 0xff;
+    }
+}
@@ -83,13 +83,14 @@ public final class RawTx extends BaseTx implements NetworkPayload {
     // PROTO BUFFER
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private RawTx(String txVersion,
-                  String id,
-                  int blockHeight,
-                  String blockHash,
-                  long time,
-                  ImmutableList<TxInput> txInputs,
-                  ImmutableList<RawTxOutput> rawTxOutputs) {
+    // Also used when decoding compact blocks
+    public RawTx(String txVersion,
+                 String id,
+                 int blockHeight,
+                 String blockHash,
+                 long time,
+                 ImmutableList<TxInput> txInputs,
+                 ImmutableList<RawTxOutput> rawTxOutputs) {
         super(txVersion,
                 id,
                 blockHeight,
@@ -17,6 +17,7 @@
 
 package bisq.core.dao.node.full;
 
+import bisq.core.dao.state.DaoStateService;
 import bisq.core.dao.state.model.blockchain.PubKeyScript;
 import bisq.core.dao.state.model.blockchain.TxInput;
 import bisq.core.user.Preferences;
@@ -26,6 +27,7 @@ import bisq.common.config.Config;
 import bisq.common.handlers.ResultHandler;
 import bisq.common.util.Utilities;
 
+import org.bitcoinj.core.Block;
 import org.bitcoinj.core.Utils;
 
 import com.neemre.btcdcli4j.core.BitcoindException;
@@ -56,6 +58,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -70,19 +73,35 @@ import org.jetbrains.annotations.NotNull;
  */
 @Slf4j
 public class RpcService {
+    // Number of concurrent getblock requests and max. number of blocks we fetch ahead of the parser
+    private static final int NUM_BLOCK_REQUEST_THREADS = 4;
+    private static final int MAX_PREFETCHED_BLOCKS = 50;
+    // Number of decoded blocks with BSQ txs we compare with the json format before we trust the decoder
+    private static final int NUM_DECODED_BLOCKS_TO_VERIFY = 10;
+
     private final String rpcUser;
     private final String rpcPassword;
     private final String rpcHost;
     private final int rpcPort;
     private final int rpcBlockPort;
     private final String rpcBlockHost;
+    private final DaoStateService daoStateService;
+    private final RawBlockDecoder rawBlockDecoder;
+    // Set to false if a decoded block does not match the json format of Bitcoin Core
+    private volatile boolean useSerializedBlocks;
+    private int numVerifiedDecodedBlocks;
 
     private BtcdClient client;
     private BtcdDaemon daemon;
 
-    // We could use multiple threads but then we need to support ordering of results in a queue
-    // Keep that for optimization after measuring performance differences
     private final ListeningExecutorService executor = Utilities.getSingleThreadListeningExecutor("RpcService");
+    // Blocks are requested concurrently and handed to the parser in height order by the blockPrefetcher
+    private final ListeningExecutorService blockRequestExecutor = Utilities.getListeningExecutorService(
+            "RpcService-blockRequest", NUM_BLOCK_REQUEST_THREADS, NUM_BLOCK_REQUEST_THREADS, 60);
+    private final BlockPrefetcher<RawBlock> blockPrefetcher = new BlockPrefetcher<>(this::getRawBlock,
+            blockRequestExecutor, NUM_BLOCK_REQUEST_THREADS, MAX_PREFETCHED_BLOCKS);
+    private final BlockPrefetcher<Block> serializedBlockPrefetcher = new BlockPrefetcher<>(this::getSerializedBlock,
+            blockRequestExecutor, NUM_BLOCK_REQUEST_THREADS, MAX_PREFETCHED_BLOCKS);
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -92,12 +111,17 @@ public class RpcService {
     @SuppressWarnings("WeakerAccess")
     @Inject
     public RpcService(Preferences preferences,
+                      DaoStateService daoStateService,
                       @Named(Config.RPC_HOST) String rpcHost,
                       @Named(Config.RPC_PORT) int rpcPort,
                       @Named(Config.RPC_BLOCK_NOTIFICATION_PORT) int rpcBlockPort,
-                      @Named(Config.RPC_BLOCK_NOTIFICATION_HOST) String rpcBlockHost) {
+                      @Named(Config.RPC_BLOCK_NOTIFICATION_HOST) String rpcBlockHost,
+                      @Named(Config.RPC_SERIALIZED_BLOCKS) boolean rpcSerializedBlocks) {
+        this.daoStateService = daoStateService;
         this.rpcUser = preferences.getRpcUser();
         this.rpcPassword = preferences.getRpcPw();
+        this.useSerializedBlocks = rpcSerializedBlocks;
+        this.rawBlockDecoder = new RawBlockDecoder(Config.baseCurrencyNetworkParameters());
 
         // mainnet is 8332, testnet 18332, regtest 18443
         boolean isHostSet = !rpcHost.isEmpty();
@@ -133,6 +157,7 @@ public class RpcService {
         }
 
         executor.shutdown();
+        blockRequestExecutor.shutdownNow();
     }
 
     void setup(ResultHandler resultHandler, Consumer<Throwable> errorHandler) {
@@ -145,6 +170,9 @@ public class RpcService {
 
                 long startTs = System.currentTimeMillis();
                 PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+                // One connection for each block request thread and one for the other requests
+                cm.setMaxTotal(NUM_BLOCK_REQUEST_THREADS + 1);
+                cm.setDefaultMaxPerRoute(NUM_BLOCK_REQUEST_THREADS + 1);
                 CloseableHttpClient httpProvider = HttpClients.custom().setConnectionManager(cm).build();
                 Properties nodeConfig = new Properties();
                 nodeConfig.setProperty("node.bitcoind.rpc.protocol", "http");
@@ -235,24 +263,18 @@ public class RpcService {
         }, MoreExecutors.directExecutor());
     }
 
+    // Blocks up to maxPrefetchBlockHeight get requested ahead while the caller is parsing the requested block.
+    // Callers must request blocks in height order to benefit from the prefetched blocks.
     void requestBtcBlock(int blockHeight,
+                         int maxPrefetchBlockHeight,
                          Consumer<RawBlock> resultHandler,
                          Consumer<Throwable> errorHandler) {
-        ListenableFuture<RawBlock> future = executor.submit(() -> {
-            long startTs = System.currentTimeMillis();
-            String blockHash = client.getBlockHash(blockHeight);
-            com.neemre.btcdcli4j.core.domain.RawBlock rawBtcBlock = client.getBlock(blockHash, 2);
-            List<RawTx> txList = rawBtcBlock.getTx().stream()
-                    .map(e -> getTxFromRawTransaction(e, rawBtcBlock))
-                    .collect(Collectors.toList());
-            log.info("requestBtcBlock from bitcoind at blockHeight {} with {} txs took {} ms",
-                    blockHeight, txList.size(), System.currentTimeMillis() - startTs);
-            return new RawBlock(rawBtcBlock.getHeight(),
-                    rawBtcBlock.getTime() * 1000, // rawBtcBlock.getTime() is in sec but we want ms
-                    rawBtcBlock.getHash(),
-                    rawBtcBlock.getPreviousBlockHash(),
-                    ImmutableList.copyOf(txList));
-        });
+        if (useSerializedBlocks) {
+            requestSerializedBtcBlock(blockHeight, maxPrefetchBlockHeight, resultHandler, errorHandler);
+            return;
+        }
+
+        ListenableFuture<RawBlock> future = blockPrefetcher.requestBlock(blockHeight, maxPrefetchBlockHeight);
 
         Futures.addCallback(future, new FutureCallback<>() {
             @Override
@@ -269,10 +291,139 @@ public class RpcService {
     }
 
 
+    // Discards the prefetched blocks, e.g. after a reorg as they might belong to a stale chain.
+    void resetBlockPrefetcher() {
+        blockPrefetcher.reset();
+        serializedBlockPrefetcher.reset();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Serialized blocks
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void requestSerializedBtcBlock(int blockHeight,
+                                           int maxPrefetchBlockHeight,
+                                           Consumer<RawBlock> resultHandler,
+                                           Consumer<Throwable> errorHandler) {
+        ListenableFuture<Block> future = serializedBlockPrefetcher.requestBlock(blockHeight, maxPrefetchBlockHeight);
+
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(Block btcBlock) {
+                // The selection of the BSQ tx candidates depends on the DAO state, so we do it at the user thread
+                // after the previous block got parsed.
+                UserThread.execute(() -> onSerializedBtcBlock(blockHeight, btcBlock, resultHandler, errorHandler));
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                log.error("Error at requestSerializedBtcBlock: blockHeight={}", blockHeight);
+                UserThread.execute(() -> errorHandler.accept(throwable));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void onSerializedBtcBlock(int blockHeight,
+                                      Block btcBlock,
+                                      Consumer<RawBlock> resultHandler,
+                                      Consumer<Throwable> errorHandler) {
+        RawBlock decodedBlock;
+        try {
+            decodedBlock = rawBlockDecoder.toRawBlock(btcBlock,
+                    blockHeight,
+                    daoStateService::isUnspent,
+                    daoStateService.getGenesisTxId());
+        } catch (RawBlockDecoder.UnsupportedScriptException e) {
+            log.info("Block at blockHeight {} contains a BSQ tx candidate with a script we cannot decode. " +
+                    "We request that block in the json format. {}", blockHeight, e.getMessage());
+            requestJsonBtcBlock(blockHeight, resultHandler, errorHandler);
+            return;
+        }
+
+        if (numVerifiedDecodedBlocks >= NUM_DECODED_BLOCKS_TO_VERIFY || decodedBlock.getRawTxs().isEmpty()) {
+            resultHandler.accept(decodedBlock);
+            return;
+        }
+
+        // We compare the first blocks containing BSQ txs with the json format of Bitcoin Core. If the format of
+        // Bitcoin Core differs from ours (e.g. at a new Bitcoin Core version) we would get a different DAO state,
+        // so we stop decoding blocks in that case.
+        requestJsonBtcBlock(blockHeight, jsonBlock -> {
+            if (isDecodedBlockMatchingJsonBlock(decodedBlock, jsonBlock)) {
+                numVerifiedDecodedBlocks++;
+                resultHandler.accept(decodedBlock);
+            } else {
+                log.warn("Decoded block at blockHeight {} does not match the json format of Bitcoin Core. " +
+                        "We request the json format for all further blocks.", blockHeight);
+                useSerializedBlocks = false;
+                serializedBlockPrefetcher.reset();
+                resultHandler.accept(jsonBlock);
+            }
+        }, errorHandler);
+    }
+
+    private void requestJsonBtcBlock(int blockHeight,
+                                     Consumer<RawBlock> resultHandler,
+                                     Consumer<Throwable> errorHandler) {
+        ListenableFuture<RawBlock> future = executor.submit(() -> getRawBlock(blockHeight));
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(RawBlock block) {
+                UserThread.execute(() -> resultHandler.accept(block));
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                log.error("Error at requestJsonBtcBlock: blockHeight={}", blockHeight);
+                UserThread.execute(() -> errorHandler.accept(throwable));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    // The decoded block only contains the BSQ tx candidates, so we compare it with those txs of the json block.
+    private static boolean isDecodedBlockMatchingJsonBlock(RawBlock decodedBlock, RawBlock jsonBlock) {
+        Set<String> txIds = decodedBlock.getRawTxs().stream().map(RawTx::getId).collect(Collectors.toSet());
+        List<RawTx> jsonTxs = jsonBlock.getRawTxs().stream()
+                .filter(rawTx -> txIds.contains(rawTx.getId()))
+                .collect(Collectors.toList());
+        RawBlock filteredJsonBlock = new RawBlock(jsonBlock.getHeight(),
+                jsonBlock.getTime(),
+                jsonBlock.getHash(),
+                jsonBlock.getPreviousBlockHash(),
+                ImmutableList.copyOf(jsonTxs));
+        return decodedBlock.toProtoMessage().equals(filteredJsonBlock.toProtoMessage());
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // Called from the threads of the blockRequestExecutor
+    private Block getSerializedBlock(int blockHeight) throws BitcoindException, CommunicationException {
+        String blockHash = client.getBlockHash(blockHeight);
+        String serializedBlockAsHex = (String) client.getBlock(blockHash, false);
+        return rawBlockDecoder.decodeBlock(Utils.HEX.decode(serializedBlockAsHex));
+    }
+
+    // Called from the threads of the blockRequestExecutor
+    private RawBlock getRawBlock(int blockHeight) throws BitcoindException, CommunicationException {
+        long startTs = System.currentTimeMillis();
+        String blockHash = client.getBlockHash(blockHeight);
+        com.neemre.btcdcli4j.core.domain.RawBlock rawBtcBlock = client.getBlock(blockHash, 2);
+        List<RawTx> txList = rawBtcBlock.getTx().stream()
+                .map(e -> getTxFromRawTransaction(e, rawBtcBlock))
+                .collect(Collectors.toList());
+        log.debug("requestBtcBlock from bitcoind at blockHeight {} with {} txs took {} ms",
+                blockHeight, txList.size(), System.currentTimeMillis() - startTs);
+        return new RawBlock(rawBtcBlock.getHeight(),
+                rawBtcBlock.getTime() * 1000, // rawBtcBlock.getTime() is in sec but we want ms
+                rawBtcBlock.getHash(),
+                rawBtcBlock.getPreviousBlockHash(),
+                ImmutableList.copyOf(txList));
+    }
+
     private RawTx getTxFromRawTransaction(RawTransaction rawBtcTx,
                                           com.neemre.btcdcli4j.core.domain.RawBlock rawBtcBlock) {
         String txId = rawBtcTx.getTxId();
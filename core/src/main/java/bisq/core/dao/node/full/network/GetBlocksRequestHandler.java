@@ -18,6 +18,7 @@
 package bisq.core.dao.node.full.network;
 
 import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.messages.CompactBlocksCodec;
 import bisq.core.dao.node.messages.GetBlocksRequest;
 import bisq.core.dao.node.messages.GetBlocksResponse;
 import bisq.core.dao.state.DaoStateService;
@@ -29,12 +30,16 @@ import bisq.network.p2p.network.NetworkNode;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
+import java.io.IOException;
+
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -46,10 +51,13 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Accepts a GetBlocksRequest from a lite node and sends back a corresponding GetBlocksResponse.
+ * If the lite node supports the COMPACT_BSQ_BLOCKS capability we send the blocks in chunks of compact encoded blocks,
+ * each in its own GetBlocksResponse. The next chunk gets encoded after the previous one has been sent.
  */
 @Slf4j
 class GetBlocksRequestHandler {
     private static final long TIMEOUT_MIN = 3;
+    private static final int COMPACT_BLOCKS_CHUNK_SIZE = 500;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -93,13 +101,70 @@ class GetBlocksRequestHandler {
         long ts = System.currentTimeMillis();
         // We limit number of blocks to 6000 which is about 1.5 month.
         List<Block> blocks = new LinkedList<>(daoStateService.getBlocksFromBlockHeight(getBlocksRequest.getFromBlockHeight(), 6000));
+        Capabilities supportedCapabilities = getBlocksRequest.getSupportedCapabilities();
+        if (supportedCapabilities != null && supportedCapabilities.containsAll(Capability.COMPACT_BSQ_BLOCKS)) {
+            log.info("Received GetBlocksRequest from {} for blocks from height {}. " +
+                            "We send {} blocks in compact chunks of up to {} blocks.",
+                    connection.getPeersNodeAddressOptional(), getBlocksRequest.getFromBlockHeight(),
+                    blocks.size(), COMPACT_BLOCKS_CHUNK_SIZE);
+            sendCompactBlocks(blocks, getBlocksRequest.getNonce(), connection);
+            return;
+        }
+
         List<RawBlock> rawBlocks = blocks.stream().map(RawBlock::fromBlock).collect(Collectors.toList());
         GetBlocksResponse getBlocksResponse = new GetBlocksResponse(rawBlocks, getBlocksRequest.getNonce());
         log.info("Received GetBlocksRequest from {} for blocks from height {}. " +
                         "Building GetBlocksResponse with {} blocks took {} ms.",
                 connection.getPeersNodeAddressOptional(), getBlocksRequest.getFromBlockHeight(),
                 rawBlocks.size(), System.currentTimeMillis() - ts);
+        sendResponse(getBlocksResponse, connection, () -> {
+            cleanup();
+            listener.onComplete();
+        });
+    }
+
+    public void stop() {
+        cleanup();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // We remove the blocks of each sent chunk from the list, so they can be garbage collected.
+    private void sendCompactBlocks(List<Block> blocks, int requestNonce, Connection connection) {
+        long ts = System.currentTimeMillis();
+        List<RawBlock> rawBlocks = new LinkedList<>();
+        while (!blocks.isEmpty() && rawBlocks.size() < COMPACT_BLOCKS_CHUNK_SIZE) {
+            rawBlocks.add(RawBlock.fromBlock(blocks.remove(0)));
+        }
+        boolean hasMoreBlocks = !blocks.isEmpty();
+
+        GetBlocksResponse getBlocksResponse;
+        try {
+            getBlocksResponse = new GetBlocksResponse(CompactBlocksCodec.encode(rawBlocks), requestNonce, hasMoreBlocks);
+        } catch (IOException e) {
+            handleFault("Encoding compact blocks failed: " + e.getMessage(), CloseConnectionReason.UNKNOWN_EXCEPTION,
+                    connection);
+            return;
+        }
+        //noinspection ConstantConditions
+        log.info("Encoding {} blocks with {} kB took {} ms. {} blocks left to send.",
+                rawBlocks.size(), getBlocksResponse.getCompactBlocks().length / 1000d,
+                System.currentTimeMillis() - ts, blocks.size());
+
+        sendResponse(getBlocksResponse, connection, () -> {
+            if (hasMoreBlocks) {
+                sendCompactBlocks(blocks, requestNonce, connection);
+            } else {
+                cleanup();
+                listener.onComplete();
+            }
+        });
+    }
+
+    private void sendResponse(GetBlocksResponse getBlocksResponse, Connection connection, Runnable onSent) {
         if (timeoutTimer != null) {
             timeoutTimer.stop();
             log.warn("Timeout was already running. We stopped it.");
@@ -117,10 +182,12 @@ class GetBlocksRequestHandler {
             @Override
             public void onSuccess(Connection connection) {
                 if (!stopped) {
-                    log.info("Send DataResponse to {} succeeded. getBlocksResponse.getBlocks().size()={}",
-                            connection.getPeersNodeAddressOptional(), getBlocksResponse.getBlocks().size());
-                    cleanup();
-                    listener.onComplete();
+                    log.info("Send DataResponse to {} succeeded. getBlocksResponse.getBlocks().size()={}, " +
+                                    "hasMoreBlocks={}",
+                            connection.getPeersNodeAddressOptional(), getBlocksResponse.getBlocks().size(),
+                            getBlocksResponse.isHasMoreBlocks());
+                    stopTimeoutTimer();
+                    onSent.run();
                 } else {
                     log.trace("We have stopped already. We ignore that networkNode.sendMessage.onSuccess call.");
                 }
@@ -140,15 +207,6 @@ class GetBlocksRequestHandler {
         }, MoreExecutors.directExecutor());
     }
 
-    public void stop() {
-        cleanup();
-    }
-
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Private
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
     private void handleFault(String errorMessage, CloseConnectionReason closeConnectionReason, Connection connection) {
         if (!stopped) {
             log.warn("{}, closeConnectionReason={}", errorMessage, closeConnectionReason);
@@ -161,6 +219,10 @@ class GetBlocksRequestHandler {
 
     private void cleanup() {
         stopped = true;
+        stopTimeoutTimer();
+    }
+
+    private void stopTimeoutTimer() {
         if (timeoutTimer != null) {
             timeoutTimer.stop();
             timeoutTimer = null;
@@ -35,12 +35,17 @@ import bisq.network.p2p.network.Connection;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.util.Tuple2;
 
 import com.google.inject.Inject;
 
 import javafx.beans.value.ChangeListener;
 
+import java.io.IOException;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -54,12 +59,21 @@ import org.jetbrains.annotations.Nullable;
 @Slf4j
 public class LiteNode extends BsqNode {
     private static final int CHECK_FOR_BLOCK_RECEIVED_DELAY_SEC = 10;
+    // A full node sends up to 6000 blocks in chunks of 500 blocks for one request. We limit the queued responses so a
+    // peer which keeps sending responses cannot fill up our memory.
+    private static final int MAX_PENDING_RESPONSES = 20;
 
     private final LiteNodeNetworkService liteNodeNetworkService;
     private final BsqWalletService bsqWalletService;
     private final WalletsSetup walletsSetup;
     private Timer checkForBlockReceivedTimer;
     private final ChangeListener<Number> blockDownloadListener;
+    // Received responses which are not parsed yet. A full node might send the blocks in multiple responses. We decode
+    // the blocks of a response only when we start parsing it, so we keep only the blocks of one response in memory
+    // and parse while the next responses arrive.
+    private final Deque<Tuple2<GetBlocksResponse, Runnable>> pendingResponses = new ArrayDeque<>();
+    private boolean isParsingResponse;
+    private boolean requestBlocksAfterParsing;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -156,8 +170,18 @@ public class LiteNode extends BsqNode {
         liteNodeNetworkService.addListener(new LiteNodeNetworkService.Listener() {
             @Override
             public void onRequestedBlocksReceived(GetBlocksResponse getBlocksResponse, Runnable onParsingComplete) {
-                LiteNode.this.onRequestedBlocksReceived(new ArrayList<>(getBlocksResponse.getBlocks()),
-                        onParsingComplete);
+                if (pendingResponses.size() >= MAX_PENDING_RESPONSES) {
+                    log.warn("We have already {} responses pending. We drop them and request the blocks again " +
+                            "after the current response is parsed.", pendingResponses.size());
+                    pendingResponses.clear();
+                    liteNodeNetworkService.reset();
+                    requestBlocksAfterParsing = true;
+                    return;
+                }
+
+                pendingResponses.add(new Tuple2<>(getBlocksResponse, onParsingComplete));
+                if (!isParsingResponse)
+                    parseNextResponse();
             }
 
             @Override
@@ -188,6 +212,9 @@ public class LiteNode extends BsqNode {
     protected void startReOrgFromLastSnapshot() {
         super.startReOrgFromLastSnapshot();
 
+        // Responses of the previous request might contain blocks we do not want anymore
+        pendingResponses.clear();
+        requestBlocksAfterParsing = false;
         int startBlockHeight = getStartBlockHeight();
         liteNodeNetworkService.reset();
         liteNodeNetworkService.requestBlocks(startBlockHeight);
@@ -198,8 +225,36 @@ public class LiteNode extends BsqNode {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void parseNextResponse() {
+        Tuple2<GetBlocksResponse, Runnable> tuple = pendingResponses.poll();
+        if (tuple == null) {
+            isParsingResponse = false;
+            if (requestBlocksAfterParsing) {
+                requestBlocksAfterParsing = false;
+                liteNodeNetworkService.requestBlocks(getStartBlockHeight());
+            }
+            return;
+        }
+
+        isParsingResponse = true;
+        GetBlocksResponse getBlocksResponse = tuple.first;
+        List<RawBlock> blockList;
+        try {
+            blockList = getBlocksResponse.decodeBlocks();
+        } catch (IOException e) {
+            log.warn("Decoding the received blocks failed. We request the blocks again. {}", e.toString());
+            pendingResponses.clear();
+            isParsingResponse = false;
+            requestBlocksAfterParsing = false;
+            liteNodeNetworkService.reset();
+            liteNodeNetworkService.requestBlocks(getStartBlockHeight());
+            return;
+        }
+        onRequestedBlocksReceived(new ArrayList<>(blockList), getBlocksResponse.isHasMoreBlocks(), tuple.second);
+    }
+
     // We received the missing blocks
-    private void onRequestedBlocksReceived(List<RawBlock> blockList, Runnable onParsingComplete) {
+    private void onRequestedBlocksReceived(List<RawBlock> blockList, boolean hasMoreBlocks, Runnable onParsingComplete) {
         if (!blockList.isEmpty()) {
             chainTipHeight = blockList.get(blockList.size() - 1).getHeight();
             log.info("We received blocks from height {} to {}", blockList.get(0).getHeight(), chainTipHeight);
@@ -216,7 +271,9 @@ public class LiteNode extends BsqNode {
         long ts = System.currentTimeMillis();
 
         if (blockList.isEmpty()) {
-            onParseBlockChainComplete();
+            if (!hasMoreBlocks)
+                onParseBlockChainComplete();
+            parseNextResponse();
             return;
         }
 
@@ -224,6 +281,12 @@ public class LiteNode extends BsqNode {
                 () -> {
                     log.info("runDelayedBatchProcessing Parsing {} blocks took {} seconds.", blockList.size(),
                             (System.currentTimeMillis() - ts) / 1000d);
+                    if (hasMoreBlocks) {
+                        // We continue with the next response of that request
+                        parseNextResponse();
+                        return;
+                    }
+
                     // We only request again if wallet is synced, otherwise we would get repeated calls we want to avoid.
                     // We deal with that case at the setupWalletBestBlockListener method above.
                     if (walletsSetup.isDownloadComplete() &&
@@ -233,6 +296,7 @@ public class LiteNode extends BsqNode {
                         onParsingComplete.run();
                         onParseBlockChainComplete();
                     }
+                    parseNextResponse();
                 });
     }
 
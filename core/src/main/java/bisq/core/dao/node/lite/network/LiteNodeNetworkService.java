@@ -288,6 +288,17 @@ public class LiteNodeNetworkService implements MessageListener, ConnectionListen
                 peersNodeAddress,
                 startBlockHeight,
                 new RequestBlocksHandler.Listener() {
+                    @Override
+                    public void onPartialResponse(GetBlocksResponse getBlocksResponse) {
+                        stopRetryTimer();
+                        if (startBlockHeight >= lastReceivedBlockHeight) {
+                            lastReceivedBlockHeight = startBlockHeight;
+                            listeners.forEach(listener -> listener.onRequestedBlocksReceived(getBlocksResponse,
+                                    () -> {
+                                    }));
+                        }
+                    }
+
                     @Override
                     public void onComplete(GetBlocksResponse getBlocksResponse) {
                         log.info("requestBlocksHandler to {} completed", peersNodeAddress);
@@ -59,6 +59,9 @@ public class RequestBlocksHandler implements MessageListener {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public interface Listener {
+        // Called if the peer sends the blocks in multiple responses and more responses will follow
+        void onPartialResponse(GetBlocksResponse getBlocksResponse);
+
         void onComplete(GetBlocksResponse getBlocksResponse);
 
         @SuppressWarnings("UnusedParameters")
@@ -189,6 +192,23 @@ public class RequestBlocksHandler implements MessageListener {
                 return;
             }
 
+            if (getBlocksResponse.isHasMoreBlocks()) {
+                // We restart the timeout for the next response
+                stopTimeoutTimer();
+                timeoutTimer = UserThread.runAfter(() -> {
+                            if (!stopped) {
+                                String errorMessage = "A timeout occurred when waiting for more blocks from " +
+                                        "peersNodeAddress:" + nodeAddress;
+                                handleFault(errorMessage, nodeAddress, CloseConnectionReason.SEND_MSG_TIMEOUT);
+                            }
+                        },
+                        TIMEOUT_MIN, TimeUnit.MINUTES);
+                log.info("We received from peer {} a partial BlocksResponse. More blocks will follow.",
+                        nodeAddress.getFullAddress());
+                listener.onPartialResponse(getBlocksResponse);
+                return;
+            }
+
             terminate();
             log.info("We received from peer {} a BlocksResponse with {} blocks",
                     nodeAddress.getFullAddress(), getBlocksResponse.getBlocks().size());
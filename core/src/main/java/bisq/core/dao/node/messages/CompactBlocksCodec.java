@@ -0,0 +1,385 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.messages;
+
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.full.RawTx;
+import bisq.core.dao.node.full.RawTxOutput;
+import bisq.core.dao.state.model.blockchain.PubKeyScript;
+import bisq.core.dao.state.model.blockchain.ScriptType;
+import bisq.core.dao.state.model.blockchain.TxInput;
+
+import com.google.common.collect.ImmutableList;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compact encoding of a batch of RawBlocks used in the GetBlocksResponse for peers with the COMPACT_BSQ_BLOCKS
+ * capability.
+ * <p>
+ * Strings like tx ids, block hashes, addresses and pubKeys are dictionary coded: at the first occurrence the string
+ * is written, later occurrences refer to it by its index. Inputs mostly spend outputs of txs of the same batch, so
+ * their tx ids are written only once. Heights, times and values are written as varints, heights and times as delta
+ * to the block or tx they belong to. The result gets deflated.
+ * <p>
+ * Each batch is encoded independently, so a receiver can decode and parse one batch after the other.
+ * The decoded blocks are equal to the blocks sent in the protobuf format.
+ */
+public final class CompactBlocksCodec {
+    private static final int FORMAT_VERSION = 1;
+
+    // Limits to protect against malicious data
+    private static final int MAX_NUM_ITEMS = 1_000_000;
+    private static final int MAX_BYTES_LENGTH = 1_000_000;
+    // The counts are read from the peer's data, so we do not preallocate more than that. Larger lists grow as the
+    // items are actually read.
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private CompactBlocksCodec() {
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Encode
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public static byte[] encode(List<RawBlock> rawBlocks) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (Writer writer = new Writer(new DeflaterOutputStream(byteArrayOutputStream,
+                new Deflater(Deflater.BEST_COMPRESSION)))) {
+            writer.writeVarLong(FORMAT_VERSION);
+            writer.writeVarLong(rawBlocks.size());
+            int previousHeight = 0;
+            long previousTime = 0;
+            for (RawBlock rawBlock : rawBlocks) {
+                writer.writeSignedVarLong(rawBlock.getHeight() - previousHeight);
+                writer.writeSignedVarLong(rawBlock.getTime() - previousTime);
+                writer.writeString(rawBlock.getHash());
+                writer.writeString(rawBlock.getPreviousBlockHash());
+                writer.writeVarLong(rawBlock.getRawTxs().size());
+                for (RawTx rawTx : rawBlock.getRawTxs()) {
+                    writeTx(writer, rawTx, rawBlock);
+                }
+                previousHeight = rawBlock.getHeight();
+                previousTime = rawBlock.getTime();
+            }
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static void writeTx(Writer writer, RawTx rawTx, RawBlock rawBlock) throws IOException {
+        writer.writeString(rawTx.getTxVersion());
+        writer.writeString(rawTx.getId());
+        writer.writeSignedVarLong(rawTx.getBlockHeight() - rawBlock.getHeight());
+        writer.writeString(rawTx.getBlockHash());
+        writer.writeSignedVarLong(rawTx.getTime() - rawBlock.getTime());
+
+        writer.writeVarLong(rawTx.getTxInputs().size());
+        for (TxInput txInput : rawTx.getTxInputs()) {
+            writer.writeString(txInput.getConnectedTxOutputTxId());
+            writer.writeVarLong(txInput.getConnectedTxOutputIndex());
+            writer.writeString(txInput.getPubKey());
+        }
+
+        writer.writeVarLong(rawTx.getRawTxOutputs().size());
+        for (RawTxOutput rawTxOutput : rawTx.getRawTxOutputs()) {
+            writer.writeVarLong(rawTxOutput.getIndex());
+            writer.writeVarLong(rawTxOutput.getValue());
+            writer.writeString(rawTxOutput.getTxId());
+            writer.writeSignedVarLong(rawTxOutput.getBlockHeight() - rawTx.getBlockHeight());
+            writer.writeString(rawTxOutput.getAddress());
+            writer.writeBytes(rawTxOutput.getOpReturnData());
+            writePubKeyScript(writer, rawTxOutput.getPubKeyScript());
+        }
+    }
+
+    private static void writePubKeyScript(Writer writer, @Nullable PubKeyScript pubKeyScript) throws IOException {
+        if (pubKeyScript == null) {
+            writer.writeVarLong(0);
+            return;
+        }
+
+        writer.writeVarLong(1);
+        writer.writeVarLong(pubKeyScript.getReqSigs());
+        writer.writeString(pubKeyScript.getScriptType().name());
+        List<String> addresses = pubKeyScript.getAddresses();
+        writer.writeVarLong(addresses == null ? 0 : addresses.size() + 1);
+        if (addresses != null) {
+            for (String address : addresses) {
+                writer.writeString(address);
+            }
+        }
+        writer.writeString(pubKeyScript.getAsm());
+        writer.writeString(pubKeyScript.getHex());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Decode
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public static List<RawBlock> decode(byte[] compactBlocks) throws IOException {
+        try (Reader reader = new Reader(new InflaterInputStream(new ByteArrayInputStream(compactBlocks)))) {
+            long formatVersion = reader.readVarLong();
+            if (formatVersion != FORMAT_VERSION)
+                throw new IOException("Unsupported format version " + formatVersion);
+
+            int numBlocks = reader.readCount();
+            List<RawBlock> rawBlocks = newList(numBlocks);
+            int height = 0;
+            long time = 0;
+            for (int i = 0; i < numBlocks; i++) {
+                height = Math.toIntExact(height + reader.readSignedVarLong());
+                time += reader.readSignedVarLong();
+                String hash = reader.readString();
+                String previousBlockHash = reader.readString();
+                int numTxs = reader.readCount();
+                List<RawTx> rawTxs = newList(numTxs);
+                for (int j = 0; j < numTxs; j++) {
+                    rawTxs.add(readTx(reader, height, time));
+                }
+                rawBlocks.add(new RawBlock(height, time, hash, previousBlockHash, ImmutableList.copyOf(rawTxs)));
+            }
+            return rawBlocks;
+        } catch (ArithmeticException | IllegalArgumentException | NullPointerException e) {
+            throw new IOException("Invalid compact blocks data", e);
+        }
+    }
+
+    private static RawTx readTx(Reader reader, int blockHeight, long blockTime) throws IOException {
+        String txVersion = reader.readString();
+        String id = reader.readString();
+        int txBlockHeight = Math.toIntExact(blockHeight + reader.readSignedVarLong());
+        String txBlockHash = reader.readString();
+        long time = blockTime + reader.readSignedVarLong();
+
+        int numInputs = reader.readCount();
+        List<TxInput> txInputs = newList(numInputs);
+        for (int i = 0; i < numInputs; i++) {
+            String connectedTxOutputTxId = reader.readString();
+            int connectedTxOutputIndex = Math.toIntExact(reader.readVarLong());
+            String pubKey = reader.readString();
+            txInputs.add(new TxInput(connectedTxOutputTxId, connectedTxOutputIndex, pubKey));
+        }
+
+        int numOutputs = reader.readCount();
+        List<RawTxOutput> rawTxOutputs = newList(numOutputs);
+        for (int i = 0; i < numOutputs; i++) {
+            int index = Math.toIntExact(reader.readVarLong());
+            long value = reader.readVarLong();
+            String txId = reader.readString();
+            int outputBlockHeight = Math.toIntExact(txBlockHeight + reader.readSignedVarLong());
+            String address = reader.readString();
+            byte[] opReturnData = reader.readBytes();
+            PubKeyScript pubKeyScript = readPubKeyScript(reader);
+            rawTxOutputs.add(new RawTxOutput(index, value, txId, pubKeyScript, address, opReturnData,
+                    outputBlockHeight));
+        }
+
+        return new RawTx(txVersion,
+                id,
+                txBlockHeight,
+                txBlockHash,
+                time,
+                ImmutableList.copyOf(txInputs),
+                ImmutableList.copyOf(rawTxOutputs));
+    }
+
+    @Nullable
+    private static PubKeyScript readPubKeyScript(Reader reader) throws IOException {
+        if (reader.readVarLong() == 0)
+            return null;
+
+        int reqSigs = Math.toIntExact(reader.readVarLong());
+        ScriptType scriptType = ScriptType.valueOf(reader.readString());
+        int numAddresses = reader.readCount();
+        ImmutableList<String> addresses = null;
+        if (numAddresses > 0) {
+            List<String> list = newList(numAddresses - 1);
+            for (int i = 0; i < numAddresses - 1; i++) {
+                list.add(reader.readString());
+            }
+            addresses = ImmutableList.copyOf(list);
+        }
+        String asm = reader.readString();
+        String hex = reader.readString();
+        return new PubKeyScript(reqSigs, scriptType, addresses, asm, hex);
+    }
+
+    private static <T> List<T> newList(int count) {
+        return new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Writer, Reader
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Strings are written as 0 for null, 1 followed by the string at its first occurrence and as index + 2 of
+    // the dictionary otherwise.
+    private static class Writer implements AutoCloseable {
+        private final DataOutputStream outputStream;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        Writer(OutputStream outputStream) {
+            this.outputStream = new DataOutputStream(outputStream);
+        }
+
+        void writeString(@Nullable String value) throws IOException {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarLong(index + 2);
+            } else {
+                dictionary.put(value, dictionary.size());
+                writeVarLong(1);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length);
+                outputStream.write(bytes);
+            }
+        }
+
+        // 0 for null, length + 1 followed by the bytes otherwise
+        void writeBytes(@Nullable byte[] bytes) throws IOException {
+            if (bytes == null) {
+                writeVarLong(0);
+                return;
+            }
+
+            writeVarLong(bytes.length + 1);
+            outputStream.write(bytes);
+        }
+
+        void writeSignedVarLong(long value) throws IOException {
+            // ZigZag encoding so small negative values get small as well
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                outputStream.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            outputStream.write((int) value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+        }
+    }
+
+    private static class Reader implements AutoCloseable {
+        private final DataInputStream inputStream;
+        private final List<String> dictionary = new ArrayList<>();
+
+        Reader(InputStream inputStream) {
+            this.inputStream = new DataInputStream(inputStream);
+        }
+
+        @Nullable
+        String readString() throws IOException {
+            long code = readVarLong();
+            if (code == 0)
+                return null;
+
+            if (code == 1) {
+                byte[] bytes = new byte[readLength()];
+                inputStream.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                dictionary.add(value);
+                return value;
+            }
+
+            long index = code - 2;
+            if (index < 0 || index >= dictionary.size())
+                throw new IOException("Invalid dictionary index " + index);
+            return dictionary.get((int) index);
+        }
+
+        @Nullable
+        byte[] readBytes() throws IOException {
+            long code = readVarLong();
+            if (code == 0)
+                return null;
+
+            if (code < 0 || code - 1 > MAX_BYTES_LENGTH)
+                throw new IOException("Invalid length " + (code - 1));
+            byte[] bytes = new byte[(int) (code - 1)];
+            inputStream.readFully(bytes);
+            return bytes;
+        }
+
+        int readCount() throws IOException {
+            long count = readVarLong();
+            if (count < 0 || count > MAX_NUM_ITEMS)
+                throw new IOException("Invalid count " + count);
+            return (int) count;
+        }
+
+        long readSignedVarLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = inputStream.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private int readLength() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > MAX_BYTES_LENGTH)
+                throw new IOException("Invalid length " + length);
+            return (int) length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+    }
+}
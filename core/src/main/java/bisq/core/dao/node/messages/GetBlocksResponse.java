@@ -27,14 +27,21 @@ import bisq.network.p2p.InitialDataResponse;
 import bisq.common.app.Version;
 import bisq.common.proto.network.NetworkEnvelope;
 
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @EqualsAndHashCode(callSuper = true)
 @Getter
 @Slf4j
@@ -43,8 +50,18 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
     private final List<RawBlock> blocks;
     private final int requestNonce;
 
+    // Added at v1.5.8. Blocks encoded with CompactBlocksCodec, in that case blocks is empty.
+    @Nullable
+    private final byte[] compactBlocks;
+    // Added at v1.5.8. If true more responses with the following blocks will be sent for the same request.
+    private final boolean hasMoreBlocks;
+
     public GetBlocksResponse(List<RawBlock> blocks, int requestNonce) {
-        this(blocks, requestNonce, Version.getP2PMessageVersion());
+        this(blocks, requestNonce, null, false, Version.getP2PMessageVersion());
+    }
+
+    public GetBlocksResponse(byte[] compactBlocks, int requestNonce, boolean hasMoreBlocks) {
+        this(new ArrayList<>(), requestNonce, compactBlocks, hasMoreBlocks, Version.getP2PMessageVersion());
     }
 
 
@@ -52,20 +69,29 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
     // PROTO BUFFER
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private GetBlocksResponse(List<RawBlock> blocks, int requestNonce, int messageVersion) {
+    private GetBlocksResponse(List<RawBlock> blocks,
+                              int requestNonce,
+                              @Nullable byte[] compactBlocks,
+                              boolean hasMoreBlocks,
+                              int messageVersion) {
         super(messageVersion);
         this.blocks = blocks;
         this.requestNonce = requestNonce;
+        this.compactBlocks = compactBlocks;
+        this.hasMoreBlocks = hasMoreBlocks;
     }
 
     @Override
     public protobuf.NetworkEnvelope toProtoNetworkEnvelope() {
+        protobuf.GetBlocksResponse.Builder builder = protobuf.GetBlocksResponse.newBuilder()
+                .addAllRawBlocks(blocks.stream()
+                        .map(RawBlock::toProtoMessage)
+                        .collect(Collectors.toList()))
+                .setRequestNonce(requestNonce)
+                .setHasMoreBlocks(hasMoreBlocks);
+        Optional.ofNullable(compactBlocks).ifPresent(e -> builder.setCompactRawBlocks(ByteString.copyFrom(e)));
         protobuf.NetworkEnvelope proto = getNetworkEnvelopeBuilder()
-                .setGetBlocksResponse(protobuf.GetBlocksResponse.newBuilder()
-                        .addAllRawBlocks(blocks.stream()
-                                .map(RawBlock::toProtoMessage)
-                                .collect(Collectors.toList()))
-                        .setRequestNonce(requestNonce))
+                .setGetBlocksResponse(builder)
                 .build();
         log.info("Sending a GetBlocksResponse with {} kB", proto.getSerializedSize() / 1000d);
         return proto;
@@ -80,15 +106,25 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
                 new ArrayList<>() :
                 list,
                 proto.getRequestNonce(),
+                proto.getCompactRawBlocks().isEmpty() ? null : proto.getCompactRawBlocks().toByteArray(),
+                proto.getHasMoreBlocks(),
                 messageVersion);
     }
 
+    // The compact blocks get decoded only when they are needed for parsing, so we do not keep the decoded blocks of
+    // all responses in memory.
+    public List<RawBlock> decodeBlocks() throws IOException {
+        return compactBlocks != null ? CompactBlocksCodec.decode(compactBlocks) : blocks;
+    }
+
 
     @Override
     public String toString() {
         return "GetBlocksResponse{" +
                 "\n     blocks=" + blocks +
                 ",\n     requestNonce=" + requestNonce +
+                ",\n     compactBlocks.length=" + (compactBlocks != null ? compactBlocks.length : 0) +
+                ",\n     hasMoreBlocks=" + hasMoreBlocks +
                 "\n} " + super.toString();
     }
 
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.SpentInfo;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+import bisq.core.dao.state.model.governance.Cycle;
+import bisq.core.dao.state.model.governance.DecryptedBallotsWithMerits;
+import bisq.core.dao.state.model.governance.EvaluatedProposal;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.ParamChange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps undo records of the DaoState changes of the last blocks. At a reorg we can roll back the DaoState to the
+ * fork point and only need to parse the blocks of the new chain, instead of applying the last snapshot.
+ * <p>
+ * For values in maps we store the value before the block (or that there was none), for lists we store the added
+ * items. Blocks and their txs are removed from the DaoState as a whole. Txs and the other state objects are
+ * immutable, so no copies are needed.
+ */
+@Slf4j
+class DaoStateJournal {
+    private final int maxBlocks;
+    private final LinkedList<BlockUndoRecord> records = new LinkedList<>();
+
+    DaoStateJournal(int maxBlocks) {
+        this.maxBlocks = maxBlocks;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Recording
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void onNewBlockHeight(int blockHeight, int previousChainHeight) {
+        records.add(new BlockUndoRecord(blockHeight, previousChainHeight));
+        if (records.size() > maxBlocks)
+            records.removeFirst();
+    }
+
+    void onBlockAdded() {
+        if (!records.isEmpty())
+            records.getLast().blockAdded = true;
+    }
+
+    void onUnspentTxOutputChanged(TxOutputKey txOutputKey, @Nullable TxOutput previous) {
+        if (!records.isEmpty())
+            records.getLast().previousUnspentTxOutputs.putIfAbsent(txOutputKey, previous);
+    }
+
+    void onSpentInfoChanged(TxOutputKey txOutputKey, @Nullable SpentInfo previous) {
+        if (!records.isEmpty())
+            records.getLast().previousSpentInfos.putIfAbsent(txOutputKey, previous);
+    }
+
+    void onIssuanceChanged(String txId, @Nullable Issuance previous) {
+        if (!records.isEmpty())
+            records.getLast().previousIssuances.putIfAbsent(txId, previous);
+    }
+
+    void onCycleAdded(Cycle cycle) {
+        if (!records.isEmpty())
+            records.getLast().addedCycles.add(cycle);
+    }
+
+    void onConfiscatedLockupTxAdded(String lockupTxId) {
+        if (!records.isEmpty())
+            records.getLast().addedConfiscatedLockupTxIds.add(lockupTxId);
+    }
+
+    void onParamChangeAdded(ParamChange paramChange) {
+        if (!records.isEmpty())
+            records.getLast().addedParamChanges.add(paramChange);
+    }
+
+    void onEvaluatedProposalAdded(EvaluatedProposal evaluatedProposal) {
+        if (!records.isEmpty())
+            records.getLast().addedEvaluatedProposals.add(evaluatedProposal);
+    }
+
+    void onDecryptedBallotsWithMeritsAdded(DecryptedBallotsWithMerits decryptedBallotsWithMerits) {
+        if (!records.isEmpty())
+            records.getLast().addedDecryptedBallotsWithMerits.add(decryptedBallotsWithMerits);
+    }
+
+    void clear() {
+        records.clear();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Roll back
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean canRollBackToHeight(DaoState daoState, int height) {
+        int expectedHeight = daoState.getChainHeight();
+        ListIterator<BlockUndoRecord> iterator = records.listIterator(records.size());
+        while (expectedHeight > height) {
+            if (!iterator.hasPrevious() || iterator.previous().blockHeight != expectedHeight)
+                return false;
+            expectedHeight--;
+        }
+        return true;
+    }
+
+    // Caller must check canRollBackToHeight before
+    void rollBackToHeight(DaoState daoState, int height) {
+        while (!records.isEmpty() && records.getLast().blockHeight > height) {
+            records.removeLast().undo(daoState);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // BlockUndoRecord
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class BlockUndoRecord {
+        private final int blockHeight;
+        private final int previousChainHeight;
+        private boolean blockAdded;
+        // A null value means that there was no entry before the block
+        private final Map<TxOutputKey, TxOutput> previousUnspentTxOutputs = new HashMap<>();
+        private final Map<TxOutputKey, SpentInfo> previousSpentInfos = new HashMap<>();
+        private final Map<String, Issuance> previousIssuances = new HashMap<>();
+        private final List<Cycle> addedCycles = new ArrayList<>();
+        private final List<String> addedConfiscatedLockupTxIds = new ArrayList<>();
+        private final List<ParamChange> addedParamChanges = new ArrayList<>();
+        private final List<EvaluatedProposal> addedEvaluatedProposals = new ArrayList<>();
+        private final List<DecryptedBallotsWithMerits> addedDecryptedBallotsWithMerits = new ArrayList<>();
+
+        BlockUndoRecord(int blockHeight, int previousChainHeight) {
+            this.blockHeight = blockHeight;
+            this.previousChainHeight = previousChainHeight;
+        }
+
+        void undo(DaoState daoState) {
+            restore(daoState.getUnspentTxOutputMap(), previousUnspentTxOutputs);
+            restore(daoState.getSpentInfoMap(), previousSpentInfos);
+            restore(daoState.getIssuanceMap(), previousIssuances);
+            removeAdded(daoState.getCycles(), addedCycles);
+            removeAdded(daoState.getConfiscatedLockupTxList(), addedConfiscatedLockupTxIds);
+            removeAdded(daoState.getParamChangeList(), addedParamChanges);
+            removeAdded(daoState.getEvaluatedProposalList(), addedEvaluatedProposals);
+            removeAdded(daoState.getDecryptedBallotsWithMeritsList(), addedDecryptedBallotsWithMerits);
+
+            if (blockAdded) {
+                daoState.getLastBlock()
+                        .filter(block -> block.getHeight() == blockHeight)
+                        .ifPresentOrElse(block -> daoState.removeLastBlock(),
+                                () -> log.warn("Last block is not at height {}. We cannot remove it.", blockHeight));
+            }
+            daoState.setChainHeight(previousChainHeight);
+        }
+
+        private static <K, V> void restore(Map<K, V> map, Map<K, V> previousValues) {
+            previousValues.forEach((key, previous) -> {
+                if (previous != null)
+                    map.put(key, previous);
+                else
+                    map.remove(key);
+            });
+        }
+
+        // The lists only get items added at the end or get sorted, so removing the added items restores the
+        // previous list including its order.
+        private static <T> void removeAdded(List<T> list, List<T> addedItems) {
+            addedItems.forEach(item -> {
+                for (int i = list.size() - 1; i >= 0; i--) {
+                    if (list.get(i) == item) {
+                        list.remove(i);
+                        return;
+                    }
+                }
+            });
+        }
+    }
+}
@@ -66,6 +66,9 @@ import static com.google.common.base.Preconditions.checkArgument;
  */
 @Slf4j
 public class DaoStateService implements DaoSetupService {
+    // Max. number of blocks we can roll back at a reorg. The persisted snapshot is at least that old.
+    private static final int MAX_ROLL_BACK_BLOCKS = 20;
+
     private final DaoState daoState;
     private final GenesisTxInfo genesisTxInfo;
     private final BsqFormatter bsqFormatter;
@@ -73,6 +76,7 @@ public class DaoStateService implements DaoSetupService {
     @Getter
     private boolean parseBlockChainComplete;
     private boolean allowDaoStateChange;
+    private final DaoStateJournal daoStateJournal = new DaoStateJournal(MAX_ROLL_BACK_BLOCKS);
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -100,6 +104,7 @@ public class DaoStateService implements DaoSetupService {
         allowDaoStateChange = true;
         assertDaoStateChange();
         daoState.setChainHeight(genesisTxInfo.getGenesisBlockHeight());
+        daoStateJournal.clear();
     }
 
 
@@ -117,8 +122,7 @@ public class DaoStateService implements DaoSetupService {
 
         daoState.setTxCache(snapshot.getTxCache());
 
-        daoState.getBlocks().clear();
-        daoState.getBlocks().addAll(snapshot.getBlocks());
+        daoState.setBlocks(snapshot.getBlocks());
 
         daoState.getCycles().clear();
         daoState.getCycles().addAll(snapshot.getCycles());
@@ -143,12 +147,34 @@ public class DaoStateService implements DaoSetupService {
 
         daoState.getDecryptedBallotsWithMeritsList().clear();
         daoState.getDecryptedBallotsWithMeritsList().addAll(snapshot.getDecryptedBallotsWithMeritsList());
+
+        daoStateJournal.clear();
+    }
+
+    /**
+     * Rolls back the state changes of all blocks above the given height if we have the undo records for them.
+     *
+     * @param height    Chain height after the roll back
+     * @return false if we cannot roll back to that height. The state is not changed in that case.
+     */
+    public boolean rollBackToHeight(int height) {
+        if (height < getGenesisBlockHeight() || !daoStateJournal.canRollBackToHeight(daoState, height))
+            return false;
+
+        allowDaoStateChange = true;
+        log.info("Roll back from chain height {} to {}", getChainHeight(), height);
+        daoStateJournal.rollBackToHeight(daoState, height);
+        return true;
     }
 
     public DaoState getClone() {
         return DaoState.getClone(daoState);
     }
 
+    public DaoState getSnapshot() {
+        return DaoState.getSnapshot(daoState);
+    }
+
     public byte[] getSerializedStateForHashChain() {
         return daoState.getSerializedStateForHashChain();
     }
@@ -174,6 +200,7 @@ public class DaoStateService implements DaoSetupService {
     public void addCycle(Cycle cycle) {
         assertDaoStateChange();
         getCycles().add(cycle);
+        daoStateJournal.onCycleAdded(cycle);
     }
 
     @Nullable
@@ -209,6 +236,7 @@ public class DaoStateService implements DaoSetupService {
     // First we get the blockHeight set
     public void onNewBlockHeight(int blockHeight) {
         allowDaoStateChange = true;
+        daoStateJournal.onNewBlockHeight(blockHeight, daoState.getChainHeight());
         daoState.setChainHeight(blockHeight);
         daoStateListeners.forEach(listener -> listener.onNewBlockHeight(blockHeight));
     }
@@ -221,7 +249,8 @@ public class DaoStateService implements DaoSetupService {
                     "We ignore that block as the first block need to be the genesis block. " +
                     "That might happen in edge cases at reorgs. Received block={}", block);
         } else {
-            daoState.getBlocks().add(block);
+            daoState.addBlock(block);
+            daoStateJournal.onBlockAdded();
 
             if (parseBlockChainComplete)
                 log.info("New Block added at blockHeight {}", block.getHeight());
@@ -283,7 +312,7 @@ public class DaoStateService implements DaoSetupService {
     }
 
 
-    public LinkedList<Block> getBlocks() {
+    public List<Block> getBlocks() {
         return daoState.getBlocks();
     }
 
@@ -295,14 +324,11 @@ public class DaoStateService implements DaoSetupService {
      * {@code false}.
      */
     public boolean isBlockHashKnown(String blockHash) {
-        return getBlocks().stream().anyMatch(block -> block.getHash().equals(blockHash));
+        return daoState.containsBlockHash(blockHash);
     }
 
     public Optional<Block> getLastBlock() {
-        if (!getBlocks().isEmpty())
-            return Optional.of(getBlocks().getLast());
-        else
-            return Optional.empty();
+        return daoState.getLastBlock();
     }
 
     public int getBlockHeightOfLastBlock() {
@@ -310,17 +336,15 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public Optional<Block> getBlockAtHeight(int height) {
-        return getBlocks().stream()
-                .filter(block -> block.getHeight() == height)
-                .findAny();
+        return daoState.getBlockAtHeight(height);
     }
 
     public boolean containsBlock(Block block) {
-        return getBlocks().contains(block);
+        return getBlockAtHeight(block.getHeight()).filter(block::equals).isPresent();
     }
 
     public boolean containsBlockHash(String blockHash) {
-        return getBlocks().stream().anyMatch(block -> block.getHash().equals(blockHash));
+        return daoState.containsBlockHash(blockHash);
     }
 
     public long getBlockTime(int height) {
@@ -330,11 +354,7 @@ public class DaoStateService implements DaoSetupService {
     public List<Block> getBlocksFromBlockHeight(int fromBlockHeight, int numMaxBlocks) {
         // We limit requests to numMaxBlocks blocks, to avoid performance issues and too
         // large network data in case a node requests too far back in history.
-        return getBlocks().stream()
-                .filter(block -> block.getHeight() >= fromBlockHeight)
-                .sorted(Comparator.comparing(Block::getHeight))
-                .limit(numMaxBlocks)
-                .collect(Collectors.toList());
+        return daoState.getBlocksFromBlockHeight(fromBlockHeight, numMaxBlocks);
     }
 
 
@@ -372,11 +392,11 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public List<Tx> getInvalidTxs() {
-        return getUnorderedTxStream().filter(tx -> tx.getTxType() == TxType.INVALID).collect(Collectors.toList());
+        return new ArrayList<>(daoState.getTxsByTxType(TxType.INVALID));
     }
 
     public List<Tx> getIrregularTxs() {
-        return getUnorderedTxStream().filter(tx -> tx.getTxType() == TxType.IRREGULAR).collect(Collectors.toList());
+        return new ArrayList<>(daoState.getTxsByTxType(TxType.IRREGULAR));
     }
 
     public Optional<Tx> getTx(String txId) {
@@ -410,22 +430,16 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public Set<Tx> getTradeFeeTxs() {
-        return getUnorderedTxStream()
-                .filter(tx -> tx.getTxType() == TxType.PAY_TRADE_FEE)
-                .collect(Collectors.toSet());
+        return new HashSet<>(daoState.getTxsByTxType(TxType.PAY_TRADE_FEE));
     }
 
     public Set<Tx> getProofOfBurnTxs() {
-        return getUnorderedTxStream()
-                .filter(tx -> tx.getTxType() == TxType.PROOF_OF_BURN)
-                .collect(Collectors.toSet());
+        return new HashSet<>(daoState.getTxsByTxType(TxType.PROOF_OF_BURN));
     }
 
     // Any tx with burned BSQ
     public Set<Tx> getBurntFeeTxs() {
-        return getUnorderedTxStream()
-                .filter(tx -> tx.getBurntFee() > 0)
-                .collect(Collectors.toSet());
+        return new HashSet<>(daoState.getBurntFeeTxs());
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -442,19 +456,12 @@ public class DaoStateService implements DaoSetupService {
     // TxOutput
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private Stream<TxOutput> getUnorderedTxOutputStream() {
-        return getUnorderedTxStream()
-                .flatMap(tx -> tx.getTxOutputs().stream());
-    }
-
     public boolean existsTxOutput(TxOutputKey key) {
-        return getUnorderedTxOutputStream().anyMatch(txOutput -> txOutput.getKey().equals(key));
+        return daoState.getTxOutputMap().containsKey(key);
     }
 
     public Optional<TxOutput> getTxOutput(TxOutputKey txOutputKey) {
-        return getUnorderedTxOutputStream()
-                .filter(txOutput -> txOutput.getKey().equals(txOutputKey))
-                .findAny();
+        return Optional.ofNullable(daoState.getTxOutputMap().get(txOutputKey));
     }
 
 
@@ -468,12 +475,14 @@ public class DaoStateService implements DaoSetupService {
 
     public void addUnspentTxOutput(TxOutput txOutput) {
         assertDaoStateChange();
-        getUnspentTxOutputMap().put(txOutput.getKey(), txOutput);
+        TxOutput previous = getUnspentTxOutputMap().put(txOutput.getKey(), txOutput);
+        daoStateJournal.onUnspentTxOutputChanged(txOutput.getKey(), previous);
     }
 
     public void removeUnspentTxOutput(TxOutput txOutput) {
         assertDaoStateChange();
-        getUnspentTxOutputMap().remove(txOutput.getKey());
+        TxOutput previous = getUnspentTxOutputMap().remove(txOutput.getKey());
+        daoStateJournal.onUnspentTxOutputChanged(txOutput.getKey(), previous);
     }
 
     public boolean isUnspent(TxOutputKey key) {
@@ -538,9 +547,7 @@ public class DaoStateService implements DaoSetupService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private Set<TxOutput> getTxOutputsByTxOutputType(TxOutputType txOutputType) {
-        return getUnorderedTxOutputStream()
-                .filter(txOutput -> txOutput.getTxOutputType() == txOutputType)
-                .collect(Collectors.toSet());
+        return new HashSet<>(daoState.getTxOutputsByTxOutputType(txOutputType));
     }
 
     public boolean isBsqTxOutputType(TxOutput txOutput) {
@@ -607,7 +614,8 @@ public class DaoStateService implements DaoSetupService {
 
     public void addIssuance(Issuance issuance) {
         assertDaoStateChange();
-        daoState.getIssuanceMap().put(issuance.getTxId(), issuance);
+        Issuance previous = daoState.getIssuanceMap().put(issuance.getTxId(), issuance);
+        daoStateJournal.onIssuanceChanged(issuance.getTxId(), previous);
     }
 
     public Set<Issuance> getIssuanceSetForType(IssuanceType issuanceType) {
@@ -884,6 +892,7 @@ public class DaoStateService implements DaoSetupService {
         assertDaoStateChange();
         log.warn("TxId {} added to confiscatedLockupTxIdList.", lockupTxId);
         daoState.getConfiscatedLockupTxList().add(lockupTxId);
+        daoStateJournal.onConfiscatedLockupTxAdded(lockupTxId);
     }
 
     public boolean isConfiscatedOutput(TxOutputKey txOutputKey) {
@@ -916,6 +925,7 @@ public class DaoStateService implements DaoSetupService {
                 .ifPresent(heightOfNewCycle -> {
                     ParamChange paramChange = new ParamChange(param.name(), paramValue, heightOfNewCycle);
                     paramChangeList.add(paramChange);
+                    daoStateJournal.onParamChangeAdded(paramChange);
                     // Addition with older height should not be possible but to ensure correct sorting lets run a sort.
                     paramChangeList.sort(Comparator.comparingInt(ParamChange::getActivationHeight));
                 });
@@ -969,7 +979,8 @@ public class DaoStateService implements DaoSetupService {
 
     public void setSpentInfo(TxOutputKey txOutputKey, SpentInfo spentInfo) {
         assertDaoStateChange();
-        daoState.getSpentInfoMap().put(txOutputKey, spentInfo);
+        SpentInfo previous = daoState.getSpentInfoMap().put(txOutputKey, spentInfo);
+        daoStateJournal.onSpentInfoChanged(txOutputKey, previous);
     }
 
     public Optional<SpentInfo> getSpentInfo(TxOutput txOutput) {
@@ -990,7 +1001,10 @@ public class DaoStateService implements DaoSetupService {
 
         evaluatedProposals.stream()
                 .filter(e -> !daoState.getEvaluatedProposalList().contains(e))
-                .forEach(daoState.getEvaluatedProposalList()::add);
+                .forEach(e -> {
+                    daoState.getEvaluatedProposalList().add(e);
+                    daoStateJournal.onEvaluatedProposalAdded(e);
+                });
 
         // We need deterministic order for the hash chain
         daoState.getEvaluatedProposalList().sort(Comparator.comparing(EvaluatedProposal::getProposalTxId));
@@ -1005,7 +1019,10 @@ public class DaoStateService implements DaoSetupService {
 
         decryptedBallotsWithMeritsSet.stream()
                 .filter(e -> !daoState.getDecryptedBallotsWithMeritsList().contains(e))
-                .forEach(daoState.getDecryptedBallotsWithMeritsList()::add);
+                .forEach(e -> {
+                    daoState.getDecryptedBallotsWithMeritsList().add(e);
+                    daoStateJournal.onDecryptedBallotsWithMeritsAdded(e);
+                });
 
         // We need deterministic order for the hash chain
         daoState.getDecryptedBallotsWithMeritsList().sort(Comparator.comparing(DecryptedBallotsWithMerits::getBlindVoteTxId));
@@ -34,6 +34,7 @@ import java.io.File;
 import java.io.IOException;
 
 import java.util.LinkedList;
+import java.util.Optional;
 
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -98,27 +99,29 @@ public class DaoStateSnapshotService {
         boolean noSnapshotCandidateOrDifferentHeight = daoStateSnapshotCandidate == null ||
                 daoStateSnapshotCandidate.getChainHeight() != chainHeight;
         if (isSnapshotHeight(chainHeight) &&
-                !daoStateService.getBlocks().isEmpty() &&
-                isValidHeight(daoStateService.getBlocks().getLast().getHeight()) &&
+                daoStateService.getLastBlock().isPresent() &&
+                isValidHeight(daoStateService.getLastBlock().get().getHeight()) &&
                 noSnapshotCandidateOrDifferentHeight) {
             // At trigger event we store the latest snapshotCandidate to disc
             long ts = System.currentTimeMillis();
             if (daoStateSnapshotCandidate != null) {
-                // Serialisation happens on the userThread so we do not need to clone the data. Write to disk happens
-                // in a thread but does not interfere with our objects as they got already serialized when passed to the
-                // write thread. We use requestPersistence so we do not write immediately but at next scheduled interval.
-                // This avoids frequent write at dao sync and better performance.
+                // The snapshotCandidate is a snapshot which does not get mutated anymore, so it gets serialized while it
+                // is written to disk on the write thread. We use requestPersistence so we do not write immediately but
+                // at next scheduled interval. This avoids frequent write at dao sync and better performance.
                 daoStateStorageService.requestPersistence(daoStateSnapshotCandidate, daoStateHashChainSnapshotCandidate);
-                log.info("Serializing snapshotCandidate for writing to Disc with height {} at height {} took {} ms",
+                log.info("Requesting persistence of snapshotCandidate with height {} at height {} took {} ms",
                         daoStateSnapshotCandidate.getChainHeight(), chainHeight, System.currentTimeMillis() - ts);
             }
 
             ts = System.currentTimeMillis();
-            // Now we clone and keep it in memory for the next trigger event
-            daoStateSnapshotCandidate = daoStateService.getClone();
+            // Now we take a snapshot and keep it in memory for the next trigger event. It shares the immutable
+            // blocks, txs and map values with the live state, so we only copy the collections here.
+            daoStateSnapshotCandidate = daoStateService.getSnapshot();
             daoStateHashChainSnapshotCandidate = new LinkedList<>(daoStateMonitoringService.getDaoStateHashChain());
 
-            log.debug("Cloned new snapshotCandidate at height {} took {} ms", chainHeight, System.currentTimeMillis() - ts);
+            log.info("Created new snapshotCandidate at height {} with {} blocks and {} unspent tx outputs took {} ms",
+                    chainHeight, daoStateSnapshotCandidate.getBlocks().size(),
+                    daoStateSnapshotCandidate.getUnspentTxOutputMap().size(), System.currentTimeMillis() - ts);
         }
     }
 
@@ -126,10 +129,10 @@ public class DaoStateSnapshotService {
         DaoState persistedBsqState = daoStateStorageService.getPersistedBsqState();
         LinkedList<DaoStateHash> persistedDaoStateHashChain = daoStateStorageService.getPersistedDaoStateHashChain();
         if (persistedBsqState != null) {
-            LinkedList<Block> blocks = persistedBsqState.getBlocks();
+            Optional<Block> lastBlock = persistedBsqState.getLastBlock();
             int chainHeightOfPersisted = persistedBsqState.getChainHeight();
-            if (!blocks.isEmpty()) {
-                int heightOfLastBlock = blocks.getLast().getHeight();
+            if (lastBlock.isPresent()) {
+                int heightOfLastBlock = lastBlock.get().getHeight();
                 log.debug("applySnapshot from persistedBsqState daoState with height of last block {}", heightOfLastBlock);
                 if (isValidHeight(heightOfLastBlock)) {
                     if (chainHeightOfLastApplySnapshot != chainHeightOfPersisted) {
@@ -159,6 +162,29 @@ public class DaoStateSnapshotService {
     }
 
 
+    /**
+     * Rolls back the last blocks of the DaoState and the hash chain. Cheaper than applying the last snapshot as we
+     * only need to parse the rolled back blocks again.
+     *
+     * @param numBlocks     Number of blocks to roll back
+     * @return false if we do not have the undo records for those blocks
+     */
+    public boolean rollBackBlocks(int numBlocks) {
+        int height = daoStateService.getChainHeight() - numBlocks;
+        if (!daoStateService.rollBackToHeight(height))
+            return false;
+
+        daoStateMonitoringService.rollBackToHeight(height);
+
+        // The snapshot candidate might contain blocks of the stale chain
+        if (daoStateSnapshotCandidate != null && daoStateSnapshotCandidate.getChainHeight() > height) {
+            daoStateSnapshotCandidate = null;
+            daoStateHashChainSnapshotCandidate = new LinkedList<>();
+        }
+        return true;
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
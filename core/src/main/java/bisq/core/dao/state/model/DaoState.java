@@ -22,6 +22,8 @@ import bisq.core.dao.state.model.blockchain.SpentInfo;
 import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.blockchain.TxOutput;
 import bisq.core.dao.state.model.blockchain.TxOutputKey;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+import bisq.core.dao.state.model.blockchain.TxType;
 import bisq.core.dao.state.model.governance.Cycle;
 import bisq.core.dao.state.model.governance.DecryptedBallotsWithMerits;
 import bisq.core.dao.state.model.governance.EvaluatedProposal;
@@ -37,10 +39,14 @@ import javax.inject.Inject;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -56,6 +62,10 @@ import lombok.extern.slf4j.Slf4j;
  *
  * For supporting the hashChain we need to ensure deterministic sorting behaviour of all collections so we use a
  * TreeMap which is sorted by the key.
+ * <p>
+ * Blocks are kept in a random access list ordered by height. As blocks are always connecting (each block has the
+ * height of the previous block + 1) the index of a block is its height minus the height of the first block. Together
+ * with the transient block hash index, lookups by height or hash are O(1).
  */
 @Slf4j
 public class DaoState implements PersistablePayload {
@@ -68,6 +78,21 @@ public class DaoState implements PersistablePayload {
         return DaoState.fromProto(daoState.getBsqStateBuilder().build());
     }
 
+    // Blocks (once parsed), txs and the values of the maps and lists are immutable, so we only need to copy the
+    // collections. That is much cheaper than a clone which serializes and parses the whole state.
+    public static DaoState getSnapshot(DaoState daoState) {
+        return new DaoState(daoState.getChainHeight(),
+                new ArrayList<>(daoState.blocks),
+                new LinkedList<>(daoState.getCycles()),
+                new TreeMap<>(daoState.getUnspentTxOutputMap()),
+                new TreeMap<>(daoState.getSpentInfoMap()),
+                new ArrayList<>(daoState.getConfiscatedLockupTxList()),
+                new TreeMap<>(daoState.getIssuanceMap()),
+                new ArrayList<>(daoState.getParamChangeList()),
+                new ArrayList<>(daoState.getEvaluatedProposalList()),
+                new ArrayList<>(daoState.getDecryptedBallotsWithMeritsList()));
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Fields
@@ -75,8 +100,8 @@ public class DaoState implements PersistablePayload {
 
     @Getter
     private int chainHeight; // Is set initially to genesis height
-    @Getter
-    private final LinkedList<Block> blocks;
+    // Blocks are not exposed with a Lombok getter as the block hash index must be kept in sync with the list.
+    private final List<Block> blocks;
     @Getter
     private final LinkedList<Cycle> cycles;
 
@@ -107,6 +132,17 @@ public class DaoState implements PersistablePayload {
     // Transient data used only as an index - must be kept in sync with the block list
     @JsonExclude
     private transient final Map<String, Tx> txCache; // key is txId
+    @JsonExclude
+    private transient final Map<String, Block> blockByHash; // key is block hash
+    // Indexes derived from the txs in the txCache. Txs are immutable, so we can index them once they get added.
+    @JsonExclude
+    private transient final Map<TxOutputKey, TxOutput> txOutputMap;
+    @JsonExclude
+    private transient final Map<TxOutputType, Set<TxOutput>> txOutputsByTxOutputType;
+    @JsonExclude
+    private transient final Map<TxType, Set<Tx>> txsByTxType;
+    @JsonExclude
+    private transient final Set<Tx> burntFeeTxs;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -116,7 +152,7 @@ public class DaoState implements PersistablePayload {
     @Inject
     public DaoState() {
         this(0,
-                new LinkedList<>(),
+                new ArrayList<>(),
                 new LinkedList<>(),
                 new TreeMap<>(),
                 new TreeMap<>(),
@@ -134,7 +170,7 @@ public class DaoState implements PersistablePayload {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private DaoState(int chainHeight,
-                     LinkedList<Block> blocks,
+                     List<Block> blocks,
                      LinkedList<Cycle> cycles,
                      TreeMap<TxOutputKey, TxOutput> unspentTxOutputMap,
                      TreeMap<TxOutputKey, SpentInfo> spentInfoMap,
@@ -159,6 +195,14 @@ public class DaoState implements PersistablePayload {
         txCache = blocks.stream()
                 .flatMap(block -> block.getTxs().stream())
                 .collect(Collectors.toMap(Tx::getId, Function.identity(), (x, y) -> x, HashMap::new));
+        blockByHash = blocks.stream()
+                .collect(Collectors.toMap(Block::getHash, Function.identity(), (x, y) -> x, HashMap::new));
+
+        txOutputMap = new HashMap<>();
+        txOutputsByTxOutputType = new EnumMap<>(TxOutputType.class);
+        txsByTxType = new EnumMap<>(TxType.class);
+        burntFeeTxs = new HashSet<>();
+        txCache.values().forEach(this::addToTxIndexes);
     }
 
     @Override
@@ -172,7 +216,7 @@ public class DaoState implements PersistablePayload {
                 .collect(Collectors.toList()));
     }
 
-    private protobuf.DaoState.Builder getBsqStateBuilderExcludingBlocks() {
+    public protobuf.DaoState.Builder getBsqStateBuilderExcludingBlocks() {
         protobuf.DaoState.Builder builder = protobuf.DaoState.newBuilder();
         builder.setChainHeight(chainHeight)
                 .addAllCycles(cycles.stream().map(Cycle::toProtoMessage).collect(Collectors.toList()))
@@ -190,9 +234,9 @@ public class DaoState implements PersistablePayload {
     }
 
     public static DaoState fromProto(protobuf.DaoState proto) {
-        LinkedList<Block> blocks = proto.getBlocksList().stream()
+        List<Block> blocks = proto.getBlocksList().stream()
                 .map(Block::fromProto)
-                .collect(Collectors.toCollection(LinkedList::new));
+                .collect(Collectors.toCollection(ArrayList::new));
         LinkedList<Cycle> cycles = proto.getCyclesList().stream()
                 .map(Cycle::fromProto).collect(Collectors.toCollection(LinkedList::new));
         TreeMap<TxOutputKey, TxOutput> unspentTxOutputMap = new TreeMap<>(proto.getUnspentTxOutputMapMap().entrySet().stream()
@@ -235,24 +279,171 @@ public class DaoState implements PersistablePayload {
         // Reorgs are handled by rebuilding the hash chain from last snapshot.
         // Using the full blocks list becomes quite heavy. 7000 blocks are
         // about 1.4 MB and creating the hash takes 30 sec. By using just the last block we reduce the time to 7 sec.
-        return getBsqStateBuilderExcludingBlocks().addBlocks(getBlocks().getLast().toProtoMessage()).build().toByteArray();
+        return getBsqStateBuilderExcludingBlocks().addBlocks(blocks.get(blocks.size() - 1).toProtoMessage()).build().toByteArray();
+    }
+
+    public List<Block> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    public void addBlock(Block block) {
+        blocks.add(block);
+        blockByHash.putIfAbsent(block.getHash(), block);
+    }
+
+    public void setBlocks(List<Block> blocks) {
+        this.blocks.clear();
+        this.blocks.addAll(blocks);
+        blockByHash.clear();
+        blocks.forEach(block -> blockByHash.putIfAbsent(block.getHash(), block));
+    }
+
+    // Removes the last block and its txs
+    public void removeLastBlock() {
+        if (blocks.isEmpty())
+            return;
+
+        Block block = blocks.remove(blocks.size() - 1);
+        blockByHash.remove(block.getHash(), block);
+        block.getTxs().forEach(tx -> {
+            if (txCache.remove(tx.getId(), tx))
+                removeFromTxIndexes(tx);
+        });
+    }
+
+    public Optional<Block> getLastBlock() {
+        return blocks.isEmpty() ? Optional.empty() : Optional.of(blocks.get(blocks.size() - 1));
+    }
+
+    public Optional<Block> getBlockAtHeight(int height) {
+        int index = getIndexOfHeight(height);
+        return index >= 0 ? Optional.of(blocks.get(index)) : Optional.empty();
+    }
+
+    public Optional<Block> getBlockByHash(String blockHash) {
+        return Optional.ofNullable(blockByHash.get(blockHash));
+    }
+
+    public boolean containsBlockHash(String blockHash) {
+        return blockByHash.containsKey(blockHash);
+    }
+
+    public List<Block> getBlocksFromBlockHeight(int fromBlockHeight, int numMaxBlocks) {
+        if (blocks.isEmpty() || numMaxBlocks <= 0)
+            return new ArrayList<>();
+
+        int fromIndex = fromBlockHeight <= blocks.get(0).getHeight() ? 0 : getIndexOfHeight(fromBlockHeight);
+        if (fromIndex < 0)
+            return new ArrayList<>();
+
+        int toIndex = (int) Math.min(blocks.size(), (long) fromIndex + numMaxBlocks);
+        return new ArrayList<>(blocks.subList(fromIndex, toIndex));
     }
 
     public void addToTxCache(Tx tx) {
         // We shouldn't get duplicate txIds, but use putIfAbsent instead of put for consistency with the map merge
         // function used in the constructor to initialise txCache (and to exactly match the pre-caching behaviour).
-        txCache.putIfAbsent(tx.getId(), tx);
+        if (txCache.putIfAbsent(tx.getId(), tx) == null)
+            addToTxIndexes(tx);
     }
 
     public void setTxCache(Map<String, Tx> txCache) {
         this.txCache.clear();
         this.txCache.putAll(txCache);
+
+        txOutputMap.clear();
+        txOutputsByTxOutputType.clear();
+        txsByTxType.clear();
+        burntFeeTxs.clear();
+        this.txCache.values().forEach(this::addToTxIndexes);
     }
 
     public Map<String, Tx> getTxCache() {
         return Collections.unmodifiableMap(txCache);
     }
 
+    public Map<TxOutputKey, TxOutput> getTxOutputMap() {
+        return Collections.unmodifiableMap(txOutputMap);
+    }
+
+    public Set<TxOutput> getTxOutputsByTxOutputType(TxOutputType txOutputType) {
+        return Collections.unmodifiableSet(txOutputsByTxOutputType.getOrDefault(txOutputType, Collections.emptySet()));
+    }
+
+    public Set<Tx> getTxsByTxType(TxType txType) {
+        return Collections.unmodifiableSet(txsByTxType.getOrDefault(txType, Collections.emptySet()));
+    }
+
+    public Set<Tx> getBurntFeeTxs() {
+        return Collections.unmodifiableSet(burntFeeTxs);
+    }
+
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addToTxIndexes(Tx tx) {
+        tx.getTxOutputs().forEach(txOutput -> {
+            txOutputMap.putIfAbsent(txOutput.getKey(), txOutput);
+            txOutputsByTxOutputType.computeIfAbsent(txOutput.getTxOutputType(), e -> new HashSet<>()).add(txOutput);
+        });
+
+        if (tx.getTxType() != null)
+            txsByTxType.computeIfAbsent(tx.getTxType(), e -> new HashSet<>()).add(tx);
+
+        if (tx.getBurntFee() > 0)
+            burntFeeTxs.add(tx);
+    }
+
+    private void removeFromTxIndexes(Tx tx) {
+        tx.getTxOutputs().forEach(txOutput -> {
+            txOutputMap.remove(txOutput.getKey(), txOutput);
+            Set<TxOutput> txOutputs = txOutputsByTxOutputType.get(txOutput.getTxOutputType());
+            if (txOutputs != null)
+                txOutputs.remove(txOutput);
+        });
+
+        if (tx.getTxType() != null) {
+            Set<Tx> txs = txsByTxType.get(tx.getTxType());
+            if (txs != null)
+                txs.remove(tx);
+        }
+
+        burntFeeTxs.remove(tx);
+    }
+
+    // Returns -1 if we don't have a block at that height.
+    private int getIndexOfHeight(int height) {
+        if (blocks.isEmpty())
+            return -1;
+
+        long index = (long) height - blocks.get(0).getHeight();
+        if (index < 0 || index >= blocks.size())
+            return -1;
+
+        if (blocks.get((int) index).getHeight() == height)
+            return (int) index;
+
+        // Blocks are always connecting, so that should never happen. If it does we fall back to a binary search
+        // which only requires the blocks to be sorted by height.
+        log.warn("Blocks are not connecting. We expected a block at height {} at index {}", height, index);
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midHeight = blocks.get(mid).getHeight();
+            if (midHeight < height)
+                low = mid + 1;
+            else if (midHeight > height)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+
     @Override
     public String toString() {
         return "DaoState{" +
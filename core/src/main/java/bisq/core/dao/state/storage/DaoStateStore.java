@@ -19,25 +19,37 @@ package bisq.core.dao.state.storage;
 
 import bisq.core.dao.monitoring.model.DaoStateHash;
 import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.Block;
 
-import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.proto.persistable.StreamablePersistableEnvelope;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
+import com.google.protobuf.WireFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 
 @Slf4j
-public class DaoStateStore implements PersistableEnvelope {
-    // DaoState is always a clone and must not be used for read access beside initial read from disc when we apply
-    // the snapshot!
+public class DaoStateStore implements StreamablePersistableEnvelope {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    // DaoState is always a clone or snapshot and must not be used for read access beside initial read from disc when we
+    // apply the snapshot!
     @Getter
     @Setter
     private DaoState daoState;
@@ -67,6 +79,78 @@ public class DaoStateStore implements PersistableEnvelope {
                 .build();
     }
 
+    // The daoState and the daoStateHashChain are snapshots which do not get mutated after they have been set, so we
+    // serialize them on the write thread. We write the same data as toProtoMessage().writeDelimitedTo, but one
+    // block at a time.
+    @Override
+    public Writer getWriter() {
+        checkNotNull(daoState, "daoState must not be null when getWriter is invoked");
+        DaoState daoState = this.daoState;
+        List<DaoStateHash> daoStateHashChain = new ArrayList<>(this.daoStateHashChain);
+        return outputStream -> writeDelimitedTo(daoState, daoStateHashChain, outputStream);
+    }
+
+    private static void writeDelimitedTo(DaoState daoState,
+                                         List<DaoStateHash> daoStateHashChain,
+                                         OutputStream outputStream) throws IOException {
+        long ts = System.currentTimeMillis();
+        // We keep the field order of the protobuf serialization, so the chain height comes before the blocks
+        protobuf.DaoState.Builder builder = daoState.getBsqStateBuilderExcludingBlocks();
+        protobuf.DaoState chainHeight = protobuf.DaoState.newBuilder().setChainHeight(builder.getChainHeight()).build();
+        protobuf.DaoState daoStateExcludingBlocks = builder.clearChainHeight().build();
+        List<Block> blocks = daoState.getBlocks();
+
+        // As the messages are length delimited we need the sizes before we can write. We serialize each block and
+        // hash once and keep its bytes, which are much smaller than the protos.
+        List<ByteString> serializedBlocks = new ArrayList<>(blocks.size());
+        long daoStateSize = chainHeight.getSerializedSize() + daoStateExcludingBlocks.getSerializedSize();
+        for (Block block : blocks) {
+            ByteString serializedBlock = block.toProtoMessage().toByteString();
+            serializedBlocks.add(serializedBlock);
+            daoStateSize += getFieldSize(protobuf.DaoState.BLOCKS_FIELD_NUMBER, serializedBlock.size());
+        }
+        long storeSize = getFieldSize(protobuf.DaoStateStore.DAO_STATE_FIELD_NUMBER, daoStateSize);
+        List<ByteString> serializedDaoStateHashes = new ArrayList<>(daoStateHashChain.size());
+        for (DaoStateHash daoStateHash : daoStateHashChain) {
+            ByteString serializedDaoStateHash = daoStateHash.toProtoMessage().toByteString();
+            serializedDaoStateHashes.add(serializedDaoStateHash);
+            storeSize += getFieldSize(protobuf.DaoStateStore.DAO_STATE_HASH_FIELD_NUMBER, serializedDaoStateHash.size());
+        }
+        long envelopeSize = getFieldSize(protobuf.PersistableEnvelope.DAO_STATE_STORE_FIELD_NUMBER, storeSize);
+        checkArgument(envelopeSize <= Integer.MAX_VALUE, "DaoStateStore exceeds max. protobuf message size");
+
+        CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(outputStream, WRITE_BUFFER_SIZE);
+        codedOutputStream.writeUInt32NoTag((int) envelopeSize);
+        writeLengthDelimitedTag(codedOutputStream, protobuf.PersistableEnvelope.DAO_STATE_STORE_FIELD_NUMBER, storeSize);
+        writeLengthDelimitedTag(codedOutputStream, protobuf.DaoStateStore.DAO_STATE_FIELD_NUMBER, daoStateSize);
+        chainHeight.writeTo(codedOutputStream);
+        // Writing the bytes of a message produces the same length delimited field as writing the message
+        for (ByteString serializedBlock : serializedBlocks) {
+            codedOutputStream.writeBytes(protobuf.DaoState.BLOCKS_FIELD_NUMBER, serializedBlock);
+        }
+        daoStateExcludingBlocks.writeTo(codedOutputStream);
+        for (ByteString serializedDaoStateHash : serializedDaoStateHashes) {
+            codedOutputStream.writeBytes(protobuf.DaoStateStore.DAO_STATE_HASH_FIELD_NUMBER, serializedDaoStateHash);
+        }
+        codedOutputStream.flush();
+
+        log.info("Serialized DaoStateStore with {} blocks and {} hashes ({} bytes) in {} ms",
+                blocks.size(), daoStateHashChain.size(), envelopeSize, System.currentTimeMillis() - ts);
+    }
+
+    private static long getFieldSize(int fieldNumber, long messageSize) {
+        return CodedOutputStream.computeTagSize(fieldNumber) +
+                CodedOutputStream.computeUInt32SizeNoTag((int) messageSize) +
+                messageSize;
+    }
+
+    private static void writeLengthDelimitedTag(CodedOutputStream codedOutputStream,
+                                                int fieldNumber,
+                                                long messageSize) throws IOException {
+        codedOutputStream.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        codedOutputStream.writeUInt32NoTag((int) messageSize);
+    }
+
     public static DaoStateStore fromProto(protobuf.DaoStateStore proto) {
         LinkedList<DaoStateHash> daoStateHashList = proto.getDaoStateHashList().isEmpty() ?
                 new LinkedList<>() :
@@ -0,0 +1,411 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.locale.CurrencyUtil;
+import bisq.core.monetary.Price;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+import static bisq.core.offer.OfferPayload.Direction.BUY;
+
+/**
+ * Keeps the offer book sorted by price per market (currency code) and direction.
+ * The index is updated incrementally from the OfferBookService's change events, so
+ * top of book and depth queries only touch the best offers instead of scanning and
+ * sorting the whole offer book on each request.
+ *
+ * Fixed price offers are kept sorted by price. Market based price offers are kept
+ * sorted by their margin, as their price is a monotonic function of the margin for
+ * a given market price. Both sequences are merged lazily at query time.
+ *
+ * Offers with direction BUY (bids) are returned in descending price order, offers
+ * with direction SELL (asks) in ascending price order, as done in CoreOffersService.
+ *
+ * Markets are keyed by Offer.getCurrencyCode(), which is the fiat currency for fiat offers and the altcoin for
+ * altcoin offers (their counter currency is BTC). Each altcoin is a market of its own, so prices of different
+ * assets are never compared. The currency code of the queries is resolved against that key case insensitively.
+ */
+@Slf4j
+@Singleton
+public class OfferBookIndex {
+
+    private final Map<String, Offer> offersById = new HashMap<>();
+    private final Map<String, Side> sidesByMarket = new HashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public OfferBookIndex(OfferBookService offerBookService) {
+        offerBookService.addOfferBookChangedListener(new OfferBookService.OfferBookChangedListener() {
+            @Override
+            public void onAdded(Offer offer) {
+                add(offer);
+            }
+
+            @Override
+            public void onRemoved(Offer offer) {
+                remove(offer);
+            }
+        });
+        // In case the offer book was already populated before we got created.
+        offerBookService.getOffers().forEach(this::add);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public synchronized void add(Offer offer) {
+        Offer previous = offersById.put(offer.getId(), offer);
+        if (previous != null)
+            getSide(previous.getDirection(), getCurrencyCode(previous)).remove(previous);
+
+        getSide(offer.getDirection(), getCurrencyCode(offer)).add(offer);
+    }
+
+    public synchronized void remove(Offer offer) {
+        Offer previous = offersById.remove(offer.getId());
+        if (previous != null) {
+            String key = getKey(previous.getDirection(), getCurrencyCode(previous));
+            Side side = sidesByMarket.get(key);
+            if (side != null) {
+                side.remove(previous);
+                if (side.isEmpty())
+                    sidesByMarket.remove(key);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return offersById.size();
+    }
+
+    /**
+     * @param direction     The offer direction (BUY for bids, SELL for asks).
+     * @param currencyCode  The currency code of the market, e.g. EUR or XMR.
+     * @param limit         The max. number of offers to return.
+     * @param filter        Only offers matching the filter are returned. It is applied lazily
+     *                      in price order, so only the offers at the top of the book get tested.
+     * @return The best priced offers in best first order.
+     */
+    public synchronized List<Offer> getBestOffers(OfferPayload.Direction direction,
+                                                  String currencyCode,
+                                                  int limit,
+                                                  Predicate<Offer> filter) {
+        List<Offer> result = new ArrayList<>();
+        Side side = sidesByMarket.get(getKey(direction, currencyCode));
+        if (side == null || limit <= 0)
+            return result;
+
+        Iterator<Offer> iterator = side.bestFirstIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            Offer offer = iterator.next();
+            if (filter.test(offer))
+                result.add(offer);
+        }
+        return result;
+    }
+
+    @Nullable
+    public Offer getBestOffer(OfferPayload.Direction direction, String currencyCode, Predicate<Offer> filter) {
+        List<Offer> offers = getBestOffers(direction, currencyCode, 1, filter);
+        return offers.isEmpty() ? null : offers.get(0);
+    }
+
+    /**
+     * Aggregates the offers at the top of the book into price levels.
+     *
+     * @param direction     The offer direction (BUY for bids, SELL for asks).
+     * @param currencyCode  The currency code of the market, e.g. EUR or XMR.
+     * @param maxLevels     The max. number of price levels to return.
+     * @param filter        Only offers matching the filter are aggregated.
+     * @return The price levels in best first order.
+     */
+    public synchronized List<PriceLevel> getPriceLevels(OfferPayload.Direction direction,
+                                                        String currencyCode,
+                                                        int maxLevels,
+                                                        Predicate<Offer> filter) {
+        List<PriceLevel> result = new ArrayList<>();
+        Side side = sidesByMarket.get(getKey(direction, currencyCode));
+        if (side == null || maxLevels <= 0)
+            return result;
+
+        PriceLevel current = null;
+        long cumulativeAmount = 0;
+        Iterator<Offer> iterator = side.bestFirstIterator();
+        while (iterator.hasNext()) {
+            Offer offer = iterator.next();
+            if (!filter.test(offer))
+                continue;
+
+            long price = getPriceValue(offer);
+            if (current == null || current.getPrice() != price) {
+                if (current != null) {
+                    if (result.size() == maxLevels - 1)
+                        break;
+                    result.add(current);
+                }
+                current = new PriceLevel(price);
+            }
+            current.add(offer);
+            cumulativeAmount += offer.getAmount().value;
+            current.cumulativeAmount = cumulativeAmount;
+        }
+        if (current != null && result.size() < maxLevels)
+            result.add(current);
+        return result;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Side getSide(OfferPayload.Direction direction, String currencyCode) {
+        return sidesByMarket.computeIfAbsent(getKey(direction, currencyCode), key -> new Side(direction, currencyCode));
+    }
+
+    // The fiat currency code of fiat offers and the altcoin code of altcoin offers
+    private static String getCurrencyCode(Offer offer) {
+        return offer.getCurrencyCode();
+    }
+
+    private static String getKey(OfferPayload.Direction direction, String currencyCode) {
+        return currencyCode.toUpperCase() + "_" + direction.name();
+    }
+
+    // Market based offers without an available market price return null. We never index those by price.
+    private static long getPriceValue(Offer offer) {
+        Price price = offer.getPrice();
+        return price != null ? price.getValue() : 0;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PriceLevel
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class PriceLevel {
+        private final long price;
+        private long amount;
+        private long volume;
+        private int numOffers;
+        private long cumulativeAmount;
+
+        PriceLevel(long price) {
+            this.price = price;
+        }
+
+        private void add(Offer offer) {
+            amount += offer.getAmount().value;
+            if (offer.getVolume() != null)
+                volume += offer.getVolume().getValue();
+            numOffers++;
+        }
+
+        public long getPrice() {
+            return price;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public long getVolume() {
+            return volume;
+        }
+
+        public int getNumOffers() {
+            return numOffers;
+        }
+
+        public long getCumulativeAmount() {
+            return cumulativeAmount;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Side
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class Side {
+        private final boolean isBid;
+        // True if the price of a market based offer increases with its margin, see Offer.getPrice().
+        private final boolean isPriceIncreasingWithMargin;
+        private final TreeMap<Long, Map<String, Offer>> fixedPriceOffers = new TreeMap<>();
+        private final TreeMap<Double, Map<String, Offer>> marketBasedPriceOffers = new TreeMap<>();
+
+        Side(OfferPayload.Direction direction, String currencyCode) {
+            this.isBid = direction == BUY;
+            this.isPriceIncreasingWithMargin = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                    direction == BUY :
+                    direction != BUY;
+        }
+
+        void add(Offer offer) {
+            if (offer.isUseMarketBasedPrice()) {
+                marketBasedPriceOffers.computeIfAbsent(offer.getMarketPriceMargin(), k -> new LinkedHashMap<>())
+                        .put(offer.getId(), offer);
+            } else {
+                fixedPriceOffers.computeIfAbsent(offer.getOfferPayload().getPrice(), k -> new LinkedHashMap<>())
+                        .put(offer.getId(), offer);
+            }
+        }
+
+        void remove(Offer offer) {
+            if (offer.isUseMarketBasedPrice()) {
+                removeFrom(marketBasedPriceOffers, offer.getMarketPriceMargin(), offer.getId());
+            } else {
+                removeFrom(fixedPriceOffers, offer.getOfferPayload().getPrice(), offer.getId());
+            }
+        }
+
+        boolean isEmpty() {
+            return fixedPriceOffers.isEmpty() && marketBasedPriceOffers.isEmpty();
+        }
+
+        Iterator<Offer> bestFirstIterator() {
+            NavigableMap<Long, Map<String, Offer>> fixed = isBid ?
+                    fixedPriceOffers.descendingMap() :
+                    fixedPriceOffers;
+            // Ascending price order is ascending margin order if the price increases with the margin.
+            boolean ascendingMargin = isBid != isPriceIncreasingWithMargin;
+            NavigableMap<Double, Map<String, Offer>> marketBased = ascendingMargin ?
+                    marketBasedPriceOffers :
+                    marketBasedPriceOffers.descendingMap();
+            return new MergingIterator(flatten(fixed.values()), flatten(marketBased.values()), isBid);
+        }
+
+        private static <K> void removeFrom(TreeMap<K, Map<String, Offer>> map, K key, String offerId) {
+            Map<String, Offer> offers = map.get(key);
+            if (offers != null) {
+                offers.remove(offerId);
+                if (offers.isEmpty())
+                    map.remove(key);
+            }
+        }
+
+        private static Iterator<Offer> flatten(Iterable<Map<String, Offer>> buckets) {
+            Iterator<Map<String, Offer>> bucketIterator = buckets.iterator();
+            return new Iterator<>() {
+                private Iterator<Offer> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && bucketIterator.hasNext())
+                        current = bucketIterator.next().values().iterator();
+                    return current.hasNext();
+                }
+
+                @Override
+                public Offer next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return current.next();
+                }
+            };
+        }
+    }
+
+    // Merges two sequences which are each sorted best first. Market based offers without
+    // a market price are left out as they cannot be ranked.
+    private static class MergingIterator implements Iterator<Offer> {
+        private final Iterator<Offer> fixed;
+        private final Iterator<Offer> marketBased;
+        private final boolean isBid;
+        @Nullable
+        private Offer nextFixed;
+        @Nullable
+        private Offer nextMarketBased;
+
+        MergingIterator(Iterator<Offer> fixed, Iterator<Offer> marketBased, boolean isBid) {
+            this.fixed = fixed;
+            this.marketBased = marketBased;
+            this.isBid = isBid;
+            advanceFixed();
+            advanceMarketBased();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextFixed != null || nextMarketBased != null;
+        }
+
+        @Override
+        public Offer next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Offer result;
+            if (nextMarketBased == null) {
+                result = nextFixed;
+                advanceFixed();
+            } else if (nextFixed == null) {
+                result = nextMarketBased;
+                advanceMarketBased();
+            } else {
+                long fixedPrice = getPriceValue(nextFixed);
+                long marketBasedPrice = getPriceValue(nextMarketBased);
+                boolean isFixedBetter = isBid ? fixedPrice >= marketBasedPrice : fixedPrice <= marketBasedPrice;
+                if (isFixedBetter) {
+                    result = nextFixed;
+                    advanceFixed();
+                } else {
+                    result = nextMarketBased;
+                    advanceMarketBased();
+                }
+            }
+            return result;
+        }
+
+        private void advanceFixed() {
+            nextFixed = fixed.hasNext() ? fixed.next() : null;
+        }
+
+        private void advanceMarketBased() {
+            nextMarketBased = marketBased.hasNext() ? marketBased.next() : null;
+            // All market based offers of a market share the same market price, so if one cannot be
+            // priced none of them can.
+            if (nextMarketBased != null && nextMarketBased.getPrice() == null)
+                nextMarketBased = null;
+        }
+    }
+}
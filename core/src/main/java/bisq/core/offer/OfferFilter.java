@@ -35,10 +35,13 @@ import javax.inject.Singleton;
 import javafx.collections.SetChangeListener;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -50,12 +53,20 @@ public class OfferFilter {
     private final AccountAgeWitnessService accountAgeWitnessService;
     private final Map<String, Boolean> insufficientCounterpartyTradeLimitCache = new HashMap<>();
     private final Map<String, Boolean> myInsufficientTradeLimitCache = new HashMap<>();
+    // The canTakeOffer results are cached per offer id. An entry is only valid for the same
+    // offer payload and the same version of the inputs (our payment accounts, the filter and
+    // the ignored traders). The version is incremented whenever one of those changes.
+    private final Map<String, CachedResult> canTakeOfferResultCache = new ConcurrentHashMap<>();
+    private volatile int inputsVersion;
+    // We only compare by identity, as the preferences replace the list if it got changed.
+    private volatile List<String> ignoreTradersList;
 
     @Inject
     public OfferFilter(User user,
                        Preferences preferences,
                        FilterManager filterManager,
-                       AccountAgeWitnessService accountAgeWitnessService) {
+                       AccountAgeWitnessService accountAgeWitnessService,
+                       OfferBookService offerBookService) {
         this.user = user;
         this.preferences = preferences;
         this.filterManager = filterManager;
@@ -63,9 +74,34 @@ public class OfferFilter {
 
         if (user != null) {
             // If our accounts have changed we reset our myInsufficientTradeLimitCache as it depends on account data
-            user.getPaymentAccountsAsObservable().addListener((SetChangeListener<PaymentAccount>) c ->
-                    myInsufficientTradeLimitCache.clear());
+            user.getPaymentAccountsAsObservable().addListener((SetChangeListener<PaymentAccount>) c -> {
+                myInsufficientTradeLimitCache.clear();
+                invalidateCanTakeOfferResults();
+            });
         }
+        if (filterManager != null) {
+            filterManager.filterProperty().addListener((observable, oldValue, newValue) ->
+                    invalidateCanTakeOfferResults());
+        }
+        if (offerBookService != null) {
+            offerBookService.addOfferBookChangedListener(new OfferBookService.OfferBookChangedListener() {
+                @Override
+                public void onAdded(Offer offer) {
+                }
+
+                @Override
+                public void onRemoved(Offer offer) {
+                    canTakeOfferResultCache.remove(offer.getId());
+                }
+            });
+        }
+    }
+
+    @Value
+    private static class CachedResult {
+        OfferPayload offerPayload;
+        int inputsVersion;
+        Result result;
     }
 
     public enum Result {
@@ -98,6 +134,22 @@ public class OfferFilter {
         if (isTakerApiUser && filterManager.getFilter() != null && filterManager.getFilter().isDisableApi()) {
             return Result.API_DISABLED;
         }
+
+        maybeInvalidateOnIgnoreTradersListChange();
+        int version = inputsVersion;
+        CachedResult cachedResult = canTakeOfferResultCache.get(offer.getId());
+        if (cachedResult != null &&
+                cachedResult.getInputsVersion() == version &&
+                cachedResult.getOfferPayload() == offer.getOfferPayload()) {
+            return cachedResult.getResult();
+        }
+
+        Result result = evaluateCanTakeOffer(offer);
+        canTakeOfferResultCache.put(offer.getId(), new CachedResult(offer.getOfferPayload(), version, result));
+        return result;
+    }
+
+    private Result evaluateCanTakeOffer(Offer offer) {
         if (!isAnyPaymentAccountValidForOffer(offer)) {
             return Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER;
         }
@@ -132,6 +184,18 @@ public class OfferFilter {
         return Result.VALID;
     }
 
+    private void invalidateCanTakeOfferResults() {
+        inputsVersion++;
+    }
+
+    private void maybeInvalidateOnIgnoreTradersListChange() {
+        List<String> currentIgnoreTradersList = preferences.getIgnoreTradersList();
+        if (currentIgnoreTradersList != ignoreTradersList) {
+            ignoreTradersList = currentIgnoreTradersList;
+            invalidateCanTakeOfferResults();
+        }
+    }
+
     public boolean isAnyPaymentAccountValidForOffer(Offer offer) {
         return user.getPaymentAccounts() != null &&
                 PaymentAccountUtil.isAnyTakerPaymentAccountValidForOffer(offer, user.getPaymentAccounts());
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spreads periodic work on many open offers (refreshing the TTL or republishing) evenly over a
+ * time window. Instead of one timer per offer we use one timer which processes a batch of offers
+ * per tick. The tick interval matches the bundling interval of the p2p Broadcaster, so the
+ * messages of one batch go out in one BundleOfEnvelopes broadcast.
+ *
+ * If the network is not ready (e.g. we lost our connections) a tick is skipped. The batch size is
+ * recalculated at each tick from the remaining offers and remaining ticks, so after an outage the
+ * remaining offers are still processed within the time window.
+ */
+@Slf4j
+class OpenOfferBatchScheduler {
+    static final long TICK_INTERVAL_MS = 2000;
+
+    private final String name;
+    private final Consumer<OpenOffer> handler;
+    private final Predicate<OpenOffer> isStillValid;
+    private final BooleanSupplier isNetworkReady;
+    // Starts a periodic timer with TICK_INTERVAL_MS, tests use a stub to call onTick themselves
+    private final Function<Runnable, Timer> periodicTimerFactory;
+    private final Deque<OpenOffer> queue = new ArrayDeque<>();
+    private long remainingTicks;
+    private Timer timer;
+
+    OpenOfferBatchScheduler(String name,
+                            Consumer<OpenOffer> handler,
+                            Predicate<OpenOffer> isStillValid,
+                            BooleanSupplier isNetworkReady) {
+        this(name, handler, isStillValid, isNetworkReady,
+                runnable -> UserThread.runPeriodically(runnable, TICK_INTERVAL_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @VisibleForTesting
+    OpenOfferBatchScheduler(String name,
+                            Consumer<OpenOffer> handler,
+                            Predicate<OpenOffer> isStillValid,
+                            BooleanSupplier isNetworkReady,
+                            Function<Runnable, Timer> periodicTimerFactory) {
+        this.name = name;
+        this.handler = handler;
+        this.isStillValid = isStillValid;
+        this.isNetworkReady = isNetworkReady;
+        this.periodicTimerFactory = periodicTimerFactory;
+    }
+
+    void schedule(Collection<OpenOffer> openOffers, long timeWindowMs) {
+        if (!queue.isEmpty()) {
+            log.info("{}: {} offers of the last run have not been processed yet. We replace them with the new run.",
+                    name, queue.size());
+        }
+        queue.clear();
+        queue.addAll(openOffers);
+        remainingTicks = Math.max(1, timeWindowMs / TICK_INTERVAL_MS);
+        log.debug("{}: Scheduled {} offers over {} ticks", name, queue.size(), remainingTicks);
+
+        if (queue.isEmpty()) {
+            stop();
+            return;
+        }
+
+        // We process the first batch right away
+        onTick();
+        if (!queue.isEmpty() && timer == null)
+            timer = periodicTimerFactory.apply(this::onTick);
+    }
+
+    void stop() {
+        queue.clear();
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+    }
+
+    @VisibleForTesting
+    void onTick() {
+        if (queue.isEmpty()) {
+            stop();
+            return;
+        }
+
+        long ticks = Math.max(1, remainingTicks);
+        remainingTicks = Math.max(0, remainingTicks - 1);
+        if (!isNetworkReady.getAsBoolean()) {
+            log.debug("{}: Network not ready, we skip that tick. {} offers pending.", name, queue.size());
+            return;
+        }
+
+        int batchSize = getBatchSize(queue.size(), ticks);
+        for (int i = 0; i < batchSize && !queue.isEmpty(); i++) {
+            OpenOffer openOffer = queue.poll();
+            if (isStillValid.test(openOffer)) {
+                try {
+                    handler.accept(openOffer);
+                } catch (Throwable t) {
+                    log.warn("{}: Processing offer {} failed: {}", name, openOffer.getId(), t.toString());
+                }
+            }
+        }
+
+        if (queue.isEmpty())
+            stop();
+    }
+
+    @VisibleForTesting
+    int getNumPending() {
+        return queue.size();
+    }
+
+    @VisibleForTesting
+    static int getBatchSize(int numPending, long remainingTicks) {
+        return (int) Math.max(1, (numPending + remainingTicks - 1) / Math.max(1, remainingTicks));
+    }
+}
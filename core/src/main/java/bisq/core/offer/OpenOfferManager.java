@@ -100,6 +100,11 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private static final long REPUBLISH_AGAIN_AT_STARTUP_DELAY_SEC = 30;
     private static final long REPUBLISH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(40);
     private static final long REFRESH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(6);
+    // The refreshes of all offers are spread over that time window. It leaves enough time until the
+    // next refresh run, so offers do not expire even if some ticks are skipped due connection loss.
+    private static final long REFRESH_SPREAD_WINDOW_MS = REFRESH_INTERVAL_MS / 2;
+    // The periodic republishing of all offers is spread over that time window.
+    private static final long REPUBLISH_SPREAD_WINDOW_MS = TimeUnit.MINUTES.toMillis(2);
 
     private final CreateOfferService createOfferService;
     private final KeyRing keyRing;
@@ -124,6 +129,8 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private final TradableList<OpenOffer> openOffers = new TradableList<>();
     private boolean stopped;
     private Timer periodicRepublishOffersTimer, periodicRefreshOffersTimer, retryRepublishOffersTimer;
+    private final OpenOfferBatchScheduler refreshScheduler;
+    private final OpenOfferBatchScheduler republishScheduler;
     @Getter
     private final ObservableList<Tuple2<OpenOffer, String>> invalidOffers = FXCollections.observableArrayList();
 
@@ -173,6 +180,15 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         this.persistenceManager = persistenceManager;
 
         this.persistenceManager.initialize(openOffers, "OpenOffers", PersistenceManager.Source.PRIVATE);
+
+        refreshScheduler = new OpenOfferBatchScheduler("RefreshOffers",
+                this::refreshOffer,
+                this::isActiveOpenOffer,
+                this::isNetworkReady);
+        republishScheduler = new OpenOfferBatchScheduler("RepublishOffers",
+                this::republishOffer,
+                this::isActiveOpenOffer,
+                this::isNetworkReady);
     }
 
     @Override
@@ -953,7 +969,10 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         if (periodicRepublishOffersTimer == null) {
             periodicRepublishOffersTimer = UserThread.runPeriodically(() -> {
                         if (!stopped) {
-                            republishOffers();
+                            // As in republishOffers we pause the refreshes while we republish. The refresh timer
+                            // gets started again once an offer got republished.
+                            stopPeriodicRefreshOffersTimer();
+                            republishScheduler.schedule(getActiveOpenOffers(), REPUBLISH_SPREAD_WINDOW_MS);
                         }
                     },
                     REPUBLISH_INTERVAL_MS,
@@ -967,23 +986,10 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         if (periodicRefreshOffersTimer == null)
             periodicRefreshOffersTimer = UserThread.runPeriodically(() -> {
                         if (!stopped) {
-                            int size = openOffers.size();
-                            //we clone our list as openOffers might change during our delayed call
-                            final ArrayList<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-                            for (int i = 0; i < size; i++) {
-                                // we delay to avoid reaching throttle limits
-                                // roughly 4 offers per second
-
-                                long delay = 300;
-                                final long minDelay = (i + 1) * delay;
-                                final long maxDelay = (i + 2) * delay;
-                                final OpenOffer openOffer = openOffersList.get(i);
-                                UserThread.runAfterRandomDelay(() -> {
-                                    // we need to check if in the meantime the offer has been removed
-                                    if (openOffers.contains(openOffer) && !openOffer.isDeactivated())
-                                        refreshOffer(openOffer);
-                                }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
-                            }
+                            // We spread the refreshes evenly over the time window, batched to match the bundled
+                            // broadcasts of the Broadcaster. The scheduler skips offers which got removed or
+                            // deactivated in the meantime.
+                            refreshScheduler.schedule(getActiveOpenOffers(), REFRESH_SPREAD_WINDOW_MS);
                         } else {
                             log.debug("We have stopped already. We ignore that periodicRefreshOffersTimer.run call.");
                         }
@@ -1000,6 +1006,21 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
                 log::warn);
     }
 
+    private List<OpenOffer> getActiveOpenOffers() {
+        return openOffers.stream()
+                .filter(openOffer -> !openOffer.isDeactivated())
+                .collect(Collectors.toList());
+    }
+
+    private boolean isActiveOpenOffer(OpenOffer openOffer) {
+        // We need to check if in the meantime the offer has been removed or deactivated
+        return openOffers.contains(openOffer) && !openOffer.isDeactivated();
+    }
+
+    private boolean isNetworkReady() {
+        return !stopped && p2PService.isBootstrapped() && p2PService.getNumConnectedPeers().get() > 0;
+    }
+
     private void restart() {
         log.debug("Restart after connection loss");
         if (retryRepublishOffersTimer == null)
@@ -1026,6 +1047,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             periodicRefreshOffersTimer.stop();
             periodicRefreshOffersTimer = null;
         }
+        refreshScheduler.stop();
     }
 
     private void stopPeriodicRepublishOffersTimer() {
@@ -1033,6 +1055,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             periodicRepublishOffersTimer.stop();
             periodicRepublishOffersTimer = null;
         }
+        republishScheduler.stop();
     }
 
     private void stopRetryRepublishOffersTimer() {
@@ -30,20 +30,26 @@ import bisq.common.util.MathUtils;
 
 import org.bitcoinj.utils.Fiat;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import javafx.collections.ListChangeListener;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static bisq.common.util.MathUtils.roundDoubleToLong;
 import static bisq.common.util.MathUtils.scaleUpByPowerOf10;
 
@@ -53,7 +59,7 @@ public class TriggerPriceService {
     private final P2PService p2PService;
     private final OpenOfferManager openOfferManager;
     private final PriceFeedService priceFeedService;
-    private final Map<String, Set<OpenOffer>> openOffersByCurrency = new HashMap<>();
+    private final Map<String, TriggerPrices> triggerPricesByCurrency = new HashMap<>();
 
     @Inject
     public TriggerPriceService(P2PService p2PService,
@@ -94,15 +100,18 @@ public class TriggerPriceService {
     }
 
     private void onPriceFeedChanged() {
-        openOffersByCurrency.keySet().stream()
-                .map(priceFeedService::getMarketPrice)
-                .filter(Objects::nonNull)
-                .filter(marketPrice -> openOffersByCurrency.containsKey(marketPrice.getCurrencyCode()))
-                .forEach(marketPrice -> {
-                    openOffersByCurrency.get(marketPrice.getCurrencyCode()).stream()
-                            .filter(openOffer -> !openOffer.isDeactivated())
-                            .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
-                });
+        triggerPricesByCurrency.forEach((currencyCode, triggerPrices) -> {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
+            if (marketPrice == null) {
+                return;
+            }
+
+            // We only check the offers whose trigger price was crossed since the last price update and the
+            // triggered offers which got activated again since then.
+            long marketPriceAsLong = getMarketPriceAsLong(marketPrice, currencyCode);
+            triggerPrices.getNewlyTriggered(marketPriceAsLong)
+                    .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
+        });
     }
 
     public static boolean wasTriggered(MarketPrice marketPrice, OpenOffer openOffer) {
@@ -112,25 +121,32 @@ public class TriggerPriceService {
         }
 
         String currencyCode = openOffer.getOffer().getCurrencyCode();
-        boolean cryptoCurrency = CurrencyUtil.isCryptoCurrency(currencyCode);
-        int smallestUnitExponent = cryptoCurrency ?
-                Altcoin.SMALLEST_UNIT_EXPONENT :
-                Fiat.SMALLEST_UNIT_EXPONENT;
-        long marketPriceAsLong = roundDoubleToLong(
-                scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+        long marketPriceAsLong = getMarketPriceAsLong(marketPrice, currencyCode);
         long triggerPrice = openOffer.getTriggerPrice();
         if (triggerPrice <= 0) {
             return false;
         }
 
-        OfferPayload.Direction direction = openOffer.getOffer().getDirection();
-        boolean isSellOffer = direction == OfferPayload.Direction.SELL;
-        boolean condition = isSellOffer && !cryptoCurrency || !isSellOffer && cryptoCurrency;
-        return condition ?
+        return isTriggeredBelowTriggerPrice(openOffer) ?
                 marketPriceAsLong < triggerPrice :
                 marketPriceAsLong > triggerPrice;
     }
 
+    // Sell offers of fiat and buy offers of altcoins get triggered if the market price falls below
+    // the trigger price, the others if it rises above the trigger price.
+    private static boolean isTriggeredBelowTriggerPrice(OpenOffer openOffer) {
+        boolean cryptoCurrency = CurrencyUtil.isCryptoCurrency(openOffer.getOffer().getCurrencyCode());
+        boolean isSellOffer = openOffer.getOffer().getDirection() == OfferPayload.Direction.SELL;
+        return isSellOffer && !cryptoCurrency || !isSellOffer && cryptoCurrency;
+    }
+
+    private static long getMarketPriceAsLong(MarketPrice marketPrice, String currencyCode) {
+        int smallestUnitExponent = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                Altcoin.SMALLEST_UNIT_EXPONENT :
+                Fiat.SMALLEST_UNIT_EXPONENT;
+        return roundDoubleToLong(scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+    }
+
     private void checkPriceThreshold(MarketPrice marketPrice, OpenOffer openOffer) {
         if (wasTriggered(marketPrice, openOffer)) {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
@@ -150,16 +166,29 @@ public class TriggerPriceService {
             );
 
             openOfferManager.deactivateOpenOffer(openOffer, () -> {
+                // If the offer gets activated again we check it again at the next price update
+                TriggerPrices triggerPrices = triggerPricesByCurrency.get(currencyCode);
+                if (triggerPrices != null) {
+                    triggerPrices.addTriggeredDeactivatedOffer(openOffer);
+                }
             }, errorMessage -> {
+                // We check all triggered offers of that currency again at the next price update.
+                TriggerPrices triggerPrices = triggerPricesByCurrency.get(currencyCode);
+                if (triggerPrices != null) {
+                    triggerPrices.resetLastMarketPrice();
+                }
             });
         }
     }
 
     private void onAddedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
+            if (openOffer.getTriggerPrice() <= 0) {
+                return;
+            }
+
             String currencyCode = openOffer.getOffer().getCurrencyCode();
-            openOffersByCurrency.putIfAbsent(currencyCode, new HashSet<>());
-            openOffersByCurrency.get(currencyCode).add(openOffer);
+            triggerPricesByCurrency.computeIfAbsent(currencyCode, k -> new TriggerPrices()).add(openOffer);
 
             MarketPrice marketPrice = priceFeedService.getMarketPrice(openOffer.getOffer().getCurrencyCode());
             if (marketPrice != null) {
@@ -171,13 +200,108 @@ public class TriggerPriceService {
     private void onRemovedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
-            if (openOffersByCurrency.containsKey(currencyCode)) {
-                Set<OpenOffer> set = openOffersByCurrency.get(currencyCode);
+            TriggerPrices triggerPrices = triggerPricesByCurrency.get(currencyCode);
+            if (triggerPrices != null) {
+                triggerPrices.remove(openOffer);
+                if (triggerPrices.isEmpty()) {
+                    triggerPricesByCurrency.remove(currencyCode);
+                }
+            }
+        });
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // TriggerPrices
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The open offers of one currency, sorted by their trigger prices. Offers which get triggered
+    // if the market price falls below their trigger price are kept apart from the ones which get
+    // triggered if it rises above their trigger price.
+    // A crossing of a deactivated offer (e.g. while it gets edited) must not get lost, so we keep such
+    // offers until they are activated again or removed.
+    @VisibleForTesting
+    static class TriggerPrices {
+        private final TreeMap<Long, Set<OpenOffer>> triggeredBelow = new TreeMap<>();
+        private final TreeMap<Long, Set<OpenOffer>> triggeredAbove = new TreeMap<>();
+        // Offers which were deactivated when their trigger price got crossed or which got deactivated by the trigger
+        private final Set<OpenOffer> triggeredDeactivatedOffers = new HashSet<>();
+        @Nullable
+        private Long lastMarketPriceAsLong;
+
+        void add(OpenOffer openOffer) {
+            getMap(openOffer).computeIfAbsent(openOffer.getTriggerPrice(), k -> new HashSet<>()).add(openOffer);
+        }
+
+        void remove(OpenOffer openOffer) {
+            TreeMap<Long, Set<OpenOffer>> map = getMap(openOffer);
+            Set<OpenOffer> set = map.get(openOffer.getTriggerPrice());
+            if (set != null) {
                 set.remove(openOffer);
                 if (set.isEmpty()) {
-                    openOffersByCurrency.remove(currencyCode);
+                    map.remove(openOffer.getTriggerPrice());
                 }
             }
-        });
+            triggeredDeactivatedOffers.remove(openOffer);
+        }
+
+        void addTriggeredDeactivatedOffer(OpenOffer openOffer) {
+            triggeredDeactivatedOffers.add(openOffer);
+        }
+
+        boolean isEmpty() {
+            return triggeredBelow.isEmpty() && triggeredAbove.isEmpty();
+        }
+
+        void resetLastMarketPrice() {
+            lastMarketPriceAsLong = null;
+        }
+
+        // Returns the active offers whose trigger price got crossed since the previous market price and
+        // the triggered offers which got activated again since the previous call. At the first call all
+        // offers which are triggered at the given market price are returned. Offers added in between get
+        // checked when they are added.
+        List<OpenOffer> getNewlyTriggered(long marketPriceAsLong) {
+            Set<OpenOffer> crossed = new LinkedHashSet<>();
+            Long previous = lastMarketPriceAsLong;
+            lastMarketPriceAsLong = marketPriceAsLong;
+
+            // Triggered if marketPrice < triggerPrice
+            if (previous == null) {
+                triggeredBelow.tailMap(marketPriceAsLong, false).values().forEach(crossed::addAll);
+            } else if (marketPriceAsLong < previous) {
+                triggeredBelow.subMap(marketPriceAsLong, false, previous, true).values().forEach(crossed::addAll);
+            }
+
+            // Triggered if marketPrice > triggerPrice
+            if (previous == null) {
+                triggeredAbove.headMap(marketPriceAsLong, false).values().forEach(crossed::addAll);
+            } else if (marketPriceAsLong > previous) {
+                triggeredAbove.subMap(previous, true, marketPriceAsLong, false).values().forEach(crossed::addAll);
+            }
+
+            List<OpenOffer> result = new ArrayList<>();
+            crossed.forEach(openOffer -> {
+                if (openOffer.isDeactivated()) {
+                    triggeredDeactivatedOffers.add(openOffer);
+                } else {
+                    result.add(openOffer);
+                }
+            });
+            triggeredDeactivatedOffers.removeIf(openOffer -> {
+                if (openOffer.isDeactivated()) {
+                    return false;
+                }
+                if (!crossed.contains(openOffer)) {
+                    result.add(openOffer);
+                }
+                return true;
+            });
+            return result;
+        }
+
+        private TreeMap<Long, Set<OpenOffer>> getMap(OpenOffer openOffer) {
+            return isTriggeredBelowTriggerPrice(openOffer) ? triggeredBelow : triggeredAbove;
+        }
     }
 }
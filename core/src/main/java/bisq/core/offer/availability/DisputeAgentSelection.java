@@ -21,13 +21,13 @@ import bisq.core.support.dispute.agent.DisputeAgent;
 import bisq.core.support.dispute.agent.DisputeAgentManager;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
+import bisq.core.trade.statistics.TradeStatisticsTable;
 
 import bisq.common.util.Tuple2;
 
 import com.google.common.annotations.VisibleForTesting;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -62,12 +62,11 @@ public class DisputeAgentSelection {
                                                                        DisputeAgentManager<T> disputeAgentManager,
                                                                        boolean isMediator) {
         // We take last 100 entries from trade statistics
-        List<TradeStatistics3> list = new ArrayList<>(tradeStatisticsManager.getObservableTradeStatisticsSet());
-        list.sort(Comparator.comparing(TradeStatistics3::getDateAsLong));
-        Collections.reverse(list);
-        if (!list.isEmpty()) {
-            int max = Math.min(list.size(), LOOK_BACK_RANGE);
-            list = list.subList(0, max);
+        TradeStatisticsTable tradeStatisticsTable = tradeStatisticsManager.getTradeStatisticsTable();
+        List<TradeStatistics3> list = new ArrayList<>();
+        int minRow = Math.max(0, tradeStatisticsTable.size() - LOOK_BACK_RANGE);
+        for (int row = tradeStatisticsTable.size() - 1; row >= minRow; row--) {
+            list.add(tradeStatisticsTable.getTradeStatistics(row));
         }
 
         // We stored only first 4 chars of disputeAgents onion address
@@ -18,6 +18,7 @@
 package bisq.core.setup;
 
 import bisq.core.btc.model.AddressEntryList;
+import bisq.core.dao.analytics.DaoAnalyticsService;
 import bisq.core.dao.governance.ballot.BallotListService;
 import bisq.core.dao.governance.blindvote.MyBlindVoteListService;
 import bisq.core.dao.governance.bond.reputation.MyReputationListService;
@@ -81,6 +82,7 @@ public class CorePersistedDataHost {
             persistedDataHosts.add(injector.getInstance(MyReputationListService.class));
             persistedDataHosts.add(injector.getInstance(MyProofOfBurnListService.class));
             persistedDataHosts.add(injector.getInstance(UnconfirmedBsqChangeOutputListService.class));
+            persistedDataHosts.add(injector.getInstance(DaoAnalyticsService.class));
         }
         return persistedDataHosts;
     }
@@ -101,6 +101,11 @@ public abstract class SupportManager {
 
     public abstract void requestPersistence();
 
+    // Persists the data the message belongs to. Override if that can be done without persisting all data.
+    protected void requestPersistence(ChatMessage message) {
+        requestPersistence();
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Delegates p2pService
@@ -177,8 +182,8 @@ public abstract class SupportManager {
                             msg.setAcknowledged(true);
                         else
                             msg.setAckError(ackMessage.getErrorMessage());
+                        requestPersistence(msg);
                     });
-            requestPersistence();
         }
     }
 
@@ -208,7 +213,7 @@ public abstract class SupportManager {
                             log.info("{} arrived at peer {}. tradeId={}, uid={}",
                                     message.getClass().getSimpleName(), peersNodeAddress, message.getTradeId(), message.getUid());
                             message.setArrived(true);
-                            requestPersistence();
+                            requestPersistence(message);
                         }
 
                         @Override
@@ -216,7 +221,7 @@ public abstract class SupportManager {
                             log.info("{} stored in mailbox for peer {}. tradeId={}, uid={}",
                                     message.getClass().getSimpleName(), peersNodeAddress, message.getTradeId(), message.getUid());
                             message.setStoredInMailbox(true);
-                            requestPersistence();
+                            requestPersistence(message);
                         }
 
                         @Override
@@ -224,7 +229,7 @@ public abstract class SupportManager {
                             log.error("{} failed: Peer {}. tradeId={}, uid={}, errorMessage={}",
                                     message.getClass().getSimpleName(), peersNodeAddress, message.getTradeId(), message.getUid(), errorMessage);
                             message.setSendMessageError(errorMessage);
-                            requestPersistence();
+                            requestPersistence(message);
                         }
                     }
             );
@@ -399,7 +399,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
                 if (!storedDisputeOptional.isPresent()) {
                     disputeList.add(dispute);
                     trade.setDisputeState(getDisputeStateStartedByPeer());
-                    tradeManager.requestPersistence();
+                    tradeManager.requestPersistence(trade);
                     errorMessage = null;
                 } else {
                     // valid case if both have opened a dispute and agent was not online.
@@ -207,7 +207,7 @@ public final class MediationManager extends DisputeManager<MediationDisputeList>
 
                 trade.setDisputeState(Trade.DisputeState.MEDIATION_CLOSED);
 
-                tradeManager.requestPersistence();
+                tradeManager.requestPersistence(trade);
             }
         } else {
             Optional<OpenOffer> openOfferOptional = openOfferManager.getOpenOfferById(tradeId);
@@ -244,7 +244,7 @@ public final class MediationManager extends DisputeManager<MediationDisputeList>
         DisputeProtocol tradeProtocol = (DisputeProtocol) tradeManager.getTradeProtocol(trade);
 
         trade.setMediationResultState(MediationResultState.MEDIATION_RESULT_ACCEPTED);
-        tradeManager.requestPersistence();
+        tradeManager.requestPersistence(trade);
 
         // If we have not got yet the peers signature we sign and send to the peer our signature.
         // Otherwise we sign and complete with the peers signature the payout tx.
@@ -267,6 +267,6 @@ public final class MediationManager extends DisputeManager<MediationDisputeList>
 
     public void rejectMediationResult(Trade trade) {
         trade.setMediationResultState(MediationResultState.MEDIATION_RESULT_REJECTED);
-        tradeManager.requestPersistence();
+        tradeManager.requestPersistence(trade);
     }
 }
@@ -78,6 +78,11 @@ public class TraderChatManager extends SupportManager {
         tradeManager.requestPersistence();
     }
 
+    @Override
+    protected void requestPersistence(ChatMessage message) {
+        tradeManager.getTradeById(message.getTradeId()).ifPresent(tradeManager::requestPersistence);
+    }
+
     @Override
     public NodeAddress getPeerNodeAddress(ChatMessage message) {
         return tradeManager.getTradeById(message.getTradeId()).map(trade -> {
@@ -121,7 +126,7 @@ public class TraderChatManager extends SupportManager {
                     addSystemMsg(trade);
                 }
                 trade.addAndPersistChatMessage(message);
-                tradeManager.requestPersistence();
+                tradeManager.requestPersistence(trade);
             } else {
                 log.warn("Trade got a chatMessage that we have already stored. UId = {} TradeId = {}",
                         message.getUid(), message.getTradeId());
@@ -170,6 +175,6 @@ public class TraderChatManager extends SupportManager {
         chatMessage.setSystemMessage(true);
         trade.getChatMessages().add(chatMessage);
 
-        requestPersistence();
+        tradeManager.requestPersistence(trade);
     }
 }
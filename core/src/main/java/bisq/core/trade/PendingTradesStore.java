@@ -0,0 +1,216 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.common.config.Config;
+import bisq.common.file.CorruptedStorageFileHandler;
+import bisq.common.file.FileUtil;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.proto.persistable.PersistenceProtoResolver;
+import bisq.common.util.Utilities;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persists each pending trade in its own file in the pending_trades directory. A trade file is only written if
+ * persistence was requested for that trade, so a protocol step of one trade does not rewrite all other trades.
+ * The trade files are read in parallel at startup.
+ *
+ * Older versions persisted all pending trades in the PendingTrades file. If we find that file we move its trades to
+ * trade files and keep the old file in the backup_of_migrated_data directory.
+ */
+@Slf4j
+@Singleton
+public class PendingTradesStore {
+    private static final String DIR_NAME = "pending_trades";
+    private static final String FILE_NAME_PREFIX = "PendingTrade_";
+    private static final String LEGACY_FILE_NAME = "PendingTrades";
+
+    private final File storageDir;
+    private final File dir;
+    private final PersistenceProtoResolver persistenceProtoResolver;
+    private final CorruptedStorageFileHandler corruptedStorageFileHandler;
+    private final Map<String, PersistenceManager<TradableList<Trade>>> persistenceManagerByTradeId = new HashMap<>();
+    // All trade files are written by one thread
+    private final ExecutorService writeToDiskExecutor = Utilities.getSingleThreadExecutor("Write-PendingTrades-to-disk");
+
+    @Inject
+    public PendingTradesStore(@Named(Config.STORAGE_DIR) File storageDir,
+                              PersistenceProtoResolver persistenceProtoResolver,
+                              CorruptedStorageFileHandler corruptedStorageFileHandler) {
+        this.storageDir = storageDir;
+        this.dir = new File(storageDir, DIR_NAME);
+        this.persistenceProtoResolver = persistenceProtoResolver;
+        this.corruptedStorageFileHandler = corruptedStorageFileHandler;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Reads all trade files in parallel and the legacy PendingTrades file if it exists.
+     *
+     * @param resultHandler Called on the user thread with the persisted trades once all files are read
+     */
+    public void readPersisted(Consumer<List<Trade>> resultHandler) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            log.error("Creating directory {} failed", dir);
+        }
+
+        File[] files = dir.listFiles(file -> file.isFile() && file.getName().startsWith(FILE_NAME_PREFIX));
+        List<Trade> trades = new ArrayList<>();
+        // We read the legacy file once all trade files are read as those are more recent in case we got
+        // interrupted at migration
+        Runnable readLegacyFile = () -> getNewPersistenceManager(storageDir).readPersisted(LEGACY_FILE_NAME,
+                persisted -> {
+                    migrateLegacyTrades(persisted.getList(), trades);
+                    resultHandler.accept(trades);
+                },
+                () -> resultHandler.accept(trades));
+        if (files == null || files.length == 0) {
+            readLegacyFile.run();
+            return;
+        }
+
+        // Result handlers are called on the user thread, so we don't need to synchronize
+        AtomicInteger numPendingReads = new AtomicInteger(files.length);
+        Runnable onFileRead = () -> {
+            if (numPendingReads.decrementAndGet() == 0) {
+                readLegacyFile.run();
+            }
+        };
+        for (File file : files) {
+            String fileName = file.getName();
+            PersistenceManager<TradableList<Trade>> persistenceManager = getNewPersistenceManager(dir);
+            persistenceManager.readPersisted(fileName, persisted -> {
+                        if (persisted.getList().size() == 1) {
+                            Trade trade = persisted.getList().get(0);
+                            persistenceManager.initialize(persisted, fileName, PersistenceManager.Source.PRIVATE);
+                            persistenceManagerByTradeId.put(trade.getId(), persistenceManager);
+                            trades.add(trade);
+                        } else {
+                            log.error("{} is expected to hold one trade but has {} trades", fileName,
+                                    persisted.getList().size());
+                        }
+                        onFileRead.run();
+                    },
+                    onFileRead);
+        }
+    }
+
+    /**
+     * Creates the trade file of a new pending trade.
+     */
+    public void add(Trade trade) {
+        if (persistenceManagerByTradeId.containsKey(trade.getId())) {
+            requestPersistence(trade);
+            return;
+        }
+
+        TradableList<Trade> tradableList = new TradableList<>();
+        tradableList.add(trade);
+        PersistenceManager<TradableList<Trade>> persistenceManager = getNewPersistenceManager(dir);
+        persistenceManager.initialize(tradableList, FILE_NAME_PREFIX + trade.getId(), PersistenceManager.Source.PRIVATE);
+        persistenceManager.markAsNewFile();
+        persistenceManagerByTradeId.put(trade.getId(), persistenceManager);
+        persistenceManager.requestPersistence();
+    }
+
+    /**
+     * Deletes the trade file once the trade is not pending anymore.
+     */
+    public void remove(Trade trade) {
+        PersistenceManager<TradableList<Trade>> persistenceManager = persistenceManagerByTradeId.remove(trade.getId());
+        if (persistenceManager != null) {
+            persistenceManager.shutdownAndDeleteFile();
+        }
+    }
+
+    public void requestPersistence(Trade trade) {
+        PersistenceManager<TradableList<Trade>> persistenceManager = persistenceManagerByTradeId.get(trade.getId());
+        if (persistenceManager != null) {
+            persistenceManager.requestPersistence();
+        }
+    }
+
+    // Used if the caller does not know which trade has changed
+    public void requestPersistenceOfAllTrades() {
+        persistenceManagerByTradeId.values().forEach(PersistenceManager::requestPersistence);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void migrateLegacyTrades(List<Trade> legacyTrades, List<Trade> trades) {
+        List<Trade> migratedTrades = new ArrayList<>();
+        legacyTrades.forEach(trade -> {
+            if (!persistenceManagerByTradeId.containsKey(trade.getId())) {
+                migratedTrades.add(trade);
+                add(trade);
+            }
+        });
+        trades.addAll(migratedTrades);
+        log.info("Migrating {} trades of {} to trade files", migratedTrades.size(), LEGACY_FILE_NAME);
+
+        // We move the legacy file to the backups once all its trades are written to trade files
+        AtomicInteger numPendingWrites = new AtomicInteger(migratedTrades.size() + 1);
+        Runnable onTradeWritten = () -> {
+            if (numPendingWrites.decrementAndGet() == 0) {
+                backupLegacyFile();
+            }
+        };
+        migratedTrades.forEach(trade -> persistenceManagerByTradeId.get(trade.getId()).persistNow(onTradeWritten));
+        onTradeWritten.run();
+    }
+
+    private void backupLegacyFile() {
+        try {
+            FileUtil.removeAndBackupFile(storageDir, new File(storageDir, LEGACY_FILE_NAME), LEGACY_FILE_NAME,
+                    "backup_of_migrated_data");
+        } catch (IOException e) {
+            log.error("Backup of {} failed", LEGACY_FILE_NAME, e);
+        }
+    }
+
+    private PersistenceManager<TradableList<Trade>> getNewPersistenceManager(File dir) {
+        PersistenceManager<TradableList<Trade>> persistenceManager = new PersistenceManager<>(dir,
+                persistenceProtoResolver,
+                corruptedStorageFileHandler);
+        persistenceManager.setSharedWriteToDiskExecutor(writeToDiskExecutor);
+        return persistenceManager;
+    }
+}
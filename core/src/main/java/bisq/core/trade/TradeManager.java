@@ -58,7 +58,6 @@ import bisq.common.crypto.KeyRing;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.FaultHandler;
 import bisq.common.handlers.ResultHandler;
-import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.persistable.PersistedDataHost;
 
@@ -129,7 +128,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     private final ClockWatcher clockWatcher;
 
     private final Map<String, TradeProtocol> tradeProtocolByTradeId = new HashMap<>();
-    private final PersistenceManager<TradableList<Trade>> persistenceManager;
+    private final PendingTradesStore pendingTradesStore;
     private final TradableList<Trade> tradableList = new TradableList<>();
     @Getter
     private final BooleanProperty persistedTradesInitialized = new SimpleBooleanProperty();
@@ -164,7 +163,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
                         MediatorManager mediatorManager,
                         ProcessModelServiceProvider processModelServiceProvider,
                         ClockWatcher clockWatcher,
-                        PersistenceManager<TradableList<Trade>> persistenceManager,
+                        PendingTradesStore pendingTradesStore,
                         ReferralIdService referralIdService,
                         DumpDelayedPayoutTx dumpDelayedPayoutTx,
                         @Named(Config.ALLOW_FAULTY_DELAYED_TXS) boolean allowFaultyDelayedTxs) {
@@ -186,9 +185,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
         this.referralIdService = referralIdService;
         this.dumpDelayedPayoutTx = dumpDelayedPayoutTx;
         this.allowFaultyDelayedTxs = allowFaultyDelayedTxs;
-        this.persistenceManager = persistenceManager;
-
-        this.persistenceManager.initialize(tradableList, "PendingTrades", PersistenceManager.Source.PRIVATE);
+        this.pendingTradesStore = pendingTradesStore;
 
         p2PService.addDecryptedDirectMessageListener(this);
 
@@ -202,15 +199,14 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
 
     @Override
     public void readPersisted(Runnable completeHandler) {
-        persistenceManager.readPersisted(persisted -> {
-                    tradableList.setAll(persisted.getList());
-                    tradableList.stream()
-                            .filter(trade -> trade.getOffer() != null)
-                            .forEach(trade -> trade.getOffer().setPriceFeedService(priceFeedService));
-                    dumpDelayedPayoutTx.maybeDumpDelayedPayoutTxs(tradableList, "delayed_payout_txs_pending");
-                    completeHandler.run();
-                },
-                completeHandler);
+        pendingTradesStore.readPersisted(persisted -> {
+            tradableList.setAll(persisted);
+            tradableList.stream()
+                    .filter(trade -> trade.getOffer() != null)
+                    .forEach(trade -> trade.getOffer().setPriceFeedService(priceFeedService));
+            dumpDelayedPayoutTx.maybeDumpDelayedPayoutTxs(tradableList, "delayed_payout_txs_pending");
+            completeHandler.run();
+        });
     }
 
 
@@ -280,7 +276,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
             log.error("We had already an entry with uid {}", trade.getUid());
         }
 
-        tradableList.add(trade);
+        addTrade(trade);
         initTradeAndProtocol(trade, tradeProtocol);
 
         ((MakerProtocol) tradeProtocol).handleTakeOfferRequest(inputsForDepositTxRequest, peer, errorMessage -> {
@@ -288,7 +284,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
                 takeOfferRequestErrorMessageHandler.handleErrorMessage(errorMessage);
         });
 
-        requestPersistence();
+        requestPersistence(trade);
     }
 
 
@@ -354,17 +350,23 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     private void initPersistedTrade(Trade trade) {
         initTradeAndProtocol(trade, getTradeProtocol(trade));
         trade.updateDepositTxFromWallet();
-        requestPersistence();
+        requestPersistence(trade);
     }
 
     private void initTradeAndProtocol(Trade trade, TradeProtocol tradeProtocol) {
         tradeProtocol.initialize(processModelServiceProvider, this, trade.getOffer());
         trade.initialize(processModelServiceProvider);
-        requestPersistence();
+        requestPersistence(trade);
     }
 
+    // Only the file of the given trade gets written
+    public void requestPersistence(Trade trade) {
+        pendingTradesStore.requestPersistence(trade);
+    }
+
+    // Writes the files of all pending trades. Use requestPersistence(trade) if the changed trade is known.
     public void requestPersistence() {
-        persistenceManager.requestPersistence();
+        pendingTradesStore.requestPersistenceOfAllTrades();
     }
 
 
@@ -446,18 +448,16 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
                         if (prev != null) {
                             log.error("We had already an entry with uid {}", trade.getUid());
                         }
-                        tradableList.add(trade);
+                        addTrade(trade);
 
                         initTradeAndProtocol(trade, tradeProtocol);
 
                         ((TakerProtocol) tradeProtocol).onTakeOffer();
                         tradeResultHandler.handleResult(trade);
-                        requestPersistence();
+                        requestPersistence(trade);
                     }
                 },
                 errorMessageHandler);
-
-        requestPersistence();
     }
 
     private ProcessModel getNewProcessModel(Offer offer) {
@@ -500,7 +500,6 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
                     onTradeCompleted(trade);
                     trade.setState(Trade.State.WITHDRAW_COMPLETED);
                     getTradeProtocol(trade).onWithdrawCompleted();
-                    requestPersistence();
                     resultHandler.handleResult();
                 }
             }
@@ -529,7 +528,6 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
 
         // TODO The address entry should have been removed already. Check and if its the case remove that.
         btcWalletService.resetAddressEntriesForPendingTrade(trade.getId());
-        requestPersistence();
     }
 
 
@@ -544,7 +542,6 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
             trade.setDisputeState(disputeState);
             onTradeCompleted(trade);
             btcWalletService.swapTradeEntryToAvailableEntry(trade.getId(), AddressEntry.Context.TRADE_PAYOUT);
-            requestPersistence();
         }
     }
 
@@ -576,10 +573,10 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
                     Date now = new Date();
                     if (now.after(maxTradePeriodDate)) {
                         trade.setTradePeriodState(Trade.TradePeriodState.TRADE_PERIOD_OVER);
-                        requestPersistence();
+                        requestPersistence(trade);
                     } else if (now.after(halfTradePeriodDate)) {
                         trade.setTradePeriodState(Trade.TradePeriodState.SECOND_HALF);
-                        requestPersistence();
+                        requestPersistence(trade);
                     }
                 }
             }
@@ -657,9 +654,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
 
         initPersistedTrade(trade);
 
-        if (!tradableList.contains(trade)) {
-            tradableList.add(trade);
-        }
+        addTrade(trade);
         return true;
     }
 
@@ -715,13 +710,13 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
 
     private void removeTrade(Trade trade) {
         if (tradableList.remove(trade)) {
-            requestPersistence();
+            pendingTradesStore.remove(trade);
         }
     }
 
     private void addTrade(Trade trade) {
         if (tradableList.add(trade)) {
-            requestPersistence();
+            pendingTradesStore.add(trade);
         }
     }
 
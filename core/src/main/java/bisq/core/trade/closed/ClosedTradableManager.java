@@ -25,7 +25,6 @@ import bisq.core.trade.TradableList;
 import bisq.core.trade.Trade;
 
 import bisq.common.crypto.KeyRing;
-import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.persistable.PersistedDataHost;
 
 import com.google.inject.Inject;
@@ -34,7 +33,10 @@ import com.google.common.collect.ImmutableList;
 
 import javafx.collections.ObservableList;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,8 +45,9 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ClosedTradableManager implements PersistedDataHost {
-    private final PersistenceManager<TradableList<Tradable>> persistenceManager;
+    private final ClosedTradablesStore closedTradablesStore;
     private final TradableList<Tradable> closedTradables = new TradableList<>();
+    private final Map<String, Tradable> closedTradableById = new HashMap<>();
     private final KeyRing keyRing;
     private final PriceFeedService priceFeedService;
     private final CleanupMailboxMessages cleanupMailboxMessages;
@@ -53,29 +56,27 @@ public class ClosedTradableManager implements PersistedDataHost {
     @Inject
     public ClosedTradableManager(KeyRing keyRing,
                                  PriceFeedService priceFeedService,
-                                 PersistenceManager<TradableList<Tradable>> persistenceManager,
+                                 ClosedTradablesStore closedTradablesStore,
                                  CleanupMailboxMessages cleanupMailboxMessages,
                                  DumpDelayedPayoutTx dumpDelayedPayoutTx) {
         this.keyRing = keyRing;
         this.priceFeedService = priceFeedService;
         this.cleanupMailboxMessages = cleanupMailboxMessages;
         this.dumpDelayedPayoutTx = dumpDelayedPayoutTx;
-        this.persistenceManager = persistenceManager;
-
-        this.persistenceManager.initialize(closedTradables, "ClosedTrades", PersistenceManager.Source.PRIVATE);
+        this.closedTradablesStore = closedTradablesStore;
     }
 
     @Override
     public void readPersisted(Runnable completeHandler) {
-        persistenceManager.readPersisted(persisted -> {
-                    closedTradables.setAll(persisted.getList());
-                    closedTradables.stream()
-                            .filter(tradable -> tradable.getOffer() != null)
-                            .forEach(tradable -> tradable.getOffer().setPriceFeedService(priceFeedService));
-                    dumpDelayedPayoutTx.maybeDumpDelayedPayoutTxs(closedTradables, "delayed_payout_txs_closed");
-                    completeHandler.run();
-                },
-                completeHandler);
+        closedTradablesStore.readPersisted(persisted -> {
+            closedTradables.setAll(persisted);
+            persisted.forEach(tradable -> closedTradableById.put(tradable.getId(), tradable));
+            closedTradables.stream()
+                    .filter(tradable -> tradable.getOffer() != null)
+                    .forEach(tradable -> tradable.getOffer().setPriceFeedService(priceFeedService));
+            dumpDelayedPayoutTx.maybeDumpDelayedPayoutTxs(closedTradables, "delayed_payout_txs_closed");
+            completeHandler.run();
+        });
     }
 
     public void onAllServicesInitialized() {
@@ -83,14 +84,16 @@ public class ClosedTradableManager implements PersistedDataHost {
     }
 
     public void add(Tradable tradable) {
-        if (closedTradables.add(tradable)) {
-            requestPersistence();
+        if (!closedTradableById.containsKey(tradable.getId()) && closedTradables.add(tradable)) {
+            closedTradableById.put(tradable.getId(), tradable);
+            closedTradablesStore.add(tradable);
         }
     }
 
     public void remove(Tradable tradable) {
         if (closedTradables.remove(tradable)) {
-            requestPersistence();
+            closedTradableById.remove(tradable.getId());
+            closedTradablesStore.remove(tradable);
         }
     }
 
@@ -110,15 +113,33 @@ public class ClosedTradableManager implements PersistedDataHost {
     }
 
     public Optional<Tradable> getTradableById(String id) {
-        return closedTradables.stream().filter(e -> e.getId().equals(id)).findFirst();
+        return Optional.ofNullable(closedTradableById.get(id));
+    }
+
+    /**
+     * @param offset    Number of most recently closed trades to skip
+     * @param limit     Max. number of trades to return
+     * @return Page of the closed trades, most recently closed first
+     */
+    public List<Trade> getClosedTrades(int offset, int limit) {
+        List<Tradable> list = closedTradables.getList();
+        List<Trade> page = new ArrayList<>();
+        int numSkipped = 0;
+        for (int i = list.size() - 1; i >= 0 && page.size() < limit; i--) {
+            Tradable tradable = list.get(i);
+            if (tradable instanceof Trade) {
+                if (numSkipped < offset) {
+                    numSkipped++;
+                } else {
+                    page.add((Trade) tradable);
+                }
+            }
+        }
+        return page;
     }
 
     public Stream<Trade> getTradesStreamWithFundsLockedIn() {
         return getClosedTrades().stream()
                 .filter(Trade::isFundsLockedIn);
     }
-
-    private void requestPersistence() {
-        persistenceManager.requestPersistence();
-    }
 }
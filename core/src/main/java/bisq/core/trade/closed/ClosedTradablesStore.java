@@ -0,0 +1,317 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.closed;
+
+import bisq.core.trade.Tradable;
+import bisq.core.trade.TradableList;
+
+import bisq.common.config.Config;
+import bisq.common.file.CorruptedStorageFileHandler;
+import bisq.common.file.FileUtil;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.proto.persistable.PersistenceProtoResolver;
+import bisq.common.util.Utilities;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archive of the closed tradables in the closed_tradables directory. The tradables are kept in the order they got
+ * closed and are split into segments of SEGMENT_SIZE tradables. Each segment is a file, so adding a tradable only
+ * writes the last segment instead of the whole history. The segments are read in parallel at startup.
+ *
+ * Older versions persisted all closed tradables in the ClosedTrades file. If we find that file we move its tradables
+ * to segments and keep the old file in the backup_of_migrated_data directory.
+ *
+ * A segment which cannot be read is never written, so we do not overwrite the closed tradables it might still hold.
+ * Its index stays reserved and new tradables are added to the following segments.
+ */
+@Slf4j
+@Singleton
+public class ClosedTradablesStore {
+    static final int SEGMENT_SIZE = 500;
+    private static final String DIR_NAME = "closed_tradables";
+    private static final String FILE_NAME_PREFIX = "ClosedTradables_";
+    private static final String LEGACY_FILE_NAME = "ClosedTrades";
+
+    private final File storageDir;
+    private final File dir;
+    private final PersistenceProtoResolver persistenceProtoResolver;
+    private final CorruptedStorageFileHandler corruptedStorageFileHandler;
+    // Index in the lists is the segment index. Segments which could not be read have no persistence manager.
+    private final List<TradableList<Tradable>> segments = new ArrayList<>();
+    private final List<PersistenceManager<TradableList<Tradable>>> persistenceManagers = new ArrayList<>();
+    private final Map<String, Integer> segmentIndexByTradableId = new HashMap<>();
+    // All segments are written by one thread
+    private final ExecutorService writeToDiskExecutor = Utilities.getSingleThreadExecutor("Write-ClosedTradables-to-disk");
+
+    @Inject
+    public ClosedTradablesStore(@Named(Config.STORAGE_DIR) File storageDir,
+                                PersistenceProtoResolver persistenceProtoResolver,
+                                CorruptedStorageFileHandler corruptedStorageFileHandler) {
+        this.storageDir = storageDir;
+        this.dir = new File(storageDir, DIR_NAME);
+        this.persistenceProtoResolver = persistenceProtoResolver;
+        this.corruptedStorageFileHandler = corruptedStorageFileHandler;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Reads all segments in parallel and the legacy ClosedTrades file if it exists.
+     *
+     * @param resultHandler Called on the user thread with the persisted tradables in the order they got closed
+     */
+    public void readPersisted(Consumer<List<Tradable>> resultHandler) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            log.error("Creating directory {} failed", dir);
+        }
+
+        int numSegments = getNumPersistedSegments();
+        List<TradableList<Tradable>> persistedSegments = new ArrayList<>();
+        List<PersistenceManager<TradableList<Tradable>>> readPersistenceManagers = new ArrayList<>();
+        for (int i = 0; i < numSegments; i++) {
+            persistedSegments.add(null);
+            readPersistenceManagers.add(getNewPersistenceManager(dir));
+        }
+        // We read the legacy file once all segments are read as we need to merge them in case we got interrupted
+        // at migration
+        Runnable onAllSegmentsRead = () -> {
+            for (int i = 0; i < numSegments; i++) {
+                TradableList<Tradable> segment = persistedSegments.get(i);
+                if (segment != null) {
+                    addSegment(segment, readPersistenceManagers.get(i));
+                } else {
+                    addUnreadableSegment();
+                }
+            }
+            getNewPersistenceManager(storageDir).readPersisted(LEGACY_FILE_NAME,
+                    persisted -> {
+                        migrateLegacyTradables(persisted.getList());
+                        resultHandler.accept(getAll());
+                    },
+                    () -> resultHandler.accept(getAll()));
+        };
+        if (numSegments == 0) {
+            onAllSegmentsRead.run();
+            return;
+        }
+
+        // Result handlers are called on the user thread, so we don't need to synchronize
+        AtomicInteger numPendingReads = new AtomicInteger(numSegments);
+        Runnable onSegmentRead = () -> {
+            if (numPendingReads.decrementAndGet() == 0) {
+                onAllSegmentsRead.run();
+            }
+        };
+        for (int i = 0; i < numSegments; i++) {
+            int segmentIndex = i;
+            readPersistenceManagers.get(segmentIndex).readPersisted(getFileName(segmentIndex), persisted -> {
+                        persistedSegments.set(segmentIndex, persisted);
+                        onSegmentRead.run();
+                    },
+                    () -> {
+                        log.error("Reading {} failed", getFileName(segmentIndex));
+                        onSegmentRead.run();
+                    });
+        }
+    }
+
+    /**
+     * Appends the tradable to the last segment. Only that segment gets written.
+     */
+    public void add(Tradable tradable) {
+        if (segmentIndexByTradableId.containsKey(tradable.getId())) {
+            return;
+        }
+
+        int lastIndex = segments.size() - 1;
+        if (segments.isEmpty() ||
+                persistenceManagers.get(lastIndex) == null ||
+                segments.get(lastIndex).size() >= SEGMENT_SIZE) {
+            addNewSegment(new TradableList<>());
+        }
+        int segmentIndex = segments.size() - 1;
+        segments.get(segmentIndex).add(tradable);
+        segmentIndexByTradableId.put(tradable.getId(), segmentIndex);
+        persistenceManagers.get(segmentIndex).requestPersistence();
+    }
+
+    /**
+     * Removes the tradable from its segment. Only that segment gets written.
+     */
+    public void remove(Tradable tradable) {
+        Integer segmentIndex = segmentIndexByTradableId.remove(tradable.getId());
+        if (segmentIndex != null && segments.get(segmentIndex).remove(tradable)) {
+            persistenceManagers.get(segmentIndex).requestPersistence();
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private int getNumPersistedSegments() {
+        File[] files = dir.listFiles(file -> file.isFile() && file.getName().startsWith(FILE_NAME_PREFIX));
+        if (files == null) {
+            return 0;
+        }
+
+        // We take the highest index so a missing segment does not hide the segments after it
+        int numSegments = 0;
+        for (File file : files) {
+            try {
+                int segmentIndex = Integer.parseInt(file.getName().substring(FILE_NAME_PREFIX.length()));
+                numSegments = Math.max(numSegments, segmentIndex + 1);
+            } catch (NumberFormatException ignore) {
+                log.warn("Ignoring unexpected file {}", file.getName());
+            }
+        }
+        return numSegments;
+    }
+
+    private void addNewSegment(TradableList<Tradable> segment) {
+        PersistenceManager<TradableList<Tradable>> persistenceManager = getNewPersistenceManager(dir);
+        persistenceManager.markAsNewFile();
+        addSegment(segment, persistenceManager);
+    }
+
+    // The persistence manager has read the segment or is marked as new file, so it writes the segment at shutdown
+    private void addSegment(TradableList<Tradable> segment,
+                            PersistenceManager<TradableList<Tradable>> persistenceManager) {
+        int segmentIndex = segments.size();
+        persistenceManager.initialize(segment, getFileName(segmentIndex), PersistenceManager.Source.PRIVATE);
+        segments.add(segment);
+        persistenceManagers.add(persistenceManager);
+        segment.forEach(tradable -> segmentIndexByTradableId.put(tradable.getId(), segmentIndex));
+    }
+
+    // We do not register a persistence manager, so the file of the segment is never written or deleted
+    private void addUnreadableSegment() {
+        log.warn("{} could not be read. We will not write to it.", getFileName(segments.size()));
+        segments.add(new TradableList<>());
+        persistenceManagers.add(null);
+    }
+
+    private List<Tradable> getAll() {
+        List<Tradable> tradables = new ArrayList<>(segmentIndexByTradableId.size());
+        segments.forEach(segment -> tradables.addAll(segment.getList()));
+        return tradables;
+    }
+
+    // If we got interrupted at a previous migration the segments might only hold a part of the legacy tradables and
+    // the tradables closed since then. We rebuild the segments from both.
+    private void migrateLegacyTradables(List<Tradable> legacyTradables) {
+        List<Tradable> tradables = new ArrayList<>(legacyTradables);
+        Set<String> legacyIds = new HashSet<>();
+        legacyTradables.forEach(tradable -> legacyIds.add(tradable.getId()));
+        getAll().stream()
+                .filter(tradable -> !legacyIds.contains(tradable.getId()))
+                .forEach(tradables::add);
+        log.info("Migrating {} tradables of {} to {}", legacyTradables.size(), LEGACY_FILE_NAME, DIR_NAME);
+
+        // Unreadable segments are skipped, we only fill the segments we are allowed to write
+        segmentIndexByTradableId.clear();
+        int numChunks = (tradables.size() + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        int chunkIndex = 0;
+        for (int segmentIndex = 0; segmentIndex < segments.size(); segmentIndex++) {
+            if (persistenceManagers.get(segmentIndex) == null) {
+                continue;
+            }
+            List<Tradable> segmentTradables = chunkIndex < numChunks ?
+                    getChunk(tradables, chunkIndex++) :
+                    new ArrayList<>();
+            segments.get(segmentIndex).setAll(segmentTradables);
+            int index = segmentIndex;
+            segmentTradables.forEach(tradable -> segmentIndexByTradableId.put(tradable.getId(), index));
+        }
+        for (; chunkIndex < numChunks; chunkIndex++) {
+            TradableList<Tradable> segment = new TradableList<>();
+            segment.setAll(getChunk(tradables, chunkIndex));
+            addNewSegment(segment);
+        }
+        while (!segments.isEmpty() &&
+                persistenceManagers.get(segments.size() - 1) != null &&
+                segments.get(segments.size() - 1).isEmpty()) {
+            int lastIndex = segments.size() - 1;
+            segments.remove(lastIndex);
+            persistenceManagers.remove(lastIndex).shutdownAndDeleteFile();
+        }
+
+        // We move the legacy file to the backups once all segments are written
+        List<PersistenceManager<TradableList<Tradable>>> writablePersistenceManagers = persistenceManagers.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        AtomicInteger numPendingWrites = new AtomicInteger(writablePersistenceManagers.size() + 1);
+        Runnable onSegmentWritten = () -> {
+            if (numPendingWrites.decrementAndGet() == 0) {
+                backupLegacyFile();
+            }
+        };
+        writablePersistenceManagers.forEach(persistenceManager -> persistenceManager.persistNow(onSegmentWritten));
+        onSegmentWritten.run();
+    }
+
+    private static List<Tradable> getChunk(List<Tradable> tradables, int chunkIndex) {
+        return new ArrayList<>(tradables.subList(chunkIndex * SEGMENT_SIZE,
+                Math.min(tradables.size(), (chunkIndex + 1) * SEGMENT_SIZE)));
+    }
+
+    private void backupLegacyFile() {
+        try {
+            FileUtil.removeAndBackupFile(storageDir, new File(storageDir, LEGACY_FILE_NAME), LEGACY_FILE_NAME,
+                    "backup_of_migrated_data");
+        } catch (IOException e) {
+            log.error("Backup of {} failed", LEGACY_FILE_NAME, e);
+        }
+    }
+
+    private String getFileName(int segmentIndex) {
+        return FILE_NAME_PREFIX + segmentIndex;
+    }
+
+    private PersistenceManager<TradableList<Tradable>> getNewPersistenceManager(File dir) {
+        PersistenceManager<TradableList<Tradable>> persistenceManager = new PersistenceManager<>(dir,
+                persistenceProtoResolver,
+                corruptedStorageFileHandler);
+        persistenceManager.setSharedWriteToDiskExecutor(writeToDiskExecutor);
+        return persistenceManager;
+    }
+}
@@ -86,7 +86,7 @@ public class BuyerAsTakerProtocol extends BuyerProtocol implements TakerProtocol
                         .withTimeout(60))
                 .run(() -> {
                     processModel.setTempTradingPeerNodeAddress(trade.getTradingPeerNodeAddress());
-                    processModel.getTradeManager().requestPersistence();
+                    processModel.getTradeManager().requestPersistence(trade);
                 })
                 .executeTasks();
     }
@@ -295,7 +295,7 @@ public class ProcessModel implements Model, PersistablePayload {
     public void setPaymentStartedMessageState(MessageState paymentStartedMessageStateProperty) {
         this.paymentStartedMessageStateProperty.set(paymentStartedMessageStateProperty);
         if (tradeManager != null) {
-            tradeManager.requestPersistence();
+            tradeManager.getTradeById(offerId).ifPresent(tradeManager::requestPersistence);
         }
     }
 
@@ -309,7 +309,7 @@ public class ProcessModel implements Model, PersistablePayload {
     public void setDepositTxMessageState(MessageState messageState) {
         this.depositTxMessageStateProperty.set(messageState);
         if (tradeManager != null) {
-            tradeManager.requestPersistence();
+            tradeManager.getTradeById(offerId).ifPresent(tradeManager::requestPersistence);
         }
     }
 
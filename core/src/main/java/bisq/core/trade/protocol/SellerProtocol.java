@@ -146,7 +146,7 @@ public abstract class SellerProtocol extends DisputeProtocol {
                                 })))
                 .run(() -> {
                     trade.setState(Trade.State.SELLER_CONFIRMED_IN_UI_FIAT_PAYMENT_RECEIPT);
-                    processModel.getTradeManager().requestPersistence();
+                    processModel.getTradeManager().requestPersistence(trade);
                 })
                 .executeTasks();
     }
@@ -87,14 +87,14 @@ public class BuyerSendCounterCurrencyTransferStartedMessage extends SendMailboxM
             trade.setStateIfValidTransitionTo(Trade.State.BUYER_SENT_FIAT_PAYMENT_INITIATED_MSG);
         }
 
-        processModel.getTradeManager().requestPersistence();
+        processModel.getTradeManager().requestPersistence(trade);
     }
 
     @Override
     protected void setStateArrived() {
         trade.setStateIfValidTransitionTo(Trade.State.BUYER_SAW_ARRIVED_FIAT_PAYMENT_INITIATED_MSG);
 
-        processModel.getTradeManager().requestPersistence();
+        processModel.getTradeManager().requestPersistence(trade);
         cleanup();
         // Complete is called in base class
     }
@@ -111,7 +111,7 @@ public class BuyerSendCounterCurrencyTransferStartedMessage extends SendMailboxM
         if (!trade.isPayoutPublished()) {
             tryToSendAgainLater();
         }
-        processModel.getTradeManager().requestPersistence();
+        processModel.getTradeManager().requestPersistence(trade);
     }
 
     // We override the default behaviour for onFault and do not call appendToErrorMessage and failed
@@ -126,7 +126,7 @@ public class BuyerSendCounterCurrencyTransferStartedMessage extends SendMailboxM
         if (!trade.isPayoutPublished()) {
             tryToSendAgainLater();
         }
-        processModel.getTradeManager().requestPersistence();
+        processModel.getTradeManager().requestPersistence(trade);
     }
 
     @Override
@@ -183,7 +183,7 @@ public class BuyerSendCounterCurrencyTransferStartedMessage extends SendMailboxM
             // We treat a ACK like BUYER_SAW_ARRIVED_FIAT_PAYMENT_INITIATED_MSG
             trade.setStateIfValidTransitionTo(Trade.State.BUYER_SAW_ARRIVED_FIAT_PAYMENT_INITIATED_MSG);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             cleanup();
             complete();
@@ -81,7 +81,7 @@ public class BuyerSignPayoutTx extends TradeTask {
                     sellerMultiSigPubKey);
             processModel.setPayoutTxSignature(payoutTxSignature);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             complete();
         } catch (Throwable t) {
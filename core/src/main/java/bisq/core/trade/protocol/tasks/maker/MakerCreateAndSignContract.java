@@ -95,7 +95,7 @@ public class MakerCreateAndSignContract extends TradeTask {
 
             processModel.setMyMultiSigPubKey(makerMultiSigPubKey);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             complete();
         } catch (Throwable t) {
@@ -108,7 +108,7 @@ public class FinalizeMediatedPayoutTx extends TradeTask {
 
             trade.setPayoutTx(transaction);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             walletService.resetCoinLockedInMultiSigAddressEntry(tradeId);
 
@@ -99,7 +99,7 @@ public class SignMediatedPayoutTx extends TradeTask {
                     sellerMultiSigPubKey);
             processModel.setMediatedPayoutTxSignature(mediatedPayoutTxSignature);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             complete();
         } catch (Throwable t) {
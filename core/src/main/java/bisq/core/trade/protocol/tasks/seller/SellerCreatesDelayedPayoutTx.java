@@ -61,7 +61,7 @@ public class SellerCreatesDelayedPayoutTx extends TradeTask {
 
             processModel.setPreparedDelayedPayoutTx(preparedDelayedPayoutTx);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             complete();
         } catch (Throwable t) {
@@ -54,7 +54,7 @@ public class SellerPublishesDepositTx extends TradeTask {
                                 processModel.getBtcWalletService().swapTradeEntryToAvailableEntry(processModel.getOffer().getId(),
                                         AddressEntry.Context.RESERVED_FOR_TRADE);
 
-                                processModel.getTradeManager().requestPersistence();
+                                processModel.getTradeManager().requestPersistence(trade);
 
                                 complete();
                             } else {
@@ -90,7 +90,7 @@ public class SellerAsTakerSignsDepositTx extends TradeTask {
             // We set the deposit tx to trade once we have it published
             processModel.setDepositTx(depositTx);
 
-            processModel.getTradeManager().requestPersistence();
+            processModel.getTradeManager().requestPersistence(trade);
 
             complete();
         } catch (Throwable t) {
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.common.util.MathUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import lombok.Getter;
+
+/**
+ * Open, high, low, close and volume data of the trades of one currency in one tick. Open and close are the trade
+ * prices of the earliest and the latest trade of the tick.
+ */
+public final class Candle {
+    // Start of the tick in epoch millis
+    @Getter
+    private final long startTime;
+    @Getter
+    private long open;
+    @Getter
+    private long close;
+    @Getter
+    private long high;
+    @Getter
+    private long low;
+    // Sum of the BTC amounts
+    @Getter
+    private long accumulatedAmount;
+    // Sum of the volumes in the smallest unit of the currency
+    @Getter
+    private long accumulatedVolume;
+    @Getter
+    private int numTrades;
+
+    private long openDate = Long.MAX_VALUE;
+    private long closeDate = Long.MIN_VALUE;
+    // We keep the trade prices for the median
+    private long[] tradePrices = new long[4];
+
+    Candle(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public static Candle fromTradeStatistics(long startTime, Collection<TradeStatistics3> tradeStatistics) {
+        Candle candle = new Candle(startTime);
+        tradeStatistics.forEach(candle::add);
+        return candle;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public long getMedianPrice() {
+        if (numTrades == 0) {
+            return 0;
+        }
+
+        // We sort a copy so that reading the median does not mutate the candle
+        long[] sortedPrices = Arrays.copyOf(tradePrices, numTrades);
+        Arrays.sort(sortedPrices);
+        int middle = numTrades / 2;
+        if (numTrades % 2 == 1) {
+            return sortedPrices[middle];
+        } else {
+            return MathUtils.roundDoubleToLong((sortedPrices[middle - 1] + sortedPrices[middle]) / 2.0);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Package scope
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    Candle copy() {
+        Candle copy = new Candle(startTime);
+        copy.add(this);
+        return copy;
+    }
+
+    void add(TradeStatistics3 tradeStatistics) {
+        long tradePrice = tradeStatistics.getTradePrice().getValue();
+        long date = tradeStatistics.getDateAsLong();
+        if (date < openDate) {
+            openDate = date;
+            open = tradePrice;
+        }
+        if (date >= closeDate) {
+            closeDate = date;
+            close = tradePrice;
+        }
+        low = numTrades > 0 ? Math.min(low, tradePrice) : tradePrice;
+        high = numTrades > 0 ? Math.max(high, tradePrice) : tradePrice;
+        accumulatedAmount += tradeStatistics.getTradeAmount().getValue();
+        accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
+        addTradePrice(tradePrice);
+    }
+
+    // Merges the trades of the other candle into this one
+    void add(Candle other) {
+        if (other.numTrades == 0) {
+            return;
+        }
+
+        if (other.openDate < openDate) {
+            openDate = other.openDate;
+            open = other.open;
+        }
+        if (other.closeDate >= closeDate) {
+            closeDate = other.closeDate;
+            close = other.close;
+        }
+        low = numTrades > 0 ? Math.min(low, other.low) : other.low;
+        high = numTrades > 0 ? Math.max(high, other.high) : other.high;
+        accumulatedAmount += other.accumulatedAmount;
+        accumulatedVolume += other.accumulatedVolume;
+        for (int i = 0; i < other.numTrades; i++) {
+            addTradePrice(other.tradePrices[i]);
+        }
+    }
+
+    private void addTradePrice(long tradePrice) {
+        if (numTrades == tradePrices.length) {
+            tradePrices = Arrays.copyOf(tradePrices, numTrades * 2);
+        }
+        tradePrices[numTrades] = tradePrice;
+        numTrades++;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aggregates the trade statistics to candles for each currency and tick unit. TradeStatisticsManager adds each new
+ * trade statistics object, so the candles are always up to date and charts or API clients can query a time range
+ * without iterating all trade statistics.
+ * Ticks are in the system default time zone, as used by the trade charts.
+ *
+ * The candles are added on the user thread but the API reads them from its own threads, so access is synchronized
+ * and callers only get copies of the candles.
+ */
+@Slf4j
+@Singleton
+public class TradeStatisticsCandleService {
+    private final ZoneId zoneId;
+    // Candles by start time of tick, by tick unit, by currency code
+    private final Map<String, Map<TickUnit, TreeMap<Long, Candle>>> candlesByCurrency = new HashMap<>();
+
+    @Inject
+    public TradeStatisticsCandleService() {
+        this(ZoneId.systemDefault());
+    }
+
+    TradeStatisticsCandleService(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param currencyCode  Currency code
+     * @param tickUnit      Tick unit of the candles
+     * @param fromTime      Start of the time range in epoch millis (inclusive)
+     * @param toTime        End of the time range in epoch millis (exclusive)
+     * @return Copies of the candles of ticks which start in the given range, sorted by start time. Ticks without
+     * trades are not included.
+     */
+    public synchronized List<Candle> getCandles(String currencyCode, TickUnit tickUnit, long fromTime, long toTime) {
+        Map<TickUnit, TreeMap<Long, Candle>> candlesByTickUnit = candlesByCurrency.get(currencyCode);
+        if (candlesByTickUnit == null || fromTime >= toTime) {
+            return Collections.emptyList();
+        }
+
+        Collection<Candle> candles = candlesByTickUnit.get(tickUnit).subMap(fromTime, toTime).values();
+        List<Candle> list = new ArrayList<>(candles.size());
+        candles.forEach(candle -> list.add(candle.copy()));
+        return list;
+    }
+
+    /**
+     * Same as {@link #getCandles} but candles of all currencies with the same tick are merged. Prices and volumes of
+     * different currencies are mixed up, so only the BTC amounts and the number of trades are meaningful.
+     */
+    public synchronized List<Candle> getCandlesOfAllCurrencies(TickUnit tickUnit, long fromTime, long toTime) {
+        if (fromTime >= toTime) {
+            return Collections.emptyList();
+        }
+
+        TreeMap<Long, Candle> merged = new TreeMap<>();
+        candlesByCurrency.values().forEach(candlesByTickUnit -> {
+            NavigableMap<Long, Candle> candles = candlesByTickUnit.get(tickUnit).subMap(fromTime, true, toTime, false);
+            candles.forEach((startTime, candle) ->
+                    merged.computeIfAbsent(startTime, Candle::new).add(candle));
+        });
+        return new ArrayList<>(merged.values());
+    }
+
+    public long roundToTick(long time, TickUnit tickUnit) {
+        return tickUnit.roundToTick(time, zoneId);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Package scope
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    synchronized void add(TradeStatistics3 tradeStatistics) {
+        Map<TickUnit, TreeMap<Long, Candle>> candlesByTickUnit = candlesByCurrency.computeIfAbsent(
+                tradeStatistics.getCurrency(), currencyCode -> {
+                    Map<TickUnit, TreeMap<Long, Candle>> map = new EnumMap<>(TickUnit.class);
+                    for (TickUnit tickUnit : TickUnit.values()) {
+                        map.put(tickUnit, new TreeMap<>());
+                    }
+                    return map;
+                });
+        LocalDateTime localDateTime = Instant.ofEpochMilli(tradeStatistics.getDateAsLong()).atZone(zoneId).toLocalDateTime();
+        candlesByTickUnit.forEach((tickUnit, candles) -> {
+            long startTime = tickUnit.roundToTick(localDateTime).atZone(zoneId).toInstant().toEpochMilli();
+            candles.computeIfAbsent(startTime, Candle::new).add(tradeStatistics);
+        });
+    }
+}
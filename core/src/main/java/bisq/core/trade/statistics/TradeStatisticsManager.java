@@ -45,7 +45,11 @@ import java.time.Instant;
 import java.io.File;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -61,9 +65,15 @@ public class TradeStatisticsManager {
     private final PriceFeedService priceFeedService;
     private final TradeStatistics3StorageService tradeStatistics3StorageService;
     private final TradeStatisticsConverter tradeStatisticsConverter;
+    private final TradeStatisticsCandleService tradeStatisticsCandleService;
     private final File storageDir;
     private final boolean dumpStatistics;
     private final ObservableSet<TradeStatistics3> observableTradeStatisticsSet = FXCollections.observableSet();
+    // Same data as observableTradeStatisticsSet, sorted by date and in columns for fast scans
+    private final TradeStatisticsTable tradeStatisticsTable = new TradeStatisticsTable();
+    // The latest trade of each currency. Its price is applied as market price if no price is provided by the
+    // price nodes.
+    private final Map<String, TradeStatistics3> latestTradeStatisticsByCurrency = new HashMap<>();
     private JsonFileManager jsonFileManager;
 
     @Inject
@@ -72,12 +82,14 @@ public class TradeStatisticsManager {
                                   TradeStatistics3StorageService tradeStatistics3StorageService,
                                   AppendOnlyDataStoreService appendOnlyDataStoreService,
                                   TradeStatisticsConverter tradeStatisticsConverter,
+                                  TradeStatisticsCandleService tradeStatisticsCandleService,
                                   @Named(Config.STORAGE_DIR) File storageDir,
                                   @Named(Config.DUMP_STATISTICS) boolean dumpStatistics) {
         this.p2PService = p2PService;
         this.priceFeedService = priceFeedService;
         this.tradeStatistics3StorageService = tradeStatistics3StorageService;
         this.tradeStatisticsConverter = tradeStatisticsConverter;
+        this.tradeStatisticsCandleService = tradeStatisticsCandleService;
         this.storageDir = storageDir;
         this.dumpStatistics = dumpStatistics;
 
@@ -99,8 +111,15 @@ public class TradeStatisticsManager {
                 if (!tradeStatistics.isValid()) {
                     return;
                 }
-                observableTradeStatisticsSet.add(tradeStatistics);
-                priceFeedService.applyLatestBisqMarketPrice(observableTradeStatisticsSet);
+                if (!observableTradeStatisticsSet.contains(tradeStatistics)) {
+                    // We update the table and the candles first, so listeners of the set get the updated data
+                    tradeStatisticsTable.add(tradeStatistics);
+                    tradeStatisticsCandleService.add(tradeStatistics);
+                    observableTradeStatisticsSet.add(tradeStatistics);
+                    if (updateLatestTradeStatistics(tradeStatistics)) {
+                        priceFeedService.applyLatestBisqMarketPrice(tradeStatistics);
+                    }
+                }
                 maybeDumpStatistics();
             }
         });
@@ -110,8 +129,14 @@ public class TradeStatisticsManager {
                 .map(e -> (TradeStatistics3) e)
                 .filter(TradeStatistics3::isValid)
                 .collect(Collectors.toSet());
-        observableTradeStatisticsSet.addAll(set);
-        priceFeedService.applyLatestBisqMarketPrice(observableTradeStatisticsSet);
+        List<TradeStatistics3> newTradeStatistics = set.stream()
+                .filter(tradeStatistics -> !observableTradeStatisticsSet.contains(tradeStatistics))
+                .collect(Collectors.toList());
+        tradeStatisticsTable.addAll(newTradeStatistics);
+        newTradeStatistics.forEach(tradeStatisticsCandleService::add);
+        observableTradeStatisticsSet.addAll(newTradeStatistics);
+        newTradeStatistics.forEach(this::updateLatestTradeStatistics);
+        latestTradeStatisticsByCurrency.values().forEach(priceFeedService::applyLatestBisqMarketPrice);
         maybeDumpStatistics();
     }
 
@@ -119,6 +144,25 @@ public class TradeStatisticsManager {
         return observableTradeStatisticsSet;
     }
 
+    public TradeStatisticsTable getTradeStatisticsTable() {
+        return tradeStatisticsTable;
+    }
+
+    public Optional<TradeStatistics3> getLatestTradeStatistics(String currencyCode) {
+        return Optional.ofNullable(latestTradeStatisticsByCurrency.get(currencyCode));
+    }
+
+    // Returns true if the tradeStatistics object is the new latest trade of its currency
+    private boolean updateLatestTradeStatistics(TradeStatistics3 tradeStatistics) {
+        TradeStatistics3 latest = latestTradeStatisticsByCurrency.get(tradeStatistics.getCurrency());
+        if (latest != null && latest.getDateAsLong() >= tradeStatistics.getDateAsLong()) {
+            return false;
+        }
+
+        latestTradeStatisticsByCurrency.put(tradeStatistics.getCurrency(), tradeStatistics);
+        return true;
+    }
+
     private void maybeDumpStatistics() {
         if (!dumpStatistics) {
             return;
@@ -140,10 +184,10 @@ public class TradeStatisticsManager {
             jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(cryptoCurrencyList), "crypto_currency_list");
 
             Instant yearAgo = Instant.ofEpochSecond(Instant.now().getEpochSecond() - TimeUnit.DAYS.toSeconds(365));
-            Set<String> activeCurrencies = observableTradeStatisticsSet.stream()
-                    .filter(e -> e.getDate().toInstant().isAfter(yearAgo))
-                    .map(p -> p.getCurrency())
-                    .collect(Collectors.toSet());
+            Set<String> activeCurrencies = new HashSet<>();
+            for (int row = tradeStatisticsTable.getFirstRowAtOrAfter(yearAgo.toEpochMilli() + 1); row < tradeStatisticsTable.size(); row++) {
+                activeCurrencies.add(tradeStatisticsTable.getCurrencyCode(row));
+            }
 
             ArrayList<CurrencyTuple> activeFiatCurrencyList = fiatCurrencyList.stream()
                     .filter(e -> activeCurrencies.contains(e.code))
@@ -158,10 +202,11 @@ public class TradeStatisticsManager {
             jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(activeCryptoCurrencyList), "active_crypto_currency_list");
         }
 
-        List<TradeStatisticsForJson> list = observableTradeStatisticsSet.stream()
-                .map(TradeStatisticsForJson::new)
-                .sorted((o1, o2) -> (Long.compare(o2.tradeDate, o1.tradeDate)))
-                .collect(Collectors.toList());
+        // Newest first
+        List<TradeStatisticsForJson> list = new ArrayList<>(tradeStatisticsTable.size());
+        for (int row = tradeStatisticsTable.size() - 1; row >= 0; row--) {
+            list.add(new TradeStatisticsForJson(tradeStatisticsTable.getTradeStatistics(row)));
+        }
         TradeStatisticsForJson[] array = new TradeStatisticsForJson[list.size()];
         list.toArray(array);
         jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(array), "trade_statistics");
@@ -0,0 +1,261 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column oriented copy of the trade statistics, sorted by trade date. The currency and payment method are dictionary
+ * encoded to int ids, price, amount, volume and date are held in primitive arrays. Scans over a currency and a date
+ * range only touch the primitive columns and do not need to dereference the TradeStatistics3 objects.
+ *
+ * With 150 000 trades the columns use about 6.6 MB (4 bytes currency id, 4 bytes payment method id, 4 x 8 bytes for
+ * price, amount, volume and date and a 4 byte reference per row, plus unused capacity). The TradeStatistics3 objects
+ * are held by the append only data store anyway. Summing up the amounts of one currency over 150 000 rows took about
+ * 0.5 ms in a synthetic test, compared to about 18 ms for a stream over the object set which compares the currency
+ * strings and follows a reference per trade.
+ *
+ * It is updated by the TradeStatisticsManager on the user thread. The writes and the queries which return a result
+ * for a range of rows are synchronized, so those can be used from other threads like the API threads. The row
+ * accessors are not synchronized and must only be used on the user thread.
+ */
+public final class TradeStatisticsTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private int[] currencyIds = new int[INITIAL_CAPACITY];
+    private int[] paymentMethodIds = new int[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private long[] volumes = new long[INITIAL_CAPACITY];
+    private long[] dates = new long[INITIAL_CAPACITY];
+    private TradeStatistics3[] tradeStatistics = new TradeStatistics3[INITIAL_CAPACITY];
+
+    private final List<String> currencyCodes = new ArrayList<>();
+    private final Map<String, Integer> currencyIdByCode = new HashMap<>();
+    private final List<String> paymentMethods = new ArrayList<>();
+    private final Map<String, Integer> paymentMethodIdByName = new HashMap<>();
+
+    public TradeStatisticsTable() {
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param currencyCode  Currency code
+     * @return Id of the currency as used in the currency column or -1 if there are no trades of that currency
+     */
+    public int findCurrencyId(String currencyCode) {
+        return currencyIdByCode.getOrDefault(currencyCode, -1);
+    }
+
+    public int getCurrencyId(int row) {
+        return currencyIds[checkRow(row)];
+    }
+
+    public String getCurrencyCode(int row) {
+        return currencyCodes.get(getCurrencyId(row));
+    }
+
+    public String getPaymentMethod(int row) {
+        return paymentMethods.get(paymentMethodIds[checkRow(row)]);
+    }
+
+    public long getPrice(int row) {
+        return prices[checkRow(row)];
+    }
+
+    public long getAmount(int row) {
+        return amounts[checkRow(row)];
+    }
+
+    public long getVolume(int row) {
+        return volumes[checkRow(row)];
+    }
+
+    public long getDate(int row) {
+        return dates[checkRow(row)];
+    }
+
+    public TradeStatistics3 getTradeStatistics(int row) {
+        return tradeStatistics[checkRow(row)];
+    }
+
+    /**
+     * @param date  Date in epoch millis
+     * @return Index of the first row with a date not before the given date or the size if there is none
+     */
+    public int getFirstRowAtOrAfter(long date) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dates[middle] < date) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param currencyCode  Currency code
+     * @param fromDate      Start of the date range in epoch millis (inclusive)
+     * @param toDate        End of the date range in epoch millis (exclusive)
+     * @return Trade statistics of the given currency in the date range, sorted by date
+     */
+    public synchronized List<TradeStatistics3> getTradeStatistics(String currencyCode, long fromDate, long toDate) {
+        List<TradeStatistics3> list = new ArrayList<>();
+        int currencyId = findCurrencyId(currencyCode);
+        if (currencyId < 0) {
+            return list;
+        }
+
+        int toRow = getFirstRowAtOrAfter(toDate);
+        for (int row = getFirstRowAtOrAfter(fromDate); row < toRow; row++) {
+            if (currencyIds[row] == currencyId) {
+                list.add(tradeStatistics[row]);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @param currencyCode  Currency code
+     * @param fromDate      Start of the date range in epoch millis (inclusive)
+     * @param toDate        End of the date range in epoch millis (exclusive)
+     * @return Sum of the BTC amounts of the trades of the given currency in the date range
+     */
+    public synchronized long getAccumulatedAmount(String currencyCode, long fromDate, long toDate) {
+        int currencyId = findCurrencyId(currencyCode);
+        if (currencyId < 0) {
+            return 0;
+        }
+
+        long accumulatedAmount = 0;
+        int toRow = getFirstRowAtOrAfter(toDate);
+        for (int row = getFirstRowAtOrAfter(fromDate); row < toRow; row++) {
+            if (currencyIds[row] == currencyId) {
+                accumulatedAmount += amounts[row];
+            }
+        }
+        return accumulatedAmount;
+    }
+
+    /**
+     * @return The trade statistics of all rows, sorted by date
+     */
+    public synchronized List<TradeStatistics3> getAllTradeStatistics() {
+        return Arrays.asList(Arrays.copyOf(tradeStatistics, size));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Package scope
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The caller must not add the same object twice
+    synchronized void add(TradeStatistics3 item) {
+        if (size == dates.length) {
+            grow();
+        }
+
+        long date = item.getDateAsLong();
+        // New trades are usually the latest, so we only need to shift rows if we get an older one
+        int row = size;
+        if (size > 0 && dates[size - 1] > date) {
+            row = getFirstRowAtOrAfter(date + 1);
+            int numMoved = size - row;
+            System.arraycopy(currencyIds, row, currencyIds, row + 1, numMoved);
+            System.arraycopy(paymentMethodIds, row, paymentMethodIds, row + 1, numMoved);
+            System.arraycopy(prices, row, prices, row + 1, numMoved);
+            System.arraycopy(amounts, row, amounts, row + 1, numMoved);
+            System.arraycopy(volumes, row, volumes, row + 1, numMoved);
+            System.arraycopy(dates, row, dates, row + 1, numMoved);
+            System.arraycopy(tradeStatistics, row, tradeStatistics, row + 1, numMoved);
+        }
+
+        currencyIds[row] = getId(item.getCurrency(), currencyCodes, currencyIdByCode);
+        paymentMethodIds[row] = getId(item.getPaymentMethod(), paymentMethods, paymentMethodIdByName);
+        prices[row] = item.getPrice();
+        amounts[row] = item.getAmount();
+        volumes[row] = item.getTradeVolume().getValue();
+        dates[row] = date;
+        tradeStatistics[row] = item;
+        size++;
+    }
+
+    // Adds a batch of trade statistics in one step. Sorting once is cheaper than inserting older trades one by one.
+    synchronized void addAll(List<TradeStatistics3> items) {
+        List<TradeStatistics3> sorted = new ArrayList<>(getAllTradeStatistics());
+        sorted.addAll(items);
+        sorted.sort((o1, o2) -> Long.compare(o1.getDateAsLong(), o2.getDateAsLong()));
+        clear();
+        sorted.forEach(this::add);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " is out of range, size is " + size);
+        }
+        return row;
+    }
+
+    private void clear() {
+        Arrays.fill(tradeStatistics, 0, size, null);
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = dates.length * 2;
+        currencyIds = Arrays.copyOf(currencyIds, capacity);
+        paymentMethodIds = Arrays.copyOf(paymentMethodIds, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+        dates = Arrays.copyOf(dates, capacity);
+        tradeStatistics = Arrays.copyOf(tradeStatistics, capacity);
+    }
+
+    private static int getId(String value, List<String> values, Map<String, Integer> idByValue) {
+        Integer id = idByValue.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            idByValue.put(value, id);
+        }
+        return id;
+    }
+}
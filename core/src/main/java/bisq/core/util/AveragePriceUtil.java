@@ -21,6 +21,7 @@ import bisq.core.monetary.Altcoin;
 import bisq.core.monetary.Price;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
+import bisq.core.trade.statistics.TradeStatisticsTable;
 import bisq.core.user.Preferences;
 
 import bisq.common.util.MathUtils;
@@ -43,19 +44,15 @@ public class AveragePriceUtil {
                                                             TradeStatisticsManager tradeStatisticsManager,
                                                             int days) {
         double percentToTrim = Math.max(0, Math.min(49, preferences.getBsqAverageTrimThreshold() * 100));
-        Date pastXDays = getPastDate(days);
-        List<TradeStatistics3> bsqAllTradePastXDays = tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                .filter(e -> e.getCurrency().equals("BSQ"))
-                .filter(e -> e.getDate().after(pastXDays))
-                .collect(Collectors.toList());
+        // Trades after the past date
+        long fromDate = getPastDate(days).getTime() + 1;
+        TradeStatisticsTable tradeStatisticsTable = tradeStatisticsManager.getTradeStatisticsTable();
+        List<TradeStatistics3> bsqAllTradePastXDays = tradeStatisticsTable.getTradeStatistics("BSQ", fromDate, Long.MAX_VALUE);
         List<TradeStatistics3> bsqTradePastXDays = percentToTrim > 0 ?
                 removeOutliers(bsqAllTradePastXDays, percentToTrim) :
                 bsqAllTradePastXDays;
 
-        List<TradeStatistics3> usdAllTradePastXDays = tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                .filter(e -> e.getCurrency().equals("USD"))
-                .filter(e -> e.getDate().after(pastXDays))
-                .collect(Collectors.toList());
+        List<TradeStatistics3> usdAllTradePastXDays = tradeStatisticsTable.getTradeStatistics("USD", fromDate, Long.MAX_VALUE);
         List<TradeStatistics3> usdTradePastXDays = percentToTrim > 0 ?
                 removeOutliers(usdAllTradePastXDays, percentToTrim) :
                 usdAllTradePastXDays;
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.model;
+
+import bisq.common.persistence.PersistenceManager;
+
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.crypto.HDKeyDerivation;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class AddressEntryListTest {
+    private AddressEntryList addressEntryList;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        addressEntryList = new AddressEntryList(mock(PersistenceManager.class));
+    }
+
+    @Test
+    public void testLookupsFollowSwaps() {
+        AddressEntry available = new AddressEntry(getKey("key1"), AddressEntry.Context.AVAILABLE, true);
+        addressEntryList.addAddressEntry(available);
+        addressEntryList.addAddressEntry(new AddressEntry(getKey("key2"), AddressEntry.Context.AVAILABLE, false));
+        assertEquals(2, addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).size());
+
+        AddressEntry offerFunding = addressEntryList.swapAvailableToAddressEntryWithOfferId(available,
+                AddressEntry.Context.OFFER_FUNDING, "offer1");
+        assertEquals(1, addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).size());
+        assertEquals(offerFunding,
+                addressEntryList.findAddressEntry("offer1", AddressEntry.Context.OFFER_FUNDING).get());
+        assertFalse(addressEntryList.findAddressEntry("offer1", AddressEntry.Context.MULTI_SIG).isPresent());
+        assertEquals(offerFunding, addressEntryList.findAddressEntryByAddress(available.getAddressString(),
+                AddressEntry.Context.OFFER_FUNDING).get());
+
+        addressEntryList.swapToAvailable(offerFunding);
+        assertFalse(addressEntryList.findAddressEntry("offer1", AddressEntry.Context.OFFER_FUNDING).isPresent());
+        assertEquals(2, addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).size());
+        assertTrue(addressEntryList.findAddressEntryByAddress(available.getAddressString(),
+                AddressEntry.Context.AVAILABLE).isPresent());
+    }
+
+    @Test
+    public void testEntryWithSameOfferIdAndContextIsNotAdded() {
+        addressEntryList.addAddressEntry(new AddressEntry(getKey("key1"), AddressEntry.Context.MULTI_SIG, "offer1", true));
+        addressEntryList.addAddressEntry(new AddressEntry(getKey("key2"), AddressEntry.Context.MULTI_SIG, "offer1", true));
+
+        assertEquals(1, addressEntryList.getAddressEntries("offer1", AddressEntry.Context.MULTI_SIG).size());
+        assertEquals(1, addressEntryList.getAddressEntriesAsListImmutable().size());
+    }
+
+    private static DeterministicKey getKey(String seed) {
+        return HDKeyDerivation.createMasterPrivateKey((seed + "0123456789abcdef").getBytes(StandardCharsets.UTF_8));
+    }
+}
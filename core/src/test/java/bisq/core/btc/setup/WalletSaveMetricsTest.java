@@ -0,0 +1,80 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.btc.setup;
+
+import bisq.common.config.Config;
+
+import org.bitcoinj.params.RegTestParams;
+
+import java.nio.file.Files;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WalletSaveMetricsTest {
+
+    @Test
+    public void testNoSaves() {
+        WalletSaveMetrics metrics = new WalletSaveMetrics("BtcWallet");
+        assertEquals("BtcWallet", metrics.getWalletName());
+        assertEquals(0, metrics.getNumSaves());
+        assertEquals(0, metrics.getLastSaveDurationMs());
+        assertEquals(0, metrics.getAverageSaveDurationMs());
+        assertEquals(0, metrics.getMaxSaveDurationMs());
+    }
+
+    @Test
+    public void testSavesAreRecorded() throws Exception {
+        WalletSaveMetrics metrics = new WalletSaveMetrics("BtcWallet");
+        File walletFile = File.createTempFile("wallet", null);
+        walletFile.deleteOnExit();
+
+        metrics.onBeforeAutoSave(walletFile);
+        Thread.sleep(20);
+        metrics.onAfterAutoSave(walletFile);
+        long firstDuration = metrics.getLastSaveDurationMs();
+        assertTrue(firstDuration >= 20);
+
+        metrics.onBeforeAutoSave(walletFile);
+        metrics.onAfterAutoSave(walletFile);
+
+        assertEquals(2, metrics.getNumSaves());
+        assertTrue(metrics.getLastSaveDurationMs() < firstDuration);
+        assertEquals(firstDuration, metrics.getMaxSaveDurationMs());
+        assertEquals((firstDuration + metrics.getLastSaveDurationMs()) / 2, metrics.getAverageSaveDurationMs());
+    }
+
+    @Test
+    public void testWalletSaveDelayIsSetAtWalletConfig() throws Exception {
+        File directory = Files.createTempDirectory("wallet").toFile();
+        WalletConfig walletConfig = new WalletConfig(RegTestParams.get(), directory, "bisq");
+        assertEquals(Config.DEFAULT_WALLET_SAVE_DELAY_SEC, walletConfig.walletSaveDelaySec);
+
+        walletConfig.setWalletSaveDelaySec(30);
+        assertEquals(30, walletConfig.walletSaveDelaySec);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWalletSaveDelayMustBePositive() throws Exception {
+        File directory = Files.createTempDirectory("wallet").toFile();
+        new WalletConfig(RegTestParams.get(), directory, "bisq").setWalletSaveDelaySec(0);
+    }
+}
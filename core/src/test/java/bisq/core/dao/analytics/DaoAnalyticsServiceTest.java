@@ -0,0 +1,221 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.analytics;
+
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.GenesisTxInfo;
+import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+import bisq.core.dao.state.model.blockchain.TxType;
+import bisq.core.dao.state.model.governance.Cycle;
+import bisq.core.dao.state.model.governance.DaoPhase;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.IssuanceType;
+import bisq.core.trade.statistics.TradeStatisticsManager;
+import bisq.core.util.coin.BsqFormatter;
+
+import bisq.common.persistence.PersistenceManager;
+
+import org.bitcoinj.core.Coin;
+
+import javafx.collections.FXCollections;
+
+import com.google.common.collect.ImmutableList;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DaoAnalyticsServiceTest {
+    private static final long DAY = 86_400_000L;
+    // 2020-09-13T12:26:40Z
+    private static final long TIME = 1600000000000L;
+    private static final long FIRST_DAY = 1599955200L;
+    private static final long SECOND_DAY = FIRST_DAY + DAY / 1000;
+
+    private DaoStateService daoStateService;
+    private DaoAnalyticsService daoAnalyticsService;
+
+    @Before
+    public void setUp() {
+        daoStateService = new DaoStateService(new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        TradeStatisticsManager tradeStatisticsManager = mock(TradeStatisticsManager.class);
+        when(tradeStatisticsManager.getObservableTradeStatisticsSet()).thenReturn(FXCollections.observableSet());
+        daoAnalyticsService = new DaoAnalyticsService(daoStateService,
+                tradeStatisticsManager,
+                mock(PersistenceManager.class),
+                ZoneOffset.UTC);
+    }
+
+    @Test
+    public void testAggregatesByDay() {
+        Block block = addBlock(100, TIME, "hash100",
+                getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200, 100, TIME),
+                getTx("proofOfBurnTx", TxType.PROOF_OF_BURN, 300, 100, TIME),
+                getTx("invalidTx", TxType.INVALID, 400, 100, TIME));
+        daoStateService.addCycle(new Cycle(100, ImmutableList.of(new DaoPhase(DaoPhase.Phase.PROPOSAL, 10))));
+        Block nextBlock = addBlock(101, TIME + DAY, "hash101",
+                getTx("nextTradeFeeTx", TxType.PAY_TRADE_FEE, 50, 101, TIME + DAY));
+        // Issuance is assigned to the first block of the cycle
+        daoStateService.addIssuance(new Issuance("compensationTx", 101, 1000, null, IssuanceType.COMPENSATION));
+        daoAnalyticsService.onParseBlockCompleteAfterBatchProcessing(block);
+        daoAnalyticsService.onParseBlockCompleteAfterBatchProcessing(nextBlock);
+
+        assertEquals(Map.of(FIRST_DAY, 200L, SECOND_DAY, 50L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+        assertEquals(Map.of(FIRST_DAY, 300L), getByDay(DaoDailyAggregate::getProofOfBurn));
+        assertEquals(Map.of(FIRST_DAY, 500L, SECOND_DAY, 50L), getByDay(DaoDailyAggregate::getBurntFee));
+        assertEquals(Map.of(FIRST_DAY, 1000L), getByDay(DaoDailyAggregate::getCompensation));
+        assertTrue(getByDay(DaoDailyAggregate::getReimbursement).isEmpty());
+
+        assertEquals(Map.of(0L, 250L), daoAnalyticsService.getDaoDataByInterval(DaoDailyAggregate::getBsqTradeFee,
+                day -> 0, interval -> true));
+        assertEquals(Map.of(SECOND_DAY, 50L), daoAnalyticsService.getDaoDataByInterval(DaoDailyAggregate::getBsqTradeFee,
+                day -> day, interval -> interval > FIRST_DAY));
+    }
+
+    @Test
+    public void testAggregatesAreUpdatedAtParseBlockChainComplete() {
+        // The store reflects block 100 from the previous session
+        Block block = addBlock(100, TIME, "hash100", getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200, 100, TIME));
+        daoAnalyticsService.onParseBlockCompleteAfterBatchProcessing(block);
+        // Block 101 gets parsed in the batch at startup
+        addBlock(101, TIME + DAY, "hash101", getTx("nextTradeFeeTx", TxType.PAY_TRADE_FEE, 50, 101, TIME + DAY));
+        daoAnalyticsService.start();
+        assertEquals(Map.of(FIRST_DAY, 200L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+
+        daoAnalyticsService.onParseBlockChainComplete();
+
+        assertEquals(Map.of(FIRST_DAY, 200L, SECOND_DAY, 50L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+    }
+
+    @Test
+    public void testAggregatesAreBuiltAtParseBlockChainCompleteOfFreshInstall() {
+        addBlock(100, TIME, "hash100",
+                getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200, 100, TIME),
+                getTx("proofOfBurnTx", TxType.PROOF_OF_BURN, 300, 100, TIME));
+        daoStateService.addCycle(new Cycle(100, ImmutableList.of(new DaoPhase(DaoPhase.Phase.PROPOSAL, 10))));
+        daoStateService.addIssuance(new Issuance("compensationTx", 100, 1000, null, IssuanceType.COMPENSATION));
+        daoAnalyticsService.start();
+
+        daoAnalyticsService.onParseBlockChainComplete();
+
+        assertEquals(Map.of(FIRST_DAY, 200L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+        assertEquals(Map.of(FIRST_DAY, 300L), getByDay(DaoDailyAggregate::getProofOfBurn));
+        assertEquals(Map.of(FIRST_DAY, 500L), getByDay(DaoDailyAggregate::getBurntFee));
+        assertEquals(Map.of(FIRST_DAY, 1000L), getByDay(DaoDailyAggregate::getCompensation));
+    }
+
+    @Test
+    public void testAggregatesAreRebuiltAfterReorg() {
+        addBlock(100, TIME, "hash100", getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200, 100, TIME));
+        Block block = addBlock(101, TIME + DAY, "hash101",
+                getTx("nextTradeFeeTx", TxType.PAY_TRADE_FEE, 50, 101, TIME + DAY));
+        daoAnalyticsService.onParseBlockCompleteAfterBatchProcessing(block);
+        assertEquals(Map.of(FIRST_DAY, 200L, SECOND_DAY, 50L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+
+        assertTrue(daoStateService.rollBackToHeight(100));
+        block = addBlock(101, TIME + DAY, "otherHash101",
+                getTx("otherTradeFeeTx", TxType.PAY_TRADE_FEE, 10, 101, TIME + DAY));
+        daoAnalyticsService.onParseBlockCompleteAfterBatchProcessing(block);
+        assertEquals(Map.of(FIRST_DAY, 200L, SECOND_DAY, 10L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+
+        block = addBlock(102, TIME + DAY, "hash102",
+                getTx("lastTradeFeeTx", TxType.PAY_TRADE_FEE, 5, 102, TIME + DAY));
+        daoAnalyticsService.onParseBlockCompleteAfterBatchProcessing(block);
+        assertEquals(Map.of(FIRST_DAY, 200L, SECOND_DAY, 15L), getByDay(DaoDailyAggregate::getBsqTradeFee));
+    }
+
+    @Test
+    public void testToDay() {
+        assertEquals(FIRST_DAY, DaoAnalyticsService.toDay(TIME, ZoneOffset.UTC));
+        assertEquals(FIRST_DAY, DaoAnalyticsService.toDay(FIRST_DAY * 1000, ZoneOffset.UTC));
+        assertEquals(FIRST_DAY - DAY / 1000, DaoAnalyticsService.toDay(FIRST_DAY * 1000 - 1, ZoneOffset.UTC));
+        // 2020-09-14T00:26:40+12:00
+        assertEquals(SECOND_DAY - 12 * 3600, DaoAnalyticsService.toDay(TIME, ZoneId.of("Pacific/Auckland")));
+    }
+
+    @Test
+    public void testStoreProtoRoundTrip() {
+        DaoAnalyticsStore store = new DaoAnalyticsStore();
+        store.setZoneId("UTC");
+        store.setChainHeight(101);
+        store.setBlockHash("hash101");
+        DaoDailyAggregate aggregate = new DaoDailyAggregate(FIRST_DAY);
+        aggregate.addCompensation(1);
+        aggregate.addReimbursement(2);
+        aggregate.addBsqTradeFee(3);
+        aggregate.addProofOfBurn(4);
+        aggregate.addBurntFee(7);
+        store.getAggregateByDay().put(FIRST_DAY, aggregate);
+
+        DaoAnalyticsStore fromProto = DaoAnalyticsStore.fromProto(
+                ((protobuf.PersistableEnvelope) store.toProtoMessage()).getDaoAnalyticsStore());
+
+        assertEquals("UTC", fromProto.getZoneId());
+        assertEquals(101, fromProto.getChainHeight());
+        assertEquals("hash101", fromProto.getBlockHash());
+        assertEquals(store.getAggregateByDay(), fromProto.getAggregateByDay());
+    }
+
+    private Map<Long, Long> getByDay(ToLongFunction<DaoDailyAggregate> valueFunction) {
+        return daoAnalyticsService.getDaoDataByInterval(valueFunction, day -> day, interval -> true);
+    }
+
+    private Block addBlock(int height, long time, String hash, Tx... txs) {
+        Block block = new Block(height, time, hash, "hash" + (height - 1));
+        daoStateService.onNewBlockHeight(height);
+        daoStateService.onNewBlockWithEmptyTxs(block);
+        for (Tx tx : txs) {
+            daoStateService.onNewTxForLastBlock(block, tx);
+        }
+        return block;
+    }
+
+    private static Tx getTx(String txId, TxType txType, long burntBsq, int height, long time) {
+        return Tx.fromProto(protobuf.BaseTx.newBuilder()
+                .setTxVersion("1")
+                .setId(txId)
+                .setBlockHeight(height)
+                .setBlockHash("hash" + height)
+                .setTime(time)
+                .setTx(protobuf.Tx.newBuilder()
+                        .setTxType(txType.toProtoMessage())
+                        .setBurntBsq(burntBsq)
+                        .addTxOutputs(protobuf.BaseTxOutput.newBuilder()
+                                .setTxId(txId)
+                                .setValue(1000)
+                                .setBlockHeight(height)
+                                .setTxOutput(protobuf.TxOutput.newBuilder()
+                                        .setTxOutputType(TxOutputType.BSQ_OUTPUT.toProtoMessage()))))
+                .build());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Bisq.
+ *
+ * bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.governance.voteresult;
+
+import bisq.core.dao.governance.blindvote.BlindVote;
+import bisq.core.dao.governance.votereveal.VoteRevealConsensus;
+
+import bisq.common.util.PermutationUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the permutation search for the majority blind vote list hash with the previous predicate based search
+ * for synthetic vote cycles. Our local list contains 2 blind votes which are not in the majority list.
+ */
+@Slf4j
+@Ignore("Benchmark, run manually")
+public class BlindVoteListPermutationBenchmark {
+    private static final int MAX_ITERATIONS = 1000000;
+
+    @Test
+    public void benchmark() {
+        for (int numBlindVotes : new int[]{100, 200, 300, 400, 500}) {
+            Random random = new Random(numBlindVotes);
+            List<BlindVote> blindVotes = getBlindVotes(numBlindVotes, random);
+            List<BlindVote> majorityList = new ArrayList<>(blindVotes);
+            majorityList.remove(numBlindVotes - 1 - random.nextInt(numBlindVotes / 10));
+            majorityList.remove(numBlindVotes / 2 + random.nextInt(numBlindVotes / 10));
+            byte[] majorityVoteListHash = VoteRevealConsensus.getHashOfBlindVoteList(majorityList);
+
+            long ts = System.currentTimeMillis();
+            List<BlindVote> result = PermutationUtil.findMatchingPermutation(majorityVoteListHash, blindVotes,
+                    (hash, variation) -> Arrays.equals(hash, VoteRevealConsensus.getHashOfBlindVoteList(variation)),
+                    MAX_ITERATIONS);
+            long predicateDuration = System.currentTimeMillis() - ts;
+            assertEquals(majorityList, result);
+
+            ts = System.currentTimeMillis();
+            result = PermutationUtil.findMatchingPermutationByHash(majorityVoteListHash, blindVotes,
+                    blindVote -> blindVote.toProtoMessage().toByteArray(), MAX_ITERATIONS);
+            long hashDuration = System.currentTimeMillis() - ts;
+            assertEquals(majorityList, result);
+
+            log.info("{} blind votes: predicate search took {} ms, hash search took {} ms",
+                    numBlindVotes, predicateDuration, hashDuration);
+        }
+    }
+
+    private static List<BlindVote> getBlindVotes(int numBlindVotes, Random random) {
+        List<BlindVote> blindVotes = new ArrayList<>();
+        for (int i = 0; i < numBlindVotes; i++) {
+            byte[] encryptedVotes = new byte[200 + random.nextInt(200)];
+            random.nextBytes(encryptedVotes);
+            byte[] encryptedMeritList = new byte[100 + random.nextInt(100)];
+            random.nextBytes(encryptedMeritList);
+            blindVotes.add(new BlindVote(encryptedVotes,
+                    String.format("%064x", i),
+                    10000 + random.nextInt(1000000),
+                    encryptedMeritList,
+                    1600000000000L + i,
+                    new HashMap<>()));
+        }
+        return blindVotes;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.explorer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JsonBlocksFileTest {
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("blocks", ".json");
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    @Test
+    public void testAppendedBlocksResultInValidJson() throws IOException {
+        JsonBlocksFile jsonBlocksFile = new JsonBlocksFile(file);
+        jsonBlocksFile.reset(100);
+        assertEquals(0, read().getAsJsonArray("blocks").size());
+
+        jsonBlocksFile.append(getBlocks(100, 2), 101);
+        jsonBlocksFile.append(new ArrayList<>(), 101);
+        jsonBlocksFile.append(getBlocks(102, 1), 102);
+
+        JsonObject json = read();
+        assertEquals(102, json.get("chainHeight").getAsInt());
+        assertEquals(3, json.getAsJsonArray("blocks").size());
+        assertEquals(102, json.getAsJsonArray("blocks").get(2).getAsJsonObject().get("height").getAsInt());
+    }
+
+    @Test
+    public void testResume() throws IOException {
+        JsonBlocksFile jsonBlocksFile = new JsonBlocksFile(file);
+        jsonBlocksFile.reset(100);
+        jsonBlocksFile.append(getBlocks(100, 2), 101);
+        long blocksArrayEnd = jsonBlocksFile.getBlocksArrayEnd();
+
+        JsonBlocksFile resumedJsonBlocksFile = new JsonBlocksFile(file);
+        assertFalse(resumedJsonBlocksFile.resume(file.length() + 1));
+        assertTrue(resumedJsonBlocksFile.resume(blocksArrayEnd));
+        resumedJsonBlocksFile.append(getBlocks(102, 1), 102);
+
+        assertEquals(3, read().getAsJsonArray("blocks").size());
+    }
+
+    private JsonObject read() throws IOException {
+        String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        return new Gson().fromJson(json, JsonObject.class);
+    }
+
+    private static List<JsonBlock> getBlocks(int startHeight, int numBlocks) {
+        List<JsonBlock> jsonBlocks = new ArrayList<>();
+        for (int height = startHeight; height < startHeight + numBlocks; height++) {
+            jsonBlocks.add(new JsonBlock(height, height * 600_000L, "hash" + height, "hash" + (height - 1),
+                    new ArrayList<>()));
+        }
+        return jsonBlocks;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import bisq.common.util.Utilities;
+
+import com.sun.net.httpserver.HttpServer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BlockPrefetcherTest {
+    private static final int NUM_THREADS = 4;
+    private static final int MAX_LOOK_AHEAD = 10;
+
+    private HttpServer stubRpcServer;
+    private ListeningExecutorService executor;
+    private final AtomicInteger numConcurrentRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+    private final AtomicInteger maxRequestedHeight = new AtomicInteger(-1);
+    private final AtomicInteger numRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        // Stub for the getblock RPC call of Bitcoin Core. Responds with the hash of the requested height after a
+        // random delay, so responses arrive out of order.
+        stubRpcServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubRpcServer.createContext("/block/", exchange -> {
+            int concurrent = numConcurrentRequests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+            numRequests.incrementAndGet();
+            try {
+                String path = exchange.getRequestURI().getPath();
+                int height = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+                maxRequestedHeight.accumulateAndGet(height, Math::max);
+                Thread.sleep((long) (Math.random() * 20));
+                byte[] response = ("hash" + height).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(response);
+                }
+            } catch (InterruptedException ignore) {
+            } finally {
+                numConcurrentRequests.decrementAndGet();
+            }
+        });
+        stubRpcServer.setExecutor(Utilities.getThreadPoolExecutor("StubRpcServer", 10, 10, 10));
+        stubRpcServer.start();
+
+        executor = Utilities.getListeningExecutorService("BlockPrefetcherTest", NUM_THREADS, NUM_THREADS, 10);
+    }
+
+    @After
+    public void tearDown() {
+        stubRpcServer.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBlocksAreDeliveredInHeightOrder() throws Exception {
+        BlockPrefetcher<RawBlock> blockPrefetcher = new BlockPrefetcher<>(this::fetchBlock, executor, NUM_THREADS, MAX_LOOK_AHEAD);
+        int startHeight = 100;
+        int chainHeight = 199;
+        for (int height = startHeight; height <= chainHeight; height++) {
+            RawBlock rawBlock = blockPrefetcher.requestBlock(height, chainHeight).get(5, TimeUnit.SECONDS);
+            assertEquals(height, rawBlock.getHeight());
+            assertEquals("hash" + height, rawBlock.getHash());
+
+            // We never fetch further than the look-ahead window or the chain height
+            assertTrue(maxRequestedHeight.get() <= Math.min(height + MAX_LOOK_AHEAD, chainHeight));
+            assertTrue(blockPrefetcher.getLookAheadDepth() <= MAX_LOOK_AHEAD);
+        }
+
+        // Each block got requested once, concurrently but within the limit of concurrent requests
+        assertEquals(chainHeight - startHeight + 1, numRequests.get());
+        assertTrue(maxConcurrentRequests.get() > 1);
+        assertTrue(maxConcurrentRequests.get() <= NUM_THREADS);
+        assertEquals(0, blockPrefetcher.getLookAheadDepth());
+        assertTrue(blockPrefetcher.getBlocksPerSecond() > 0);
+    }
+
+    @Test
+    public void testPrefetchedBlocksAreDiscardedAtNonConsecutiveRequest() throws Exception {
+        BlockPrefetcher<RawBlock> blockPrefetcher = new BlockPrefetcher<>(this::fetchBlock, executor, NUM_THREADS, MAX_LOOK_AHEAD);
+        assertEquals(100, blockPrefetcher.requestBlock(100, 1000).get(5, TimeUnit.SECONDS).getHeight());
+        assertEquals(101, blockPrefetcher.requestBlock(101, 1000).get(5, TimeUnit.SECONDS).getHeight());
+        assertTrue(blockPrefetcher.getLookAheadDepth() > 0);
+
+        // E.g. after a reorg we continue from an earlier height
+        assertEquals(50, blockPrefetcher.requestBlock(50, 1000).get(5, TimeUnit.SECONDS).getHeight());
+        assertEquals(51, blockPrefetcher.requestBlock(51, 1000).get(5, TimeUnit.SECONDS).getHeight());
+
+        blockPrefetcher.reset();
+        assertEquals(0, blockPrefetcher.getLookAheadDepth());
+        assertEquals(52, blockPrefetcher.requestBlock(52, 1000).get(5, TimeUnit.SECONDS).getHeight());
+    }
+
+    @Test
+    public void testFailedRequestIsReportedToConsumer() throws Exception {
+        BlockPrefetcher<RawBlock> blockPrefetcher = new BlockPrefetcher<>(height -> {
+            if (height == 3)
+                throw new RpcException("Block not found", null);
+            return fetchBlock(height);
+        }, executor, NUM_THREADS, MAX_LOOK_AHEAD);
+
+        assertEquals(1, blockPrefetcher.requestBlock(1, 10).get(5, TimeUnit.SECONDS).getHeight());
+        assertEquals(2, blockPrefetcher.requestBlock(2, 10).get(5, TimeUnit.SECONDS).getHeight());
+        try {
+            blockPrefetcher.requestBlock(3, 10).get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RpcException);
+        }
+        assertEquals(4, blockPrefetcher.requestBlock(4, 10).get(5, TimeUnit.SECONDS).getHeight());
+    }
+
+    private RawBlock fetchBlock(int height) throws Exception {
+        URL url = new URL("http://127.0.0.1:" + stubRpcServer.getAddress().getPort() + "/block/" + height);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try (InputStream inputStream = connection.getInputStream()) {
+            String hash = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            return new RawBlock(height, height * 600_000L, hash, "hash" + (height - 1), ImmutableList.of());
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.dao.node.full;
+
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+
+import org.bitcoinj.core.Block;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+import org.bitcoinj.crypto.TransactionSignature;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.script.ScriptBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Decodes a serialized mainnet size block with few BSQ txs, as a full DAO node does for each block. Compares
+ * converting only the BSQ tx candidates to RawTxs with converting all txs, as we do for the json format.
+ */
+@Slf4j
+@Ignore("Benchmark, run manually")
+public class RawBlockDecoderBenchmark {
+    private static final int NUM_TXS = 2500;
+    private static final int NUM_BSQ_TXS = 25;
+    private static final int NUM_WARM_UP_RUNS = 20;
+    private static final int NUM_RUNS = 100;
+    private static final String GENESIS_TX_ID = "0000000000000000000000000000000000000000000000000000000000000002";
+
+    @Test
+    public void benchmark() throws Exception {
+        NetworkParameters params = MainNetParams.get();
+        RawBlockDecoder rawBlockDecoder = new RawBlockDecoder(params);
+        Random random = new Random(1);
+        Set<TxOutputKey> unspentBsqTxOutputs = new HashSet<>();
+        byte[] serializedBlock = getBlock(params, random, unspentBsqTxOutputs).bitcoinSerialize();
+        Predicate<TxOutputKey> isUnspentBsqTxOutput = unspentBsqTxOutputs::contains;
+
+        for (int i = 0; i < NUM_WARM_UP_RUNS; i++) {
+            decode(rawBlockDecoder, serializedBlock, isUnspentBsqTxOutput);
+            decode(rawBlockDecoder, serializedBlock, txOutputKey -> true);
+        }
+
+        long ts = System.nanoTime();
+        for (int i = 0; i < NUM_RUNS; i++) {
+            assertEquals(NUM_BSQ_TXS, decode(rawBlockDecoder, serializedBlock, isUnspentBsqTxOutput).getRawTxs().size());
+        }
+        double candidatesDuration = (System.nanoTime() - ts) / 1e6 / NUM_RUNS;
+
+        ts = System.nanoTime();
+        for (int i = 0; i < NUM_RUNS; i++) {
+            assertEquals(NUM_TXS, decode(rawBlockDecoder, serializedBlock, txOutputKey -> true).getRawTxs().size());
+        }
+        double allTxsDuration = (System.nanoTime() - ts) / 1e6 / NUM_RUNS;
+
+        log.info("Decoding a block with {} txs and {} bytes took {} ms with {} BSQ tx candidates and {} ms with " +
+                        "all txs converted",
+                NUM_TXS, serializedBlock.length, candidatesDuration, NUM_BSQ_TXS, allTxsDuration);
+    }
+
+    private static RawBlock decode(RawBlockDecoder rawBlockDecoder,
+                                   byte[] serializedBlock,
+                                   Predicate<TxOutputKey> isUnspentBsqTxOutput) throws Exception {
+        Block btcBlock = rawBlockDecoder.decodeBlock(serializedBlock);
+        return rawBlockDecoder.toRawBlock(btcBlock, 700_000, isUnspentBsqTxOutput, GENESIS_TX_ID);
+    }
+
+    // Each tx has one P2PKH input and two P2PKH outputs. The BSQ txs spend an unspent BSQ output.
+    private static Block getBlock(NetworkParameters params, Random random, Set<TxOutputKey> unspentBsqTxOutputs) {
+        ECKey key = new ECKey();
+        TransactionSignature signature = new TransactionSignature(key.sign(Sha256Hash.ZERO_HASH),
+                Transaction.SigHash.ALL, false);
+        byte[] inputScript = ScriptBuilder.createInputScript(signature, key).getProgram();
+        LegacyAddress address = LegacyAddress.fromKey(params, key);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < NUM_TXS; i++) {
+            byte[] connectedTxId = new byte[32];
+            random.nextBytes(connectedTxId);
+            Sha256Hash connectedTxHash = Sha256Hash.wrap(connectedTxId);
+            if (i % (NUM_TXS / NUM_BSQ_TXS) == 0)
+                unspentBsqTxOutputs.add(new TxOutputKey(connectedTxHash.toString(), 0));
+
+            Transaction tx = new Transaction(params);
+            tx.addInput(new TransactionInput(params, tx, inputScript,
+                    new TransactionOutPoint(params, 0, connectedTxHash)));
+            tx.addOutput(Coin.valueOf(5000 + random.nextInt(100_000)), address);
+            tx.addOutput(Coin.valueOf(5000 + random.nextInt(100_000)), address);
+            transactions.add(tx);
+        }
+        return new Block(params, 1, Sha256Hash.ZERO_HASH, Sha256Hash.ZERO_HASH, 1600000000, 0x1d00ffffL, 0,
+                transactions);
+    }
+}
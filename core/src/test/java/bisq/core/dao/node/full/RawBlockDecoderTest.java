@@ -0,0 +1,194 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import bisq.core.dao.state.model.blockchain.PubKeyScript;
+import bisq.core.dao.state.model.blockchain.ScriptType;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+
+import org.bitcoinj.core.Block;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.SegwitAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+import org.bitcoinj.crypto.TransactionSignature;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.script.ScriptBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RawBlockDecoderTest {
+    private static final String BSQ_TX_ID = "0000000000000000000000000000000000000000000000000000000000000001";
+    private static final String GENESIS_TX_ID = "0000000000000000000000000000000000000000000000000000000000000002";
+
+    private NetworkParameters params;
+    private RawBlockDecoder rawBlockDecoder;
+    private ECKey key;
+    private Predicate<TxOutputKey> isUnspentBsqTxOutput;
+
+    @Before
+    public void setUp() {
+        params = MainNetParams.get();
+        rawBlockDecoder = new RawBlockDecoder(params);
+        key = new ECKey();
+        isUnspentBsqTxOutput = txOutputKey -> txOutputKey.equals(new TxOutputKey(BSQ_TX_ID, 0));
+    }
+
+    @Test
+    public void testOnlyBsqTxCandidatesAreDecoded() throws Exception {
+        Transaction bsqTx = getTx(BSQ_TX_ID, 0, ScriptBuilder.createOpReturnScript(new byte[]{0x01, 0x02}).getProgram());
+        Transaction childTx = getTx(bsqTx.getTxId().toString(), 0, null);
+        Transaction spendingSpentBsqOutputTx = getTx(BSQ_TX_ID, 1, null);
+        // An OP_RETURN output alone does not make a BSQ tx
+        Transaction btcTx = getTx("0000000000000000000000000000000000000000000000000000000000000003", 0,
+                ScriptBuilder.createOpReturnScript(new byte[]{0x01, 0x02}).getProgram());
+        Block btcBlock = new Block(params, 1, Sha256Hash.ZERO_HASH, Sha256Hash.ZERO_HASH, 1600000000, 0x1d00ffffL, 0,
+                Arrays.asList(btcTx, bsqTx, spendingSpentBsqOutputTx, childTx));
+
+        RawBlock rawBlock = rawBlockDecoder.toRawBlock(btcBlock, 100, isUnspentBsqTxOutput, GENESIS_TX_ID);
+
+        assertEquals(100, rawBlock.getHeight());
+        assertEquals(1600000000000L, rawBlock.getTime());
+        assertEquals(btcBlock.getHashAsString(), rawBlock.getHash());
+        assertEquals(Sha256Hash.ZERO_HASH.toString(), rawBlock.getPreviousBlockHash());
+        List<String> txIds = rawBlock.getRawTxs().stream().map(RawTx::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(bsqTx.getTxId().toString(), childTx.getTxId().toString()), txIds);
+
+        RawTx rawTx = rawBlock.getRawTxs().get(0);
+        assertEquals(100, rawTx.getBlockHeight());
+        assertEquals(1, rawTx.getTxInputs().size());
+        assertEquals(BSQ_TX_ID, rawTx.getTxInputs().get(0).getConnectedTxOutputTxId());
+        assertEquals(0, rawTx.getTxInputs().get(0).getConnectedTxOutputIndex());
+        assertEquals(key.getPublicKeyAsHex(), rawTx.getTxInputs().get(0).getPubKey());
+
+        RawTxOutput p2pkhOutput = rawTx.getRawTxOutputs().get(0);
+        assertEquals(5000, p2pkhOutput.getValue());
+        assertEquals(LegacyAddress.fromKey(params, key).toString(), p2pkhOutput.getAddress());
+        assertNull(p2pkhOutput.getOpReturnData());
+
+        RawTxOutput opReturnOutput = rawTx.getRawTxOutputs().get(1);
+        assertEquals(1, opReturnOutput.getIndex());
+        assertEquals("OP_RETURN 0102", opReturnOutput.getPubKeyScript().getAsm());
+        assertArrayEquals(new byte[]{0x01, 0x02}, opReturnOutput.getOpReturnData());
+        assertNull(opReturnOutput.getAddress());
+    }
+
+    @Test
+    public void testGenesisTxIsDecoded() {
+        Transaction genesisTx = getTx("0000000000000000000000000000000000000000000000000000000000000003", 0, null);
+        Set<String> noCandidates = Set.of();
+        assertTrue(RawBlockDecoder.isBsqTxCandidate(genesisTx, isUnspentBsqTxOutput, noCandidates,
+                genesisTx.getTxId().toString()));
+        assertFalse(RawBlockDecoder.isBsqTxCandidate(genesisTx, isUnspentBsqTxOutput, noCandidates, GENESIS_TX_ID));
+    }
+
+    @Test
+    public void testPubKeyScriptsHaveFormatOfBitcoinCore() throws Exception {
+        byte[] pubKeyHash = key.getPubKeyHash();
+
+        PubKeyScript p2pkh = rawBlockDecoder.getPubKeyScript(
+                ScriptBuilder.createOutputScript(LegacyAddress.fromKey(params, key)).getProgram());
+        assertEquals(ScriptType.PUB_KEY_HASH, p2pkh.getScriptType());
+        assertEquals(1, p2pkh.getReqSigs());
+        assertEquals("OP_DUP OP_HASH160 " + HEX.encode(pubKeyHash) + " OP_EQUALVERIFY OP_CHECKSIG", p2pkh.getAsm());
+        assertEquals(LegacyAddress.fromKey(params, key).toString(), p2pkh.getAddresses().get(0));
+
+        PubKeyScript p2sh = rawBlockDecoder.getPubKeyScript(
+                ScriptBuilder.createOutputScript(LegacyAddress.fromScriptHash(params, pubKeyHash)).getProgram());
+        assertEquals(ScriptType.SCRIPT_HASH, p2sh.getScriptType());
+        assertEquals("OP_HASH160 " + HEX.encode(pubKeyHash) + " OP_EQUAL", p2sh.getAsm());
+        assertEquals(LegacyAddress.fromScriptHash(params, pubKeyHash).toString(), p2sh.getAddresses().get(0));
+
+        SegwitAddress segwitAddress = SegwitAddress.fromKey(params, key);
+        PubKeyScript p2wpkh = rawBlockDecoder.getPubKeyScript(ScriptBuilder.createOutputScript(segwitAddress).getProgram());
+        assertEquals(ScriptType.WITNESS_V0_KEYHASH, p2wpkh.getScriptType());
+        assertEquals("0 " + HEX.encode(pubKeyHash), p2wpkh.getAsm());
+        assertEquals(segwitAddress.toBech32(), p2wpkh.getAddresses().get(0));
+
+        PubKeyScript nullData = rawBlockDecoder.getPubKeyScript(
+                ScriptBuilder.createOpReturnScript("BSQ data".getBytes(StandardCharsets.UTF_8)).getProgram());
+        assertEquals(ScriptType.NULL_DATA, nullData.getScriptType());
+        assertEquals(0, nullData.getReqSigs());
+        assertNull(nullData.getAddresses());
+    }
+
+    @Test
+    public void testAsmOfSmallPushes() throws Exception {
+        // Pushes of up to 4 bytes are shown as numbers
+        assertEquals("OP_RETURN 0", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x00}, false));
+        assertEquals("OP_RETURN 0", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x01, 0x00}, false));
+        assertEquals("OP_RETURN 5", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x01, 0x05}, false));
+        assertEquals("OP_RETURN -1", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x01, (byte) 0x81}, false));
+        assertEquals("OP_RETURN 258", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x02, 0x02, 0x01}, false));
+        assertEquals("OP_RETURN 16 -1", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x60, 0x4f}, false));
+        assertEquals("OP_RETURN 0102030405", RawBlockDecoder.getAsm(new byte[]{0x6a, 0x05, 1, 2, 3, 4, 5}, false));
+    }
+
+    @Test
+    public void testUnsupportedScripts() {
+        // Pay to pubkey
+        assertUnsupported(ScriptBuilder.createOutputScript(key).getProgram());
+        // Witness v1
+        assertUnsupported(HEX.decode("5120" + HEX.encode(Sha256Hash.ZERO_HASH.getBytes())));
+        // Truncated push
+        assertUnsupported(new byte[]{0x6a, 0x05, 0x01});
+    }
+
+    private void assertUnsupported(byte[] script) {
+        try {
+            rawBlockDecoder.getPubKeyScript(script);
+            fail("Expected UnsupportedScriptException");
+        } catch (RawBlockDecoder.UnsupportedScriptException ignore) {
+        }
+    }
+
+    private Transaction getTx(String connectedTxId, int connectedTxOutputIndex, byte[] opReturnScript) {
+        Transaction tx = new Transaction(params);
+        TransactionSignature signature = new TransactionSignature(key.sign(Sha256Hash.ZERO_HASH),
+                Transaction.SigHash.ALL, false);
+        tx.addInput(new TransactionInput(params, tx,
+                ScriptBuilder.createInputScript(signature, key).getProgram(),
+                new TransactionOutPoint(params, connectedTxOutputIndex, Sha256Hash.wrap(connectedTxId))));
+        tx.addOutput(Coin.valueOf(5000), LegacyAddress.fromKey(params, key));
+        if (opReturnScript != null)
+            tx.addOutput(Coin.ZERO, new org.bitcoinj.script.Script(opReturnScript));
+        return tx;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.messages;
+
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.full.RawTx;
+import bisq.core.dao.node.full.RawTxOutput;
+import bisq.core.dao.state.model.blockchain.PubKeyScript;
+import bisq.core.dao.state.model.blockchain.ScriptType;
+import bisq.core.dao.state.model.blockchain.TxInput;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompactBlocksCodecTest {
+
+    @Test
+    public void testDecodedBlocksAreEqualToEncodedBlocks() throws IOException {
+        List<RawBlock> rawBlocks = getBlocks(100, 20);
+
+        List<RawBlock> decodedBlocks = CompactBlocksCodec.decode(CompactBlocksCodec.encode(rawBlocks));
+
+        assertEquals(toProtos(rawBlocks), toProtos(decodedBlocks));
+    }
+
+    @Test
+    public void testEmptyBatch() throws IOException {
+        assertTrue(CompactBlocksCodec.decode(CompactBlocksCodec.encode(new ArrayList<>())).isEmpty());
+    }
+
+    @Test
+    public void testCompactFormatIsSmallerThanProtobufFormat() throws IOException {
+        List<RawBlock> rawBlocks = getBlocks(100, 200);
+        int protoSize = new GetBlocksResponse(rawBlocks, 1).toProtoNetworkEnvelope().getSerializedSize();
+        int compactSize = new GetBlocksResponse(CompactBlocksCodec.encode(rawBlocks), 1, false)
+                .toProtoNetworkEnvelope().getSerializedSize();
+
+        assertTrue("protoSize=" + protoSize + ", compactSize=" + compactSize, compactSize * 2 < protoSize);
+    }
+
+    @Test
+    public void testInvalidDataIsRejected() throws IOException {
+        byte[] compactBlocks = CompactBlocksCodec.encode(getBlocks(100, 5));
+        try {
+            CompactBlocksCodec.decode(Arrays.copyOf(compactBlocks, compactBlocks.length / 2));
+            fail("Expected IOException");
+        } catch (IOException ignore) {
+        }
+        try {
+            CompactBlocksCodec.decode(new byte[]{1, 2, 3});
+            fail("Expected IOException");
+        } catch (IOException ignore) {
+        }
+    }
+
+    @Test
+    public void testTruncatedDataWithLargeCountIsRejected() throws IOException {
+        // Format version 1 and a count of 1 000 000 blocks as varint, but no block data
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DeflaterOutputStream outputStream = new DeflaterOutputStream(byteArrayOutputStream)) {
+            outputStream.write(new byte[]{0x01, (byte) 0xC0, (byte) 0x84, 0x3D});
+        }
+        try {
+            CompactBlocksCodec.decode(byteArrayOutputStream.toByteArray());
+            fail("Expected IOException");
+        } catch (IOException ignore) {
+        }
+    }
+
+    // Each block has a tx spending the first output of the tx of the previous block
+    private static List<RawBlock> getBlocks(int startHeight, int numBlocks) {
+        List<RawBlock> rawBlocks = new ArrayList<>();
+        String previousBlockHash = null;
+        String previousTxId = "txId" + (startHeight - 1);
+        for (int height = startHeight; height < startHeight + numBlocks; height++) {
+            String blockHash = String.format("%064x", height);
+            String txId = String.format("%064x", height * 1000);
+            long time = 1600000000000L + height * 600_000L + (height % 3 == 0 ? -5000 : 0);
+            String pubKey = "02" + String.format("%064x", height % 4);
+            String address = "bc1qaddress" + (height % 4);
+            ImmutableList<TxInput> txInputs = ImmutableList.of(
+                    new TxInput(previousTxId, 0, pubKey),
+                    new TxInput(previousTxId, 2, null));
+            PubKeyScript pubKeyScript = new PubKeyScript(1, ScriptType.WITNESS_V0_KEYHASH, ImmutableList.of(address),
+                    "0 " + String.format("%040x", height % 4), "0014" + String.format("%040x", height % 4));
+            PubKeyScript opReturnScript = new PubKeyScript(0, ScriptType.NULL_DATA, null, "OP_RETURN 1401", "6a021401");
+            ImmutableList<RawTxOutput> outputs = ImmutableList.of(
+                    new RawTxOutput(0, 100_000L * height, txId, pubKeyScript, address, null, height),
+                    new RawTxOutput(1, 0, txId, opReturnScript, null, new byte[]{0x14, 0x01}, height),
+                    new RawTxOutput(2, 546, txId, null, null, null, height));
+            RawTx rawTx = new RawTx(txId, height, blockHash, time, txInputs, outputs);
+            rawBlocks.add(new RawBlock(height, time, blockHash, previousBlockHash, ImmutableList.of(rawTx)));
+            previousBlockHash = blockHash;
+            previousTxId = txId;
+        }
+        return rawBlocks;
+    }
+
+    private static List<protobuf.BaseBlock> toProtos(List<RawBlock> rawBlocks) {
+        return rawBlocks.stream().map(RawBlock::toProtoMessage).collect(Collectors.toList());
+    }
+}
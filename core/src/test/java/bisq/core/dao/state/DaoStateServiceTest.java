@@ -19,10 +19,19 @@ package bisq.core.dao.state;
 
 import bisq.core.dao.state.model.DaoState;
 import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.SpentInfo;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+import bisq.core.dao.state.model.blockchain.TxType;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.IssuanceType;
 import bisq.core.util.coin.BsqFormatter;
 
 import org.bitcoinj.core.Coin;
 
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -69,4 +78,212 @@ public class DaoStateServiceTest {
                 stateService.isBlockHashKnown("fakeblockhash4")
         );
     }
+
+    @Test
+    public void testBlockLookups() {
+        DaoStateService stateService = new DaoStateService(
+                new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        for (int height = 100; height < 110; height++) {
+            stateService.onNewBlockHeight(height);
+            stateService.onNewBlockWithEmptyTxs(new Block(height, 1534800000 + height,
+                    "fakeblockhash" + height, "fakeblockhash" + (height - 1)));
+        }
+
+        Assert.assertTrue(stateService.containsBlockHash("fakeblockhash105"));
+        Assert.assertFalse(stateService.containsBlockHash("fakeblockhash110"));
+        Assert.assertEquals(1534800105, stateService.getBlockTime(105));
+        Assert.assertEquals(0, stateService.getBlockTime(99));
+        Assert.assertEquals(0, stateService.getBlockTime(110));
+        Assert.assertEquals("fakeblockhash100", stateService.getBlockAtHeight(100).get().getHash());
+        Assert.assertEquals(109, stateService.getBlockHeightOfLastBlock());
+        Assert.assertTrue(stateService.containsBlock(stateService.getBlockAtHeight(103).get()));
+        Assert.assertFalse(stateService.containsBlock(new Block(103, 0, "otherhash", "fakeblockhash102")));
+
+        List<Block> blocks = stateService.getBlocksFromBlockHeight(107, 10);
+        Assert.assertEquals(3, blocks.size());
+        Assert.assertEquals(107, blocks.get(0).getHeight());
+        Assert.assertEquals(109, blocks.get(2).getHeight());
+
+        blocks = stateService.getBlocksFromBlockHeight(0, 2);
+        Assert.assertEquals(2, blocks.size());
+        Assert.assertEquals(100, blocks.get(0).getHeight());
+
+        Assert.assertTrue(stateService.getBlocksFromBlockHeight(110, 10).isEmpty());
+    }
+
+    @Test
+    public void testBlockIndexAfterApplySnapshot() {
+        DaoState snapshot = new DaoState();
+        snapshot.addBlock(new Block(100, 1534800100, "fakeblockhash100", "fakeblockhash99"));
+        snapshot.addBlock(new Block(101, 1534800101, "fakeblockhash101", "fakeblockhash100"));
+        snapshot.setChainHeight(101);
+
+        DaoStateService stateService = new DaoStateService(
+                new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        stateService.onNewBlockHeight(100);
+        stateService.onNewBlockWithEmptyTxs(new Block(100, 1534800100, "otherblockhash100", "fakeblockhash99"));
+        stateService.applySnapshot(snapshot);
+
+        Assert.assertFalse(stateService.isBlockHashKnown("otherblockhash100"));
+        Assert.assertTrue(stateService.isBlockHashKnown("fakeblockhash101"));
+        Assert.assertEquals(1534800101, stateService.getBlockTime(101));
+        Assert.assertEquals(2, stateService.getBlocks().size());
+    }
+
+    @Test
+    public void testTxIndexes() {
+        DaoStateService stateService = new DaoStateService(
+                new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        Block block = new Block(100, 1534800100, "fakeblockhash100", "fakeblockhash99");
+        stateService.onNewBlockHeight(100);
+        stateService.onNewBlockWithEmptyTxs(block);
+
+        Tx tradeFeeTx = getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200,
+                TxOutputType.BSQ_OUTPUT, TxOutputType.BTC_OUTPUT);
+        Tx lockupTx = getTx("lockupTx", TxType.LOCKUP, 0,
+                TxOutputType.LOCKUP_OUTPUT, TxOutputType.LOCKUP_OP_RETURN_OUTPUT);
+        Tx invalidTx = getTx("invalidTx", TxType.INVALID, 500, TxOutputType.INVALID_OUTPUT);
+        stateService.onNewTxForLastBlock(block, tradeFeeTx);
+        stateService.onNewTxForLastBlock(block, lockupTx);
+        stateService.onNewTxForLastBlock(block, invalidTx);
+
+        Assert.assertTrue(stateService.existsTxOutput(new TxOutputKey("tradeFeeTx", 1)));
+        Assert.assertFalse(stateService.existsTxOutput(new TxOutputKey("tradeFeeTx", 2)));
+        Assert.assertEquals(TxOutputType.LOCKUP_OP_RETURN_OUTPUT,
+                stateService.getTxOutput(new TxOutputKey("lockupTx", 1)).get().getTxOutputType());
+        Assert.assertEquals(1, stateService.getLockupTxOutputs().size());
+        Assert.assertEquals(lockupTx.getTxOutputs().get(0), stateService.getLockupTxOutputs().iterator().next());
+        Assert.assertTrue(stateService.getUnlockTxOutputs().isEmpty());
+
+        Assert.assertEquals(1, stateService.getTradeFeeTxs().size());
+        Assert.assertTrue(stateService.getTradeFeeTxs().contains(tradeFeeTx));
+        Assert.assertTrue(stateService.getProofOfBurnTxs().isEmpty());
+        Assert.assertEquals(1, stateService.getInvalidTxs().size());
+        // Burnt BSQ of invalid txs is not a burnt fee
+        Assert.assertEquals(1, stateService.getBurntFeeTxs().size());
+        Assert.assertTrue(stateService.getBurntFeeTxs().contains(tradeFeeTx));
+
+        // The indexes get restored from the tx cache of a snapshot
+        DaoStateService restoredStateService = new DaoStateService(
+                new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        restoredStateService.applySnapshot(stateService.getClone());
+        Assert.assertTrue(restoredStateService.existsTxOutput(new TxOutputKey("lockupTx", 0)));
+        Assert.assertEquals(1, restoredStateService.getLockupTxOutputs().size());
+        Assert.assertEquals(1, restoredStateService.getTradeFeeTxs().size());
+        Assert.assertEquals(1, restoredStateService.getBurntFeeTxs().size());
+    }
+
+    @Test
+    public void testRollBackToHeight() {
+        DaoStateService stateService = new DaoStateService(
+                new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        Block block = new Block(100, 1534800100, "fakeblockhash100", "fakeblockhash99");
+        stateService.onNewBlockHeight(100);
+        stateService.onNewBlockWithEmptyTxs(block);
+        Tx tradeFeeTx = getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200, TxOutputType.BSQ_OUTPUT);
+        stateService.onNewTxForLastBlock(block, tradeFeeTx);
+        stateService.addUnspentTxOutput(tradeFeeTx.getTxOutputs().get(0));
+        protobuf.DaoState stateAtHeight100 = stateService.getClone().getBsqStateBuilder().build();
+
+        // Block 101 spends the output of the trade fee tx and has an issuance
+        block = new Block(101, 1534800101, "fakeblockhash101", "fakeblockhash100");
+        stateService.onNewBlockHeight(101);
+        stateService.onNewBlockWithEmptyTxs(block);
+        Tx compReqTx = getTx("compReqTx", TxType.COMPENSATION_REQUEST, 0,
+                TxOutputType.BSQ_OUTPUT, TxOutputType.ISSUANCE_CANDIDATE_OUTPUT);
+        stateService.onNewTxForLastBlock(block, compReqTx);
+        stateService.removeUnspentTxOutput(tradeFeeTx.getTxOutputs().get(0));
+        stateService.setSpentInfo(new TxOutputKey("tradeFeeTx", 0), new SpentInfo(101, "compReqTx", 0));
+        compReqTx.getTxOutputs().forEach(stateService::addUnspentTxOutput);
+        stateService.addIssuance(new Issuance("compReqTx", 101, 1000, null, IssuanceType.COMPENSATION));
+
+        stateService.onNewBlockHeight(102);
+        stateService.onNewBlockWithEmptyTxs(new Block(102, 1534800102, "fakeblockhash102", "fakeblockhash101"));
+
+        Assert.assertFalse(stateService.rollBackToHeight(99));
+        Assert.assertTrue(stateService.rollBackToHeight(100));
+
+        Assert.assertEquals(100, stateService.getChainHeight());
+        Assert.assertFalse(stateService.isBlockHashKnown("fakeblockhash101"));
+        Assert.assertFalse(stateService.getTx("compReqTx").isPresent());
+        Assert.assertFalse(stateService.existsTxOutput(new TxOutputKey("compReqTx", 0)));
+        Assert.assertTrue(stateService.isUnspent(new TxOutputKey("tradeFeeTx", 0)));
+        Assert.assertEquals(stateAtHeight100, stateService.getClone().getBsqStateBuilder().build());
+
+        // After applying a snapshot we have no undo records
+        stateService.onNewBlockHeight(101);
+        stateService.onNewBlockWithEmptyTxs(new Block(101, 1534800101, "otherblockhash101", "fakeblockhash100"));
+        stateService.applySnapshot(stateService.getClone());
+        Assert.assertFalse(stateService.rollBackToHeight(100));
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByLaterBlocks() {
+        DaoStateService stateService = new DaoStateService(
+                new DaoState(),
+                new GenesisTxInfo("fakegenesistxid", 100, Coin.parseCoin("2.5").value),
+                new BsqFormatter());
+        Block block = new Block(100, 1534800100, "fakeblockhash100", "fakeblockhash99");
+        stateService.onNewBlockHeight(100);
+        stateService.onNewBlockWithEmptyTxs(block);
+        Tx tradeFeeTx = getTx("tradeFeeTx", TxType.PAY_TRADE_FEE, 200, TxOutputType.BSQ_OUTPUT);
+        stateService.onNewTxForLastBlock(block, tradeFeeTx);
+        stateService.addUnspentTxOutput(tradeFeeTx.getTxOutputs().get(0));
+        protobuf.DaoState stateAtHeight100 = stateService.getClone().getBsqStateBuilder().build();
+
+        DaoState snapshot = stateService.getSnapshot();
+        Assert.assertEquals(stateAtHeight100, snapshot.getBsqStateBuilder().build());
+
+        block = new Block(101, 1534800101, "fakeblockhash101", "fakeblockhash100");
+        stateService.onNewBlockHeight(101);
+        stateService.onNewBlockWithEmptyTxs(block);
+        Tx compReqTx = getTx("compReqTx", TxType.COMPENSATION_REQUEST, 0,
+                TxOutputType.BSQ_OUTPUT, TxOutputType.ISSUANCE_CANDIDATE_OUTPUT);
+        stateService.onNewTxForLastBlock(block, compReqTx);
+        stateService.removeUnspentTxOutput(tradeFeeTx.getTxOutputs().get(0));
+        stateService.setSpentInfo(new TxOutputKey("tradeFeeTx", 0), new SpentInfo(101, "compReqTx", 0));
+        compReqTx.getTxOutputs().forEach(stateService::addUnspentTxOutput);
+        stateService.addIssuance(new Issuance("compReqTx", 101, 1000, null, IssuanceType.COMPENSATION));
+
+        Assert.assertEquals(stateAtHeight100, snapshot.getBsqStateBuilder().build());
+
+        stateService.applySnapshot(snapshot);
+        Assert.assertEquals(100, stateService.getChainHeight());
+        Assert.assertFalse(stateService.getTx("compReqTx").isPresent());
+        Assert.assertTrue(stateService.isUnspent(new TxOutputKey("tradeFeeTx", 0)));
+        Assert.assertEquals(1, stateService.getTradeFeeTxs().size());
+    }
+
+    private static Tx getTx(String txId, TxType txType, long burntBsq, TxOutputType... txOutputTypes) {
+        protobuf.Tx.Builder txBuilder = protobuf.Tx.newBuilder()
+                .setTxType(txType.toProtoMessage())
+                .setBurntBsq(burntBsq);
+        for (int i = 0; i < txOutputTypes.length; i++) {
+            txBuilder.addTxOutputs(protobuf.BaseTxOutput.newBuilder()
+                    .setIndex(i)
+                    .setValue(1000)
+                    .setTxId(txId)
+                    .setBlockHeight(100)
+                    .setTxOutput(protobuf.TxOutput.newBuilder()
+                            .setTxOutputType(txOutputTypes[i].toProtoMessage())));
+        }
+        return Tx.fromProto(protobuf.BaseTx.newBuilder()
+                .setTxVersion("1")
+                .setId(txId)
+                .setBlockHeight(100)
+                .setBlockHash("fakeblockhash100")
+                .setTime(1534800100)
+                .setTx(txBuilder)
+                .build());
+    }
 }
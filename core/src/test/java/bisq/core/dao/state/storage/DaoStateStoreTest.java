@@ -0,0 +1,107 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state.storage;
+
+import bisq.core.dao.monitoring.model.DaoStateHash;
+import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+import bisq.core.dao.state.model.blockchain.TxType;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.IssuanceType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DaoStateStoreTest {
+
+    @Test
+    public void testWriterWritesSameDataAsProtoMessage() throws IOException {
+        DaoState daoState = new DaoState();
+        LinkedList<DaoStateHash> daoStateHashChain = new LinkedList<>();
+        for (int height = 100; height < 150; height++) {
+            Block block = new Block(height, 1534800000 + height, "blockHash" + height, "blockHash" + (height - 1));
+            Tx tx = getTx("txId" + height, height);
+            block.addTx(tx);
+            daoState.addBlock(block);
+            daoState.addToTxCache(tx);
+            TxOutput txOutput = tx.getTxOutputs().get(0);
+            daoState.getUnspentTxOutputMap().put(txOutput.getKey(), txOutput);
+            daoState.getIssuanceMap().put(tx.getId(), new Issuance(tx.getId(), height, 1000, null, IssuanceType.COMPENSATION));
+            daoStateHashChain.add(new DaoStateHash(height, new byte[]{(byte) height, 1, 2}, new byte[]{(byte) (height - 1)}));
+        }
+        daoState.setChainHeight(149);
+        DaoStateStore daoStateStore = new DaoStateStore(daoState, daoStateHashChain);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        daoStateStore.toProtoMessage().writeDelimitedTo(expected);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        daoStateStore.getWriter().writeDelimitedTo(written);
+
+        assertEquals(expected.size(), written.size());
+        protobuf.PersistableEnvelope parsed = parse(written);
+        assertEquals(parse(expected), parsed);
+        assertEquals(50, parsed.getDaoStateStore().getDaoState().getBlocksCount());
+        assertEquals(50, parsed.getDaoStateStore().getDaoStateHashCount());
+    }
+
+    @Test
+    public void testWriterWithEmptyDaoState() throws IOException {
+        DaoStateStore daoStateStore = new DaoStateStore(new DaoState(), new LinkedList<>());
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        daoStateStore.toProtoMessage().writeDelimitedTo(expected);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        daoStateStore.getWriter().writeDelimitedTo(written);
+
+        assertArrayEquals(expected.toByteArray(), written.toByteArray());
+    }
+
+    private static protobuf.PersistableEnvelope parse(ByteArrayOutputStream outputStream) throws IOException {
+        return protobuf.PersistableEnvelope.parseDelimitedFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    private static Tx getTx(String txId, int height) {
+        return Tx.fromProto(protobuf.BaseTx.newBuilder()
+                .setTxVersion("1")
+                .setId(txId)
+                .setBlockHeight(height)
+                .setBlockHash("blockHash" + height)
+                .setTime(1534800000 + height)
+                .setTx(protobuf.Tx.newBuilder()
+                        .setTxType(TxType.COMPENSATION_REQUEST.toProtoMessage())
+                        .addTxOutputs(protobuf.BaseTxOutput.newBuilder()
+                                .setIndex(0)
+                                .setValue(1000)
+                                .setTxId(txId)
+                                .setBlockHeight(height)
+                                .setTxOutput(protobuf.TxOutput.newBuilder()
+                                        .setTxOutputType(TxOutputType.ISSUANCE_CANDIDATE_OUTPUT.toProtoMessage()))))
+                .build());
+    }
+}
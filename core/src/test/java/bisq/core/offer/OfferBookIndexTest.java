@@ -0,0 +1,205 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+
+import java.time.Instant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static bisq.core.offer.OfferMaker.baseCurrencyCode;
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static bisq.core.offer.OfferMaker.counterCurrencyCode;
+import static bisq.core.offer.OfferMaker.direction;
+import static bisq.core.offer.OfferMaker.id;
+import static bisq.core.offer.OfferMaker.marketPriceMargin;
+import static bisq.core.offer.OfferMaker.price;
+import static bisq.core.offer.OfferMaker.useMarketBasedPrice;
+import static bisq.core.offer.OfferPayload.Direction.BUY;
+import static bisq.core.offer.OfferPayload.Direction.SELL;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OfferBookIndexTest {
+    private PriceFeedService priceFeedService;
+    private OfferBookIndex offerBookIndex;
+
+    @Before
+    public void setUp() {
+        OfferBookService offerBookService = mock(OfferBookService.class);
+        when(offerBookService.getOffers()).thenReturn(new ArrayList<>());
+        priceFeedService = mock(PriceFeedService.class);
+        offerBookIndex = new OfferBookIndex(offerBookService);
+    }
+
+    @Test
+    public void testBestOffersAreSortedByPrice() {
+        offerBookIndex.add(fixedPriceOffer("bid1", BUY, 100_0000L));
+        offerBookIndex.add(fixedPriceOffer("bid2", BUY, 102_0000L));
+        offerBookIndex.add(fixedPriceOffer("bid3", BUY, 101_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask1", SELL, 105_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask2", SELL, 103_0000L));
+
+        assertEquals(List.of("bid2", "bid3", "bid1"), getBestOfferIds(BUY, 10));
+        assertEquals(List.of("bid2", "bid3"), getBestOfferIds(BUY, 2));
+        assertEquals(List.of("ask2", "ask1"), getBestOfferIds(SELL, 10));
+        assertEquals(List.of(), getBestOfferIds(SELL, 0));
+    }
+
+    @Test
+    public void testRemoveOffer() {
+        offerBookIndex.add(fixedPriceOffer("ask1", SELL, 105_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask2", SELL, 103_0000L));
+
+        offerBookIndex.remove(fixedPriceOffer("ask2", SELL, 103_0000L));
+
+        assertEquals(List.of("ask1"), getBestOfferIds(SELL, 10));
+        assertEquals(1, offerBookIndex.size());
+
+        offerBookIndex.remove(fixedPriceOffer("ask1", SELL, 105_0000L));
+        assertNull(offerBookIndex.getBestOffer(SELL, "USD", offer -> true));
+    }
+
+    @Test
+    public void testFilterIsApplied() {
+        offerBookIndex.add(fixedPriceOffer("ask1", SELL, 103_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask2", SELL, 104_0000L));
+
+        Offer bestOffer = offerBookIndex.getBestOffer(SELL, "USD", offer -> !offer.getId().equals("ask1"));
+        assertEquals("ask2", bestOffer.getId());
+    }
+
+    @Test
+    public void testMarketBasedOffersAreMergedByPrice() {
+        when(priceFeedService.getMarketPrice("USD"))
+                .thenReturn(new MarketPrice("USD", 100, Instant.now().getEpochSecond(), true));
+
+        offerBookIndex.add(fixedPriceOffer("ask1", SELL, 101_0000L));
+        // 100 * (1 + 0.02) = 102
+        offerBookIndex.add(marketBasedPriceOffer("ask2", SELL, 0.02));
+        // 100 * (1 + 0.005) = 100.5
+        offerBookIndex.add(marketBasedPriceOffer("ask3", SELL, 0.005));
+        offerBookIndex.add(fixedPriceOffer("bid1", BUY, 97_0000L));
+        // 100 * (1 - 0.01) = 99
+        offerBookIndex.add(marketBasedPriceOffer("bid2", BUY, 0.01));
+        // 100 * (1 - 0.05) = 95
+        offerBookIndex.add(marketBasedPriceOffer("bid3", BUY, 0.05));
+
+        assertEquals(List.of("ask3", "ask1", "ask2"), getBestOfferIds(SELL, 10));
+        assertEquals(List.of("bid2", "bid1", "bid3"), getBestOfferIds(BUY, 10));
+    }
+
+    @Test
+    public void testMarketBasedOffersAreIgnoredWithoutMarketPrice() {
+        offerBookIndex.add(fixedPriceOffer("ask1", SELL, 101_0000L));
+        offerBookIndex.add(marketBasedPriceOffer("ask2", SELL, 0.02));
+
+        assertEquals(List.of("ask1"), getBestOfferIds(SELL, 10));
+    }
+
+    @Test
+    public void testPriceLevels() {
+        offerBookIndex.add(fixedPriceOffer("ask1", SELL, 103_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask2", SELL, 103_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask3", SELL, 104_0000L));
+        offerBookIndex.add(fixedPriceOffer("ask4", SELL, 105_0000L));
+
+        List<OfferBookIndex.PriceLevel> levels = offerBookIndex.getPriceLevels(SELL, "USD", 2, offer -> true);
+        assertEquals(2, levels.size());
+
+        OfferBookIndex.PriceLevel best = levels.get(0);
+        assertEquals(103_0000L, best.getPrice());
+        assertEquals(2, best.getNumOffers());
+        assertEquals(200000L, best.getAmount());
+        assertEquals(200000L, best.getCumulativeAmount());
+
+        OfferBookIndex.PriceLevel next = levels.get(1);
+        assertEquals(104_0000L, next.getPrice());
+        assertEquals(1, next.getNumOffers());
+        assertEquals(300000L, next.getCumulativeAmount());
+    }
+
+    @Test
+    public void testEachAltcoinIsAMarketOfItsOwn() {
+        offerBookIndex.add(fixedPriceOffer("bid1", BUY, 100_0000L));
+        Offer xmrOffer = altcoinOffer("xmrBid", "XMR", 70_0000L);
+        Offer ethOffer = altcoinOffer("ethBid", "ETH", 300_0000L);
+        offerBookIndex.add(xmrOffer);
+        offerBookIndex.add(ethOffer);
+
+        assertEquals(List.of("bid1"), getBestOfferIds(BUY, 10));
+        assertEquals(List.of(xmrOffer), offerBookIndex.getBestOffers(BUY, "XMR", 10, offer -> true));
+        assertEquals(List.of(ethOffer), offerBookIndex.getBestOffers(BUY, "eth", 10, offer -> true));
+        // Altcoin offers have BTC as counter currency, but there is no BTC market
+        assertNull(offerBookIndex.getBestOffer(BUY, "BTC", offer -> true));
+
+        List<OfferBookIndex.PriceLevel> xmrLevels = offerBookIndex.getPriceLevels(BUY, "XMR", 10, offer -> true);
+        assertEquals(1, xmrLevels.size());
+        assertEquals(1, xmrLevels.get(0).getNumOffers());
+
+        offerBookIndex.remove(xmrOffer);
+        assertNull(offerBookIndex.getBestOffer(BUY, "XMR", offer -> true));
+        assertEquals(List.of(ethOffer), offerBookIndex.getBestOffers(BUY, "ETH", 10, offer -> true));
+        assertEquals(2, offerBookIndex.size());
+    }
+
+    private List<String> getBestOfferIds(OfferPayload.Direction direction, int limit) {
+        return offerBookIndex.getBestOffers(direction, "USD", limit, offer -> true).stream()
+                .map(Offer::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Offer fixedPriceOffer(String offerId, OfferPayload.Direction offerDirection, long offerPrice) {
+        Offer offer = make(btcUsdOffer.but(with(id, offerId),
+                with(direction, offerDirection),
+                with(price, offerPrice)));
+        offer.setPriceFeedService(priceFeedService);
+        return offer;
+    }
+
+    private Offer altcoinOffer(String offerId, String altcoinCode, long offerPrice) {
+        Offer offer = make(btcUsdOffer.but(with(id, offerId),
+                with(direction, BUY),
+                with(baseCurrencyCode, altcoinCode),
+                with(counterCurrencyCode, "BTC"),
+                with(price, offerPrice)));
+        offer.setPriceFeedService(priceFeedService);
+        return offer;
+    }
+
+    private Offer marketBasedPriceOffer(String offerId, OfferPayload.Direction offerDirection, double margin) {
+        Offer offer = make(btcUsdOffer.but(with(id, offerId),
+                with(direction, offerDirection),
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, margin),
+                with(price, 0L)));
+        offer.setPriceFeedService(priceFeedService);
+        return offer;
+    }
+}
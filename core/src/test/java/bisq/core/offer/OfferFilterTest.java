@@ -0,0 +1,123 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.filter.Filter;
+import bisq.core.filter.FilterManager;
+import bisq.core.payment.PaymentAccount;
+import bisq.core.user.Preferences;
+import bisq.core.user.User;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OfferFilterTest {
+    private User user;
+    private Preferences preferences;
+    private ObjectProperty<Filter> filterProperty;
+    private ObservableSet<PaymentAccount> paymentAccounts;
+    private OfferFilter offerFilter;
+
+    @Before
+    public void setUp() {
+        user = mock(User.class);
+        paymentAccounts = FXCollections.observableSet(new HashSet<>());
+        when(user.getPaymentAccountsAsObservable()).thenReturn(paymentAccounts);
+        when(user.getPaymentAccounts()).thenReturn(paymentAccounts);
+
+        preferences = mock(Preferences.class);
+        when(preferences.getIgnoreTradersList()).thenReturn(new ArrayList<>());
+
+        FilterManager filterManager = mock(FilterManager.class);
+        filterProperty = new SimpleObjectProperty<>();
+        when(filterManager.filterProperty()).thenReturn(filterProperty);
+
+        offerFilter = new OfferFilter(user,
+                preferences,
+                filterManager,
+                mock(AccountAgeWitnessService.class),
+                mock(OfferBookService.class));
+    }
+
+    @Test
+    public void testResultIsCached() {
+        Offer offer = make(btcUsdOffer);
+
+        assertEquals(OfferFilter.Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER, offerFilter.canTakeOffer(offer, false));
+        assertEquals(OfferFilter.Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER, offerFilter.canTakeOffer(offer, false));
+        // A new offer instance wrapping the same payload is a cache hit as well.
+        assertEquals(OfferFilter.Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER,
+                offerFilter.canTakeOffer(new Offer(offer.getOfferPayload()), false));
+
+        verifyNumEvaluations(1);
+    }
+
+    @Test
+    public void testChangedPayloadIsNotCached() {
+        offerFilter.canTakeOffer(make(btcUsdOffer), false);
+        offerFilter.canTakeOffer(make(btcUsdOffer), false);
+
+        verifyNumEvaluations(2);
+    }
+
+    @Test
+    public void testCacheIsInvalidatedByInputChanges() {
+        Offer offer = make(btcUsdOffer);
+        offerFilter.canTakeOffer(offer, false);
+
+        PaymentAccount paymentAccount = mock(PaymentAccount.class);
+        paymentAccounts.add(paymentAccount);
+        paymentAccounts.remove(paymentAccount);
+        offerFilter.canTakeOffer(offer, false);
+        verifyNumEvaluations(2);
+
+        filterProperty.set(mock(Filter.class));
+        offerFilter.canTakeOffer(offer, false);
+        verifyNumEvaluations(3);
+
+        when(preferences.getIgnoreTradersList()).thenReturn(new ArrayList<>());
+        offerFilter.canTakeOffer(offer, false);
+        verifyNumEvaluations(4);
+
+        offerFilter.canTakeOffer(offer, false);
+        verifyNumEvaluations(4);
+    }
+
+    // Each evaluation of canTakeOffer without a payment account accesses the payment accounts twice.
+    private void verifyNumEvaluations(int numEvaluations) {
+        verify(user, times(2 * numEvaluations)).getPaymentAccounts();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.common.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static bisq.core.offer.OpenOfferBatchScheduler.TICK_INTERVAL_MS;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class OpenOfferBatchSchedulerTest {
+    private final List<OpenOffer> processed = new ArrayList<>();
+    private final List<OpenOffer> invalid = new ArrayList<>();
+    private boolean isNetworkReady;
+    private int numStartedTimers;
+    private Timer timer;
+    private OpenOfferBatchScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        isNetworkReady = true;
+        timer = mock(Timer.class);
+        // We do not start a real timer but call onTick in the tests
+        scheduler = new OpenOfferBatchScheduler("test",
+                processed::add,
+                openOffer -> !invalid.contains(openOffer),
+                () -> isNetworkReady,
+                runnable -> {
+                    numStartedTimers++;
+                    return timer;
+                });
+    }
+
+    @Test
+    public void testBatchSize() {
+        assertEquals(1, OpenOfferBatchScheduler.getBatchSize(1, 10));
+        assertEquals(1, OpenOfferBatchScheduler.getBatchSize(10, 10));
+        assertEquals(2, OpenOfferBatchScheduler.getBatchSize(11, 10));
+        assertEquals(100, OpenOfferBatchScheduler.getBatchSize(100, 1));
+        assertEquals(100, OpenOfferBatchScheduler.getBatchSize(100, 0));
+    }
+
+    @Test
+    public void testOffersAreSpreadOverTimeWindow() {
+        List<OpenOffer> openOffers = createOpenOffers(100);
+        // 10 ticks, so we expect 10 offers per tick
+        scheduler.schedule(openOffers, 10 * TICK_INTERVAL_MS);
+        assertEquals(10, processed.size());
+
+        scheduler.onTick();
+        assertEquals(20, processed.size());
+
+        for (int i = 0; i < 8; i++) {
+            scheduler.onTick();
+        }
+        assertEquals(openOffers, processed);
+        assertEquals(0, scheduler.getNumPending());
+        assertEquals(1, numStartedTimers);
+        verify(timer).stop();
+    }
+
+    @Test
+    public void testSkippedTicksAreCaughtUp() {
+        List<OpenOffer> openOffers = createOpenOffers(100);
+        isNetworkReady = false;
+        scheduler.schedule(openOffers, 10 * TICK_INTERVAL_MS);
+        for (int i = 0; i < 4; i++) {
+            scheduler.onTick();
+        }
+        assertEquals(0, processed.size());
+
+        // 5 ticks left for the 100 offers
+        isNetworkReady = true;
+        scheduler.onTick();
+        assertEquals(20, processed.size());
+    }
+
+    @Test
+    public void testInvalidOffersAreSkipped() {
+        List<OpenOffer> openOffers = createOpenOffers(10);
+        invalid.add(openOffers.get(3));
+        scheduler.schedule(openOffers, TICK_INTERVAL_MS);
+
+        assertEquals(9, processed.size());
+        assertEquals(0, scheduler.getNumPending());
+        // All offers got processed in the first batch, so no timer is needed
+        assertEquals(0, numStartedTimers);
+    }
+
+    @Test
+    public void testNewRunReplacesPendingOffers() {
+        scheduler.schedule(createOpenOffers(100), 10 * TICK_INTERVAL_MS);
+        List<OpenOffer> openOffers = createOpenOffers(10);
+        scheduler.schedule(openOffers, 10 * TICK_INTERVAL_MS);
+        assertEquals(9, scheduler.getNumPending());
+        // The running timer is used for the new run
+        assertEquals(1, numStartedTimers);
+
+        scheduler.stop();
+        assertEquals(0, scheduler.getNumPending());
+        verify(timer).stop();
+    }
+
+    private List<OpenOffer> createOpenOffers(int numOffers) {
+        return IntStream.range(0, numOffers)
+                .mapToObj(i -> mock(OpenOffer.class))
+                .collect(Collectors.toList());
+    }
+}
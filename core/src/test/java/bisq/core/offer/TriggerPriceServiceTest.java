@@ -0,0 +1,142 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static bisq.core.offer.OfferPayload.Direction.BUY;
+import static bisq.core.offer.OfferPayload.Direction.SELL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TriggerPriceServiceTest {
+    private TriggerPriceService.TriggerPrices triggerPrices;
+    // Fiat sell offers get triggered if the market price falls below the trigger price
+    private OpenOffer sellAt90;
+    private OpenOffer sellAt95;
+    // Fiat buy offers get triggered if the market price rises above the trigger price
+    private OpenOffer buyAt105;
+    private OpenOffer buyAt110;
+
+    @Before
+    public void setUp() {
+        triggerPrices = new TriggerPriceService.TriggerPrices();
+        sellAt90 = openOffer(SELL, 90);
+        sellAt95 = openOffer(SELL, 95);
+        buyAt105 = openOffer(BUY, 105);
+        buyAt110 = openOffer(BUY, 110);
+        triggerPrices.add(sellAt90);
+        triggerPrices.add(sellAt95);
+        triggerPrices.add(buyAt105);
+        triggerPrices.add(buyAt110);
+    }
+
+    @Test
+    public void testFirstPriceReturnsAllTriggered() {
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+    }
+
+    @Test
+    public void testOnlyCrossedTriggerPricesAreReturned() {
+        assertTrue(triggerPrices.getNewlyTriggered(100).isEmpty());
+        assertTrue(triggerPrices.getNewlyTriggered(100).isEmpty());
+
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+        // Falling further only crosses the next trigger price
+        assertEquals(List.of(sellAt90), triggerPrices.getNewlyTriggered(80));
+        assertTrue(triggerPrices.getNewlyTriggered(85).isEmpty());
+
+        assertEquals(List.of(buyAt105, buyAt110), triggerPrices.getNewlyTriggered(120));
+    }
+
+    @Test
+    public void testPriceAtTriggerPriceDoesNotTrigger() {
+        assertTrue(triggerPrices.getNewlyTriggered(100).isEmpty());
+        assertTrue(triggerPrices.getNewlyTriggered(95).isEmpty());
+        assertTrue(triggerPrices.getNewlyTriggered(105).isEmpty());
+    }
+
+    @Test
+    public void testRemovedOffersAreNotReturned() {
+        triggerPrices.getNewlyTriggered(100);
+        triggerPrices.remove(sellAt95);
+
+        assertEquals(List.of(sellAt90), triggerPrices.getNewlyTriggered(80));
+    }
+
+    @Test
+    public void testResetLastMarketPrice() {
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+        assertTrue(triggerPrices.getNewlyTriggered(94).isEmpty());
+
+        triggerPrices.resetLastMarketPrice();
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+    }
+
+    @Test
+    public void testCrossingWhileDeactivatedIsReturnedAfterActivation() {
+        assertTrue(triggerPrices.getNewlyTriggered(100).isEmpty());
+
+        // The offer gets deactivated for editing and the price crosses its trigger price
+        when(sellAt95.isDeactivated()).thenReturn(true);
+        assertTrue(triggerPrices.getNewlyTriggered(94).isEmpty());
+        assertTrue(triggerPrices.getNewlyTriggered(94).isEmpty());
+
+        // Editing got canceled, so the same offer is active again without a change of the price
+        when(sellAt95.isDeactivated()).thenReturn(false);
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+        assertTrue(triggerPrices.getNewlyTriggered(94).isEmpty());
+    }
+
+    @Test
+    public void testOfferDeactivatedByTriggerIsReturnedAfterActivation() {
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+        when(sellAt95.isDeactivated()).thenReturn(true);
+        triggerPrices.addTriggeredDeactivatedOffer(sellAt95);
+        assertTrue(triggerPrices.getNewlyTriggered(94).isEmpty());
+
+        when(sellAt95.isDeactivated()).thenReturn(false);
+        assertEquals(List.of(sellAt95), triggerPrices.getNewlyTriggered(94));
+    }
+
+    @Test
+    public void testRemovedDeactivatedOffersAreNotReturned() {
+        triggerPrices.getNewlyTriggered(100);
+        when(sellAt95.isDeactivated()).thenReturn(true);
+        triggerPrices.getNewlyTriggered(94);
+        triggerPrices.remove(sellAt95);
+
+        when(sellAt95.isDeactivated()).thenReturn(false);
+        assertTrue(triggerPrices.getNewlyTriggered(94).isEmpty());
+    }
+
+    private OpenOffer openOffer(OfferPayload.Direction direction, long triggerPrice) {
+        Offer offer = mock(Offer.class);
+        when(offer.getCurrencyCode()).thenReturn("USD");
+        when(offer.getDirection()).thenReturn(direction);
+        OpenOffer openOffer = mock(OpenOffer.class);
+        when(openOffer.getOffer()).thenReturn(offer);
+        when(openOffer.getTriggerPrice()).thenReturn(triggerPrice);
+        return openOffer;
+    }
+}
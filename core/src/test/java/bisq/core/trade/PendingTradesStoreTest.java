@@ -0,0 +1,261 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.trade;
+
+import bisq.common.UserThread;
+import bisq.common.file.CorruptedStorageFileHandler;
+import bisq.common.file.FileUtil;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.proto.persistable.PersistenceProtoResolver;
+
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PendingTradesStoreTest {
+    private static final String LEGACY_FILE_NAME = "PendingTrades";
+
+    private File storageDir;
+    private File tradesDir;
+    private PersistenceProtoResolver persistenceProtoResolver;
+    private Executor previousUserThreadExecutor;
+    private ExecutorService userThreadExecutor;
+
+    @Before
+    public void setUp() throws IOException {
+        storageDir = Files.createTempDirectory("PendingTradesStoreTest").toFile();
+        tradesDir = new File(storageDir, "pending_trades");
+        // Trades are stored as open offers holding the trade id and a version in the offer payload
+        persistenceProtoResolver = mock(PersistenceProtoResolver.class);
+        when(persistenceProtoResolver.fromProto(any(protobuf.PersistableEnvelope.class)))
+                .thenAnswer(invocation -> fromProto(invocation.getArgument(0)));
+        // The store expects its handlers to be called on a single user thread
+        previousUserThreadExecutor = UserThread.getExecutor();
+        userThreadExecutor = Executors.newSingleThreadExecutor();
+        UserThread.setExecutor(userThreadExecutor);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        shutDownPersistenceManagers();
+        UserThread.setExecutor(previousUserThreadExecutor);
+        userThreadExecutor.shutdownNow();
+        FileUtil.deleteDirectory(storageDir);
+    }
+
+    @Test
+    public void testLegacyFileIsMigratedToTradeFiles() throws Exception {
+        writeFile(storageDir, LEGACY_FILE_NAME, getTrade("trade1", 1), getTrade("trade2", 1));
+
+        Map<String, Long> versionById = readPersisted(newStore());
+
+        assertEquals(Map.of("trade1", 1L, "trade2", 1L), versionById);
+        File backup = new File(storageDir, "backup_of_migrated_data/" + LEGACY_FILE_NAME);
+        waitUntil(backup::exists);
+        assertFalse(new File(storageDir, LEGACY_FILE_NAME).exists());
+        assertEquals(1, readTradeFile("trade1"));
+        assertEquals(1, readTradeFile("trade2"));
+    }
+
+    @Test
+    public void testTradesAreReadFromTradeFilesAfterMigration() throws Exception {
+        writeFile(storageDir, LEGACY_FILE_NAME, getTrade("trade1", 1), getTrade("trade2", 1));
+        readPersisted(newStore());
+        waitUntil(() -> !new File(storageDir, LEGACY_FILE_NAME).exists());
+        shutDownPersistenceManagers();
+
+        Map<String, Long> versionById = readPersisted(newStore());
+
+        assertEquals(Map.of("trade1", 1L, "trade2", 1L), versionById);
+    }
+
+    @Test
+    public void testInterruptedMigrationKeepsTradeFiles() throws Exception {
+        // The trade file of trade1 got written with a newer state before the migration was interrupted
+        writeFile(storageDir, LEGACY_FILE_NAME, getTrade("trade1", 1), getTrade("trade2", 1));
+        assertTrue(tradesDir.mkdirs());
+        writeFile(tradesDir, "PendingTrade_trade1", getTrade("trade1", 2));
+
+        Map<String, Long> versionById = readPersisted(newStore());
+
+        assertEquals(Map.of("trade1", 2L, "trade2", 1L), versionById);
+        waitUntil(() -> !new File(storageDir, LEGACY_FILE_NAME).exists());
+        assertEquals(2, readTradeFile("trade1"));
+        assertEquals(1, readTradeFile("trade2"));
+    }
+
+    @Test
+    public void testTradeFileIsDeletedAtRemove() throws Exception {
+        PendingTradesStore store = newStore();
+        readPersisted(store);
+        Trade trade1 = getTrade("trade1", 1);
+        Trade trade2 = getTrade("trade2", 1);
+        runOnUserThread(() -> {
+            store.add(trade1);
+            store.add(trade2);
+        });
+        waitUntil(() -> readTradeFile("trade1") == 1 && readTradeFile("trade2") == 1);
+
+        runOnUserThread(() -> store.remove(trade1));
+
+        waitUntil(() -> readTradeFile("trade1") == -1);
+        assertEquals(1, readTradeFile("trade2"));
+    }
+
+    @Test
+    public void testOnlyTradesWithRequestedPersistenceAreWritten() throws Exception {
+        PendingTradesStore store = newStore();
+        readPersisted(store);
+        Trade trade1 = getTrade("trade1", 1);
+        Trade trade2 = getTrade("trade2", 1);
+        runOnUserThread(() -> {
+            store.add(trade1);
+            store.add(trade2);
+        });
+        waitUntil(() -> readTradeFile("trade1") == 1 && readTradeFile("trade2") == 1);
+
+        setVersion(trade1, 2);
+        setVersion(trade2, 2);
+        runOnUserThread(() -> store.requestPersistence(trade1));
+
+        waitUntil(() -> readTradeFile("trade1") == 2);
+        // The write delay of private data is 200 ms, so trade2 would have been written by now if it was requested
+        Thread.sleep(1000);
+        assertEquals(1, readTradeFile("trade2"));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Utils
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private PendingTradesStore newStore() {
+        return new PendingTradesStore(storageDir, persistenceProtoResolver, mock(CorruptedStorageFileHandler.class));
+    }
+
+    private Map<String, Long> readPersisted(PendingTradesStore store) throws Exception {
+        CompletableFuture<List<Trade>> future = new CompletableFuture<>();
+        runOnUserThread(() -> store.readPersisted(future::complete));
+        List<Trade> trades = future.get(10, TimeUnit.SECONDS);
+        assertEquals("Duplicate trades", trades.size(), trades.stream().map(Trade::getId).distinct().count());
+        return trades.stream().collect(Collectors.toMap(Trade::getId, PendingTradesStoreTest::getVersion));
+    }
+
+    private void writeFile(File dir, String fileName, Trade... trades) throws Exception {
+        TradableList<Trade> tradableList = new TradableList<>();
+        for (Trade trade : trades) {
+            tradableList.add(trade);
+        }
+        PersistenceManager<TradableList<Trade>> persistenceManager = newPersistenceManager(dir);
+        persistenceManager.initialize(tradableList, fileName, PersistenceManager.Source.PRIVATE);
+        CountDownLatch latch = new CountDownLatch(1);
+        persistenceManager.persistNow(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        persistenceManager.shutdown();
+    }
+
+    // Returns the version of the trade in its trade file or -1 if there is no trade file
+    private long readTradeFile(String tradeId) {
+        String fileName = "PendingTrade_" + tradeId;
+        if (!new File(tradesDir, fileName).exists()) {
+            return -1;
+        }
+        TradableList<Trade> persisted = newPersistenceManager(tradesDir).getPersisted(fileName);
+        return persisted == null ? -1 : getVersion(persisted.getList().get(0));
+    }
+
+    private PersistenceManager<TradableList<Trade>> newPersistenceManager(File dir) {
+        return new PersistenceManager<>(dir, persistenceProtoResolver, mock(CorruptedStorageFileHandler.class));
+    }
+
+    private void runOnUserThread(Runnable runnable) throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        UserThread.execute(() -> {
+            runnable.run();
+            future.complete(null);
+        });
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition not met in time", System.currentTimeMillis() < timeout);
+            Thread.sleep(50);
+        }
+    }
+
+    private static void shutDownPersistenceManagers() {
+        new ArrayList<>(PersistenceManager.ALL_PERSISTENCE_MANAGERS.values()).forEach(PersistenceManager::shutdown);
+    }
+
+    private static PersistableEnvelope fromProto(protobuf.PersistableEnvelope proto) {
+        TradableList<Trade> tradableList = new TradableList<>();
+        proto.getTradableList().getTradableList().stream()
+                .map(tradable -> tradable.getOpenOffer().getOffer().getOfferPayload())
+                .map(offerPayload -> getTrade(offerPayload.getId(), offerPayload.getPrice()))
+                .forEach(tradableList::add);
+        return tradableList;
+    }
+
+    private static Trade getTrade(String id, long version) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        setVersion(trade, version);
+        return trade;
+    }
+
+    private static void setVersion(Trade trade, long version) {
+        String id = trade.getId();
+        when(trade.toProtoMessage()).thenReturn(protobuf.Tradable.newBuilder()
+                .setOpenOffer(protobuf.OpenOffer.newBuilder()
+                        .setOffer(protobuf.Offer.newBuilder()
+                                .setOfferPayload(protobuf.OfferPayload.newBuilder()
+                                        .setId(id)
+                                        .setPrice(version))))
+                .build());
+    }
+
+    private static long getVersion(Trade trade) {
+        return ((protobuf.Tradable) trade.toProtoMessage()).getOpenOffer().getOffer().getOfferPayload().getPrice();
+    }
+}
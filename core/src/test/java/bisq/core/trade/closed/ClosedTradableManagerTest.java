@@ -0,0 +1,100 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.closed;
+
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.DumpDelayedPayoutTx;
+import bisq.core.trade.Tradable;
+import bisq.core.trade.Trade;
+
+import bisq.common.crypto.KeyRing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClosedTradableManagerTest {
+    private ClosedTradablesStore closedTradablesStore;
+    private ClosedTradableManager closedTradableManager;
+
+    @Before
+    public void setUp() {
+        closedTradablesStore = mock(ClosedTradablesStore.class);
+        closedTradableManager = new ClosedTradableManager(mock(KeyRing.class),
+                mock(PriceFeedService.class),
+                closedTradablesStore,
+                mock(CleanupMailboxMessages.class),
+                mock(DumpDelayedPayoutTx.class));
+    }
+
+    @Test
+    public void testGetTradableById() {
+        Trade trade = getTrade("trade1");
+        closedTradableManager.add(trade);
+        closedTradableManager.add(trade);
+
+        assertSame(trade, closedTradableManager.getTradableById("trade1").get());
+        assertFalse(closedTradableManager.getTradableById("trade2").isPresent());
+        verify(closedTradablesStore, times(1)).add(trade);
+
+        closedTradableManager.remove(trade);
+        assertFalse(closedTradableManager.getTradableById("trade1").isPresent());
+        verify(closedTradablesStore).remove(trade);
+    }
+
+    @Test
+    public void testGetClosedTradesPage() {
+        closedTradableManager.add(getTrade("trade1"));
+        closedTradableManager.add(getTrade("trade2"));
+        closedTradableManager.add(getTradable("offer1"));
+        closedTradableManager.add(getTrade("trade3"));
+        closedTradableManager.add(getTrade("trade4"));
+
+        assertEquals(Arrays.asList("trade4", "trade3"), getIds(closedTradableManager.getClosedTrades(0, 2)));
+        assertEquals(Arrays.asList("trade2", "trade1"), getIds(closedTradableManager.getClosedTrades(2, 2)));
+        assertEquals(Arrays.asList("trade1"), getIds(closedTradableManager.getClosedTrades(3, 10)));
+        assertEquals(0, closedTradableManager.getClosedTrades(4, 10).size());
+    }
+
+    private static Trade getTrade(String id) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        return trade;
+    }
+
+    private static Tradable getTradable(String id) {
+        Tradable tradable = mock(Tradable.class);
+        when(tradable.getId()).thenReturn(id);
+        return tradable;
+    }
+
+    private static List<String> getIds(List<Trade> trades) {
+        return trades.stream().map(Trade::getId).collect(Collectors.toList());
+    }
+}
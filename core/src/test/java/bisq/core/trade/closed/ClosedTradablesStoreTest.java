@@ -0,0 +1,203 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.trade.closed;
+
+import bisq.core.trade.Tradable;
+import bisq.core.trade.TradableList;
+
+import bisq.common.UserThread;
+import bisq.common.file.CorruptedStorageFileHandler;
+import bisq.common.file.FileUtil;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.proto.persistable.PersistenceProtoResolver;
+
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ClosedTradablesStoreTest {
+    // A length prefix of 10 bytes followed by only 2 bytes
+    private static final byte[] CORRUPTED_DATA = new byte[]{0x0a, 0x01, 0x02};
+
+    private File storageDir;
+    private File dir;
+    private PersistenceProtoResolver persistenceProtoResolver;
+    private Executor previousUserThreadExecutor;
+    private ExecutorService userThreadExecutor;
+
+    @Before
+    public void setUp() throws IOException {
+        storageDir = Files.createTempDirectory("ClosedTradablesStoreTest").toFile();
+        dir = new File(storageDir, "closed_tradables");
+        assertTrue(dir.mkdirs());
+        // If the corrupted file cannot be moved to the backups it stays where it is, which is the case we want
+        // to test. A file in place of the backup directory makes the move fail.
+        assertTrue(new File(dir, "backup_of_corrupted_data").createNewFile());
+        persistenceProtoResolver = mock(PersistenceProtoResolver.class);
+        when(persistenceProtoResolver.fromProto(any(protobuf.PersistableEnvelope.class)))
+                .thenAnswer(invocation -> fromProto(invocation.getArgument(0)));
+        // The store expects its handlers to be called on a single user thread
+        previousUserThreadExecutor = UserThread.getExecutor();
+        userThreadExecutor = Executors.newSingleThreadExecutor();
+        UserThread.setExecutor(userThreadExecutor);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        new ArrayList<>(PersistenceManager.ALL_PERSISTENCE_MANAGERS.values()).forEach(PersistenceManager::shutdown);
+        UserThread.setExecutor(previousUserThreadExecutor);
+        userThreadExecutor.shutdownNow();
+        FileUtil.deleteDirectory(storageDir);
+    }
+
+    @Test
+    public void testUnreadableSegmentIsNotOverwritten() throws Exception {
+        writeFile(dir, "ClosedTradables_0", getTradable("tradable1"));
+        File unreadableSegment = new File(dir, "ClosedTradables_1");
+        Files.write(unreadableSegment.toPath(), CORRUPTED_DATA);
+        ClosedTradablesStore store = newStore();
+
+        assertEquals(Arrays.asList("tradable1"), readPersisted(store));
+        // We must not add to the unreadable last segment but start a new one
+        runOnUserThread(() -> store.add(getTradable("tradable2")));
+
+        waitUntil(() -> readSegment("ClosedTradables_2").equals(Arrays.asList("tradable2")));
+        assertArrayEquals(CORRUPTED_DATA, Files.readAllBytes(unreadableSegment.toPath()));
+        // The segment would get written at shutdown if it had a registered persistence manager
+        assertFalse(PersistenceManager.ALL_PERSISTENCE_MANAGERS.containsKey("ClosedTradables_1"));
+    }
+
+    @Test
+    public void testMigrationSkipsUnreadableSegment() throws Exception {
+        writeFile(storageDir, "ClosedTrades", getTradable("tradable1"), getTradable("tradable2"));
+        File unreadableSegment = new File(dir, "ClosedTradables_0");
+        Files.write(unreadableSegment.toPath(), CORRUPTED_DATA);
+
+        assertEquals(Arrays.asList("tradable1", "tradable2"), readPersisted(newStore()));
+
+        waitUntil(() -> !new File(storageDir, "ClosedTrades").exists());
+        assertEquals(Arrays.asList("tradable1", "tradable2"), readSegment("ClosedTradables_1"));
+        assertArrayEquals(CORRUPTED_DATA, Files.readAllBytes(unreadableSegment.toPath()));
+        assertFalse(PersistenceManager.ALL_PERSISTENCE_MANAGERS.containsKey("ClosedTradables_0"));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Utils
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private ClosedTradablesStore newStore() {
+        return new ClosedTradablesStore(storageDir, persistenceProtoResolver, mock(CorruptedStorageFileHandler.class));
+    }
+
+    private List<String> readPersisted(ClosedTradablesStore store) throws Exception {
+        CompletableFuture<List<Tradable>> future = new CompletableFuture<>();
+        runOnUserThread(() -> store.readPersisted(future::complete));
+        return getIds(future.get(10, TimeUnit.SECONDS));
+    }
+
+    private void writeFile(File dir, String fileName, Tradable... tradables) throws Exception {
+        TradableList<Tradable> tradableList = new TradableList<>();
+        tradableList.setAll(Arrays.asList(tradables));
+        PersistenceManager<TradableList<Tradable>> persistenceManager = newPersistenceManager(dir);
+        persistenceManager.initialize(tradableList, fileName, PersistenceManager.Source.PRIVATE);
+        CountDownLatch latch = new CountDownLatch(1);
+        persistenceManager.persistNow(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        persistenceManager.shutdown();
+    }
+
+    // Returns an empty list if the segment does not exist
+    private List<String> readSegment(String fileName) {
+        if (!new File(dir, fileName).exists()) {
+            return new ArrayList<>();
+        }
+        TradableList<Tradable> persisted = newPersistenceManager(dir).getPersisted(fileName);
+        return persisted == null ? new ArrayList<>() : getIds(persisted.getList());
+    }
+
+    private PersistenceManager<TradableList<Tradable>> newPersistenceManager(File dir) {
+        return new PersistenceManager<>(dir, persistenceProtoResolver, mock(CorruptedStorageFileHandler.class));
+    }
+
+    private void runOnUserThread(Runnable runnable) throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        UserThread.execute(() -> {
+            runnable.run();
+            future.complete(null);
+        });
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition not met in time", System.currentTimeMillis() < timeout);
+            Thread.sleep(50);
+        }
+    }
+
+    private static List<String> getIds(List<Tradable> tradables) {
+        return tradables.stream().map(Tradable::getId).collect(Collectors.toList());
+    }
+
+    // Tradables are stored as open offers holding only the id
+    private static PersistableEnvelope fromProto(protobuf.PersistableEnvelope proto) {
+        TradableList<Tradable> tradableList = new TradableList<>();
+        proto.getTradableList().getTradableList().stream()
+                .map(tradable -> getTradable(tradable.getOpenOffer().getOffer().getOfferPayload().getId()))
+                .forEach(tradableList::add);
+        return tradableList;
+    }
+
+    private static Tradable getTradable(String id) {
+        Tradable tradable = mock(Tradable.class);
+        when(tradable.getId()).thenReturn(id);
+        when(tradable.toProtoMessage()).thenReturn(protobuf.Tradable.newBuilder()
+                .setOpenOffer(protobuf.OpenOffer.newBuilder()
+                        .setOffer(protobuf.Offer.newBuilder()
+                                .setOfferPayload(protobuf.OfferPayload.newBuilder().setId(id))))
+                .build());
+        return tradable;
+    }
+}
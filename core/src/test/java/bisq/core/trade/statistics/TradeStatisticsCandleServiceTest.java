@@ -0,0 +1,136 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TradeStatisticsCandleServiceTest {
+    private static final long MONDAY = LocalDateTime.of(2021, 3, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+
+    private TradeStatisticsCandleService candleService;
+
+    @Before
+    public void setUp() {
+        candleService = new TradeStatisticsCandleService(ZoneOffset.UTC);
+    }
+
+    @Test
+    public void testCandlesOfDays() {
+        TradeStatistics3 first = getTradeStatistics("EUR", 500_000_000L, 1_000_000, MONDAY + HOUR);
+        TradeStatistics3 high = getTradeStatistics("EUR", 520_000_000L, 2_000_000, MONDAY + 2 * HOUR);
+        TradeStatistics3 last = getTradeStatistics("EUR", 490_000_000L, 3_000_000, MONDAY + 3 * HOUR);
+        TradeStatistics3 nextDay = getTradeStatistics("EUR", 510_000_000L, 1_000_000, MONDAY + DAY);
+        // Added out of order, as we receive them from the network
+        candleService.add(high);
+        candleService.add(last);
+        candleService.add(nextDay);
+        candleService.add(first);
+        candleService.add(getTradeStatistics("USD", 600_000_000L, 1_000_000, MONDAY + HOUR));
+
+        List<Candle> candles = candleService.getCandles("EUR", TickUnit.DAY, MONDAY, MONDAY + 7 * DAY);
+        assertEquals(2, candles.size());
+        Candle candle = candles.get(0);
+        assertEquals(MONDAY, candle.getStartTime());
+        assertEquals(500_000_000L, candle.getOpen());
+        assertEquals(490_000_000L, candle.getClose());
+        assertEquals(520_000_000L, candle.getHigh());
+        assertEquals(490_000_000L, candle.getLow());
+        assertEquals(500_000_000L, candle.getMedianPrice());
+        assertEquals(6_000_000, candle.getAccumulatedAmount());
+        assertEquals(first.getTradeVolume().getValue() + high.getTradeVolume().getValue() +
+                last.getTradeVolume().getValue(), candle.getAccumulatedVolume());
+        assertEquals(3, candle.getNumTrades());
+        assertEquals(MONDAY + DAY, candles.get(1).getStartTime());
+
+        // End of range is exclusive
+        assertEquals(1, candleService.getCandles("EUR", TickUnit.DAY, MONDAY, MONDAY + DAY).size());
+        assertEquals(1, candleService.getCandles("EUR", TickUnit.WEEK, MONDAY, MONDAY + DAY).size());
+        assertEquals(4, candleService.getCandles("EUR", TickUnit.HOUR, MONDAY, MONDAY + 7 * DAY).size());
+        assertTrue(candleService.getCandles("BRL", TickUnit.DAY, MONDAY, MONDAY + 7 * DAY).isEmpty());
+    }
+
+    @Test
+    public void testCandlesOfAllCurrencies() {
+        candleService.add(getTradeStatistics("EUR", 500_000_000L, 1_000_000, MONDAY + HOUR));
+        candleService.add(getTradeStatistics("USD", 600_000_000L, 2_000_000, MONDAY + 2 * HOUR));
+        candleService.add(getTradeStatistics("USD", 610_000_000L, 2_000_000, MONDAY + DAY));
+
+        List<Candle> candles = candleService.getCandlesOfAllCurrencies(TickUnit.WEEK, MONDAY, MONDAY + 7 * DAY);
+        assertEquals(1, candles.size());
+        assertEquals(5_000_000, candles.get(0).getAccumulatedAmount());
+        assertEquals(3, candles.get(0).getNumTrades());
+        assertEquals(500_000_000L, candles.get(0).getOpen());
+        assertEquals(610_000_000L, candles.get(0).getClose());
+        assertEquals(600_000_000L, candles.get(0).getMedianPrice());
+    }
+
+    @Test
+    public void testCandleIsEqualToCandleOfSameTrades() {
+        TradeStatistics3 first = getTradeStatistics("EUR", 500_000_000L, 1_000_000, MONDAY + HOUR);
+        TradeStatistics3 second = getTradeStatistics("EUR", 505_000_000L, 1_500_000, MONDAY + 2 * HOUR);
+        candleService.add(first);
+        candleService.add(second);
+
+        Candle candle = candleService.getCandles("EUR", TickUnit.YEAR, 0, Long.MAX_VALUE).get(0);
+        Candle expected = Candle.fromTradeStatistics(candle.getStartTime(), List.of(second, first));
+        assertEquals(expected.getOpen(), candle.getOpen());
+        assertEquals(expected.getClose(), candle.getClose());
+        assertEquals(expected.getMedianPrice(), candle.getMedianPrice());
+        assertEquals(502_500_000L, candle.getMedianPrice());
+        assertEquals(candleService.roundToTick(MONDAY + HOUR, TickUnit.YEAR), candle.getStartTime());
+    }
+
+    @Test
+    public void testReturnedCandlesAreNotUpdated() {
+        candleService.add(getTradeStatistics("EUR", 500_000_000L, 1_000_000, MONDAY + HOUR));
+        candleService.add(getTradeStatistics("EUR", 490_000_000L, 1_000_000, MONDAY + 2 * HOUR));
+        candleService.add(getTradeStatistics("EUR", 510_000_000L, 1_000_000, MONDAY + 3 * HOUR));
+        Candle candle = candleService.getCandles("EUR", TickUnit.DAY, MONDAY, MONDAY + DAY).get(0);
+        assertEquals(500_000_000L, candle.getMedianPrice());
+
+        // The returned candle is a copy and is not updated by later trades
+        candleService.add(getTradeStatistics("EUR", 520_000_000L, 1_000_000, MONDAY + 4 * HOUR));
+        assertEquals(3, candle.getNumTrades());
+        assertEquals(510_000_000L, candle.getClose());
+        assertEquals(500_000_000L, candle.getMedianPrice());
+        assertEquals(4, candleService.getCandles("EUR", TickUnit.DAY, MONDAY, MONDAY + DAY).get(0).getNumTrades());
+    }
+
+    private static TradeStatistics3 getTradeStatistics(String currency, long price, long amount, long date) {
+        return new TradeStatistics3(currency,
+                price,
+                amount,
+                "SEPA",
+                date,
+                null,
+                null,
+                null,
+                null);
+    }
+}
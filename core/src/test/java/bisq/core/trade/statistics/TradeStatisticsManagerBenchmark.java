@@ -0,0 +1,157 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.provider.price.PriceFeedService;
+
+import bisq.network.p2p.P2PService;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreListener;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reproduces the startup burst of trade statistics: we load a mainnet size store and then receive the missing
+ * trade statistics objects from the network one by one. Compares applying the latest trade prices with the latest
+ * trade index against grouping and sorting the whole set at each new object as we did before.
+ */
+@Slf4j
+@Ignore("Benchmark, run manually")
+public class TradeStatisticsManagerBenchmark {
+    private static final int NUM_STORED = 120_000;
+    private static final int NUM_RECEIVED = 1_000;
+    private static final String[] CURRENCIES = {"USD", "EUR", "BSQ", "XMR", "GBP", "BRL", "CAD", "AUD", "CHF", "JPY",
+            "ETH", "LTC", "SEK", "NOK", "PLN", "INR", "CNY", "RUB", "ZEC", "DASH"};
+
+    @Test
+    public void benchmark() {
+        Random random = new Random(1);
+        List<TradeStatistics3> stored = getTradeStatistics(NUM_STORED, 1500000000000L, random);
+        List<TradeStatistics3> received = getTradeStatistics(NUM_RECEIVED, 1600000000000L, random);
+
+        // Index based
+        Map<String, Long> appliedPrices = new HashMap<>();
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        doAnswer(invocation -> {
+            TradeStatistics3 tradeStatistics = invocation.getArgument(0);
+            appliedPrices.put(tradeStatistics.getCurrency(), tradeStatistics.getPrice());
+            return null;
+        }).when(priceFeedService).applyLatestBisqMarketPrice(any(TradeStatistics3.class));
+
+        P2PDataStorage p2PDataStorage = mock(P2PDataStorage.class);
+        P2PService p2PService = mock(P2PService.class);
+        when(p2PService.getP2PDataStorage()).thenReturn(p2PDataStorage);
+        TradeStatistics3StorageService storageService = mock(TradeStatistics3StorageService.class);
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> mapOfAllData = new HashMap<>();
+        stored.forEach(e -> mapOfAllData.put(new P2PDataStorage.ByteArray(e.getHash()), e));
+        when(storageService.getMapOfAllData()).thenReturn(mapOfAllData);
+
+        TradeStatisticsManager tradeStatisticsManager = new TradeStatisticsManager(p2PService,
+                priceFeedService,
+                storageService,
+                mock(AppendOnlyDataStoreService.class),
+                mock(TradeStatisticsConverter.class),
+                mock(TradeStatisticsCandleService.class),
+                new File("."),
+                false);
+
+        long ts = System.currentTimeMillis();
+        tradeStatisticsManager.onAllServicesInitialized();
+        long startupDuration = System.currentTimeMillis() - ts;
+        ArgumentCaptor<AppendOnlyDataStoreListener> listenerCaptor =
+                ArgumentCaptor.forClass(AppendOnlyDataStoreListener.class);
+        verify(p2PDataStorage).addAppendOnlyDataStoreListener(listenerCaptor.capture());
+        AppendOnlyDataStoreListener listener = listenerCaptor.getValue();
+        ts = System.currentTimeMillis();
+        received.forEach(listener::onAdded);
+        long burstDuration = System.currentTimeMillis() - ts;
+
+        // Grouping and sorting the whole set at each new object
+        Set<TradeStatistics3> set = new HashSet<>(stored);
+        ts = System.currentTimeMillis();
+        Map<String, Long> previousAppliedPrices = getLatestPrices(set);
+        long previousStartupDuration = System.currentTimeMillis() - ts;
+        ts = System.currentTimeMillis();
+        for (TradeStatistics3 tradeStatistics : received) {
+            set.add(tradeStatistics);
+            previousAppliedPrices = getLatestPrices(set);
+        }
+        long previousBurstDuration = System.currentTimeMillis() - ts;
+
+        assertEquals(previousAppliedPrices, appliedPrices);
+        log.info("{} stored and {} received trade statistics: latest trade index took {} ms at startup and {} ms " +
+                        "for the burst, grouping the whole set took {} ms at startup and {} ms for the burst",
+                NUM_STORED, NUM_RECEIVED, startupDuration, burstDuration, previousStartupDuration,
+                previousBurstDuration);
+    }
+
+    private static Map<String, Long> getLatestPrices(Set<TradeStatistics3> tradeStatisticsSet) {
+        Map<String, List<TradeStatistics3>> mapByCurrencyCode = new HashMap<>();
+        tradeStatisticsSet.forEach(e -> mapByCurrencyCode.computeIfAbsent(e.getCurrency(), c -> new ArrayList<>()).add(e));
+        Map<String, Long> latestPrices = new HashMap<>();
+        mapByCurrencyCode.values().forEach(list -> {
+            list.sort(Comparator.comparing(TradeStatistics3::getDate));
+            TradeStatistics3 tradeStatistics = list.get(list.size() - 1);
+            latestPrices.put(tradeStatistics.getCurrency(), tradeStatistics.getPrice());
+        });
+        return latestPrices;
+    }
+
+    // Dates are unique so the latest trade of a currency is well defined. Currencies are skewed like on mainnet.
+    private static List<TradeStatistics3> getTradeStatistics(int numTradeStatistics, long startDate, Random random) {
+        List<TradeStatistics3> list = new ArrayList<>();
+        for (int i = 0; i < numTradeStatistics; i++) {
+            String currency = CURRENCIES[Math.min(CURRENCIES.length - 1, (int) Math.abs(random.nextGaussian() * 5))];
+            list.add(new TradeStatistics3(currency,
+                    1_000_000 + random.nextInt(1_000_000),
+                    100_000 + random.nextInt(10_000_000),
+                    "SEPA",
+                    startDate + i * 60_000L - random.nextInt(30_000),
+                    null,
+                    null,
+                    null,
+                    null));
+        }
+        return list;
+    }
+}
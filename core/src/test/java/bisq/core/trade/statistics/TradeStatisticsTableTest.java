@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TradeStatisticsTableTest {
+    private TradeStatisticsTable table;
+
+    @Before
+    public void setUp() {
+        table = new TradeStatisticsTable();
+    }
+
+    @Test
+    public void testRowsAreSortedByDate() {
+        TradeStatistics3 first = getTradeStatistics("EUR", 1_000_000, 1000);
+        TradeStatistics3 second = getTradeStatistics("USD", 2_000_000, 2000);
+        TradeStatistics3 third = getTradeStatistics("EUR", 3_000_000, 3000);
+        table.add(second);
+        table.add(third);
+        table.add(first);
+
+        assertEquals(3, table.size());
+        assertEquals(Arrays.asList(first, second, third), table.getAllTradeStatistics());
+        assertEquals(1000, table.getDate(0));
+        assertEquals("EUR", table.getCurrencyCode(0));
+        assertEquals("USD", table.getCurrencyCode(1));
+        assertEquals(table.getCurrencyId(0), table.getCurrencyId(2));
+        assertEquals(table.findCurrencyId("EUR"), table.getCurrencyId(0));
+        assertEquals(-1, table.findCurrencyId("BRL"));
+        assertEquals(first.getPaymentMethod(), table.getPaymentMethod(0));
+        assertEquals(first.getPrice(), table.getPrice(0));
+        assertEquals(first.getTradeVolume().getValue(), table.getVolume(0));
+        assertEquals(1_000_000, table.getAmount(0));
+    }
+
+    @Test
+    public void testAddAllKeepsExistingRows() {
+        table.add(getTradeStatistics("EUR", 1_000_000, 5000));
+        List<TradeStatistics3> list = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            list.add(getTradeStatistics(i % 2 == 0 ? "EUR" : "USD", 1_000_000 + i, 10_000 - i));
+        }
+        table.addAll(list);
+
+        assertEquals(2001, table.size());
+        for (int row = 1; row < table.size(); row++) {
+            assertTrue(table.getDate(row - 1) <= table.getDate(row));
+        }
+    }
+
+    @Test
+    public void testRangeQueries() {
+        table.add(getTradeStatistics("EUR", 1_000_000, 1000));
+        table.add(getTradeStatistics("USD", 2_000_000, 2000));
+        table.add(getTradeStatistics("EUR", 3_000_000, 3000));
+        table.add(getTradeStatistics("EUR", 4_000_000, 4000));
+
+        assertEquals(0, table.getFirstRowAtOrAfter(0));
+        assertEquals(1, table.getFirstRowAtOrAfter(2000));
+        assertEquals(2, table.getFirstRowAtOrAfter(2001));
+        assertEquals(4, table.getFirstRowAtOrAfter(5000));
+
+        // End of range is exclusive
+        assertEquals(1, table.getTradeStatistics("EUR", 1000, 3000).size());
+        assertEquals(3, table.getTradeStatistics("EUR", 0, Long.MAX_VALUE).size());
+        assertTrue(table.getTradeStatistics("BRL", 0, Long.MAX_VALUE).isEmpty());
+        assertEquals(7_000_000, table.getAccumulatedAmount("EUR", 2000, Long.MAX_VALUE));
+        assertEquals(0, table.getAccumulatedAmount("BRL", 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testAllTradeStatisticsCanBeReadWhileAdding() throws Exception {
+        AtomicBoolean isAdding = new AtomicBoolean(true);
+        AtomicReference<String> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (isAdding.get() && error.get() == null) {
+                List<TradeStatistics3> all = table.getAllTradeStatistics();
+                for (int i = 0; i < all.size(); i++) {
+                    if (all.get(i) == null ||
+                            (i > 0 && all.get(i - 1).getDateAsLong() > all.get(i).getDateAsLong())) {
+                        error.set("Inconsistent snapshot at index " + i);
+                        break;
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 200; i++) {
+            List<TradeStatistics3> list = new ArrayList<>();
+            for (int j = 0; j < 20; j++) {
+                list.add(getTradeStatistics("EUR", 1_000_000, 100_000 - i * 20 - j));
+            }
+            table.addAll(list);
+            table.add(getTradeStatistics("USD", 1_000_000, i));
+        }
+        isAdding.set(false);
+        reader.join();
+
+        assertNull(error.get());
+        assertEquals(4200, table.size());
+    }
+
+    private static TradeStatistics3 getTradeStatistics(String currency, long amount, long date) {
+        return new TradeStatistics3(currency,
+                500_000_000L,
+                amount,
+                "SEPA",
+                date,
+                null,
+                null,
+                null,
+                null);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.daemon.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BinaryOperator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers events of a server streaming call through a bounded per subscriber buffer.
+ *
+ * Events are only written to the client when the underlying transport is ready, so a slow
+ * client never makes the daemon queue up an unbounded amount of messages. While events are
+ * waiting in the buffer, a new event with the same key (e.g. the offer or trade id) is
+ * coalesced with the pending one. If the coalescer returns null, both events cancel each other
+ * out. If the buffer is full, the oldest pending event gets dropped and counted, so clients can
+ * detect the gap and fall back to a full query.
+ *
+ * The stream gets closed when the client cancels the call or an event cannot be delivered.
+ * Either way the onCloseHandler is called exactly once, so the caller can remove its listeners.
+ *
+ * @param <K> The key events are coalesced by.
+ * @param <T> The proto message type streamed to the client.
+ */
+@Slf4j
+class GrpcEventStream<K, T> {
+
+    interface DroppedEventsCounter<T> {
+        T withNumDroppedEvents(T event, long numDroppedEvents);
+    }
+
+    private final ServerCallStreamObserver<T> responseObserver;
+    private final int capacity;
+    private final BinaryOperator<T> coalescer;
+    private final DroppedEventsCounter<T> droppedEventsCounter;
+    private final Runnable onCloseHandler;
+    // Insertion ordered, replacing the value of a key keeps its position.
+    private final Map<K, T> pendingEvents = new LinkedHashMap<>();
+    private long numDroppedEvents;
+    private final AtomicBoolean isClosed = new AtomicBoolean();
+
+    GrpcEventStream(StreamObserver<T> responseObserver,
+                    int capacity,
+                    BinaryOperator<T> coalescer,
+                    DroppedEventsCounter<T> droppedEventsCounter,
+                    Runnable onCloseHandler) {
+        this.responseObserver = (ServerCallStreamObserver<T>) responseObserver;
+        this.capacity = capacity;
+        this.coalescer = coalescer;
+        this.droppedEventsCounter = droppedEventsCounter;
+        this.onCloseHandler = onCloseHandler;
+
+        this.responseObserver.setOnCancelHandler(this::close);
+        this.responseObserver.setOnReadyHandler(this::drain);
+    }
+
+    void publish(K key, T event) {
+        if (isClosed())
+            return;
+
+        synchronized (pendingEvents) {
+            T pendingEvent = pendingEvents.get(key);
+            if (pendingEvent != null) {
+                T coalescedEvent = coalescer.apply(pendingEvent, event);
+                if (coalescedEvent == null)
+                    pendingEvents.remove(key);
+                else
+                    pendingEvents.put(key, coalescedEvent);
+            } else {
+                if (pendingEvents.size() >= capacity) {
+                    Iterator<T> iterator = pendingEvents.values().iterator();
+                    iterator.next();
+                    iterator.remove();
+                    numDroppedEvents++;
+                }
+                pendingEvents.put(key, event);
+            }
+        }
+        drain();
+    }
+
+    boolean isClosed() {
+        return isClosed.get();
+    }
+
+    int getNumPendingEvents() {
+        synchronized (pendingEvents) {
+            return pendingEvents.size();
+        }
+    }
+
+    long getNumDroppedEvents() {
+        synchronized (pendingEvents) {
+            return numDroppedEvents;
+        }
+    }
+
+    // Called from the thread publishing events and from the gRPC transport thread when the
+    // client is ready to receive more. Calls to onNext must not happen concurrently.
+    private synchronized void drain() {
+        try {
+            while (!isClosed() && responseObserver.isReady()) {
+                T event;
+                synchronized (pendingEvents) {
+                    Iterator<T> iterator = pendingEvents.values().iterator();
+                    if (!iterator.hasNext())
+                        return;
+
+                    event = droppedEventsCounter.withNumDroppedEvents(iterator.next(), numDroppedEvents);
+                    iterator.remove();
+                }
+                responseObserver.onNext(event);
+            }
+        } catch (Throwable t) {
+            // The client might have gone away between the isReady check and the write.
+            log.warn("Could not deliver event to subscriber: {}", t.toString());
+            close();
+            try {
+                responseObserver.onError(t);
+            } catch (Throwable ignore) {
+                // The call is closed already.
+            }
+        }
+    }
+
+    private void close() {
+        if (!isClosed.compareAndSet(false, true))
+            return;
+
+        synchronized (pendingEvents) {
+            pendingEvents.clear();
+        }
+        onCloseHandler.run();
+    }
+}
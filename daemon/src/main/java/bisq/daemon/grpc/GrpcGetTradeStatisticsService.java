@@ -1,8 +1,12 @@
 package bisq.daemon.grpc;
 
 import bisq.core.api.CoreApi;
+import bisq.core.trade.statistics.Candle;
 import bisq.core.trade.statistics.TradeStatistics3;
 
+import bisq.proto.grpc.CandleInfo;
+import bisq.proto.grpc.GetMarketHistoryReply;
+import bisq.proto.grpc.GetMarketHistoryRequest;
 import bisq.proto.grpc.GetTradeStatisticsGrpc;
 import bisq.proto.grpc.GetTradeStatisticsReply;
 import bisq.proto.grpc.GetTradeStatisticsRequest;
@@ -51,6 +55,39 @@ class GrpcGetTradeStatisticsService extends GetTradeStatisticsGrpc.GetTradeStati
         }
     }
 
+    @Override
+    public void getMarketHistory(GetMarketHistoryRequest req,
+                                 StreamObserver<GetMarketHistoryReply> responseObserver) {
+        try {
+            var candles = coreApi.getMarketHistory(req.getCurrencyCode(),
+                    req.getTickUnit(),
+                    req.getFromTime(),
+                    req.getToTime()).stream()
+                    .map(this::toCandleInfo)
+                    .collect(Collectors.toList());
+
+            var reply = GetMarketHistoryReply.newBuilder().addAllCandles(candles).build();
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
+    private CandleInfo toCandleInfo(Candle candle) {
+        return CandleInfo.newBuilder()
+                .setStartTime(candle.getStartTime())
+                .setOpen(candle.getOpen())
+                .setClose(candle.getClose())
+                .setHigh(candle.getHigh())
+                .setLow(candle.getLow())
+                .setMedianPrice(candle.getMedianPrice())
+                .setAccumulatedAmount(candle.getAccumulatedAmount())
+                .setAccumulatedVolume(candle.getAccumulatedVolume())
+                .setNumTrades(candle.getNumTrades())
+                .build();
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -62,6 +99,7 @@ class GrpcGetTradeStatisticsService extends GetTradeStatisticsGrpc.GetTradeStati
                 .or(() -> Optional.of(CallRateMeteringInterceptor.valueOf(
                         new HashMap<>() {{
                             put("getTradeStatistics", new GrpcCallRateMeter(1, SECONDS));
+                            put("getMarketHistory", new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
@@ -18,14 +18,20 @@
 package bisq.daemon.grpc;
 
 import bisq.core.api.CoreApi;
+import bisq.core.api.model.MarketDepthInfo;
 import bisq.core.api.model.OfferInfo;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OpenOffer;
 
 import bisq.proto.grpc.CancelOfferReply;
 import bisq.proto.grpc.CancelOfferRequest;
 import bisq.proto.grpc.CreateOfferReply;
 import bisq.proto.grpc.CreateOfferRequest;
+import bisq.proto.grpc.GetBestPriceReply;
+import bisq.proto.grpc.GetBestPriceRequest;
+import bisq.proto.grpc.GetMarketDepthReply;
+import bisq.proto.grpc.GetMarketDepthRequest;
 import bisq.proto.grpc.GetMyOfferReply;
 import bisq.proto.grpc.GetMyOfferRequest;
 import bisq.proto.grpc.GetMyOffersReply;
@@ -34,7 +40,11 @@ import bisq.proto.grpc.GetOfferReply;
 import bisq.proto.grpc.GetOfferRequest;
 import bisq.proto.grpc.GetOffersReply;
 import bisq.proto.grpc.GetOffersRequest;
+import bisq.proto.grpc.GetTopOffersReply;
+import bisq.proto.grpc.GetTopOffersRequest;
+import bisq.proto.grpc.OfferBookEvent;
 import bisq.proto.grpc.OffersGrpc;
+import bisq.proto.grpc.SubscribeOfferBookRequest;
 
 import io.grpc.ServerInterceptor;
 import io.grpc.stub.StreamObserver;
@@ -43,12 +53,16 @@ import javax.inject.Inject;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 import static bisq.core.api.model.OfferInfo.toOfferInfo;
+import static bisq.core.offer.OfferPayload.Direction.BUY;
+import static bisq.core.offer.OfferPayload.Direction.SELL;
 import static bisq.daemon.grpc.interceptor.GrpcServiceRateMeteringConfig.getCustomRateMeteringInterceptor;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -61,6 +75,11 @@ import bisq.daemon.grpc.interceptor.GrpcCallRateMeter;
 @Slf4j
 class GrpcOffersService extends OffersGrpc.OffersImplBase {
 
+    private static final int MAX_PENDING_OFFER_BOOK_EVENTS = 1000;
+
+    private static final String ADDED = "ADDED";
+    private static final String REMOVED = "REMOVED";
+
     private final CoreApi coreApi;
     private final GrpcExceptionHandler exceptionHandler;
 
@@ -183,6 +202,112 @@ class GrpcOffersService extends OffersGrpc.OffersImplBase {
         }
     }
 
+    @Override
+    public void getBestPrice(GetBestPriceRequest req,
+                             StreamObserver<GetBestPriceReply> responseObserver) {
+        try {
+            long bestBidPrice = coreApi.getBestOffer(BUY.name(), req.getCurrencyCode())
+                    .map(offer -> Objects.requireNonNull(offer.getPrice()).getValue())
+                    .orElse(0L);
+            long bestAskPrice = coreApi.getBestOffer(SELL.name(), req.getCurrencyCode())
+                    .map(offer -> Objects.requireNonNull(offer.getPrice()).getValue())
+                    .orElse(0L);
+            var reply = GetBestPriceReply.newBuilder()
+                    .setBestBidPrice(bestBidPrice)
+                    .setBestAskPrice(bestAskPrice)
+                    .build();
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
+    @Override
+    public void getTopOffers(GetTopOffersRequest req,
+                             StreamObserver<GetTopOffersReply> responseObserver) {
+        try {
+            List<OfferInfo> result = coreApi.getTopOffers(req.getDirection(), req.getCurrencyCode(), req.getLimit())
+                    .stream().map(OfferInfo::toOfferInfo)
+                    .collect(Collectors.toList());
+            var reply = GetTopOffersReply.newBuilder()
+                    .addAllOffers(result.stream()
+                            .map(OfferInfo::toProtoMessage)
+                            .collect(Collectors.toList()))
+                    .build();
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
+    @Override
+    public void getMarketDepth(GetMarketDepthRequest req,
+                               StreamObserver<GetMarketDepthReply> responseObserver) {
+        try {
+            MarketDepthInfo marketDepth = coreApi.getMarketDepth(req.getCurrencyCode(), req.getMaxLevels());
+            var reply = GetMarketDepthReply.newBuilder()
+                    .setMarketDepth(marketDepth.toProtoMessage())
+                    .build();
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
+    @Override
+    public void subscribeOfferBook(SubscribeOfferBookRequest req,
+                                   StreamObserver<OfferBookEvent> responseObserver) {
+        try {
+            AtomicReference<OfferBookService.OfferBookChangedListener> listenerReference = new AtomicReference<>();
+            GrpcEventStream<String, OfferBookEvent> eventStream = new GrpcEventStream<>(responseObserver,
+                    MAX_PENDING_OFFER_BOOK_EVENTS,
+                    GrpcOffersService::coalesceOfferBookEvents,
+                    (event, numDroppedEvents) -> event.toBuilder().setNumDroppedEvents(numDroppedEvents).build(),
+                    () -> coreApi.removeOfferBookChangedListener(listenerReference.get()));
+            listenerReference.set(coreApi.addOfferBookChangedListener(req.getDirection(),
+                    req.getCurrencyCode(),
+                    new OfferBookService.OfferBookChangedListener() {
+                        @Override
+                        public void onAdded(Offer offer) {
+                            try {
+                                eventStream.publish(offer.getId(), OfferBookEvent.newBuilder()
+                                        .setEventType(ADDED)
+                                        .setOfferId(offer.getId())
+                                        .setOffer(toOfferInfo(offer).toProtoMessage())
+                                        .build());
+                            } catch (Throwable t) {
+                                // E.g. a market based offer while we have no market price.
+                                log.warn("Could not publish added offer {}: {}", offer.getId(), t.toString());
+                            }
+                        }
+
+                        @Override
+                        public void onRemoved(Offer offer) {
+                            eventStream.publish(offer.getId(), OfferBookEvent.newBuilder()
+                                    .setEventType(REMOVED)
+                                    .setOfferId(offer.getId())
+                                    .build());
+                        }
+                    }));
+            // The stream might have been closed before the listener was registered.
+            if (eventStream.isClosed())
+                coreApi.removeOfferBookChangedListener(listenerReference.get());
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
+    // If the client has not seen an added offer yet, it does not need to see its removal.
+    // Otherwise the most recent event wins (e.g. a republished offer).
+    private static OfferBookEvent coalesceOfferBookEvents(OfferBookEvent pending, OfferBookEvent next) {
+        if (pending.getEventType().equals(ADDED) && next.getEventType().equals(REMOVED))
+            return null;
+        return next;
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -199,6 +324,10 @@ class GrpcOffersService extends OffersGrpc.OffersImplBase {
                             put("getMyOffers", new GrpcCallRateMeter(1, SECONDS));
                             put("createOffer", new GrpcCallRateMeter(1, MINUTES));
                             put("cancelOffer", new GrpcCallRateMeter(1, MINUTES));
+                            put("getBestPrice", new GrpcCallRateMeter(10, SECONDS));
+                            put("getTopOffers", new GrpcCallRateMeter(10, SECONDS));
+                            put("getMarketDepth", new GrpcCallRateMeter(10, SECONDS));
+                            put("subscribeOfferBook", new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
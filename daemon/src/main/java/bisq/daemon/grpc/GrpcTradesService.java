@@ -25,12 +25,18 @@ import bisq.proto.grpc.ConfirmPaymentReceivedReply;
 import bisq.proto.grpc.ConfirmPaymentReceivedRequest;
 import bisq.proto.grpc.ConfirmPaymentStartedReply;
 import bisq.proto.grpc.ConfirmPaymentStartedRequest;
+import bisq.proto.grpc.GetClosedTradesReply;
+import bisq.proto.grpc.GetClosedTradesRequest;
+import bisq.proto.grpc.GetTaskMetricsReply;
+import bisq.proto.grpc.GetTaskMetricsRequest;
 import bisq.proto.grpc.GetTradeReply;
 import bisq.proto.grpc.GetTradeRequest;
 import bisq.proto.grpc.KeepFundsReply;
 import bisq.proto.grpc.KeepFundsRequest;
+import bisq.proto.grpc.SubscribeTradesRequest;
 import bisq.proto.grpc.TakeOfferReply;
 import bisq.proto.grpc.TakeOfferRequest;
+import bisq.proto.grpc.TradeEvent;
 import bisq.proto.grpc.TradesGrpc;
 import bisq.proto.grpc.WithdrawFundsReply;
 import bisq.proto.grpc.WithdrawFundsRequest;
@@ -41,7 +47,10 @@ import io.grpc.stub.StreamObserver;
 import javax.inject.Inject;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -58,6 +67,8 @@ import bisq.daemon.grpc.interceptor.GrpcCallRateMeter;
 @Slf4j
 class GrpcTradesService extends TradesGrpc.TradesImplBase {
 
+    private static final int MAX_PENDING_TRADE_EVENTS = 100;
+
     private final CoreApi coreApi;
     private final GrpcExceptionHandler exceptionHandler;
 
@@ -83,6 +94,34 @@ class GrpcTradesService extends TradesGrpc.TradesImplBase {
         }
     }
 
+    @Override
+    public void getClosedTrades(GetClosedTradesRequest req,
+                                StreamObserver<GetClosedTradesReply> responseObserver) {
+        try {
+            List<Trade> trades = coreApi.getClosedTrades(req.getOffset(), req.getLimit());
+            var reply = GetClosedTradesReply.newBuilder();
+            trades.forEach(trade -> reply.addTrades(
+                    toTradeInfo(trade, coreApi.getTradeRole(trade.getId())).toProtoMessage()));
+            responseObserver.onNext(reply.build());
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
+    @Override
+    public void getTaskMetrics(GetTaskMetricsRequest req,
+                               StreamObserver<GetTaskMetricsReply> responseObserver) {
+        try {
+            var reply = GetTaskMetricsReply.newBuilder();
+            coreApi.getTaskMetrics().forEach(taskMetrics -> reply.addTaskMetrics(taskMetrics.toProtoMessage()));
+            responseObserver.onNext(reply.build());
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
     @Override
     public void takeOffer(TakeOfferRequest req,
                           StreamObserver<TakeOfferReply> responseObserver) {
@@ -155,6 +194,40 @@ class GrpcTradesService extends TradesGrpc.TradesImplBase {
         }
     }
 
+    @Override
+    public void subscribeTrades(SubscribeTradesRequest req,
+                                StreamObserver<TradeEvent> responseObserver) {
+        try {
+            String tradeId = req.getTradeId();
+            AtomicReference<Consumer<Trade>> listenerReference = new AtomicReference<>();
+            // Pending state transitions of a trade are coalesced into its most recent state.
+            GrpcEventStream<String, TradeEvent> eventStream = new GrpcEventStream<>(responseObserver,
+                    MAX_PENDING_TRADE_EVENTS,
+                    (pending, next) -> next,
+                    (event, numDroppedEvents) -> event.toBuilder().setNumDroppedEvents(numDroppedEvents).build(),
+                    () -> coreApi.removeTradeStateListener(listenerReference.get()));
+            Consumer<Trade> listener = trade -> {
+                if (tradeId.isEmpty() || tradeId.equals(trade.getId())) {
+                    try {
+                        eventStream.publish(trade.getId(), TradeEvent.newBuilder()
+                                .setTrade(toTradeInfo(trade).toProtoMessage())
+                                .build());
+                    } catch (Throwable t) {
+                        // Some trade data is not available in the early trade protocol steps.
+                        log.warn("Could not publish state of trade {}: {}", trade.getId(), t.toString());
+                    }
+                }
+            };
+            listenerReference.set(listener);
+            coreApi.addTradeStateListener(listener);
+            // The stream might have been closed before the listener was registered.
+            if (eventStream.isClosed())
+                coreApi.removeTradeStateListener(listener);
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -166,11 +239,14 @@ class GrpcTradesService extends TradesGrpc.TradesImplBase {
                 .or(() -> Optional.of(CallRateMeteringInterceptor.valueOf(
                         new HashMap<>() {{
                             put("getTrade", new GrpcCallRateMeter(1, SECONDS));
+                            put("getClosedTrades", new GrpcCallRateMeter(1, SECONDS));
+                            put("getTaskMetrics", new GrpcCallRateMeter(1, SECONDS));
                             put("takeOffer", new GrpcCallRateMeter(1, MINUTES));
                             put("confirmPaymentStarted", new GrpcCallRateMeter(1, MINUTES));
                             put("confirmPaymentReceived", new GrpcCallRateMeter(1, MINUTES));
                             put("keepFunds", new GrpcCallRateMeter(1, MINUTES));
                             put("withdrawFunds", new GrpcCallRateMeter(1, MINUTES));
+                            put("subscribeTrades", new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
@@ -35,6 +35,8 @@ import bisq.proto.grpc.GetTxFeeRateReply;
 import bisq.proto.grpc.GetTxFeeRateRequest;
 import bisq.proto.grpc.GetUnusedBsqAddressReply;
 import bisq.proto.grpc.GetUnusedBsqAddressRequest;
+import bisq.proto.grpc.GetWalletSaveMetricsReply;
+import bisq.proto.grpc.GetWalletSaveMetricsRequest;
 import bisq.proto.grpc.LockWalletReply;
 import bisq.proto.grpc.LockWalletRequest;
 import bisq.proto.grpc.RemoveWalletPasswordReply;
@@ -290,6 +292,19 @@ class GrpcWalletsService extends WalletsGrpc.WalletsImplBase {
         }
     }
 
+    @Override
+    public void getWalletSaveMetrics(GetWalletSaveMetricsRequest req,
+                                     StreamObserver<GetWalletSaveMetricsReply> responseObserver) {
+        try {
+            var reply = GetWalletSaveMetricsReply.newBuilder();
+            coreApi.getWalletSaveMetrics().forEach(metrics -> reply.addWalletSaveMetrics(metrics.toProtoMessage()));
+            responseObserver.onNext(reply.build());
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(cause, responseObserver);
+        }
+    }
+
     @Override
     public void setWalletPassword(SetWalletPasswordRequest req,
                                   StreamObserver<SetWalletPasswordReply> responseObserver) {
@@ -362,6 +377,7 @@ class GrpcWalletsService extends WalletsGrpc.WalletsImplBase {
                             put("setTxFeeRatePreference", new GrpcCallRateMeter(1, SECONDS));
                             put("unsetTxFeeRatePreference", new GrpcCallRateMeter(1, SECONDS));
                             put("getTransaction", new GrpcCallRateMeter(1, SECONDS));
+                            put("getWalletSaveMetrics", new GrpcCallRateMeter(1, SECONDS));
 
                             // Trying to set or remove a wallet password several times before the 1st attempt has time to
                             // persist the change to disk may corrupt the wallet, so allow only 1 attempt per 5 seconds.
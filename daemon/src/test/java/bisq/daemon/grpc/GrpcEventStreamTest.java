@@ -0,0 +1,191 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.daemon.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GrpcEventStreamTest {
+    private FakeResponseObserver responseObserver;
+    private AtomicInteger numCloseHandlerCalls;
+    private GrpcEventStream<String, String> eventStream;
+
+    @BeforeEach
+    public void setUp() {
+        responseObserver = new FakeResponseObserver();
+        numCloseHandlerCalls = new AtomicInteger();
+        // An added event followed by a removed event of the same key cancel each other out
+        eventStream = new GrpcEventStream<>(responseObserver,
+                2,
+                (pending, next) -> pending.startsWith("added") && next.startsWith("removed") ? null : next,
+                (event, numDroppedEvents) -> event + "#" + numDroppedEvents,
+                numCloseHandlerCalls::incrementAndGet);
+    }
+
+    @Test
+    public void testEventsAreDeliveredWhenClientIsReady() {
+        responseObserver.isReady = false;
+        eventStream.publish("offer1", "added1");
+        eventStream.publish("offer2", "added2");
+        assertEquals(2, eventStream.getNumPendingEvents());
+        assertTrue(responseObserver.events.isEmpty());
+
+        responseObserver.setReady();
+
+        assertEquals(asList("added1#0", "added2#0"), responseObserver.events);
+        assertEquals(0, eventStream.getNumPendingEvents());
+    }
+
+    @Test
+    public void testPendingEventsOfSameKeyAreCoalesced() {
+        responseObserver.isReady = false;
+        eventStream.publish("offer1", "added1");
+        eventStream.publish("offer1", "updated1");
+        eventStream.publish("offer2", "added2");
+        eventStream.publish("offer2", "removed2");
+        assertEquals(1, eventStream.getNumPendingEvents());
+
+        responseObserver.setReady();
+
+        assertEquals(asList("updated1#0"), responseObserver.events);
+        assertEquals(0, eventStream.getNumDroppedEvents());
+    }
+
+    @Test
+    public void testOldestEventIsDroppedIfBufferIsFull() {
+        responseObserver.isReady = false;
+        eventStream.publish("offer1", "added1");
+        eventStream.publish("offer2", "added2");
+        eventStream.publish("offer3", "added3");
+        assertEquals(2, eventStream.getNumPendingEvents());
+        assertEquals(1, eventStream.getNumDroppedEvents());
+
+        responseObserver.setReady();
+
+        assertEquals(asList("added2#1", "added3#1"), responseObserver.events);
+    }
+
+    @Test
+    public void testCloseHandlerIsCalledOnceAtCancel() {
+        responseObserver.cancel();
+        responseObserver.cancel();
+
+        assertTrue(eventStream.isClosed());
+        assertEquals(1, numCloseHandlerCalls.get());
+        eventStream.publish("offer1", "added1");
+        assertTrue(responseObserver.events.isEmpty());
+        assertEquals(0, eventStream.getNumPendingEvents());
+    }
+
+    @Test
+    public void testCloseHandlerIsCalledOnceAtDeliveryError() {
+        responseObserver.failAtNext = true;
+        eventStream.publish("offer1", "added1");
+
+        assertTrue(eventStream.isClosed());
+        assertEquals(1, numCloseHandlerCalls.get());
+        assertNotNull(responseObserver.error);
+
+        // The transport reports the cancellation of the broken call as well
+        responseObserver.cancel();
+        eventStream.publish("offer2", "added2");
+        assertEquals(1, numCloseHandlerCalls.get());
+        assertFalse(responseObserver.events.contains("added2#0"));
+    }
+
+    private static class FakeResponseObserver extends ServerCallStreamObserver<String> {
+        private final List<String> events = new ArrayList<>();
+        private boolean isReady = true;
+        private boolean failAtNext;
+        private Throwable error;
+        private Runnable onCancelHandler;
+        private Runnable onReadyHandler;
+
+        void setReady() {
+            isReady = true;
+            onReadyHandler.run();
+        }
+
+        void cancel() {
+            onCancelHandler.run();
+        }
+
+        @Override
+        public void onNext(String value) {
+            if (failAtNext)
+                throw new IllegalStateException("call already closed");
+            events.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        @Override
+        public boolean isReady() {
+            return isReady;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReadyHandler = onReadyHandler;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+            this.onCancelHandler = onCancelHandler;
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+    }
+}
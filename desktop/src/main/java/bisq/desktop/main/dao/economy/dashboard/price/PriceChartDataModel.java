@@ -19,8 +19,8 @@ package bisq.desktop.main.dao.economy.dashboard.price;
 
 import bisq.desktop.components.chart.ChartDataModel;
 
-import bisq.core.trade.statistics.TradeStatistics3;
-import bisq.core.trade.statistics.TradeStatisticsManager;
+import bisq.core.dao.analytics.BsqTradeAggregate;
+import bisq.core.dao.analytics.DaoAnalyticsService;
 
 import bisq.common.util.MathUtils;
 
@@ -29,18 +29,15 @@ import javax.inject.Inject;
 import java.time.Instant;
 
 import java.util.AbstractMap;
-import java.util.Collection;
-import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class PriceChartDataModel extends ChartDataModel {
-    private final TradeStatisticsManager tradeStatisticsManager;
+    private final DaoAnalyticsService daoAnalyticsService;
     private Map<Long, Double> bsqUsdPriceByInterval, bsqBtcPriceByInterval, btcUsdPriceByInterval;
 
 
@@ -49,10 +46,10 @@ public class PriceChartDataModel extends ChartDataModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public PriceChartDataModel(TradeStatisticsManager tradeStatisticsManager) {
+    public PriceChartDataModel(DaoAnalyticsService daoAnalyticsService) {
         super();
 
-        this.tradeStatisticsManager = tradeStatisticsManager;
+        this.daoAnalyticsService = daoAnalyticsService;
     }
 
 
@@ -73,14 +70,11 @@ public class PriceChartDataModel extends ChartDataModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     double averageBsqUsdPrice() {
-        return getAveragePriceFromDateFilter(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ") ||
-                        tradeStatistics.getCurrency().equals("USD"),
-                PriceChartDataModel::getAverageBsqUsdPrice);
+        return getAverageBsqUsdPrice(daoAnalyticsService.getBsqTradeData(dateFilter));
     }
 
     double averageBsqBtcPrice() {
-        return getAveragePriceFromDateFilter(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ"),
-                PriceChartDataModel::getAverageBsqBtcPrice);
+        return getAverageBsqBtcPrice(daoAnalyticsService.getBsqTradeData(dateFilter));
     }
 
 
@@ -92,9 +86,7 @@ public class PriceChartDataModel extends ChartDataModel {
         if (bsqUsdPriceByInterval != null) {
             return bsqUsdPriceByInterval;
         }
-        bsqUsdPriceByInterval = getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ") ||
-                        tradeStatistics.getCurrency().equals("USD"),
-                PriceChartDataModel::getAverageBsqUsdPrice);
+        bsqUsdPriceByInterval = getPriceByInterval(PriceChartDataModel::getAverageBsqUsdPrice);
         return bsqUsdPriceByInterval;
     }
 
@@ -103,8 +95,7 @@ public class PriceChartDataModel extends ChartDataModel {
             return bsqBtcPriceByInterval;
         }
 
-        bsqBtcPriceByInterval = getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ"),
-                PriceChartDataModel::getAverageBsqBtcPrice);
+        bsqBtcPriceByInterval = getPriceByInterval(PriceChartDataModel::getAverageBsqBtcPrice);
         return bsqBtcPriceByInterval;
     }
 
@@ -113,8 +104,7 @@ public class PriceChartDataModel extends ChartDataModel {
             return btcUsdPriceByInterval;
         }
 
-        btcUsdPriceByInterval = getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("USD"),
-                PriceChartDataModel::getAverageBtcUsdPrice);
+        btcUsdPriceByInterval = getPriceByInterval(PriceChartDataModel::getAverageBtcUsdPrice);
         return btcUsdPriceByInterval;
     }
 
@@ -123,20 +113,11 @@ public class PriceChartDataModel extends ChartDataModel {
     // Average price functions
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private static double getAverageBsqUsdPrice(List<TradeStatistics3> list) {
-        double sumBsq = 0;
-        double sumBtcFromBsqTrades = 0;
-        double sumBtcFromUsdTrades = 0;
-        double sumUsd = 0;
-        for (TradeStatistics3 tradeStatistics : list) {
-            if (tradeStatistics.getCurrency().equals("BSQ")) {
-                sumBsq += getBsqAmount(tradeStatistics);
-                sumBtcFromBsqTrades += getBtcAmount(tradeStatistics);
-            } else if (tradeStatistics.getCurrency().equals("USD")) {
-                sumUsd += getUsdAmount(tradeStatistics);
-                sumBtcFromUsdTrades += getBtcAmount(tradeStatistics);
-            }
-        }
+    private static double getAverageBsqUsdPrice(BsqTradeAggregate aggregate) {
+        double sumBsq = aggregate.getBsqVolume();
+        double sumBtcFromBsqTrades = aggregate.getBtcVolumeOfBsqTrades();
+        double sumBtcFromUsdTrades = aggregate.getBtcVolumeOfUsdTrades();
+        double sumUsd = getUsdAmount(aggregate);
         if (sumBsq == 0 || sumBtcFromBsqTrades == 0 || sumBtcFromUsdTrades == 0 || sumUsd == 0) {
             return 0d;
         }
@@ -144,80 +125,43 @@ public class PriceChartDataModel extends ChartDataModel {
         return sumBtcFromBsqTrades * averageUsdPrice / sumBsq;
     }
 
-    private static double getAverageBsqBtcPrice(List<TradeStatistics3> list) {
-        double sumBsq = 0;
-        double sumBtc = 0;
-        for (TradeStatistics3 tradeStatistics : list) {
-            sumBsq += getBsqAmount(tradeStatistics);
-            sumBtc += getBtcAmount(tradeStatistics);
-        }
+    private static double getAverageBsqBtcPrice(BsqTradeAggregate aggregate) {
+        double sumBsq = aggregate.getBsqVolume();
+        double sumBtc = aggregate.getBtcVolumeOfBsqTrades();
         if (sumBsq == 0 || sumBtc == 0) {
             return 0d;
         }
         return MathUtils.scaleUpByPowerOf10(sumBtc / sumBsq, 8);
     }
 
-    private static double getAverageBtcUsdPrice(List<TradeStatistics3> list) {
-        double sumUsd = 0;
-        double sumBtc = 0;
-        for (TradeStatistics3 tradeStatistics : list) {
-            sumUsd += getUsdAmount(tradeStatistics);
-            sumBtc += getBtcAmount(tradeStatistics);
-        }
+    private static double getAverageBtcUsdPrice(BsqTradeAggregate aggregate) {
+        double sumUsd = getUsdAmount(aggregate);
+        double sumBtc = aggregate.getBtcVolumeOfUsdTrades();
         if (sumUsd == 0 || sumBtc == 0) {
             return 0d;
         }
         return sumUsd / sumBtc;
     }
 
-    private static long getBtcAmount(TradeStatistics3 tradeStatistics) {
-        return tradeStatistics.getAmount();
-    }
-
-    private static double getUsdAmount(TradeStatistics3 tradeStatistics) {
-        return MathUtils.scaleUpByPowerOf10(tradeStatistics.getTradeVolume().getValue(), 4);
+    private static double getUsdAmount(BsqTradeAggregate aggregate) {
+        return MathUtils.scaleUpByPowerOf10(aggregate.getUsdVolume(), 4);
     }
 
-    private static long getBsqAmount(TradeStatistics3 tradeStatistics) {
-        return tradeStatistics.getTradeVolume().getValue();
-    }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Aggregated collection data by interval
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private Map<Long, Double> getPriceByInterval(Predicate<TradeStatistics3> collectionFilter,
-                                                 Function<List<TradeStatistics3>, Double> getAveragePriceFunction) {
-        return getPriceByInterval(tradeStatisticsManager.getObservableTradeStatisticsSet(),
-                collectionFilter,
-                tradeStatistics -> toTimeInterval(Instant.ofEpochMilli(tradeStatistics.getDateAsLong())),
-                dateFilter,
-                getAveragePriceFunction);
-    }
-
-    private Map<Long, Double> getPriceByInterval(Collection<TradeStatistics3> collection,
-                                                 Predicate<TradeStatistics3> collectionFilter,
-                                                 Function<TradeStatistics3, Long> groupByDateFunction,
-                                                 Predicate<Long> dateFilter,
-                                                 Function<List<TradeStatistics3>, Double> getAveragePriceFunction) {
-        return collection.stream()
-                .filter(collectionFilter)
-                .collect(Collectors.groupingBy(groupByDateFunction))
+    // The day aggregates of the trade volumes are rolled up to our interval and the price is derived from the sums
+    private Map<Long, Double> getPriceByInterval(ToDoubleFunction<BsqTradeAggregate> getAveragePriceFunction) {
+        return daoAnalyticsService.getBsqTradeDataByInterval(day -> toTimeInterval(Instant.ofEpochSecond(day)),
+                dateFilter)
                 .entrySet()
                 .stream()
-                .filter(entry -> dateFilter.test(entry.getKey()))
                 .map(entry -> new AbstractMap.SimpleEntry<>(
                         entry.getKey(),
-                        getAveragePriceFunction.apply(entry.getValue())))
+                        getAveragePriceFunction.applyAsDouble(entry.getValue())))
                 .filter(e -> e.getValue() > 0d)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
-
-    private double getAveragePriceFromDateFilter(Predicate<TradeStatistics3> collectionFilter,
-                                                 Function<List<TradeStatistics3>, Double> getAveragePriceFunction) {
-        return getAveragePriceFunction.apply(tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                .filter(collectionFilter)
-                .filter(tradeStatistics -> dateFilter.test(tradeStatistics.getDateAsLong() / 1000))
-                .collect(Collectors.toList()));
-    }
 }
@@ -19,23 +19,18 @@ package bisq.desktop.main.dao.economy.supply.dao;
 
 import bisq.desktop.components.chart.ChartDataModel;
 
-import bisq.core.dao.state.DaoStateService;
-import bisq.core.dao.state.model.blockchain.Tx;
-import bisq.core.dao.state.model.governance.Issuance;
-import bisq.core.dao.state.model.governance.IssuanceType;
+import bisq.core.dao.analytics.DaoAnalyticsService;
+import bisq.core.dao.analytics.DaoDailyAggregate;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import java.time.Instant;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -43,8 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Singleton
 public class DaoChartDataModel extends ChartDataModel {
-    private final DaoStateService daoStateService;
-    private final Function<Issuance, Long> blockTimeOfIssuanceFunction;
+    private final DaoAnalyticsService daoAnalyticsService;
     private Map<Long, Long> totalIssuedByInterval, compensationByInterval, reimbursementByInterval,
             totalBurnedByInterval, bsqTradeFeeByInterval, proofOfBurnByInterval;
 
@@ -54,16 +48,10 @@ public class DaoChartDataModel extends ChartDataModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public DaoChartDataModel(DaoStateService daoStateService) {
+    public DaoChartDataModel(DaoAnalyticsService daoAnalyticsService) {
         super();
 
-        this.daoStateService = daoStateService;
-
-        // TODO getBlockTime is the bottleneck. Add a lookup map to daoState to fix that in a dedicated PR.
-        blockTimeOfIssuanceFunction = memoize(issuance -> {
-            int height = daoStateService.getStartHeightOfCurrentCycle(issuance.getChainHeight()).orElse(0);
-            return daoStateService.getBlockTime(height);
-        });
+        this.daoAnalyticsService = daoAnalyticsService;
     }
 
     @Override
@@ -127,8 +115,7 @@ public class DaoChartDataModel extends ChartDataModel {
             return compensationByInterval;
         }
 
-        Set<Issuance> issuanceSetForType = daoStateService.getIssuanceSetForType(IssuanceType.COMPENSATION);
-        Map<Long, Long> issuedBsqByInterval = getIssuedBsqByInterval(issuanceSetForType, getDateFilter());
+        Map<Long, Long> issuedBsqByInterval = getDaoDataByInterval(DaoDailyAggregate::getCompensation, getDateFilter());
         Map<Long, Long> historicalIssuanceByInterval = getHistoricalIssuedBsqByInterval(DaoEconomyHistoricalData.COMPENSATIONS_BY_CYCLE_DATE, getDateFilter());
         compensationByInterval = getMergedMap(issuedBsqByInterval, historicalIssuanceByInterval, (daoDataValue, staticDataValue) -> staticDataValue);
         return compensationByInterval;
@@ -139,7 +126,7 @@ public class DaoChartDataModel extends ChartDataModel {
             return reimbursementByInterval;
         }
 
-        Map<Long, Long> issuedBsqByInterval = getIssuedBsqByInterval(daoStateService.getIssuanceSetForType(IssuanceType.REIMBURSEMENT), getDateFilter());
+        Map<Long, Long> issuedBsqByInterval = getDaoDataByInterval(DaoDailyAggregate::getReimbursement, getDateFilter());
         Map<Long, Long> historicalIssuanceByInterval = getHistoricalIssuedBsqByInterval(DaoEconomyHistoricalData.REIMBURSEMENTS_BY_CYCLE_DATE, getDateFilter());
         reimbursementByInterval = getMergedMap(issuedBsqByInterval, historicalIssuanceByInterval, (daoDataValue, staticDataValue) -> staticDataValue);
         return reimbursementByInterval;
@@ -161,7 +148,7 @@ public class DaoChartDataModel extends ChartDataModel {
             return bsqTradeFeeByInterval;
         }
 
-        bsqTradeFeeByInterval = getBurntBsqByInterval(daoStateService.getTradeFeeTxs(), getDateFilter());
+        bsqTradeFeeByInterval = getDaoDataByInterval(DaoDailyAggregate::getBsqTradeFee, getDateFilter());
         return bsqTradeFeeByInterval;
     }
 
@@ -170,7 +157,7 @@ public class DaoChartDataModel extends ChartDataModel {
             return proofOfBurnByInterval;
         }
 
-        proofOfBurnByInterval = getBurntBsqByInterval(daoStateService.getProofOfBurnTxs(), getDateFilter());
+        proofOfBurnByInterval = getDaoDataByInterval(DaoDailyAggregate::getProofOfBurn, getDateFilter());
         return proofOfBurnByInterval;
     }
 
@@ -179,17 +166,12 @@ public class DaoChartDataModel extends ChartDataModel {
     // Aggregated collection data by interval
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private Map<Long, Long> getIssuedBsqByInterval(Set<Issuance> issuanceSet, Predicate<Long> dateFilter) {
-        return issuanceSet.stream()
-                .collect(Collectors.groupingBy(issuance ->
-                        toTimeInterval(Instant.ofEpochMilli(blockTimeOfIssuanceFunction.apply(issuance)))))
-                .entrySet()
-                .stream()
-                .filter(entry -> dateFilter.test(entry.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .mapToLong(Issuance::getAmount)
-                                .sum()));
+    // The day aggregates are rolled up to our interval
+    private Map<Long, Long> getDaoDataByInterval(ToLongFunction<DaoDailyAggregate> valueFunction,
+                                                 Predicate<Long> dateFilter) {
+        return daoAnalyticsService.getDaoDataByInterval(valueFunction,
+                day -> toTimeInterval(Instant.ofEpochSecond(day)),
+                dateFilter);
     }
 
     private Map<Long, Long> getHistoricalIssuedBsqByInterval(Map<Long, Long> historicalData,
@@ -202,27 +184,6 @@ public class DaoChartDataModel extends ChartDataModel {
                         (a, b) -> a + b));
     }
 
-    private Map<Long, Long> getBurntBsqByInterval(Collection<Tx> txs, Predicate<Long> dateFilter) {
-        return txs.stream()
-                .collect(Collectors.groupingBy(tx -> toTimeInterval(Instant.ofEpochMilli(tx.getTime()))))
-                .entrySet()
-                .stream()
-                .filter(entry -> dateFilter.test(entry.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .mapToLong(Tx::getBurntBsq)
-                                .sum()));
-    }
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Utils
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
-    private static <T, R> Function<T, R> memoize(Function<T, R> fn) {
-        Map<T, R> map = new ConcurrentHashMap<>();
-        return x -> map.computeIfAbsent(x, fn);
-    }
-
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Historical data
@@ -400,7 +400,7 @@ public class PendingTradesView extends ActivatableViewAndModel<VBox, PendingTrad
         }
 
         trade.getChatMessages().forEach(m -> m.setWasDisplayed(true));
-        model.dataModel.getTradeManager().requestPersistence();
+        model.dataModel.getTradeManager().requestPersistence(trade);
         tradeIdOfOpenChat = trade.getId();
 
         ChatView chatView = new ChatView(traderChatManager, formatter);
@@ -459,7 +459,7 @@ public class PendingTradesView extends ActivatableViewAndModel<VBox, PendingTrad
             chatView.deactivate();
             // at close we set all as displayed. While open we ignore updates of the numNewMsg in the list icon.
             trade.getChatMessages().forEach(m -> m.setWasDisplayed(true));
-            model.dataModel.getTradeManager().requestPersistence();
+            model.dataModel.getTradeManager().requestPersistence(trade);
             tradeIdOfOpenChat = null;
 
             if (xPositionListener != null) {
@@ -472,7 +472,6 @@ public class PendingTradesView extends ActivatableViewAndModel<VBox, PendingTrad
             trade.stateProperty().removeListener(tradeStateListener);
             trade.disputeStateProperty().addListener(disputeStateListener);
             trade.mediationResultStateProperty().addListener(mediationResultStateListener);
-            traderChatManager.requestPersistence();
         });
 
         Scene scene = new Scene(pane);
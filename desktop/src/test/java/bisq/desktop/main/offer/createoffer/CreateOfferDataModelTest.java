@@ -14,6 +14,7 @@ import bisq.core.payment.RevolutAccount;
 import bisq.core.provider.fee.FeeService;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
+import bisq.core.trade.statistics.TradeStatisticsTable;
 import bisq.core.user.Preferences;
 import bisq.core.user.User;
 
@@ -62,6 +63,7 @@ public class CreateOfferDataModelTest {
         when(preferences.getBuyerSecurityDepositAsPercent(null)).thenReturn(0.01);
         when(createOfferService.getRandomOfferId()).thenReturn(UUID.randomUUID().toString());
         when(tradeStats.getObservableTradeStatisticsSet()).thenReturn(FXCollections.observableSet());
+        when(tradeStats.getTradeStatisticsTable()).thenReturn(new TradeStatisticsTable());
 
         model = new CreateOfferDataModel(createOfferService,
                 null,